@@ -0,0 +1,47 @@
+package frc.robot;
+
+import edu.wpi.first.hal.HAL;
+import frc.robot.constants.JsonConstants;
+import frc.robot.subsystems.drive.Drive;
+import frc.robot.subsystems.drive.DriveConfiguration;
+import frc.robot.subsystems.drive.GyroIO;
+import frc.robot.subsystems.drive.ModuleIOSim;
+
+/**
+ * Shared setup for the JMH benchmarks.
+ *
+ * <p>Benchmarks run in a plain JVM rather than under {@code Robot}, so the HAL has to be started
+ * by hand and the JSON constants loaded from {@code src/main/deploy} (the working directory of the
+ * jmh task is the project directory). AdvantageKit's Logger is never started, so every
+ * recordOutput/processInputs call is a cheap no-op and the results measure robot code only.
+ */
+public final class BenchmarkEnvironment {
+  private static boolean initialized = false;
+
+  private BenchmarkEnvironment() {}
+
+  /** Starts the HAL in simulation and loads constants. Safe to call from every benchmark. */
+  public static synchronized void initialize() {
+    if (initialized) {
+      return;
+    }
+
+    if (!HAL.initialize(500, 0)) {
+      throw new IllegalStateException("Failed to initialize the HAL for benchmarking");
+    }
+    JsonConstants.loadConstants();
+
+    initialized = true;
+  }
+
+  /** Creates a drive backed by the physics sim modules, the same way InitSubsystems does in SIM. */
+  public static Drive makeSimDrive() {
+    initialize();
+    return new Drive(
+        new GyroIO() {},
+        new ModuleIOSim(DriveConfiguration.getInstance().FrontLeft),
+        new ModuleIOSim(DriveConfiguration.getInstance().FrontRight),
+        new ModuleIOSim(DriveConfiguration.getInstance().BackLeft),
+        new ModuleIOSim(DriveConfiguration.getInstance().BackRight));
+  }
+}
@@ -0,0 +1,135 @@
+package frc.robot.subsystems.drive;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import frc.robot.BenchmarkEnvironment;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Odometry half of Drive.periodic(): reading every module and the gyro, then integrating the batch
+ * of high-frequency samples into the pose estimator.
+ *
+ * <p>The IO fakes hand over {@code samplesPerCycle} samples per loop with a small per-module time
+ * skew, which is what the 250 Hz Phoenix odometry thread hands the main loop on the robot. They
+ * fill input arrays allocated once in setup, taking angles from a precomputed table, so B/op from
+ * the gc profiler only counts what Module and Drive allocate. Reusing the arrays is only safe
+ * because the Logger isn't running here; real IO fills fresh arrays since AdvantageKit keeps a
+ * reference to every logged array.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DriveOdometryBenchmark {
+  private static final double LOOP_PERIOD_SECONDS = 0.02;
+  private static final double DRIVE_RATE_RAD_PER_SEC = 40.0;
+
+  // One full turn, advanced by one entry per sample, for both the modules and the gyro
+  private static final Rotation2d[] ANGLES = new Rotation2d[1000];
+
+  static {
+    for (int i = 0; i < ANGLES.length; i++) {
+      ANGLES[i] = new Rotation2d(2.0 * Math.PI * i / ANGLES.length);
+    }
+  }
+
+  @Param({"1", "5", "10"})
+  public int samplesPerCycle;
+
+  @Param({"true", "false"})
+  public boolean gyroConnected;
+
+  private Drive drive;
+
+  @Setup
+  public void setup() {
+    BenchmarkEnvironment.initialize();
+
+    GyroIO gyroIO = gyroConnected ? new BatchedGyroIO() : new GyroIO() {};
+    drive =
+        new Drive(
+            gyroIO,
+            new BatchedModuleIO(0),
+            new BatchedModuleIO(1),
+            new BatchedModuleIO(2),
+            new BatchedModuleIO(3));
+  }
+
+  @Benchmark
+  public Drive odometryIntegration() {
+    drive.updateInputs();
+    drive.updateOdometry();
+    return drive;
+  }
+
+  private double getSampleTime(long sample) {
+    return sample * LOOP_PERIOD_SECONDS / samplesPerCycle;
+  }
+
+  private static Rotation2d getSampleAngle(long sample) {
+    return ANGLES[(int) (sample % ANGLES.length)];
+  }
+
+  /** Module that drives forward while turning, reported as a batch of odometry samples. */
+  private class BatchedModuleIO implements ModuleIO {
+    private final double skewSeconds;
+    private final double[] odometryTimestamps = new double[samplesPerCycle];
+    private final double[] odometryDrivePositionsRad = new double[samplesPerCycle];
+    private final Rotation2d[] odometryTurnPositions = new Rotation2d[samplesPerCycle];
+    private long sample = 0;
+
+    BatchedModuleIO(int index) {
+      skewSeconds = index * 100e-6;
+    }
+
+    @Override
+    public void updateInputs(ModuleIOInputs inputs) {
+      for (int i = 0; i < samplesPerCycle; i++) {
+        sample++;
+        double sampleTime = getSampleTime(sample);
+        odometryTimestamps[i] = sampleTime + skewSeconds;
+        odometryDrivePositionsRad[i] = sampleTime * DRIVE_RATE_RAD_PER_SEC;
+        odometryTurnPositions[i] = getSampleAngle(sample);
+      }
+
+      inputs.driveConnected = true;
+      inputs.turnConnected = true;
+      inputs.turnEncoderConnected = true;
+      inputs.drivePositionRad = odometryDrivePositionsRad[samplesPerCycle - 1];
+      inputs.driveVelocityRadPerSec = DRIVE_RATE_RAD_PER_SEC;
+      inputs.turnPosition = odometryTurnPositions[samplesPerCycle - 1];
+      inputs.odometryTimestamps = odometryTimestamps;
+      inputs.odometryDrivePositionsRad = odometryDrivePositionsRad;
+      inputs.odometryTurnPositions = odometryTurnPositions;
+    }
+  }
+
+  /** Gyro that turns with the modules, sampled at the same times as them. */
+  private class BatchedGyroIO implements GyroIO {
+    private final double[] odometryYawTimestamps = new double[samplesPerCycle];
+    private final Rotation2d[] odometryYawPositions = new Rotation2d[samplesPerCycle];
+    private long sample = 0;
+
+    @Override
+    public void updateInputs(GyroIOInputs inputs) {
+      for (int i = 0; i < samplesPerCycle; i++) {
+        sample++;
+        odometryYawTimestamps[i] = getSampleTime(sample);
+        odometryYawPositions[i] = getSampleAngle(sample);
+      }
+
+      inputs.connected = true;
+      inputs.yawPosition = odometryYawPositions[samplesPerCycle - 1];
+      inputs.yawVelocityRadPerSec =
+          2.0 * Math.PI / ANGLES.length / (LOOP_PERIOD_SECONDS / samplesPerCycle);
+      inputs.odometryYawTimestamps = odometryYawTimestamps;
+      inputs.odometryYawPositions = odometryYawPositions;
+    }
+  }
+}
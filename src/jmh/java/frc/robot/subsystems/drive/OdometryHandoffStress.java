@@ -0,0 +1,204 @@
+package frc.robot.subsystems.drive;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Stress harness for the lock-free handoff in {@link OdometrySampleBuffer}.
+ *
+ * <p>A writer thread publishes samples at 1 kHz (4x the real odometry rate) with every value and
+ * timestamp derived from its sequence number, while the main thread plays the role of
+ * Drive.periodic(): it latches a batch and polls one reader per module plus one for the gyro, with
+ * jittered and occasionally stalled loop times. Every drained sample is checked for tearing (values
+ * from two different sequences), gaps that are not accounted for as dropped samples, and batches
+ * that differ between readers.
+ *
+ * <p>Every few loops one reader is also held in the middle of its copy until the writer has lapped
+ * the whole ring, so the path that discards samples overwritten during a copy runs on purpose
+ * rather than only when the scheduler happens to cooperate. Each of those polls must report the
+ * lapped samples as dropped and return nothing torn.
+ *
+ * <p>Run with {@code ./gradlew odometryStress}, optionally passing the duration in seconds and
+ * writer frequency in Hz as arguments; the process exits non-zero on any failure.
+ */
+public class OdometryHandoffStress {
+  private static final int SIGNAL_COUNT = 9; // 4 modules x (drive, turn) + gyro yaw
+  private static final int READER_COUNT = 5; // 4 modules + gyro
+  private static final int STALL_PERIOD_LOOPS = 25;
+
+  private static volatile boolean running = true;
+
+  public static void main(String[] args) throws InterruptedException {
+    double durationSeconds = args.length > 0 ? Double.parseDouble(args[0]) : 10.0;
+    double writerFrequency = args.length > 1 ? Double.parseDouble(args[1]) : 1000.0;
+    long writerPeriodNanos = (long) (1e9 / writerFrequency);
+
+    OdometrySampleBuffer buffer = new OdometrySampleBuffer();
+    int[] signals = new int[SIGNAL_COUNT];
+    for (int i = 0; i < SIGNAL_COUNT; i++) {
+      signals[i] = buffer.addSignal();
+    }
+    OdometrySampleBuffer.Reader[] readers = new OdometrySampleBuffer.Reader[READER_COUNT];
+    for (int i = 0; i < READER_COUNT; i++) {
+      readers[i] = buffer.makeReader();
+    }
+
+    Thread writer =
+        new Thread(
+            () -> {
+              long sequence = 0;
+              long nextWake = System.nanoTime();
+              while (running) {
+                for (int i = 0; i < SIGNAL_COUNT; i++) {
+                  buffer.setValue(signals[i], expectedValue(sequence, i), sequence);
+                }
+                buffer.publish(sequence);
+                sequence++;
+
+                nextWake += writerPeriodNanos;
+                LockSupport.parkNanos(nextWake - System.nanoTime());
+              }
+            },
+            "OdometryStressWriter");
+    writer.setDaemon(true);
+    writer.start();
+
+    // Holds the reader being polled until the writer has overwritten every slot it could be
+    // copying, including the one it copied just before the stall
+    boolean[] stallNextCopy = new boolean[1];
+    long[] stalledCopies = new long[1];
+    buffer.copyStallHook =
+        () -> {
+          if (!stallNextCopy[0]) {
+            return;
+          }
+          stallNextCopy[0] = false;
+          stalledCopies[0]++;
+          long lapSequence = buffer.getWriteSequence() + OdometrySampleBuffer.CAPACITY;
+          while (buffer.getWriteSequence() < lapSequence) {
+            LockSupport.parkNanos(writerPeriodNanos);
+          }
+        };
+
+    Random random = new Random(401);
+    long[] nextExpected = new long[READER_COUNT];
+    long batches = 0;
+    long samples = 0;
+    long tornSamples = 0;
+    long unaccountedGaps = 0;
+    long mismatchedBatches = 0;
+    long unlappedStalls = 0;
+    int maxBatchSize = 0;
+
+    long endTime = System.nanoTime() + (long) (durationSeconds * 1e9);
+    while (System.nanoTime() < endTime) {
+      buffer.latch();
+
+      int firstBatchSize = -1;
+      double firstTimestamp = Double.NaN;
+      // Never stall the first reader, since the others are compared against it. Readers polled
+      // after a stall copy from a ring the writer has already lapped, so they lose their batch too.
+      boolean lappedThisLoop = false;
+      int stalledReader =
+          batches % STALL_PERIOD_LOOPS == 0
+              ? 1 + (int) (batches / STALL_PERIOD_LOOPS % (READER_COUNT - 1))
+              : -1;
+      for (int r = 0; r < READER_COUNT; r++) {
+        OdometrySampleBuffer.Reader reader = readers[r];
+        long droppedBefore = reader.getDroppedSamples();
+        long stallsBefore = stalledCopies[0];
+        stallNextCopy[0] = r == stalledReader;
+        int count = reader.poll();
+        stallNextCopy[0] = false;
+        long dropped = reader.getDroppedSamples() - droppedBefore;
+        boolean stalled = stalledCopies[0] != stallsBefore;
+        if (stalled && dropped == 0) {
+          unlappedStalls++;
+        }
+        lappedThisLoop |= stalled;
+
+        if (count > 0) {
+          long firstSequence = (long) reader.getTimestamp(0);
+          if (firstSequence != nextExpected[r] + dropped) {
+            unaccountedGaps++;
+          }
+          for (int i = 0; i < count; i++) {
+            long sequence = (long) reader.getTimestamp(i);
+            if (sequence != firstSequence + i) {
+              unaccountedGaps++;
+            }
+            for (int s = 0; s < SIGNAL_COUNT; s++) {
+              if (reader.getValue(signals[s], i) != expectedValue(sequence, s)
+                  || reader.getTimestamp(signals[s], i) != sequence) {
+                tornSamples++;
+                break;
+              }
+            }
+          }
+          nextExpected[r] = firstSequence + count;
+        } else {
+          nextExpected[r] += dropped;
+        }
+
+        if (r == 0) {
+          firstBatchSize = count;
+          firstTimestamp = count > 0 ? reader.getTimestamp(0) : Double.NaN;
+        } else if (!lappedThisLoop
+            && (count != firstBatchSize
+                || (count > 0 && reader.getTimestamp(0) != firstTimestamp))) {
+          mismatchedBatches++;
+        }
+
+        samples += count;
+        maxBatchSize = Math.max(maxBatchSize, count);
+      }
+      batches++;
+
+      // Simulate main loop timing: mostly 20 ms with jitter, sometimes a tight loop, and
+      // occasionally a long overrun that forces the writer to lap the readers
+      double roll = random.nextDouble();
+      long sleepMicros;
+      if (roll < 0.1) {
+        sleepMicros = 0;
+      } else if (roll < 0.13) {
+        sleepMicros = 40_000 + random.nextInt(20_000);
+      } else {
+        sleepMicros = 15_000 + random.nextInt(10_000);
+      }
+      LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(sleepMicros));
+    }
+    running = false;
+    writer.join();
+
+    long dropped = 0;
+    for (OdometrySampleBuffer.Reader reader : readers) {
+      dropped += reader.getDroppedSamples();
+    }
+
+    System.out.println("Odometry handoff stress results");
+    System.out.println("  published samples:   " + buffer.getWriteSequence());
+    System.out.println("  reader batches:      " + batches);
+    System.out.println("  drained samples:     " + samples);
+    System.out.println("  max batch size:      " + maxBatchSize);
+    System.out.println("  dropped (lapped):    " + dropped);
+    System.out.println("  torn samples:        " + tornSamples);
+    System.out.println("  unaccounted gaps:    " + unaccountedGaps);
+    System.out.println("  mismatched batches:  " + mismatchedBatches);
+    System.out.println("  stalled copies:      " + stalledCopies[0]);
+    System.out.println("  unlapped stalls:     " + unlappedStalls);
+
+    boolean passed =
+        tornSamples == 0
+            && unaccountedGaps == 0
+            && mismatchedBatches == 0
+            && stalledCopies[0] > 0
+            && unlappedStalls == 0;
+    System.out.println(passed ? "PASSED" : "FAILED");
+    System.exit(passed ? 0 : 1);
+  }
+
+  private static double expectedValue(long sequence, int signal) {
+    return sequence * SIGNAL_COUNT + signal;
+  }
+}
@@ -0,0 +1,112 @@
+package frc.robot.subsystems.drive;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.math.kinematics.SwerveModulePosition;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * One loop of vision correction: a few odometry samples, then one observation from each camera,
+ * taken a few milliseconds apart, applied either as a batch or one at a time.
+ *
+ * <p>The estimator is filled with a full history of 250 Hz odometry first, so that lookups and
+ * corrections see the same amount of history they do on the robot.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VisionCorrectionBenchmark {
+  private static final double ODOMETRY_PERIOD_SECONDS = 0.004;
+  private static final int SAMPLES_PER_LOOP = 5;
+  private static final double CAMERA_SKEW_SECONDS = 0.002;
+  private static final double VISION_LATENCY_SECONDS = 0.03;
+  private static final double GROUP_WINDOW_SECONDS = 0.01;
+
+  @Param({"2", "4", "8"})
+  public int cameras;
+
+  @Param({"true", "false"})
+  public boolean batched;
+
+  private DrivePoseEstimator poseEstimator;
+  private final VisionMeasurementBatch batch = new VisionMeasurementBatch();
+  private final SwerveModulePosition[] modulePositions = new SwerveModulePosition[4];
+  private double timestamp = 0.0;
+  private double distanceMeters = 0.0;
+
+  @Setup
+  public void setup() {
+    SwerveDriveKinematics kinematics =
+        new SwerveDriveKinematics(
+            new Translation2d(0.3, 0.3),
+            new Translation2d(0.3, -0.3),
+            new Translation2d(-0.3, 0.3),
+            new Translation2d(-0.3, -0.3));
+    for (int i = 0; i < modulePositions.length; i++) {
+      modulePositions[i] = new SwerveModulePosition();
+    }
+
+    int historySamples =
+        (int) Math.ceil(DrivePoseEstimator.BUFFER_DURATION_SECONDS / ODOMETRY_PERIOD_SECONDS);
+    poseEstimator =
+        new DrivePoseEstimator(
+            kinematics, Rotation2d.kZero, modulePositions, Pose2d.kZero, historySamples);
+    for (int i = 0; i < historySamples; i++) {
+      stepOdometry();
+    }
+  }
+
+  @Benchmark
+  public DrivePoseEstimator visionCorrection() {
+    for (int i = 0; i < SAMPLES_PER_LOOP; i++) {
+      stepOdometry();
+    }
+
+    // Each camera sees the robot slightly off from odometry, as if it had drifted
+    double captureTimestamp = timestamp - VISION_LATENCY_SECONDS;
+    for (int i = 0; i < cameras; i++) {
+      Pose2d odometryPose = poseEstimator.sampleAt(captureTimestamp);
+      Pose2d visionPose =
+          new Pose2d(
+              odometryPose.getX() + 0.05,
+              odometryPose.getY() - 0.03,
+              odometryPose.getRotation().plus(Rotation2d.fromDegrees(1.0)));
+      double stdDev = 0.1 + 0.05 * i;
+
+      if (batched) {
+        batch.add(visionPose, captureTimestamp, stdDev, stdDev, stdDev * 5.0);
+      } else {
+        poseEstimator.setVisionMeasurementStdDevs(stdDev, stdDev, stdDev * 5.0);
+        poseEstimator.addVisionMeasurement(visionPose, captureTimestamp);
+      }
+      captureTimestamp += CAMERA_SKEW_SECONDS;
+    }
+
+    if (batched) {
+      poseEstimator.addVisionMeasurements(batch, GROUP_WINDOW_SECONDS);
+      batch.clear();
+    }
+    return poseEstimator;
+  }
+
+  /** Drive forward while turning, so both the distance and heading change every sample. */
+  private void stepOdometry() {
+    timestamp += ODOMETRY_PERIOD_SECONDS;
+    distanceMeters += 4.0 * ODOMETRY_PERIOD_SECONDS;
+    Rotation2d angle = new Rotation2d(timestamp * 0.5);
+    for (int i = 0; i < modulePositions.length; i++) {
+      modulePositions[i] = new SwerveModulePosition(distanceMeters, angle);
+    }
+    poseEstimator.updateWithTime(timestamp, new Rotation2d(timestamp), modulePositions);
+  }
+}
@@ -0,0 +1,55 @@
+package frc.robot.subsystems.drive.states;
+
+import coppercore.vision.VisionLocalizer.DistanceToTag;
+import frc.robot.BenchmarkEnvironment;
+import frc.robot.subsystems.drive.Drive;
+import frc.robot.subsystems.drive.Drive.DesiredLocation;
+import frc.robot.subsystems.drive.ReefLineupUtil;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * One loop of reef lineup against a fixed vision observation. The observation is kept short of the
+ * finish thresholds so the controllers run every call. Both front cameras are fused every call;
+ * with {@code primaryCameraValid} false only the other camera sees the tag.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LineupStateBenchmark {
+  private static final DistanceToTag VALID_OBSERVATION = new DistanceToTag(0.05, 0.3, true);
+  private static final DistanceToTag INVALID_OBSERVATION = new DistanceToTag(0, 0, false);
+
+  @Param({"true", "false"})
+  public boolean primaryCameraValid;
+
+  private LineupState lineupState;
+
+  @Setup
+  public void setup() {
+    Drive drive = BenchmarkEnvironment.makeSimDrive();
+    drive.setDesiredLocation(DesiredLocation.Reef0);
+
+    int primaryCameraIndex = ReefLineupUtil.getCameraIndexForLineup(drive);
+    drive.setAlignmentSupplier(
+        (tagId, cameraIndex, crossTrackOffset, alongTrackOffset) ->
+            primaryCameraValid || cameraIndex != primaryCameraIndex
+                ? VALID_OBSERVATION
+                : INVALID_OBSERVATION);
+
+    lineupState = new LineupState(drive);
+  }
+
+  @Benchmark
+  public LineupState lineupWithReefLocation() {
+    lineupState.LineupWithReefLocation();
+    return lineupState;
+  }
+}
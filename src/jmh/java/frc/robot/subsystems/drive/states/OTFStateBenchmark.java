@@ -0,0 +1,42 @@
+package frc.robot.subsystems.drive.states;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import frc.robot.BenchmarkEnvironment;
+import frc.robot.subsystems.drive.Drive;
+import frc.robot.subsystems.drive.Drive.DesiredLocation;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Lookup of the pathfinding target pose, which drive runs several times per loop. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OTFStateBenchmark {
+  @Param({"Reef0", "Reef11", "Processor", "Algae3", "CoralStationRight"})
+  public DesiredLocation desiredLocation;
+
+  private Drive drive;
+
+  @Setup
+  public void setup() {
+    drive = BenchmarkEnvironment.makeSimDrive();
+    if (drive.isLocationScoring(desiredLocation)) {
+      drive.setDesiredLocation(desiredLocation);
+    } else {
+      drive.setDesiredIntakeLocation(desiredLocation);
+      drive.setGoToIntake(true);
+    }
+  }
+
+  @Benchmark
+  public Pose2d findOTFPoseFromDesiredLocation() {
+    return OTFState.findOTFPoseFromDesiredLocation(drive);
+  }
+}
@@ -0,0 +1,46 @@
+package frc.robot.subsystems.scoring;
+
+import edu.wpi.first.units.measure.Angle;
+import frc.robot.BenchmarkEnvironment;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Chinese remainder theorem seeding of the elevator height from its two CANcoders. This runs every
+ * loop until it succeeds, so its cost matters on a robot whose encoders disagree.
+ *
+ * <p>The CANcoder writes are stubbed out so the benchmark measures the solve itself rather than
+ * Phoenix sim's blocking setPosition calls.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ElevatorMechanismBenchmark {
+  private ElevatorMechanism elevatorMechanism;
+
+  @Setup
+  public void setup() {
+    BenchmarkEnvironment.initialize();
+    elevatorMechanism = new ElevatorMechanism(new NoSeedElevatorIOSim());
+  }
+
+  @Benchmark
+  public ElevatorMechanism seedWithCRT() {
+    elevatorMechanism.seedWithCRT();
+    return elevatorMechanism;
+  }
+
+  private static class NoSeedElevatorIOSim extends ElevatorIOSim {
+    @Override
+    public void setLargeCANCoderPosition(Angle newAngle) {}
+
+    @Override
+    public void setSmallCANCoderPosition(Angle newAngle) {}
+  }
+}
@@ -0,0 +1,49 @@
+package frc.robot.subsystems.scoring;
+
+import frc.robot.BenchmarkEnvironment;
+import frc.robot.constants.JsonConstants;
+import frc.robot.util.CANSignalRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * One robot loop of the simulated elevator and wrist, comparing the Phoenix sim state IOs with the
+ * pure-Java plant model IOs, which step their plants and emulated controllers 20 times per loop.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScoringSimBenchmark {
+  @Param({"phoenix", "plant"})
+  public String simType;
+
+  private ElevatorMechanism elevatorMechanism;
+  private WristMechanism wristMechanism;
+
+  @Setup
+  public void setup() {
+    BenchmarkEnvironment.initialize();
+
+    boolean usePlant = simType.equals("plant");
+    elevatorMechanism =
+        new ElevatorMechanism(usePlant ? new ElevatorIOPlantSim() : new ElevatorIOSim());
+    wristMechanism = new WristMechanism(usePlant ? new WristIOPlantSim() : new WristIOSim());
+
+    elevatorMechanism.setGoalHeight(JsonConstants.scoringSetpoints.L4.elevatorHeight());
+    wristMechanism.setGoalAngle(JsonConstants.scoringSetpoints.L4.wristAngle());
+  }
+
+  @Benchmark
+  public void loop() {
+    CANSignalRegistry.refreshAll();
+    elevatorMechanism.periodic();
+    wristMechanism.periodic();
+  }
+}
@@ -0,0 +1,65 @@
+package frc.robot.subsystems.scoring;
+
+import static edu.wpi.first.units.Units.Meters;
+
+import edu.wpi.first.units.measure.Distance;
+import frc.robot.BenchmarkEnvironment;
+import frc.robot.constants.JsonConstants;
+import frc.robot.subsystems.scoring.ScoringSubsystem.GamePiece;
+import frc.robot.util.CANSignalRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Collision clamp calculation run by the scoring subsystem every loop. The sim elevator and wrist
+ * are stepped part of the way toward L4 so the reef and crossbar checks see a moving mechanism.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScoringSubsystemBenchmark {
+  private static final int SETUP_TICKS = 15;
+
+  @Param({"0.5", "3.0"})
+  public double reefDistanceMeters;
+
+  @Param({"Coral", "Algae"})
+  public GamePiece gamePiece;
+
+  private ScoringSubsystem scoringSubsystem;
+
+  @Setup
+  public void setup() {
+    BenchmarkEnvironment.initialize();
+
+    ElevatorMechanism elevatorMechanism = new ElevatorMechanism(new ElevatorIOSim());
+    WristMechanism wristMechanism = new WristMechanism(new WristIOSim());
+    ClawMechanism clawMechanism = new ClawMechanism(new ClawIOSim());
+    scoringSubsystem = new ScoringSubsystem(elevatorMechanism, wristMechanism, clawMechanism);
+
+    Distance reefDistance = Meters.of(reefDistanceMeters);
+    scoringSubsystem.setReefDistanceSupplier(() -> reefDistance);
+    scoringSubsystem.setGamePiece(gamePiece);
+
+    elevatorMechanism.setGoalHeight(JsonConstants.scoringSetpoints.L4.elevatorHeight());
+    wristMechanism.setGoalAngle(JsonConstants.scoringSetpoints.L4.wristAngle());
+    for (int i = 0; i < SETUP_TICKS; i++) {
+      CANSignalRegistry.refreshAll();
+      elevatorMechanism.periodic();
+      wristMechanism.periodic();
+    }
+  }
+
+  @Benchmark
+  public ScoringSubsystem determineProtectionClamps() {
+    scoringSubsystem.determineProtectionClamps();
+    return scoringSubsystem;
+  }
+}
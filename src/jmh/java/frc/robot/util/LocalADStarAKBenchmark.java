@@ -0,0 +1,56 @@
+package frc.robot.util;
+
+import com.pathplanner.lib.path.GoalEndState;
+import com.pathplanner.lib.path.PathConstraints;
+import com.pathplanner.lib.path.PathPlannerPath;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import frc.robot.BenchmarkEnvironment;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Retrieval of a finished path from the AdvantageKit-wrapped pathfinder, which is what the
+ * pathfinding command does on the main thread each time a new path is available. Setup waits for
+ * the background planner to finish a cross-field path so that every call converts a real path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LocalADStarAKBenchmark {
+  private static final long PLANNER_TIMEOUT_MILLIS = 5000;
+
+  private final PathConstraints constraints =
+      new PathConstraints(3.0, 3.0, 2 * Math.PI, 4 * Math.PI);
+  private final GoalEndState goalEndState = new GoalEndState(0.0, Rotation2d.kZero);
+
+  private LocalADStarAK pathfinder;
+
+  @Setup
+  public void setup() throws InterruptedException {
+    BenchmarkEnvironment.initialize();
+
+    pathfinder = new LocalADStarAK();
+    pathfinder.setStartPosition(new Translation2d(1.5, 1.0));
+    pathfinder.setGoalPosition(new Translation2d(15.0, 7.0));
+
+    long deadline = System.currentTimeMillis() + PLANNER_TIMEOUT_MILLIS;
+    while (!pathfinder.isNewPathAvailable()) {
+      if (System.currentTimeMillis() > deadline) {
+        throw new IllegalStateException("Pathfinder did not produce a path during setup");
+      }
+      Thread.sleep(10);
+    }
+  }
+
+  @Benchmark
+  public PathPlannerPath getCurrentPath() {
+    return pathfinder.getCurrentPath(constraints, goalEndState);
+  }
+}
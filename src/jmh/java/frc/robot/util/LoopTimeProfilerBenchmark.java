@@ -0,0 +1,52 @@
+package frc.robot.util;
+
+import frc.robot.util.LoopTimeProfiler.Section;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Profiler overhead for one full robot loop: the same number of section start/stop pairs that the
+ * robot code makes each loop, followed by endLoop. This should stay well under 20 us per loop and
+ * allocate nothing (Logger is not running here, so recordOutput itself is free).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LoopTimeProfilerBenchmark {
+  // Gyro, four modules, elevator, wrist, claw, ramp and climb
+  private static final int PROCESS_INPUTS_CALLS = 10;
+
+  private static final Section[] SECTIONS_PER_LOOP = {
+    Section.StrategyManager,
+    Section.DriveInputs,
+    Section.DriveStateMachine,
+    Section.DriveOdometry,
+    Section.Drive,
+    Section.ScoringStateMachine,
+    Section.ScoringMechanisms,
+    Section.ScoringClamps,
+    Section.Scoring,
+    Section.ClimbStateMachine,
+    Section.Climb,
+    Section.RampStateMachine,
+    Section.Ramp,
+    Section.LED,
+    Section.Scheduler
+  };
+
+  @Benchmark
+  public void profiledLoop() {
+    for (Section section : SECTIONS_PER_LOOP) {
+      LoopTimeProfiler.stop(section, LoopTimeProfiler.start());
+    }
+    for (int i = 0; i < PROCESS_INPUTS_CALLS; i++) {
+      LoopTimeProfiler.stop(Section.ProcessInputs, LoopTimeProfiler.start());
+    }
+    LoopTimeProfiler.endLoop();
+  }
+}
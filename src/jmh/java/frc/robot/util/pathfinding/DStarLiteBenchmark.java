@@ -0,0 +1,57 @@
+package frc.robot.util.pathfinding;
+
+import edu.wpi.first.math.Pair;
+import edu.wpi.first.math.geometry.Translation2d;
+import frc.robot.BenchmarkEnvironment;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The D* Lite search alone, without the planner thread: repairing the existing search after an
+ * obstacle box is toggled, against restarting it from scratch (what LocalADStar does on any
+ * obstacle change).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DStarLiteBenchmark {
+  private static final Translation2d START = new Translation2d(2.0, 4.0);
+  private static final Translation2d GOAL = new Translation2d(11.5, 4.1);
+  private static final List<Pair<Translation2d, Translation2d>> OBSTACLES =
+      List.of(new Pair<>(new Translation2d(7.5, 3.0), new Translation2d(8.5, 5.0)));
+
+  @Param({"true", "false"})
+  public boolean incremental;
+
+  private DStarLite planner;
+  private boolean obstaclesSet = false;
+
+  @Setup
+  public void setup() throws IOException {
+    BenchmarkEnvironment.initialize();
+
+    planner = new DStarLite(NavGrid.loadFromDeploy());
+    planner.setStart(START);
+    planner.setGoal(GOAL);
+    planner.computeShortestPath();
+  }
+
+  @Benchmark
+  public boolean replan() {
+    obstaclesSet = !obstaclesSet;
+    planner.setDynamicObstacles(obstaclesSet ? OBSTACLES : List.of());
+    if (!incremental) {
+      planner.setGoal(GOAL);
+    }
+    return planner.computeShortestPath();
+  }
+}
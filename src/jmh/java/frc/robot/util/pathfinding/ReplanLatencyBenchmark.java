@@ -0,0 +1,90 @@
+package frc.robot.util.pathfinding;
+
+import com.pathplanner.lib.path.GoalEndState;
+import com.pathplanner.lib.path.PathConstraints;
+import com.pathplanner.lib.path.PathPlannerPath;
+import com.pathplanner.lib.pathfinding.LocalADStar;
+import com.pathplanner.lib.pathfinding.Pathfinder;
+import edu.wpi.first.math.Pair;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import frc.robot.BenchmarkEnvironment;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Time from changing the dynamic obstacles to having the replanned path in hand, through the
+ * Pathfinder interface the pathfinding command uses. Each call toggles the obstacles on or off,
+ * like Drive does at construction and in teleopInit, then spins until the background planner
+ * publishes the new path.
+ *
+ * <p>{@code stacks} are the blue coral/algae stacks, which are away from the path, and {@code
+ * midfield} is a box across the straight line from start to goal that forces a detour.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReplanLatencyBenchmark {
+  private static final long PLANNER_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+  private static final Translation2d START = new Translation2d(2.0, 4.0);
+  private static final Translation2d GOAL = new Translation2d(11.5, 4.1);
+
+  @Param({"LocalADStar", "DStarLite"})
+  public String planner;
+
+  @Param({"stacks", "midfield"})
+  public String obstacleSet;
+
+  private final PathConstraints constraints =
+      new PathConstraints(3.0, 3.0, 2 * Math.PI, 4 * Math.PI);
+  private final GoalEndState goalEndState = new GoalEndState(0.0, Rotation2d.kZero);
+
+  private Pathfinder pathfinder;
+  private List<Pair<Translation2d, Translation2d>> obstacles;
+  private boolean obstaclesSet = false;
+
+  @Setup
+  public void setup() {
+    BenchmarkEnvironment.initialize();
+
+    obstacles =
+        obstacleSet.equals("stacks")
+            ? List.of(
+                new Pair<>(new Translation2d(1.45, 6.1), new Translation2d(0.95, 5.6)),
+                new Pair<>(new Translation2d(1.45, 4.3), new Translation2d(0.95, 3.8)),
+                new Pair<>(new Translation2d(1.45, 2.45), new Translation2d(0.95, 1.95)))
+            : List.of(new Pair<>(new Translation2d(7.5, 3.0), new Translation2d(8.5, 5.0)));
+
+    pathfinder = planner.equals("DStarLite") ? new DStarLitePathfinder() : new LocalADStar();
+    pathfinder.setStartPosition(START);
+    pathfinder.setGoalPosition(GOAL);
+    awaitPath();
+  }
+
+  @Benchmark
+  public PathPlannerPath replanAfterObstacleChange() {
+    obstaclesSet = !obstaclesSet;
+    pathfinder.setDynamicObstacles(obstaclesSet ? obstacles : List.of(), START);
+    return awaitPath();
+  }
+
+  private PathPlannerPath awaitPath() {
+    long deadline = System.nanoTime() + PLANNER_TIMEOUT_NANOS;
+    while (!pathfinder.isNewPathAvailable()) {
+      if (System.nanoTime() > deadline) {
+        throw new IllegalStateException(planner + " did not produce a path");
+      }
+      Thread.onSpinWait();
+    }
+    return pathfinder.getCurrentPath(constraints, goalEndState);
+  }
+}
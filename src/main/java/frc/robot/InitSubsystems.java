@@ -17,6 +17,8 @@ import edu.wpi.first.math.system.plant.DCMotor;
 import edu.wpi.first.units.measure.Distance;
 import frc.robot.constants.JsonConstants;
 import frc.robot.constants.ModeConstants;
+import frc.robot.constants.SimConstants;
+import frc.robot.subsystems.climb.ClimbIO;
 import frc.robot.subsystems.climb.ClimbIOSim;
 import frc.robot.subsystems.climb.ClimbIOTalonFX;
 import frc.robot.subsystems.climb.ClimbSubsystem;
@@ -30,26 +32,62 @@ import frc.robot.subsystems.drive.ModuleIOMapleSim;
 import frc.robot.subsystems.drive.ModuleIOSim;
 import frc.robot.subsystems.drive.ModuleIOTalonFX;
 import frc.robot.subsystems.led.LED;
+import frc.robot.subsystems.ramp.RampIO;
 import frc.robot.subsystems.ramp.RampIOSim;
 import frc.robot.subsystems.ramp.RampIOTalonFX;
 import frc.robot.subsystems.ramp.RampMechanism;
 import frc.robot.subsystems.ramp.RampSubsystem;
+import frc.robot.subsystems.scoring.ClawIO;
 import frc.robot.subsystems.scoring.ClawIOSim;
 import frc.robot.subsystems.scoring.ClawIOTalonFX;
 import frc.robot.subsystems.scoring.ClawMechanism;
+import frc.robot.subsystems.scoring.ElevatorIO;
+import frc.robot.subsystems.scoring.ElevatorIOPlantSim;
 import frc.robot.subsystems.scoring.ElevatorIOSim;
 import frc.robot.subsystems.scoring.ElevatorIOTalonFX;
 import frc.robot.subsystems.scoring.ElevatorMechanism;
 import frc.robot.subsystems.scoring.ScoringSubsystem;
+import frc.robot.subsystems.scoring.WristIO;
+import frc.robot.subsystems.scoring.WristIOPlantSim;
 import frc.robot.subsystems.scoring.WristIOSim;
 import frc.robot.subsystems.scoring.WristIOTalonFX;
 import frc.robot.subsystems.scoring.WristMechanism;
+import frc.robot.util.LoopTimeProfiler;
+import frc.robot.util.LoopTimeProfiler.Section;
 import org.ironmaple.simulation.SimulatedArena;
 import org.ironmaple.simulation.drivesims.COTS;
 import org.ironmaple.simulation.drivesims.SwerveDriveSimulation;
 import org.ironmaple.simulation.drivesims.configs.DriveTrainSimulationConfig;
 
 public final class InitSubsystems {
+  /**
+   * Wraps the sim IO built here, so offline tools can disturb the simulated robot without the IO
+   * implementations knowing about it. The defaults leave the sim untouched.
+   */
+  public interface SimIODecorator {
+    public default ModuleIO decorateModule(ModuleIO io) {
+      return io;
+    }
+
+    public default ClawIO decorateClaw(ClawIO io) {
+      return io;
+    }
+
+    /** Returns true if a vision measurement should be thrown away before it reaches the drive */
+    public default boolean shouldDropVisionMeasurement() {
+      return false;
+    }
+  }
+
+  private static SimIODecorator simIODecorator = new SimIODecorator() {};
+
+  /**
+   * Sets the decorator applied to sim IO. Only takes effect for subsystems built afterwards, so it
+   * must be called before the RobotContainer is constructed.
+   */
+  public static void setSimIODecorator(SimIODecorator decorator) {
+    simIODecorator = decorator;
+  }
 
   public static ScoringSubsystem initScoringSubsystem() {
     ElevatorMechanism elevatorMechanism = null;
@@ -72,17 +110,33 @@ public final class InitSubsystems {
       case MAPLESIM: // TODO: Once ground intake is added, make sure this plays nice with it in
         // maplesim
         if (JsonConstants.scoringFeatureFlags.runElevator) {
-          elevatorMechanism = new ElevatorMechanism(new ElevatorIOSim());
+          elevatorMechanism =
+              new ElevatorMechanism(
+                  SimConstants.useScoringPlantModels
+                      ? new ElevatorIOPlantSim()
+                      : new ElevatorIOSim());
         }
         if (JsonConstants.scoringFeatureFlags.runWrist) {
-          wristMechanism = new WristMechanism(new WristIOSim());
+          wristMechanism =
+              new WristMechanism(
+                  SimConstants.useScoringPlantModels ? new WristIOPlantSim() : new WristIOSim());
         }
         if (JsonConstants.scoringFeatureFlags.runClaw) {
-          clawMechanism = new ClawMechanism(new ClawIOSim());
+          clawMechanism = new ClawMechanism(simIODecorator.decorateClaw(new ClawIOSim()));
         }
         break;
       case REPLAY:
-        throw new UnsupportedOperationException("Scoring replay is not yet implemented.");
+        // Replayed robot, disable IO implementations
+        if (JsonConstants.scoringFeatureFlags.runElevator) {
+          elevatorMechanism = new ElevatorMechanism(new ElevatorIO() {});
+        }
+        if (JsonConstants.scoringFeatureFlags.runWrist) {
+          wristMechanism = new WristMechanism(new WristIO() {});
+        }
+        if (JsonConstants.scoringFeatureFlags.runClaw) {
+          clawMechanism = new ClawMechanism(new ClawIO() {});
+        }
+        break;
       default:
         throw new UnsupportedOperationException(
             "Non-exhaustive list of mode types supported in InitSubsystems (got "
@@ -101,7 +155,8 @@ public final class InitSubsystems {
       case MAPLESIM:
         return new ClimbSubsystem(new ClimbIOSim());
       case REPLAY:
-        throw new UnsupportedOperationException("Climb replay is not yet implemented.");
+        // Replayed robot, disable IO implementations
+        return new ClimbSubsystem(new ClimbIO() {});
       default:
         throw new UnsupportedOperationException(
             "Non-exhaustive list of mode types supported in InitSubsystems");
@@ -123,10 +178,14 @@ public final class InitSubsystems {
         // Sim robot, instantiate physics sim IO implementations
         return new Drive(
             new GyroIO() {},
-            new ModuleIOSim(DriveConfiguration.getInstance().FrontLeft),
-            new ModuleIOSim(DriveConfiguration.getInstance().FrontRight),
-            new ModuleIOSim(DriveConfiguration.getInstance().BackLeft),
-            new ModuleIOSim(DriveConfiguration.getInstance().BackRight));
+            simIODecorator.decorateModule(
+                new ModuleIOSim(DriveConfiguration.getInstance().FrontLeft)),
+            simIODecorator.decorateModule(
+                new ModuleIOSim(DriveConfiguration.getInstance().FrontRight)),
+            simIODecorator.decorateModule(
+                new ModuleIOSim(DriveConfiguration.getInstance().BackLeft)),
+            simIODecorator.decorateModule(
+                new ModuleIOSim(DriveConfiguration.getInstance().BackRight)));
 
       case MAPLESIM:
 
@@ -153,17 +212,22 @@ public final class InitSubsystems {
         SimulatedArena.getInstance().addDriveTrainSimulation(RobotContainer.driveSim);
         return new Drive(
             new GyroIOMapleSim(RobotContainer.driveSim.getGyroSimulation()),
-            new ModuleIOMapleSim(
-                RobotContainer.driveSim.getModules()[0],
-                DriveConfiguration.getInstance().FrontLeft),
-            new ModuleIOMapleSim(
-                RobotContainer.driveSim.getModules()[1],
-                DriveConfiguration.getInstance().FrontRight),
-            new ModuleIOMapleSim(
-                RobotContainer.driveSim.getModules()[2], DriveConfiguration.getInstance().BackLeft),
-            new ModuleIOMapleSim(
-                RobotContainer.driveSim.getModules()[3],
-                DriveConfiguration.getInstance().BackRight));
+            simIODecorator.decorateModule(
+                new ModuleIOMapleSim(
+                    RobotContainer.driveSim.getModules()[0],
+                    DriveConfiguration.getInstance().FrontLeft)),
+            simIODecorator.decorateModule(
+                new ModuleIOMapleSim(
+                    RobotContainer.driveSim.getModules()[1],
+                    DriveConfiguration.getInstance().FrontRight)),
+            simIODecorator.decorateModule(
+                new ModuleIOMapleSim(
+                    RobotContainer.driveSim.getModules()[2],
+                    DriveConfiguration.getInstance().BackLeft)),
+            simIODecorator.decorateModule(
+                new ModuleIOMapleSim(
+                    RobotContainer.driveSim.getModules()[3],
+                    DriveConfiguration.getInstance().BackRight)));
 
       default:
         // Replayed robot, disable IO implementations
@@ -186,6 +250,10 @@ public final class InitSubsystems {
       case MAPLESIM:
         rampSubsystem = new RampSubsystem(new RampMechanism(new RampIOSim()));
         break;
+      case REPLAY:
+        // Replayed robot, disable IO implementations
+        rampSubsystem = new RampSubsystem(new RampMechanism(new RampIO() {}));
+        break;
       default:
         throw new UnsupportedOperationException(
             "Non-exhaustive list of mode types supported in InitSubsystems");
@@ -204,53 +272,73 @@ public final class InitSubsystems {
 
   public static VisionLocalizer initVisionSubsystem(Drive drive) {
     AprilTagFieldLayout tagLayout = AprilTagFieldLayout.loadField(AprilTagFields.kDefaultField);
+    VisionIO frontRightIO;
+    VisionIO frontLeftIO;
     switch (ModeConstants.currentMode) {
       case REAL:
-        return new VisionLocalizer(
-            drive::addVisionMeasurement,
-            tagLayout,
-            new double[0],
+        frontRightIO =
             new VisionIOPhotonReal(
-                "Front-Right", JsonConstants.visionConstants.FrontRightTransform),
-            new VisionIOPhotonReal("Front-Left", JsonConstants.visionConstants.FrontLeftTransform));
+                "Front-Right", JsonConstants.visionConstants.FrontRightTransform);
+        frontLeftIO =
+            new VisionIOPhotonReal("Front-Left", JsonConstants.visionConstants.FrontLeftTransform);
+        break;
       case SIM:
-        return new VisionLocalizer(
-            drive::addVisionMeasurement,
-            tagLayout,
-            new double[0],
+        frontRightIO =
             new VisionIOPhotonSim(
                 "Front-Right",
                 JsonConstants.visionConstants.FrontRightTransform,
                 drive::getPose,
-                tagLayout),
+                tagLayout);
+        frontLeftIO =
             new VisionIOPhotonSim(
                 "Front-Left",
                 JsonConstants.visionConstants.FrontLeftTransform,
                 drive::getPose,
-                tagLayout));
+                tagLayout);
+        break;
       case MAPLESIM:
-        return new VisionLocalizer(
-            drive::addVisionMeasurement,
-            tagLayout,
-            new double[0],
+        frontRightIO =
             new VisionIOPhotonSim(
                 "Front-Right",
                 JsonConstants.visionConstants.FrontRightTransform,
                 RobotContainer.driveSim::getSimulatedDriveTrainPose,
-                tagLayout),
+                tagLayout);
+        frontLeftIO =
             new VisionIOPhotonSim(
                 "Front-Left",
                 JsonConstants.visionConstants.FrontLeftTransform,
                 RobotContainer.driveSim::getSimulatedDriveTrainPose,
-                tagLayout));
+                tagLayout);
+        break;
       default:
-        return new VisionLocalizer(
-            drive::addVisionMeasurement,
-            tagLayout,
-            new double[0],
-            new VisionIO() {},
-            new VisionIO() {});
+        frontRightIO = new VisionIO() {};
+        frontLeftIO = new VisionIO() {};
+        break;
     }
+
+    // Offline tools may drop some sim measurements to model losing sight of tags
+    boolean simulated =
+        ModeConstants.currentMode == ModeConstants.Mode.SIM
+            || ModeConstants.currentMode == ModeConstants.Mode.MAPLESIM;
+
+    // Subclassed only to time periodic, since the localizer itself comes from coppercore
+    return new VisionLocalizer(
+        (pose, timestamp, stdDevs) -> {
+          if (!simulated || !simIODecorator.shouldDropVisionMeasurement()) {
+            drive.addVisionMeasurement(pose, timestamp, stdDevs);
+          }
+        },
+        tagLayout,
+        new double[0],
+        frontRightIO,
+        frontLeftIO) {
+      @Override
+      public void periodic() {
+        long periodicStart = LoopTimeProfiler.start();
+        super.periodic();
+        LoopTimeProfiler.stop(Section.Vision, periodicStart);
+      }
+    };
   }
 
   public static LED initLEDs(
@@ -261,10 +349,9 @@ public final class InitSubsystems {
         return new LED(scoringSubsystem, climbSubsystem, drive);
       case SIM:
       case MAPLESIM:
-        return new LED(scoringSubsystem, climbSubsystem, drive);
-
       case REPLAY:
-        throw new UnsupportedOperationException("LED replay is not yet implemented.");
+        // LEDs have no inputs, so in replay they are driven by the replayed subsystem state
+        return new LED(scoringSubsystem, climbSubsystem, drive);
       default:
         throw new UnsupportedOperationException(
             "Non-exhaustive list of mode types supported in InitSubsystems (got "
@@ -5,6 +5,10 @@ import edu.wpi.first.wpilibj.Threads;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.CommandScheduler;
 import frc.robot.constants.ModeConstants;
+import frc.robot.util.CANSignalRegistry;
+import frc.robot.util.LoopGroups;
+import frc.robot.util.LoopTimeProfiler;
+import frc.robot.util.LoopTimeProfiler.Section;
 import org.ironmaple.simulation.SimulatedArena;
 import org.littletonrobotics.junction.LogFileUtil;
 import org.littletonrobotics.junction.LoggedRobot;
@@ -71,6 +75,9 @@ public class Robot extends LoggedRobot {
     // Instantiate our RobotContainer. This will perform all our button bindings,
     // and put our autonomous chooser on the dashboard.
     robotContainer = new RobotContainer();
+
+    // Every IO has registered its signals by now, so turn off the ones nothing reads
+    CANSignalRegistry.optimizeBusUtilization();
   }
 
   @Override
@@ -85,15 +92,39 @@ public class Robot extends LoggedRobot {
     // Switch thread to high priority to improve loop timing
     Threads.setCurrentThreadPriority(true, 99);
 
+    runLoop();
+
+    // Return to normal thread priority
+    Threads.setCurrentThreadPriority(false, 10);
+  }
+
+  /**
+   * The shared part of every robot loop, after the mode periodic methods: CAN refresh, scheduler,
+   * loop groups and loop timing. Also called by the headless auto runner, so that it runs exactly
+   * the same loop as the robot.
+   */
+  public static void runLoop() {
+    // Pick the diagnostic signal rate for this mode, then refresh every registered CAN signal
+    // before any subsystem reads its inputs
+    TelemetryManager.update();
+    long canRefreshStart = LoopTimeProfiler.start();
+    CANSignalRegistry.refreshAll();
+    long schedulerStart = LoopTimeProfiler.stop(Section.CANRefresh, canRefreshStart);
+
     // Runs the Scheduler. This is responsible for polling buttons, adding
     // newly-scheduled commands, running already-scheduled commands, removing
     // finished or interrupted commands, and running subsystem periodic() methods.
     // This must be called from the robot's periodic block in order for anything in
     // the Command-based framework to work.
     CommandScheduler.getInstance().run();
+    long slowGroupStart = LoopTimeProfiler.stop(Section.Scheduler, schedulerStart);
 
-    // Return to normal thread priority
-    Threads.setCurrentThreadPriority(false, 10);
+    // Run LEDs and other work that only needs to happen on some loops
+    LoopGroups.run();
+    LoopTimeProfiler.stop(Section.SlowGroup, slowGroupStart);
+
+    // Mode periodic methods have already run this loop, so every section is now complete
+    LoopTimeProfiler.endLoop();
   }
 
   /** This function is called once when the robot is disabled. */
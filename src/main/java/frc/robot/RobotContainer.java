@@ -34,7 +34,12 @@ import frc.robot.subsystems.led.LED;
 import frc.robot.subsystems.ramp.RampSubsystem;
 import frc.robot.subsystems.scoring.ScoringSubsystem;
 import frc.robot.subsystems.scoring.ScoringSubsystem.GamePiece;
+import frc.robot.util.LoopGroups;
+import frc.robot.util.LoopGroups.LoopGroup;
+import frc.robot.util.LoopTimeProfiler;
+import frc.robot.util.LoopTimeProfiler.Section;
 import java.io.File;
+import java.util.List;
 import org.ironmaple.simulation.SimulatedArena;
 import org.ironmaple.simulation.drivesims.SwerveDriveSimulation;
 import org.littletonrobotics.junction.Logger;
@@ -190,6 +195,8 @@ public class RobotContainer {
       if (FeatureFlags.synced.getObject().runVision) {
         vision = InitSubsystems.initVisionSubsystem(drive);
         drive.setAlignmentSupplier(vision::getDistanceErrorToTag);
+        // Fuse the measurements from every camera once the scheduler has run
+        LoopGroups.add(LoopGroup.Control, drive::startVisionFusion);
       }
     }
     if (FeatureFlags.synced.getObject().runRamp) {
@@ -245,6 +252,10 @@ public class RobotContainer {
     }
 
     strategyManager = new StrategyManager(drive, scoringSubsystem);
+
+    if (led != null) {
+      LoopGroups.add(LoopGroup.Slow, led::update);
+    }
   }
 
   /**
@@ -270,6 +281,18 @@ public class RobotContainer {
     }
   }
 
+  public List<AutoStrategy> getAutoStrategies() {
+    return strategyContainer.getStrategies();
+  }
+
+  public Drive getDrive() {
+    return drive;
+  }
+
+  public StrategyManager getStrategyManager() {
+    return strategyManager;
+  }
+
   public Command getAutonomousCommand() {
     // An example command will be run in autonomous
     return AkitDriveCommands.feedforwardCharacterization(drive);
@@ -277,13 +300,27 @@ public class RobotContainer {
 
   public void periodic() {
 
+    long strategyManagerStart = LoopTimeProfiler.start();
     strategyManager.periodic();
+    if (LoopGroups.isDue(LoopGroup.Slow)) {
+      strategyManager.updateDashboard();
+    }
+    LoopTimeProfiler.stop(Section.StrategyManager, strategyManagerStart);
 
     Logger.recordOutput("Switches/brake", brakeSwitch.get());
     Logger.recordOutput("Switches/led", ledSwitch.get());
   }
 
   public void autonomousInit() {
+    autonomousInit(autoChooser.getSelected());
+  }
+
+  /**
+   * Runs autonomous init with a specific strategy rather than the one selected on the dashboard
+   *
+   * @param strategy the auto strategy to run
+   */
+  public void autonomousInit(AutoStrategy strategy) {
     drive.autonomousInit();
 
     // setSubsystemsToBrake();
@@ -292,7 +329,7 @@ public class RobotContainer {
     // }
 
     // load chosen strategy
-    strategyManager.autonomousInit(autoChooser.getSelected());
+    strategyManager.autonomousInit(strategy);
   }
 
   public void teleopInit() {
@@ -383,9 +420,10 @@ public class RobotContainer {
   }
 
   public void disabledPeriodic() {
-    led.periodic();
     // Logger.recordOutput("feature_flags/drive", FeatureFlags.synced.getObject().runDrive);
-    strategyManager.logActions();
+    if (LoopGroups.isDue(LoopGroup.Slow)) {
+      strategyManager.logActions();
+    }
     checkSwitchForDisabled();
     checkLedSwitch();
 
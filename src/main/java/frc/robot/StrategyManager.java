@@ -159,6 +159,24 @@ public class StrategyManager {
     return actions.size() > 0 ? actions.remove() : null;
   }
 
+  /**
+   * gets the action that is currently running
+   *
+   * @return the current action, or null if there is none
+   */
+  public Action getCurrentAction() {
+    return currentAction;
+  }
+
+  /**
+   * gets how many actions are waiting in the queue
+   *
+   * @return number of actions that haven't started yet
+   */
+  public int getQueuedActionCount() {
+    return actions.size();
+  }
+
   /**
    * logs current action queue
    *
@@ -312,7 +330,13 @@ public class StrategyManager {
         System.out.println("Scheduled new command");
       }
     }
+  }
 
+  /**
+   * Exchanges values with SnakeScreen and logs the action queue. This doesn't need to run every
+   * loop, so the robot runs it in the slow loop group.
+   */
+  public void updateDashboard() {
     // updates snakescreen with current locations to watch auto run
     if (DriverStation.isAutonomousEnabled()) {
       this.publishDefaultSubsystemValues();
@@ -0,0 +1,64 @@
+package frc.robot;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import frc.robot.TestModeManager.TestMode;
+import frc.robot.util.CANSignalRegistry;
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * Object to pick how much diagnostic telemetry is sent and logged, based on the robot mode.
+ *
+ * <p>Diagnostic signals, like closed-loop PID breakdowns, are only useful while tuning. They are
+ * streamed at full rate while a test mode is selected, slowed down in practice, and paused entirely
+ * on the field so that the CAN bus and the loop aren't spent on them during a match.
+ */
+public class TelemetryManager {
+  public enum TelemetryLevel {
+    Match(0.0), // Connected to an FMS: diagnostics are paused
+    Practice(10.0), // Not tuning anything: diagnostics are sent at a low rate
+    Tuning(100.0); // A test mode is selected: diagnostics are sent at full rate
+
+    private final double diagnosticFrequencyHz;
+
+    TelemetryLevel(double diagnosticFrequencyHz) {
+      this.diagnosticFrequencyHz = diagnosticFrequencyHz;
+    }
+  }
+
+  private static TelemetryLevel level = TelemetryLevel.Match;
+
+  /**
+   * Update the telemetry level from the robot mode, changing the diagnostic signal rate if it
+   * changed. This method should be called by the Robot once per loop, before signals are refreshed.
+   */
+  public static void update() {
+    TelemetryLevel newLevel;
+    if (DriverStation.isFMSAttached()) {
+      newLevel = TelemetryLevel.Match;
+    } else if (TestModeManager.getTestMode() != TestMode.None) {
+      newLevel = TelemetryLevel.Tuning;
+    } else {
+      newLevel = TelemetryLevel.Practice;
+    }
+
+    if (newLevel != level) {
+      level = newLevel;
+      CANSignalRegistry.setDiagnosticFrequency(level.diagnosticFrequencyHz);
+    }
+
+    Logger.recordOutput("Telemetry/Level", level);
+  }
+
+  public static TelemetryLevel getLevel() {
+    return level;
+  }
+
+  /**
+   * Check whether IOs should log their diagnostic values this loop.
+   *
+   * @return true unless diagnostics are paused
+   */
+  public static boolean shouldLogDiagnostics() {
+    return CANSignalRegistry.areDiagnosticsEnabled();
+  }
+}
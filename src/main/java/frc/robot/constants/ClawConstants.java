@@ -91,5 +91,17 @@ public class ClawConstants {
 
     /** When piecePos < algaeDetectionPoint, the simulated sensor can sense it */
     public final Double algaeDetectionPoint = 0.7;
+
+    /** Moment of inertia of the claw rollers, as a Double so it can be synced by JSONSync */
+    public final Double rollerMomentOfInertiaKgM2 = 0.002;
+
+    /** How far a gamepiece moves through the claw (in piecePos) per rotation of the rollers */
+    public final Double pieceTravelPerRotation = 0.05;
+
+    /** Friction torque a coral puts on the rollers while it slides through the claw */
+    public final Double coralContactFrictionNewtonMeters = 0.2;
+
+    /** Friction torque an algae puts on the rollers while it's in the claw */
+    public final Double algaeContactFrictionNewtonMeters = 0.5;
   }
 }
@@ -3,9 +3,11 @@ package frc.robot.constants;
 import coppercore.parameter_tools.path_provider.EnvironmentHandler;
 import edu.wpi.first.wpilibj.Filesystem;
 import frc.robot.constants.field.BlueFieldLocations;
+import frc.robot.constants.field.FieldTargetTable;
 import frc.robot.constants.field.RedFieldLocations;
 import frc.robot.constants.subsystems.DrivetrainConstants;
 import frc.robot.constants.subsystems.ElevatorConstants;
+import frc.robot.subsystems.scoring.ProtectionClampTable;
 
 public class JsonConstants {
   public static void loadConstants() {
@@ -43,6 +45,10 @@ public class JsonConstants {
     blueFieldLocations = BlueFieldLocations.synced.getObject();
     drivetrainConstants = DrivetrainConstants.synced.getObject();
     visionConstants = VisionConstants.synced.getObject();
+
+    fieldTargets = FieldTargetTable.build(redFieldLocations, blueFieldLocations, visionConstants);
+    protectionClamps =
+        ProtectionClampTable.build(elevatorConstants, wristConstants, scoringSetpoints);
   }
 
   public static ElevatorConstants elevatorConstants;
@@ -60,4 +66,6 @@ public class JsonConstants {
   public static BlueFieldLocations blueFieldLocations;
   public static DrivetrainConstants drivetrainConstants;
   public static VisionConstants visionConstants;
+  public static FieldTargetTable fieldTargets;
+  public static ProtectionClampTable protectionClamps;
 }
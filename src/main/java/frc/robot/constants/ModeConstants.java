@@ -17,5 +17,12 @@ public final class ModeConstants {
    */
   public static final Mode simMode = Mode.MAPLESIM;
 
-  public static final Mode currentMode = Robot.isReal() ? Mode.REAL : simMode;
+  /**
+   * System property that forces replay mode in sim regardless of simMode. Set by the batch replay
+   * tool, which isn't part of the robot jar, on the robot processes it launches.
+   */
+  public static final String forceReplayProperty = "frc.robot.forceReplay";
+
+  public static final Mode currentMode =
+      Robot.isReal() ? Mode.REAL : Boolean.getBoolean(forceReplayProperty) ? Mode.REPLAY : simMode;
 }
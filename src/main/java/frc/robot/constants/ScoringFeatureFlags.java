@@ -17,4 +17,10 @@ public class ScoringFeatureFlags {
   public final Boolean runElevator = true;
   public final Boolean runClaw = true;
   public final Boolean runWrist = true;
+
+  /** Move between setpoints by following plans from ScoringMotionPlanner */
+  public final Boolean useMotionPlanner = false;
+
+  /** Start warmup from drive's estimated arrival time instead of only its distance to the reef */
+  public final Boolean usePredictiveWarmup = false;
 }
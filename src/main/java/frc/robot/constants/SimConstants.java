@@ -1,9 +1,24 @@
 package frc.robot.constants;
 
 import static edu.wpi.first.units.Units.Milliseconds;
+import static edu.wpi.first.units.Units.Seconds;
 
 import edu.wpi.first.units.measure.Time;
 
 public final class SimConstants {
   public static final Time simDeltaTime = Milliseconds.of(20);
+
+  /**
+   * Whether to simulate the elevator and wrist with the pure-Java plant models instead of Phoenix
+   * sim state. The plant models don't wait on Phoenix's sim loop, so they're much faster to step
+   * headless, while the Phoenix sims exercise the real TalonFX configs.
+   */
+  public static final boolean useScoringPlantModels = true;
+
+  /** Time step of the pure-Java plant models and their emulated motor controllers (1 kHz) */
+  public static final Time plantSubstepTime = Milliseconds.of(1);
+
+  /** How many plant model steps make up one robot loop */
+  public static final int plantSubstepsPerLoop =
+      (int) Math.round(simDeltaTime.in(Seconds) / plantSubstepTime.in(Seconds));
 }
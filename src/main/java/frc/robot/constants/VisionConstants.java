@@ -24,4 +24,13 @@ public class VisionConstants {
           Units.inchesToMeters(-5.5),
           Units.inchesToMeters(12.0),
           new Rotation3d(0, 0, 0));
+
+  /** Vision observations older than this when they are fused are dropped */
+  public final Double MaxObservationAgeSeconds = 0.5;
+
+  /**
+   * Vision observations taken within this long of each other, like frames from different cameras
+   * that saw tags at the same moment, are combined into one pose correction
+   */
+  public final Double MeasurementGroupWindowSeconds = 0.01;
 }
@@ -0,0 +1,284 @@
+package frc.robot.constants.field;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import frc.robot.constants.VisionConstants;
+import frc.robot.subsystems.drive.Drive.DesiredLocation;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precomputed drive targets for every (alliance, DesiredLocation) pair.
+ *
+ * <p>Drive looks up the same OTF, goal and lineup targets several times every loop, so instead of
+ * switching over the location and alliance and building a new Pose2d on every call, everything is
+ * computed once from the field location constants when they are loaded. Lookups are a single array
+ * index into flat, immutable arrays and never allocate. Locations with no target of a given kind
+ * return null poses, a zero rotation, or an ID of -1.
+ */
+public final class FieldTargetTable {
+  private static final DesiredLocation[] LOCATIONS = DesiredLocation.values();
+  private static final int LOCATION_COUNT = LOCATIONS.length;
+
+  private static final int REEF_POLE_COUNT = 12;
+  private static final int REEF_FACE_COUNT = 6;
+
+  // Reef face tag IDs, indexed by face (Reef0/Reef1/Algae0 is face 0)
+  private static final int[] RED_REEF_TAG_IDS = {10, 9, 8, 7, 6, 11};
+  private static final int[] BLUE_REEF_TAG_IDS = {21, 22, 17, 18, 19, 20};
+
+  private final Pose2d[] otfPoses = new Pose2d[2 * LOCATION_COUNT];
+  private final Pose2d[] goalPoses = new Pose2d[2 * LOCATION_COUNT];
+  private final Pose2d[] linearDrivePoses = new Pose2d[2 * LOCATION_COUNT];
+  private final Rotation2d[] reefFaceRotations = new Rotation2d[2 * LOCATION_COUNT];
+  private final int[] tagIds = new int[2 * LOCATION_COUNT];
+  private final int[] cameraIndices = new int[2 * LOCATION_COUNT];
+
+  /** Field locations for one alliance, gathered so both alliances share the same build logic. */
+  private record AllianceLocations(
+      Translation2d[] reefOTFTranslations,
+      Rotation2d[] reefOTFRotations,
+      Translation2d algae0GoalTranslation,
+      Translation2d algae1GoalTranslation,
+      Translation2d reef11GoalTranslation,
+      Pose2d coralStationLeft,
+      Pose2d coralStationRight,
+      Pose2d autoLine,
+      Pose2d netScore,
+      int[] reefTagIds) {}
+
+  private FieldTargetTable() {}
+
+  /**
+   * Builds the table from loaded field location constants.
+   *
+   * @param red red alliance field locations
+   * @param blue blue alliance field locations
+   * @param vision vision constants, used for the lineup camera indices
+   * @return a new table
+   */
+  public static FieldTargetTable build(
+      RedFieldLocations red, BlueFieldLocations blue, VisionConstants vision) {
+    FieldTargetTable table = new FieldTargetTable();
+
+    table.fillAlliance(
+        true,
+        new AllianceLocations(
+            new Translation2d[] {
+              red.redReefOTF0Translation,
+              red.redReefOTF1Translation,
+              red.redReefOTF2Translation,
+              red.redReefOTF3Translation,
+              red.redReefOTF4Translation,
+              red.redReefOTF5Translation,
+              red.redReefOTF6Translation,
+              red.redReefOTF7Translation,
+              red.redReefOTF8Translation,
+              red.redReefOTF9Translation,
+              red.redReefOTF10Translation,
+              red.redReefOTF11Translation
+            },
+            new Rotation2d[] {
+              red.redReefOTF0Rotation,
+              red.redReefOTF1Rotation,
+              red.redReefOTF2Rotation,
+              red.redReefOTF3Rotation,
+              red.redReefOTF4Rotation,
+              red.redReefOTF5Rotation,
+              red.redReefOTF6Rotation,
+              red.redReefOTF7Rotation,
+              red.redReefOTF8Rotation,
+              red.redReefOTF9Rotation,
+              red.redReefOTF10Rotation,
+              red.redReefOTF11Rotation
+            },
+            red.redAlgaeOTF0Translation,
+            red.redAlgaeOTF1Translation,
+            red.redAlgae5OTFTranslation,
+            new Pose2d(red.redCoralStationLeftTranslation, red.redCoralStationLeftRotation),
+            new Pose2d(red.redCoralStationRightTranslation, red.redCoralStationRightRotation),
+            new Pose2d(red.redAutoLineTranslation, red.redAutoLineRotation),
+            new Pose2d(red.redNetScoreTranslation, red.redNetScoreRotation),
+            RED_REEF_TAG_IDS),
+        vision);
+
+    table.fillAlliance(
+        false,
+        new AllianceLocations(
+            new Translation2d[] {
+              blue.blueReefOTF0Translation,
+              blue.blueReefOTF1Translation,
+              blue.blueReefOTF2Translation,
+              blue.blueReefOTF3Translation,
+              blue.blueReefOTF4Translation,
+              blue.blueReefOTF5Translation,
+              blue.blueReefOTF6Translation,
+              blue.blueReefOTF7Translation,
+              blue.blueReefOTF8Translation,
+              blue.blueReefOTF9Translation,
+              blue.blueReefOTF10Translation,
+              blue.blueReefOTF11Translation
+            },
+            new Rotation2d[] {
+              blue.blueReefOTF0Rotation,
+              blue.blueReefOTF1Rotation,
+              blue.blueReefOTF2Rotation,
+              blue.blueReefOTF3Rotation,
+              blue.blueReefOTF4Rotation,
+              blue.blueReefOTF5Rotation,
+              blue.blueReefOTF6Rotation,
+              blue.blueReefOTF7Rotation,
+              blue.blueReefOTF8Rotation,
+              blue.blueReefOTF9Rotation,
+              blue.blueReefOTF10Rotation,
+              blue.blueReefOTF11Rotation
+            },
+            blue.blueAlgaeOTF0Translation,
+            blue.blueAlgaeOTF1Translation,
+            blue.blueReefOTF11Translation,
+            new Pose2d(blue.blueCoralStationLeftTranslation, blue.blueCoralStationLeftRotation),
+            new Pose2d(blue.blueCoralStationRightTranslation, blue.blueCoralStationRightRotation),
+            new Pose2d(blue.blueAutoLineTranslation, blue.blueAutoLineRotation),
+            new Pose2d(blue.blueNetScoreTranslation, blue.blueNetScoreRotation),
+            BLUE_REEF_TAG_IDS),
+        vision);
+
+    return table;
+  }
+
+  private void fillAlliance(
+      boolean isAllianceRed, AllianceLocations locations, VisionConstants vision) {
+    // One pose per reef pole; pairs of poles (ie 0 and 1) share a reef face
+    Pose2d[] reefOTFPoses = new Pose2d[REEF_POLE_COUNT];
+    Pose2d[] reefGoalPoses = new Pose2d[REEF_POLE_COUNT];
+    for (int pole = 0; pole < REEF_POLE_COUNT; pole++) {
+      reefOTFPoses[pole] =
+          new Pose2d(locations.reefOTFTranslations()[pole], locations.reefOTFRotations()[pole]);
+      reefGoalPoses[pole] = reefOTFPoses[pole];
+    }
+    reefGoalPoses[11] =
+        new Pose2d(locations.reef11GoalTranslation(), locations.reefOTFRotations()[11]);
+
+    for (DesiredLocation location : LOCATIONS) {
+      int index = indexOf(location, isAllianceRed);
+      int pole = reefPoleIndex(location);
+      int algae = reefAlgaeIndex(location);
+
+      Pose2d otfPose;
+      Pose2d goalPose;
+      if (pole != -1) {
+        otfPose = reefOTFPoses[pole];
+        goalPose = reefGoalPoses[pole];
+      } else if (algae != -1) {
+        // Algae path to the odd pole of their face, and only the first two have their own goal
+        int oddPole = 2 * algae + 1;
+        otfPose = reefOTFPoses[oddPole];
+        if (algae == 0) {
+          goalPose =
+              new Pose2d(locations.algae0GoalTranslation(), locations.reefOTFRotations()[1]);
+        } else if (algae == 1) {
+          goalPose =
+              new Pose2d(locations.algae1GoalTranslation(), locations.reefOTFRotations()[3]);
+        } else {
+          goalPose = reefGoalPoses[oddPole];
+        }
+      } else {
+        switch (location) {
+          case CoralStationLeft:
+            otfPose = locations.coralStationLeft();
+            break;
+          case CoralStationRight:
+            otfPose = locations.coralStationRight();
+            break;
+          case AutoLine:
+            otfPose = locations.autoLine();
+            break;
+          case NetScore:
+            otfPose = locations.netScore();
+            break;
+          default:
+            otfPose = null;
+            break;
+        }
+        goalPose = otfPose;
+      }
+
+      otfPoses[index] = otfPose;
+      goalPoses[index] = goalPose;
+      linearDrivePoses[index] = goalPose;
+
+      int face = pole != -1 ? pole / 2 : algae;
+      if (face != -1) {
+        reefFaceRotations[index] = locations.reefOTFRotations()[2 * face];
+        tagIds[index] = locations.reefTagIds()[face];
+        // Even poles and algae line up with the front left camera, odd poles with the front right
+        cameraIndices[index] =
+            pole != -1 && pole % 2 == 1
+                ? vision.FrontRightCameraIndex
+                : vision.FrontLeftCameraIndex;
+      } else {
+        reefFaceRotations[index] = Rotation2d.kZero;
+        tagIds[index] = -1;
+        cameraIndices[index] = -1;
+      }
+    }
+  }
+
+  private static int indexOf(DesiredLocation location, boolean isAllianceRed) {
+    return (isAllianceRed ? LOCATION_COUNT : 0) + location.ordinal();
+  }
+
+  /** Returns 0-11 for Reef0-Reef11, or -1 for any other location. */
+  private static int reefPoleIndex(DesiredLocation location) {
+    int pole = location.ordinal() - DesiredLocation.Reef0.ordinal();
+    return pole >= 0 && pole < REEF_POLE_COUNT ? pole : -1;
+  }
+
+  /** Returns 0-5 for Algae0-Algae5, or -1 for any other location. */
+  private static int reefAlgaeIndex(DesiredLocation location) {
+    int algae = location.ordinal() - DesiredLocation.Algae0.ordinal();
+    return algae >= 0 && algae < REEF_FACE_COUNT ? algae : -1;
+  }
+
+  /** Returns the pose to pathfind to for a location, or null if there is none. */
+  public Pose2d getOTFPose(DesiredLocation location, boolean isAllianceRed) {
+    return otfPoses[indexOf(location, isAllianceRed)];
+  }
+
+  /** Returns every distinct OTF target position, for both alliances. */
+  public List<Translation2d> getOTFTranslations() {
+    List<Translation2d> translations = new ArrayList<>();
+    for (Pose2d pose : otfPoses) {
+      if (pose != null && !translations.contains(pose.getTranslation())) {
+        translations.add(pose.getTranslation());
+      }
+    }
+    return translations;
+  }
+
+  /** Returns the final goal pose for a location, or null if there is none. */
+  public Pose2d getGoalPose(DesiredLocation location, boolean isAllianceRed) {
+    return goalPoses[indexOf(location, isAllianceRed)];
+  }
+
+  /** Returns the pose linear drive should drive to for a location, or null if there is none. */
+  public Pose2d getLinearDrivePose(DesiredLocation location, boolean isAllianceRed) {
+    return linearDrivePoses[indexOf(location, isAllianceRed)];
+  }
+
+  /** Returns the rotation of the reef face for a location, or zero if it is not on the reef. */
+  public Rotation2d getReefFaceRotation(DesiredLocation location, boolean isAllianceRed) {
+    return reefFaceRotations[indexOf(location, isAllianceRed)];
+  }
+
+  /** Returns the AprilTag ID of the reef face for a location, or -1 if it is not on the reef. */
+  public int getTagId(DesiredLocation location, boolean isAllianceRed) {
+    return tagIds[indexOf(location, isAllianceRed)];
+  }
+
+  /** Returns the camera index used to line up with a location, or -1 if it is not on the reef. */
+  public int getCameraIndex(DesiredLocation location, boolean isAllianceRed) {
+    return cameraIndices[indexOf(location, isAllianceRed)];
+  }
+}
@@ -76,10 +76,6 @@ public class DrivetrainConstants {
   public final Double driveCrossTrackKi = 0.0;
   public final Double driveCrossTrackKd = 0.0;
 
-  public final Double driveCrossTrackOtherCameraKp = 0.5;
-  public final Double driveCrossTrackOtherCameraKi = 0.0;
-  public final Double driveCrossTrackOtherCameraKd = 0.0;
-
   public final Double driveRotationKp = 0.5;
   public final Double driveRotationKi = 0.0;
   public final Double driveRotationKd = 0.0;
@@ -106,6 +102,24 @@ public class DrivetrainConstants {
   public final Double lineupCrossTrackThresholdMeters = 0.02;
   public final Double lineupVyThresholdMetersPerSecond = 0.05;
 
+  /** Standard deviation of the lineup camera's distance to the reef goal, in meters */
+  public final Double lineupCameraStdDevMeters = 0.02;
+
+  /**
+   * Standard deviation of the other front camera's distance to the reef goal, in meters. It sees
+   * the tag further off center, so it's trusted less
+   */
+  public final Double lineupOtherCameraStdDevMeters = 0.05;
+
+  /** Standard deviation of odometry drift during lineup, in meters per meter driven */
+  public final Double lineupOdometryDriftStdDevPerMeter = 0.05;
+
+  /**
+   * Standard deviation added to the lineup estimate every loop, in meters, so that it keeps
+   * following the cameras while the robot is stopped
+   */
+  public final Double lineupProcessStdDevMeters = 0.005;
+
   public final Double otfPoseDistanceLimit = 0.1;
   public final Double otfPoseEndingVelocity = 0.5;
 
@@ -128,6 +142,12 @@ public class DrivetrainConstants {
 
   public final Double otfWarmupDistance = 1.5;
 
+  /**
+   * With predictive warmup, start warming up once the estimated time until drive reaches the final
+   * lineup pose is within this many seconds of the time the mechanisms need to reach warmup
+   */
+  public final Double warmupLeadSeconds = 0.2;
+
   // The closed-loop output type to use for the steer motors;
   // This affects the PID/FF gains for the steer motors
   public final ClosedLoopOutputType kSteerClosedLoopOutput = ClosedLoopOutputType.Voltage;
@@ -191,6 +211,12 @@ public class DrivetrainConstants {
   public final Double OTFMaxAngularVelocity = Math.PI;
   public final Double OTFMaxAngularAccel = Math.PI / 2;
 
+  /**
+   * Use our incremental D* Lite planner instead of PathPlanner's LocalADStar for OTF, so changing
+   * dynamic obstacles repairs the current plan instead of restarting it
+   */
+  public final Boolean useDStarLitePathfinder = false;
+
   // These are only used for simulation
   @JSONExclude public final MomentOfInertia kSteerInertia = KilogramSquareMeters.of(0.01);
   @JSONExclude public final MomentOfInertia kDriveInertia = KilogramSquareMeters.of(0.01);
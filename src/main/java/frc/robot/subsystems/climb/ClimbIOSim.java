@@ -7,6 +7,7 @@ import com.ctre.phoenix6.sim.TalonFXSimState;
 import edu.wpi.first.math.system.plant.DCMotor;
 import edu.wpi.first.wpilibj.RobotController;
 import edu.wpi.first.wpilibj.simulation.SingleJointedArmSim;
+import frc.robot.TelemetryManager;
 import frc.robot.constants.ClimbConstants;
 import org.littletonrobotics.junction.Logger;
 
@@ -58,8 +59,9 @@ public class ClimbIOSim extends ClimbIOTalonFX {
 
   @Override
   public void applyOutputs(ClimbOutputs outputs) {
-    Logger.recordOutput(
-        "climb/profilesetpoint", leadMotor.getClosedLoopReference().getValueAsDouble());
+    if (TelemetryManager.shouldLogDiagnostics()) {
+      Logger.recordOutput("climb/profilesetpoint", leadMotorClosedLoopReference.getValueAsDouble());
+    }
     super.applyOutputs(outputs);
   }
 }
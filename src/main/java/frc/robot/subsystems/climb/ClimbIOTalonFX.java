@@ -4,6 +4,7 @@ import static edu.wpi.first.units.Units.Radians;
 import static edu.wpi.first.units.Units.Rotations;
 import static edu.wpi.first.units.Units.Volts;
 
+import com.ctre.phoenix6.StatusSignal;
 import com.ctre.phoenix6.configs.CANcoderConfiguration;
 import com.ctre.phoenix6.configs.CurrentLimitsConfigs;
 import com.ctre.phoenix6.configs.FeedbackConfigs;
@@ -20,11 +21,14 @@ import com.ctre.phoenix6.signals.FeedbackSensorSourceValue;
 import com.ctre.phoenix6.signals.NeutralModeValue;
 import com.ctre.phoenix6.signals.SensorDirectionValue;
 import edu.wpi.first.units.measure.Angle;
+import edu.wpi.first.units.measure.Current;
 import edu.wpi.first.units.measure.MutAngle;
 import edu.wpi.first.units.measure.MutVoltage;
 import edu.wpi.first.units.measure.Voltage;
+import frc.robot.TelemetryManager;
 import frc.robot.constants.ClimbConstants;
 import frc.robot.constants.JsonConstants;
+import frc.robot.util.CANSignalRegistry;
 import java.util.function.BooleanSupplier;
 import org.littletonrobotics.junction.Logger;
 
@@ -36,6 +40,14 @@ public class ClimbIOTalonFX implements ClimbIO {
 
   TalonFXConfiguration talonFXConfigs;
 
+  // Status signals, refreshed every loop by the CANSignalRegistry
+  StatusSignal<Angle> climbAngleCoderAbsolutePosition;
+  StatusSignal<Angle> leadMotorPosition;
+  StatusSignal<Double> leadMotorClosedLoopReference;
+  StatusSignal<Voltage> leadMotorVoltage;
+  StatusSignal<Current> leadMotorStatorCurrent;
+  StatusSignal<Current> followerMotorStatorCurrent;
+
   // TODO: replace when sensors become available - apparently this is not happening actually but
   // leaving this in case a better solution happens later
   private BooleanSupplier lockedToCage = () -> false;
@@ -97,6 +109,25 @@ public class ClimbIOTalonFX implements ClimbIO {
 
     climbAngleCoder.getConfigurator().apply(canCoderConfig);
 
+    climbAngleCoderAbsolutePosition = climbAngleCoder.getAbsolutePosition();
+    leadMotorPosition = leadMotor.getPosition();
+    leadMotorClosedLoopReference = leadMotor.getClosedLoopReference();
+    leadMotorVoltage = leadMotor.getMotorVoltage();
+    leadMotorStatorCurrent = leadMotor.getStatorCurrent();
+    followerMotorStatorCurrent = followerMotor.getStatorCurrent();
+
+    CANSignalRegistry.register(
+        "Climb/CANcoder", climbAngleCoder, 50.0, climbAngleCoderAbsolutePosition);
+    // The lead motor closes its loop on the CANcoder, so keep its position at the default rate
+    CANSignalRegistry.register(
+        "Climb/CANcoder", climbAngleCoder, 100.0, climbAngleCoder.getPosition());
+    CANSignalRegistry.register(
+        "Climb/LeadMotor", leadMotor, 50.0, leadMotorVoltage, leadMotorStatorCurrent);
+    CANSignalRegistry.registerDiagnostic(
+        "Climb/LeadMotor", leadMotor, leadMotorPosition, leadMotorClosedLoopReference);
+    CANSignalRegistry.register(
+        "Climb/FollowerMotor", followerMotor, 50.0, followerMotorStatorCurrent);
+
     // TODO: set lockedToCage when ramp becomes available
   }
 
@@ -105,10 +136,10 @@ public class ClimbIOTalonFX implements ClimbIO {
 
     inputs.lockedToCage = this.lockedToCage.getAsBoolean();
     inputs.goalAngle.mut_replace(goalAngle);
-    inputs.motorAngle.mut_replace(climbAngleCoder.getAbsolutePosition().getValue());
+    inputs.motorAngle.mut_replace(climbAngleCoderAbsolutePosition.getValue());
 
-    inputs.leadMotorStatorCurrent.mut_replace(leadMotor.getStatorCurrent().getValue());
-    inputs.followerMotorStatorCurrent.mut_replace(followerMotor.getStatorCurrent().getValue());
+    inputs.leadMotorStatorCurrent.mut_replace(leadMotorStatorCurrent.getValue());
+    inputs.followerMotorStatorCurrent.mut_replace(followerMotorStatorCurrent.getValue());
   }
 
   private double feedforward = 0.0;
@@ -123,7 +154,9 @@ public class ClimbIOTalonFX implements ClimbIO {
 
     calculator.withPosition(goalAngle.in(Rotations)).withFeedForward(feedforward);
 
-    Logger.recordOutput("climb/calculatorAngle", leadMotor.getPosition().getValueAsDouble());
+    if (TelemetryManager.shouldLogDiagnostics()) {
+      Logger.recordOutput("climb/calculatorAngle", leadMotorPosition.getValueAsDouble());
+    }
 
     if (override) {
       leadMotor.setVoltage(overrideVoltage.in(Volts));
@@ -134,7 +167,7 @@ public class ClimbIOTalonFX implements ClimbIO {
     // tried to replace the above if statement with leadMotor.setControl(new VoltageOut(5));,
     // doesn't work
     // the getMotorVoltage continuously returns 0 despite leadMotor's literal voltage being set to 5
-    outputs.appliedVoltage.mut_replace(leadMotor.getMotorVoltage().getValue());
+    outputs.appliedVoltage.mut_replace(leadMotorVoltage.getValue());
   }
 
   @Override
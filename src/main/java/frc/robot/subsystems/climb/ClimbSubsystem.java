@@ -16,6 +16,8 @@ import frc.robot.subsystems.climb.states.IdleState;
 import frc.robot.subsystems.climb.states.LiftingState;
 import frc.robot.subsystems.climb.states.SearchingState;
 import frc.robot.subsystems.climb.states.WaitingState;
+import frc.robot.util.LoopTimeProfiler;
+import frc.robot.util.LoopTimeProfiler.Section;
 import java.util.function.BooleanSupplier;
 import org.littletonrobotics.junction.Logger;
 
@@ -157,16 +159,23 @@ public class ClimbSubsystem extends SubsystemBase {
 
   @Override
   public void periodic() {
+    long periodicStart = LoopTimeProfiler.start();
 
+    long stateMachineStart = LoopTimeProfiler.start();
     climbMachine.periodic();
+    LoopTimeProfiler.stop(Section.ClimbStateMachine, stateMachineStart);
     io.updateInputs(inputs);
     io.applyOutputs(outputs);
 
+    long processInputsStart = LoopTimeProfiler.start();
     Logger.processInputs("climb/inputs", inputs);
     Logger.processInputs("climb/outputs", outputs);
+    LoopTimeProfiler.stop(Section.ProcessInputs, processInputsStart);
     Logger.recordOutput("climb/rampClear", rampClear);
     Logger.recordOutput("climb/State", climbMachine.getCurrentState());
     Logger.recordOutput("climb/Action", currentAction);
+
+    LoopTimeProfiler.stop(Section.Climb, periodicStart);
   }
 
   /** This method must be called from the subsystem's test periodic! */
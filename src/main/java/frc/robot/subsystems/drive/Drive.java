@@ -23,11 +23,9 @@ import edu.wpi.first.hal.HAL;
 import edu.wpi.first.math.Matrix;
 import edu.wpi.first.math.Pair;
 import edu.wpi.first.math.controller.ProfiledPIDController;
-import edu.wpi.first.math.estimator.SwerveDrivePoseEstimator;
 import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.geometry.Translation2d;
-import edu.wpi.first.math.geometry.Twist2d;
 import edu.wpi.first.math.kinematics.ChassisSpeeds;
 import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
 import edu.wpi.first.math.kinematics.SwerveModulePosition;
@@ -40,6 +38,7 @@ import edu.wpi.first.wpilibj.Alert;
 import edu.wpi.first.wpilibj.Alert.AlertType;
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.DriverStation.Alliance;
+import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.sysid.SysIdRoutine;
 import frc.robot.TestModeManager;
@@ -53,10 +52,11 @@ import frc.robot.subsystems.drive.states.LineupState;
 import frc.robot.subsystems.drive.states.OTFState;
 import frc.robot.subsystems.scoring.ScoringSubsystem;
 import frc.robot.util.LocalADStarAK;
+import frc.robot.util.LoopTimeProfiler;
+import frc.robot.util.LoopTimeProfiler.Section;
 import java.util.List;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BooleanSupplier;
+import org.ejml.simple.SimpleMatrix;
 import org.littletonrobotics.junction.AutoLogOutput;
 import org.littletonrobotics.junction.Logger;
 
@@ -101,7 +101,6 @@ public class Drive implements DriveTemplate {
               1),
           getModuleTranslations());
 
-  static final Lock odometryLock = new ReentrantLock();
   private final GyroIO gyroIO;
   private final GyroIOInputsAutoLogged gyroInputs = new GyroIOInputsAutoLogged();
   private final Module[] modules = new Module[4]; // FL, FR, BL, BR
@@ -111,15 +110,31 @@ public class Drive implements DriveTemplate {
 
   private SwerveDriveKinematics kinematics = new SwerveDriveKinematics(getModuleTranslations());
   private Rotation2d rawGyroRotation = new Rotation2d();
-  private SwerveModulePosition[] lastModulePositions = // For delta tracking
+
+  // Preallocated odometry buffers, reused for every sample (the pose estimator copies positions)
+  private final SwerveModulePosition[] odometryModulePositions =
       new SwerveModulePosition[] {
         new SwerveModulePosition(),
         new SwerveModulePosition(),
         new SwerveModulePosition(),
         new SwerveModulePosition()
       };
-  private SwerveDrivePoseEstimator poseEstimator =
-      new SwerveDrivePoseEstimator(kinematics, rawGyroRotation, lastModulePositions, new Pose2d());
+  private final double[] lastModuleDistancesMeters = new double[4]; // For delta tracking
+  private final double[] twistThetaRow = getTwistThetaRow(getModuleTranslations());
+
+  private DrivePoseEstimator poseEstimator =
+      new DrivePoseEstimator(
+          kinematics,
+          rawGyroRotation,
+          odometryModulePositions,
+          new Pose2d(),
+          (int) Math.ceil(ODOMETRY_FREQUENCY * DrivePoseEstimator.BUFFER_DURATION_SECONDS));
+
+  // Vision is fused into poseEstimator on another thread, so the rest of the robot reads this
+  // snapshot, taken whenever the main thread has the estimator to itself
+  private final VisionFusion visionFusion = new VisionFusion();
+  private Pose2d estimatedPose = new Pose2d();
+  private Pose2d odometryPose = new Pose2d();
 
   private ChassisSpeeds goalSpeeds = new ChassisSpeeds();
 
@@ -218,6 +233,13 @@ public class Drive implements DriveTemplate {
 
   private boolean driveLinedUp = false;
 
+  // Distance to the final lineup pose, recalculated only when the pose or goal changes since it's
+  // checked by the state machine, scoring and auto every loop
+  private Pose2d finalLineupDistancePose = null;
+  private DesiredLocation finalLineupDistanceLocation = null;
+  private boolean finalLineupDistanceRed = false;
+  private double finalLineupDistanceMeters = 0.0;
+
   private enum DriveState implements StateContainer {
     Idle(new IdleState(instance)),
     OTF(new OTFState(instance)),
@@ -291,6 +313,7 @@ public class Drive implements DriveTemplate {
         () -> DriverStation.getAlliance().orElse(Alliance.Blue) == Alliance.Red,
         this);
     Pathfinding.setPathfinder(localADStar);
+    localADStar.startPathCache(JsonConstants.fieldTargets.getOTFTranslations());
     PathPlannerLogging.setLogActivePathCallback(
         (activePath) -> {
           Logger.recordOutput(
@@ -394,6 +417,11 @@ public class Drive implements DriveTemplate {
     }
   }
 
+  /** Waits for an in-progress pathfind to finish, for headless sim. See {@link LocalADStarAK}. */
+  public void awaitPendingPath(long timeoutMillis) {
+    localADStar.awaitPendingPath(timeoutMillis);
+  }
+
   /** remove algae coral stack obstacles for on the fly */
   public void teleopInit() {
     localADStar.setDynamicObstacles(List.of(), getPose().getTranslation());
@@ -401,6 +429,11 @@ public class Drive implements DriveTemplate {
 
   @Override
   public void periodic() {
+    long periodicStart = LoopTimeProfiler.start();
+
+    // Pick up the vision fused since the last loop before anything reads the pose
+    finishVisionFusion();
+
     // Manually cancel go to intake if we have a gamepiece
     if (goToIntake
         && (ScoringSubsystem.getInstance() == null
@@ -421,13 +454,10 @@ public class Drive implements DriveTemplate {
       this.fireTrigger(DriveTrigger.ManualJoysticks);
     }
 
-    odometryLock.lock(); // Prevents odometry updates while reading data
-    gyroIO.updateInputs(gyroInputs);
-    Logger.processInputs("Drive/Gyro", gyroInputs);
-    for (var module : modules) {
-      module.periodic();
-    }
-    odometryLock.unlock();
+    // Update inputs
+    long inputsStart = LoopTimeProfiler.start();
+    updateInputs();
+    LoopTimeProfiler.stop(Section.DriveInputs, inputsStart);
 
     // Stop moving when disabled
     if (DriverStation.isDisabled()) {
@@ -436,7 +466,9 @@ public class Drive implements DriveTemplate {
       }
     }
 
+    long stateMachineStart = LoopTimeProfiler.start();
     stateMachine.periodic();
+    LoopTimeProfiler.stop(Section.DriveStateMachine, stateMachineStart);
     Logger.recordOutput("Drive/State", stateMachine.getCurrentState());
 
     // Log empty setpoint states when disabled
@@ -461,21 +493,63 @@ public class Drive implements DriveTemplate {
     }
 
     // Update odometry
-    double[] sampleTimestamps =
-        modules[0].getOdometryTimestamps(); // All signals are sampled together
-    int sampleCount = sampleTimestamps.length;
+    long odometryStart = LoopTimeProfiler.start();
+    updateOdometry();
+    LoopTimeProfiler.stop(Section.DriveOdometry, odometryStart);
+
+    // Update gyro alert
+    gyroDisconnectedAlert.set(
+        !gyroInputs.connected && ModeConstants.currentMode == ModeConstants.Mode.REAL);
+
+    Logger.recordOutput("Drive/goToIntake", goToIntake);
+    Logger.recordOutput("Drive/driveLinedUp", driveLinedUp);
+
+    LoopTimeProfiler.stop(Section.Drive, periodicStart);
+  }
+
+  /**
+   * reads the gyro and every module, picking one batch of odometry samples for all of them without
+   * blocking the odometry thread
+   */
+  void updateInputs() {
+    PhoenixOdometryThread.getInstance().latchSamples();
+    gyroIO.updateInputs(gyroInputs);
+    long processInputsStart = LoopTimeProfiler.start();
+    Logger.processInputs("Drive/Gyro", gyroInputs);
+    LoopTimeProfiler.stop(Section.ProcessInputs, processInputsStart);
+    for (var module : modules) {
+      module.periodic();
+    }
+  }
+
+  /**
+   * integrates this cycle's odometry samples into the pose estimator
+   *
+   * <p>The module positions and heading accumulation reuse preallocated buffers, but this is not
+   * allocation free. Per sample it still allocates the interpolated module angles (see {@link
+   * Module#getOdometryPositionAt}), two Rotation2d for the kinematic heading while the gyro is
+   * disconnected, everything SwerveDriveOdometry.update creates (module deltas, the twist and its
+   * matrix, and the new pose, which the estimator history keeps), and the vision-compensated pose
+   * once any vision correction exists. Those all come from WPILib's math, which the estimator
+   * keeps bit-for-bit for replay.
+   */
+  void updateOdometry() {
+    int sampleCount = modules[0].getOdometrySampleCount(); // All signals are sampled together
     for (int i = 0; i < sampleCount; i++) {
-      // Read wheel positions and deltas from each module
-      SwerveModulePosition[] modulePositions = new SwerveModulePosition[4];
-      SwerveModulePosition[] moduleDeltas = new SwerveModulePosition[4];
+      // Every module is interpolated to one reference time for this sample
+      double sampleTimestamp = getOdometrySampleTimestamp(i);
+
+      // Read wheel positions from each module into the reused buffers, and accumulate the heading
+      // change from module deltas (same math as SwerveDriveKinematics.toTwist2d)
+      double twistTheta = 0.0;
       for (int moduleIndex = 0; moduleIndex < 4; moduleIndex++) {
-        modulePositions[moduleIndex] = modules[moduleIndex].getOdometryPositions()[i];
-        moduleDeltas[moduleIndex] =
-            new SwerveModulePosition(
-                modulePositions[moduleIndex].distanceMeters
-                    - lastModulePositions[moduleIndex].distanceMeters,
-                modulePositions[moduleIndex].angle);
-        lastModulePositions[moduleIndex] = modulePositions[moduleIndex];
+        SwerveModulePosition position = odometryModulePositions[moduleIndex];
+        modules[moduleIndex].getOdometryPositionAt(i, sampleTimestamp, position);
+
+        double deltaMeters = position.distanceMeters - lastModuleDistancesMeters[moduleIndex];
+        twistTheta += twistThetaRow[moduleIndex * 2] * (deltaMeters * position.angle.getCos());
+        twistTheta += twistThetaRow[moduleIndex * 2 + 1] * (deltaMeters * position.angle.getSin());
+        lastModuleDistancesMeters[moduleIndex] = position.distanceMeters;
       }
 
       // Update gyro angle
@@ -484,20 +558,35 @@ public class Drive implements DriveTemplate {
         rawGyroRotation = gyroInputs.odometryYawPositions[i];
       } else {
         // Use the angle delta from the kinematics and module deltas
-        Twist2d twist = kinematics.toTwist2d(moduleDeltas);
-        rawGyroRotation = rawGyroRotation.plus(new Rotation2d(twist.dtheta));
+        rawGyroRotation = rawGyroRotation.plus(new Rotation2d(twistTheta));
       }
 
       // Apply update
-      poseEstimator.updateWithTime(sampleTimestamps[i], rawGyroRotation, modulePositions);
+      poseEstimator.updateWithTime(sampleTimestamp, rawGyroRotation, odometryModulePositions);
     }
+    estimatedPose = poseEstimator.getEstimatedPosition();
+    odometryPose = poseEstimator.getOdometryPosition();
 
-    // Update gyro alert
-    gyroDisconnectedAlert.set(
-        !gyroInputs.connected && ModeConstants.currentMode == ModeConstants.Mode.REAL);
+    PhoenixClockModel clockModel = PhoenixOdometryThread.getInstance().getClockModel();
+    Logger.recordOutput("Odometry/Clock/OffsetSeconds", clockModel.getOffsetSeconds());
+    Logger.recordOutput("Odometry/Clock/DriftPPM", clockModel.getDriftPPM());
+    Logger.recordOutput("Odometry/Clock/JitterMicroseconds", clockModel.getJitterSeconds() * 1e6);
+  }
 
-    Logger.recordOutput("Drive/goToIntake", goToIntake);
-    Logger.recordOutput("Drive/driveLinedUp", driveLinedUp);
+  /**
+   * gets the reference time for an odometry sample: the gyro's own measurement time when the gyro
+   * is connected (so yaw needs no correction), otherwise the average of the module sample times
+   */
+  private double getOdometrySampleTimestamp(int sampleIndex) {
+    if (gyroInputs.connected && sampleIndex < gyroInputs.odometryYawTimestamps.length) {
+      return gyroInputs.odometryYawTimestamps[sampleIndex];
+    }
+
+    double totalTimestamp = 0.0;
+    for (var module : modules) {
+      totalTimestamp += module.getOdometryTimestamp(sampleIndex);
+    }
+    return totalTimestamp / modules.length;
   }
 
   public void disabledPeriodic() {
@@ -635,21 +724,24 @@ public class Drive implements DriveTemplate {
   public boolean isDriveCloseToFinalLineupPose() {
     // relative to transforms first pose into distance from desired pose
     // then get distance between poses (if less than 0.1 meters we are good)
-    Logger.recordOutput(
-        "Drive/distanceToLineupNewMethod",
-        this.getPose()
-            .getTranslation()
-            .getDistance(
-                DesiredLocationUtil.findGoalPoseFromDesiredLocation(
-                        this.getDesiredLocation(), this.isAllianceRed())
-                    .getTranslation()));
-    return this.getPose()
-            .getTranslation()
-            .getDistance(
-                DesiredLocationUtil.findGoalPoseFromDesiredLocation(
-                        this.getDesiredLocation(), this.isAllianceRed())
-                    .getTranslation())
-        < JsonConstants.drivetrainConstants.otfPoseDistanceLimit;
+    Pose2d pose = this.getPose();
+    DesiredLocation location = this.getDesiredLocation();
+    boolean isRed = this.isAllianceRed();
+    if (pose != finalLineupDistancePose
+        || location != finalLineupDistanceLocation
+        || isRed != finalLineupDistanceRed) {
+      finalLineupDistanceMeters =
+          pose.getTranslation()
+              .getDistance(
+                  DesiredLocationUtil.findGoalPoseFromDesiredLocation(location, isRed)
+                      .getTranslation());
+      finalLineupDistancePose = pose;
+      finalLineupDistanceLocation = location;
+      finalLineupDistanceRed = isRed;
+    }
+
+    Logger.recordOutput("Drive/distanceToLineupNewMethod", finalLineupDistanceMeters);
+    return finalLineupDistanceMeters < JsonConstants.drivetrainConstants.otfPoseDistanceLimit;
   }
 
   @AutoLogOutput(key = "Drive/OTF/isDriveCloseForFarWarmup")
@@ -667,6 +759,70 @@ public class Drive implements DriveTemplate {
         < JsonConstants.drivetrainConstants.otfWarmupDistance;
   }
 
+  /**
+   * Estimate how long drive will take to reach the final lineup pose, driving through a pose (such
+   * as the OTF pose) on the way there.
+   *
+   * @param viaPose pose that drive is currently driving to
+   * @param maxVelocity maximum linear velocity of the current drive profile, in meters per second
+   * @param maxAcceleration maximum linear acceleration of the current drive profile, in meters per
+   *     second squared
+   * @return estimated seconds until the final lineup pose is reached
+   */
+  public double getSecondsToFinalLineupPose(
+      Pose2d viaPose, double maxVelocity, double maxAcceleration) {
+    Pose2d goalPose =
+        DesiredLocationUtil.findGoalPoseFromDesiredLocation(
+            this.getDesiredLocation(), this.isAllianceRed());
+    if (viaPose == null || goalPose == null) {
+      return Double.POSITIVE_INFINITY;
+    }
+
+    Translation2d toViaPose = viaPose.getTranslation().minus(this.getPose().getTranslation());
+    double distance =
+        toViaPose.getNorm() + viaPose.getTranslation().getDistance(goalPose.getTranslation());
+
+    // Only the part of the current velocity that points at the via pose helps get there
+    ChassisSpeeds fieldSpeeds =
+        ChassisSpeeds.fromRobotRelativeSpeeds(getChassisSpeeds(), getRotation());
+    double speed = 0.0;
+    if (toViaPose.getNorm() > 1e-6) {
+      speed =
+          (fieldSpeeds.vxMetersPerSecond * toViaPose.getX()
+                  + fieldSpeeds.vyMetersPerSecond * toViaPose.getY())
+              / toViaPose.getNorm();
+    }
+
+    return DriveEtaUtil.estimateSeconds(distance, speed, maxVelocity, maxAcceleration, 0.0);
+  }
+
+  /**
+   * Check whether scoring needs to start warming up now to reach its warmup setpoint by the time
+   * drive reaches the final lineup pose.
+   *
+   * @param viaPose pose that drive is currently driving to
+   * @param maxVelocity maximum linear velocity of the current drive profile, in meters per second
+   * @param maxAcceleration maximum linear acceleration of the current drive profile, in meters per
+   *     second squared
+   * @return true if predictive warmup is enabled and warmup is due
+   */
+  public boolean isDriveDueForWarmup(Pose2d viaPose, double maxVelocity, double maxAcceleration) {
+    // Skip the estimate when there's no warmup for it to start
+    if (!JsonConstants.scoringFeatureFlags.usePredictiveWarmup
+        || ScoringSubsystem.getInstance() == null
+        || !ScoringSubsystem.getInstance().canStartPredictedWarmup()) {
+      return false;
+    }
+
+    double driveSeconds = getSecondsToFinalLineupPose(viaPose, maxVelocity, maxAcceleration);
+    double warmupSeconds = ScoringSubsystem.getInstance().getSecondsToWarmup();
+
+    Logger.recordOutput("Drive/Warmup/driveSeconds", driveSeconds);
+    Logger.recordOutput("Drive/Warmup/warmupSeconds", warmupSeconds);
+
+    return driveSeconds <= warmupSeconds + JsonConstants.drivetrainConstants.warmupLeadSeconds;
+  }
+
   /**
    * checks if drive is currently lining up to a reef
    *
@@ -1046,6 +1202,26 @@ public class Drive implements DriveTemplate {
     return states;
   }
 
+  /**
+   * Returns the row of the forward kinematics matrix that maps module deltas to a heading change.
+   * This is built exactly the way SwerveDriveKinematics builds its forward kinematics, so the
+   * heading change matches toTwist2d() without allocating a matrix and twist every sample.
+   */
+  private static double[] getTwistThetaRow(Translation2d[] moduleTranslations) {
+    SimpleMatrix inverseKinematics = new SimpleMatrix(moduleTranslations.length * 2, 3);
+    for (int i = 0; i < moduleTranslations.length; i++) {
+      inverseKinematics.setRow(i * 2 + 0, 0, 1, 0, -moduleTranslations[i].getY());
+      inverseKinematics.setRow(i * 2 + 1, 0, 0, 1, +moduleTranslations[i].getX());
+    }
+    SimpleMatrix forwardKinematics = inverseKinematics.pseudoInverse();
+
+    double[] row = new double[moduleTranslations.length * 2];
+    for (int i = 0; i < row.length; i++) {
+      row[i] = forwardKinematics.get(2, i);
+    }
+    return row;
+  }
+
   /** Returns the module positions (turn angles and drive positions) for all of the modules. */
   private SwerveModulePosition[] getModulePositions() {
     SwerveModulePosition[] states = new SwerveModulePosition[4];
@@ -1090,7 +1266,15 @@ public class Drive implements DriveTemplate {
   /** Returns the current odometry pose. */
   @AutoLogOutput(key = "Odometry/Robot")
   public Pose2d getPose() {
-    return poseEstimator.getEstimatedPosition();
+    return estimatedPose;
+  }
+
+  /**
+   * Returns the current pose from odometry alone, without vision corrections. It drifts, but never
+   * jumps when vision corrects the pose, so it's used to track small movements.
+   */
+  public Pose2d getOdometryPose() {
+    return odometryPose;
   }
 
   /** Returns the current odometry rotation. */
@@ -1100,16 +1284,49 @@ public class Drive implements DriveTemplate {
 
   /** Resets the current odometry pose. */
   public void setPose(Pose2d pose) {
+    finishVisionFusion();
+    visionFusion.clear();
     poseEstimator.resetPosition(rawGyroRotation, getModulePositions(), pose);
+    estimatedPose = poseEstimator.getEstimatedPosition();
+    odometryPose = poseEstimator.getOdometryPosition();
   }
 
-  /** Adds a new timestamped vision measurement. */
+  /**
+   * Adds a new timestamped vision measurement. It is queued, and fused into the pose estimate after
+   * this loop by {@link #startVisionFusion()}.
+   */
   public void addVisionMeasurement(
       Pose2d visionRobotPoseMeters,
       double timestampSeconds,
       Matrix<N3, N1> visionMeasurementStdDevs) {
-    poseEstimator.addVisionMeasurement(
-        visionRobotPoseMeters, timestampSeconds, visionMeasurementStdDevs);
+    visionFusion.addObservation(visionRobotPoseMeters, timestampSeconds, visionMeasurementStdDevs);
+  }
+
+  /**
+   * Hands the vision measurements queued this loop to the fusion thread. This must be called once
+   * per loop after the scheduler has run, so that every camera's measurements are in one batch.
+   */
+  public void startVisionFusion() {
+    Logger.recordOutput("Odometry/VisionFusion/QueueDepth", visionFusion.getQueueDepth());
+    visionFusion.start(
+        poseEstimator,
+        Timer.getFPGATimestamp(),
+        JsonConstants.visionConstants.MaxObservationAgeSeconds,
+        JsonConstants.visionConstants.MeasurementGroupWindowSeconds);
+  }
+
+  /** waits for the fusion thread to finish its batch, then updates the pose snapshot */
+  private void finishVisionFusion() {
+    if (!visionFusion.await()) {
+      return;
+    }
+    estimatedPose = poseEstimator.getEstimatedPosition();
+
+    double latencySeconds = Timer.getFPGATimestamp() - visionFusion.getNewestTimestampSeconds();
+    Logger.recordOutput("Odometry/VisionFusion/LatencyMs", latencySeconds * 1000.0);
+    Logger.recordOutput("Odometry/VisionFusion/ComputeMs", visionFusion.getComputeSeconds() * 1e3);
+    Logger.recordOutput("Odometry/VisionFusion/Applied", visionFusion.getAppliedCount());
+    Logger.recordOutput("Odometry/VisionFusion/Rejected", visionFusion.getRejectedCount());
   }
 
   /** Returns the maximum linear speed in meters per sec. */
@@ -1150,12 +1367,16 @@ public class Drive implements DriveTemplate {
   }
 
   public void seedDirectionForward() {
+    finishVisionFusion();
+    visionFusion.clear();
     if (!DriverStation.getAlliance().isPresent()
         || DriverStation.getAlliance().get() == Alliance.Red) {
       poseEstimator.resetRotation(Rotation2d.k180deg);
     } else {
       poseEstimator.resetRotation(Rotation2d.kZero);
     }
+    estimatedPose = poseEstimator.getEstimatedPosition();
+    odometryPose = poseEstimator.getOdometryPosition();
   }
 
   public boolean isLinearDriving() {
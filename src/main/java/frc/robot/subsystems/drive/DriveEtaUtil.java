@@ -0,0 +1,58 @@
+package frc.robot.subsystems.drive;
+
+/** Provides estimates of how long drive will take to reach a goal */
+public class DriveEtaUtil {
+  /**
+   * Estimate the time to cover a distance along a trapezoidal velocity profile.
+   *
+   * <p>The robot accelerates from its current speed toward maxVelocity and decelerates to
+   * endVelocity as it arrives, which is how both PathPlanner paths and linear drive approach a
+   * goal.
+   *
+   * @param distance distance left to the goal, in meters
+   * @param speed current speed toward the goal, in meters per second
+   * @param maxVelocity maximum velocity of the profile, in meters per second
+   * @param maxAcceleration maximum acceleration of the profile, in meters per second squared
+   * @param endVelocity velocity at the goal, in meters per second
+   * @return estimated seconds until the goal is reached
+   */
+  public static double estimateSeconds(
+      double distance,
+      double speed,
+      double maxVelocity,
+      double maxAcceleration,
+      double endVelocity) {
+    if (distance <= 0.0) {
+      return 0.0;
+    }
+
+    // Moving away from the goal is treated as starting from rest
+    double startVelocity = Math.min(Math.max(speed, 0.0), maxVelocity);
+    double finalVelocity = Math.min(Math.max(endVelocity, 0.0), maxVelocity);
+
+    // Too fast to slow down to the end velocity in time: decelerate the whole way
+    double stoppingDistance =
+        (startVelocity * startVelocity - finalVelocity * finalVelocity) / (2.0 * maxAcceleration);
+    if (stoppingDistance >= distance) {
+      double arrivalVelocity =
+          Math.sqrt(startVelocity * startVelocity - 2.0 * maxAcceleration * distance);
+      return (startVelocity - arrivalVelocity) / maxAcceleration;
+    }
+
+    double peakVelocity =
+        Math.sqrt(
+            maxAcceleration * distance
+                + (startVelocity * startVelocity + finalVelocity * finalVelocity) / 2.0);
+    if (peakVelocity <= maxVelocity) {
+      return (2.0 * peakVelocity - startVelocity - finalVelocity) / maxAcceleration;
+    }
+
+    double accelerationDistance =
+        (maxVelocity * maxVelocity - startVelocity * startVelocity) / (2.0 * maxAcceleration);
+    double decelerationDistance =
+        (maxVelocity * maxVelocity - finalVelocity * finalVelocity) / (2.0 * maxAcceleration);
+    double cruiseDistance = distance - accelerationDistance - decelerationDistance;
+    return (2.0 * maxVelocity - startVelocity - finalVelocity) / maxAcceleration
+        + cruiseDistance / maxVelocity;
+  }
+}
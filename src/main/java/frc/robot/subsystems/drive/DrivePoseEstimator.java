@@ -0,0 +1,422 @@
+package frc.robot.subsystems.drive;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.Matrix;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Twist2d;
+import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.math.kinematics.SwerveDriveOdometry;
+import edu.wpi.first.math.kinematics.SwerveModulePosition;
+import edu.wpi.first.math.numbers.N1;
+import edu.wpi.first.math.numbers.N3;
+import java.util.Arrays;
+
+/**
+ * Swerve pose estimator that fuses odometry with latency-compensated vision measurements.
+ *
+ * <p>This is the same estimator as WPILib's {@code SwerveDrivePoseEstimator}, with the TreeMaps
+ * behind its odometry history and vision corrections replaced by sorted primitive-keyed arrays. A
+ * {@link PoseHistoryBuffer} holds the odometry poses, and lookups are binary searches, so odometry
+ * updates don't allocate map entries or boxed timestamps. Every step does the same floating point
+ * operations in the same order as WPILib, so estimates are bit-for-bit identical on replayed logs.
+ *
+ * <p>Like WPILib, vision corrections are stored rather than replayed: each one records the pose
+ * vision corrected to and the odometry pose at that time, and later odometry is offset by it.
+ */
+public class DrivePoseEstimator {
+  /** How long odometry history is kept for vision measurements, the same as WPILib. */
+  static final double BUFFER_DURATION_SECONDS = 1.5;
+
+  private final SwerveDriveOdometry odometry;
+  private final PoseHistoryBuffer odometryPoseBuffer;
+
+  // Squared state standard deviations, and the diagonal vision Kalman gain
+  private final double[] q = new double[3];
+  private final double[] visionK = new double[3];
+
+  // Vision corrections in time order: the corrected pose and the odometry pose it was made from
+  private double[] visionTimestamps = new double[8];
+  private Pose2d[] visionPoses = new Pose2d[8];
+  private Pose2d[] visionOdometryPoses = new Pose2d[8];
+  private int visionCount = 0;
+
+  private Pose2d poseEstimate;
+
+  /**
+   * Create an estimator with the same default standard deviations as WPILib: 0.1 m, 0.1 m and 0.1
+   * rad for the state, and 0.9 m, 0.9 m and 0.9 rad for vision.
+   *
+   * @param kinematics the drive kinematics
+   * @param gyroAngle the current gyro angle
+   * @param modulePositions the current module positions
+   * @param initialPose the starting pose estimate
+   * @param expectedSamples the most odometry samples expected within the buffer duration, used to
+   *     size the history up front
+   */
+  public DrivePoseEstimator(
+      SwerveDriveKinematics kinematics,
+      Rotation2d gyroAngle,
+      SwerveModulePosition[] modulePositions,
+      Pose2d initialPose,
+      int expectedSamples) {
+    odometry = new SwerveDriveOdometry(kinematics, gyroAngle, modulePositions, initialPose);
+    odometryPoseBuffer = new PoseHistoryBuffer(BUFFER_DURATION_SECONDS, expectedSamples);
+    poseEstimate = odometry.getPoseMeters();
+
+    for (int i = 0; i < 3; i++) {
+      q[i] = 0.1 * 0.1;
+    }
+    setVisionMeasurementStdDevs(0.9, 0.9, 0.9);
+  }
+
+  /**
+   * Set the standard deviations used for vision measurements from now on.
+   *
+   * @param x standard deviation of x, in meters
+   * @param y standard deviation of y, in meters
+   * @param theta standard deviation of heading, in radians
+   */
+  public void setVisionMeasurementStdDevs(double x, double y, double theta) {
+    double[] r = {x * x, y * y, theta * theta};
+
+    // Closed form Kalman gain for a continuous Kalman filter with A = 0 and C = I, as in WPILib
+    for (int row = 0; row < 3; row++) {
+      if (q[row] == 0.0) {
+        visionK[row] = 0.0;
+      } else {
+        visionK[row] = q[row] / (q[row] + Math.sqrt(q[row] * r[row]));
+      }
+    }
+  }
+
+  /**
+   * Reset the estimator to a pose, clearing the history.
+   *
+   * @param gyroAngle the current gyro angle
+   * @param modulePositions the current module positions
+   * @param pose the new pose estimate
+   */
+  public void resetPosition(
+      Rotation2d gyroAngle, SwerveModulePosition[] modulePositions, Pose2d pose) {
+    odometry.resetPosition(gyroAngle, modulePositions, pose);
+    clearHistory();
+  }
+
+  /**
+   * Reset the heading of the estimate without moving it, clearing the history.
+   *
+   * @param rotation the new heading
+   */
+  public void resetRotation(Rotation2d rotation) {
+    odometry.resetRotation(rotation);
+    clearHistory();
+  }
+
+  private void clearHistory() {
+    odometryPoseBuffer.clear();
+    Arrays.fill(visionPoses, null);
+    Arrays.fill(visionOdometryPoses, null);
+    visionCount = 0;
+    poseEstimate = odometry.getPoseMeters();
+  }
+
+  /** Returns the current pose estimate. */
+  public Pose2d getEstimatedPosition() {
+    return poseEstimate;
+  }
+
+  /** Returns the current pose from odometry alone, without vision corrections. */
+  public Pose2d getOdometryPosition() {
+    return odometry.getPoseMeters();
+  }
+
+  /**
+   * Add odometry for one sample time, and update the estimate.
+   *
+   * @param timestampSeconds the time of the sample
+   * @param gyroAngle the gyro angle at that time
+   * @param modulePositions the module positions at that time
+   * @return the new pose estimate
+   */
+  public Pose2d updateWithTime(
+      double timestampSeconds, Rotation2d gyroAngle, SwerveModulePosition[] modulePositions) {
+    Pose2d odometryEstimate = odometry.update(gyroAngle, modulePositions);
+    odometryPoseBuffer.addSample(timestampSeconds, odometryEstimate);
+
+    if (visionCount == 0) {
+      poseEstimate = odometryEstimate;
+    } else {
+      poseEstimate = compensate(visionCount - 1, odometryEstimate);
+    }
+    return poseEstimate;
+  }
+
+  /**
+   * Add a vision measurement, with its own standard deviations.
+   *
+   * @param visionRobotPose the robot pose measured by vision
+   * @param timestampSeconds the time the pose was measured, in the same timebase as odometry
+   * @param stdDevs the standard deviations of the measurement (x meters, y meters, theta radians),
+   *     which are kept for later measurements
+   */
+  public void addVisionMeasurement(
+      Pose2d visionRobotPose, double timestampSeconds, Matrix<N3, N1> stdDevs) {
+    setVisionMeasurementStdDevs(stdDevs.get(0, 0), stdDevs.get(1, 0), stdDevs.get(2, 0));
+    addVisionMeasurement(visionRobotPose, timestampSeconds);
+  }
+
+  /**
+   * Add a vision measurement, using the current vision standard deviations.
+   *
+   * @param visionRobotPose the robot pose measured by vision
+   * @param timestampSeconds the time the pose was measured, in the same timebase as odometry
+   */
+  public void addVisionMeasurement(Pose2d visionRobotPose, double timestampSeconds) {
+    // Skip measurements older than the odometry history
+    if (odometryPoseBuffer.isEmpty()
+        || odometryPoseBuffer.getNewestTimestamp() - BUFFER_DURATION_SECONDS > timestampSeconds) {
+      return;
+    }
+
+    cleanUpVisionUpdates();
+
+    Pose2d odometrySample = odometryPoseBuffer.getSample(timestampSeconds);
+    Pose2d visionSample = sampleAt(timestampSeconds);
+    if (odometrySample == null || visionSample == null) {
+      return;
+    }
+
+    // Only trust the correction as much as the Kalman gain says to. The multiply matches EJML's
+    // matrix-vector product with a diagonal gain, zero terms included, so the result is identical
+    Twist2d twist = visionSample.log(visionRobotPose);
+    Twist2d scaledTwist =
+        new Twist2d(
+            visionK[0] * twist.dx + 0.0 * twist.dy + 0.0 * twist.dtheta,
+            0.0 * twist.dx + visionK[1] * twist.dy + 0.0 * twist.dtheta,
+            0.0 * twist.dx + 0.0 * twist.dy + visionK[2] * twist.dtheta);
+
+    // Record the correction, dropping any made after it
+    int index = lowerVisionIndex(timestampSeconds);
+    if (index == visionTimestamps.length) {
+      growVisionUpdates();
+    }
+    visionTimestamps[index] = timestampSeconds;
+    visionPoses[index] = visionSample.exp(scaledTwist);
+    visionOdometryPoses[index] = odometrySample;
+    for (int i = index + 1; i < visionCount; i++) {
+      visionPoses[i] = null;
+      visionOdometryPoses[i] = null;
+    }
+    visionCount = index + 1;
+
+    poseEstimate = compensate(index, odometry.getPoseMeters());
+  }
+
+  /**
+   * Add every vision measurement collected in a loop, in time order.
+   *
+   * <p>Measurements taken within a short window of each other, like frames from different cameras
+   * captured at about the same time, are combined into one correction. Each one is first moved to
+   * the time of the newest one using the odometry between them. They are then averaged, with each
+   * axis weighted by the inverse of its variance, and the combined variance is the inverse of the
+   * summed weights. Each group costs one history lookup and one correction, however many cameras
+   * saw tags in it. Members older than the odometry history are dropped first, and a group left
+   * with one measurement is applied exactly like {@link #addVisionMeasurement(Pose2d, double,
+   * Matrix)}.
+   *
+   * @param batch the measurements, which are sorted by timestamp in place
+   * @param groupWindowSeconds measurements this close to the first one in a group are combined
+   */
+  public void addVisionMeasurements(VisionMeasurementBatch batch, double groupWindowSeconds) {
+    batch.sortByTimestamp();
+
+    int start = 0;
+    while (start < batch.size()) {
+      int end = start + 1;
+      while (end < batch.size()
+          && batch.getTimestamp(end) - batch.getTimestamp(start) <= groupWindowSeconds) {
+        end++;
+      }
+
+      if (end - start == 1) {
+        addBatchMeasurement(batch, start);
+      } else {
+        addCombinedVisionMeasurement(batch, start, end);
+      }
+      start = end;
+    }
+  }
+
+  /** Add one measurement of a batch on its own, with its standard deviations. */
+  private void addBatchMeasurement(VisionMeasurementBatch batch, int index) {
+    setVisionMeasurementStdDevs(
+        batch.getStdDevX(index), batch.getStdDevY(index), batch.getStdDevTheta(index));
+    addVisionMeasurement(batch.getPose(index), batch.getTimestamp(index));
+  }
+
+  /** Combine the measurements in [start, end) of a sorted batch into one, and add it. */
+  private void addCombinedVisionMeasurement(VisionMeasurementBatch batch, int start, int end) {
+    if (odometryPoseBuffer.isEmpty()) {
+      return;
+    }
+
+    // Skip members older than the odometry history, like a single measurement would be. Their
+    // odometry lookups would clamp to the oldest sample and carry them forward by the wrong amount
+    while (start < end
+        && odometryPoseBuffer.getNewestTimestamp() - BUFFER_DURATION_SECONDS
+            > batch.getTimestamp(start)) {
+      start++;
+    }
+    if (start == end) {
+      return;
+    }
+    if (end - start == 1) {
+      addBatchMeasurement(batch, start);
+      return;
+    }
+
+    double timestamp = batch.getTimestamp(end - 1);
+    Pose2d referenceOdometry = odometryPoseBuffer.getSample(timestamp);
+    if (referenceOdometry == null) {
+      return;
+    }
+
+    double weightX = 0.0;
+    double weightY = 0.0;
+    double weightTheta = 0.0;
+    double sumX = 0.0;
+    double sumY = 0.0;
+    double sumTheta = 0.0;
+    double baseTheta = 0.0;
+    for (int i = start; i < end; i++) {
+      Pose2d pose = batch.getPose(i);
+      if (i != end - 1) {
+        // Carry the measurement forward by how far odometry says the robot moved since it
+        Pose2d measurementOdometry = odometryPoseBuffer.getSample(batch.getTimestamp(i));
+        pose = pose.plus(referenceOdometry.minus(measurementOdometry));
+      }
+
+      double stdDevX = batch.getStdDevX(i);
+      double stdDevY = batch.getStdDevY(i);
+      double stdDevTheta = batch.getStdDevTheta(i);
+      double wx = 1.0 / (stdDevX * stdDevX);
+      double wy = 1.0 / (stdDevY * stdDevY);
+      double wTheta = 1.0 / (stdDevTheta * stdDevTheta);
+
+      // Headings are averaged as offsets from the first one, so they don't wrap
+      double theta = pose.getRotation().getRadians();
+      if (i == start) {
+        baseTheta = theta;
+      }
+
+      weightX += wx;
+      weightY += wy;
+      weightTheta += wTheta;
+      sumX += wx * pose.getX();
+      sumY += wy * pose.getY();
+      sumTheta += wTheta * MathUtil.angleModulus(theta - baseTheta);
+    }
+
+    Pose2d combinedPose =
+        new Pose2d(
+            sumX / weightX, sumY / weightY, new Rotation2d(baseTheta + sumTheta / weightTheta));
+    setVisionMeasurementStdDevs(
+        Math.sqrt(1.0 / weightX), Math.sqrt(1.0 / weightY), Math.sqrt(1.0 / weightTheta));
+    addVisionMeasurement(combinedPose, timestamp);
+  }
+
+  /**
+   * Sample the estimate at a past time, with the vision corrections made up to then.
+   *
+   * @param timestampSeconds the time to sample at, clamped to the odometry history
+   * @return the estimated pose at that time, or null if there is no odometry history
+   */
+  public Pose2d sampleAt(double timestampSeconds) {
+    if (odometryPoseBuffer.isEmpty()) {
+      return null;
+    }
+
+    timestampSeconds =
+        MathUtil.clamp(
+            timestampSeconds,
+            odometryPoseBuffer.getOldestTimestamp(),
+            odometryPoseBuffer.getNewestTimestamp());
+
+    // Odometry alone if no vision correction was made before the sample time
+    if (visionCount == 0 || timestampSeconds < visionTimestamps[0]) {
+      return odometryPoseBuffer.getSample(timestampSeconds);
+    }
+
+    int floorIndex = floorVisionIndex(timestampSeconds);
+    Pose2d odometryEstimate = odometryPoseBuffer.getSample(timestampSeconds);
+    return odometryEstimate == null ? null : compensate(floorIndex, odometryEstimate);
+  }
+
+  /** Drop vision corrections older than the one needed for the oldest odometry sample. */
+  private void cleanUpVisionUpdates() {
+    if (odometryPoseBuffer.isEmpty()) {
+      return;
+    }
+
+    double oldestOdometryTimestamp = odometryPoseBuffer.getOldestTimestamp();
+    if (visionCount == 0 || oldestOdometryTimestamp < visionTimestamps[0]) {
+      return;
+    }
+
+    int firstNeeded = floorVisionIndex(oldestOdometryTimestamp);
+    if (firstNeeded == 0) {
+      return;
+    }
+
+    int remaining = visionCount - firstNeeded;
+    System.arraycopy(visionTimestamps, firstNeeded, visionTimestamps, 0, remaining);
+    System.arraycopy(visionPoses, firstNeeded, visionPoses, 0, remaining);
+    System.arraycopy(visionOdometryPoses, firstNeeded, visionOdometryPoses, 0, remaining);
+    Arrays.fill(visionPoses, remaining, visionCount, null);
+    Arrays.fill(visionOdometryPoses, remaining, visionCount, null);
+    visionCount = remaining;
+  }
+
+  /** Offset an odometry pose by the vision correction at an index. */
+  private Pose2d compensate(int index, Pose2d pose) {
+    return visionPoses[index].plus(pose.minus(visionOdometryPoses[index]));
+  }
+
+  /** Returns the index of the last vision correction at or before a time, or -1. */
+  private int floorVisionIndex(double timestampSeconds) {
+    int low = 0;
+    int high = visionCount;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (Double.compare(visionTimestamps[mid], timestampSeconds) <= 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low - 1;
+  }
+
+  /** Returns the number of vision corrections strictly before a time. */
+  private int lowerVisionIndex(double timestampSeconds) {
+    int low = 0;
+    int high = visionCount;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (Double.compare(visionTimestamps[mid], timestampSeconds) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private void growVisionUpdates() {
+    int capacity = visionTimestamps.length * 2;
+    visionTimestamps = Arrays.copyOf(visionTimestamps, capacity);
+    visionPoses = Arrays.copyOf(visionPoses, capacity);
+    visionOdometryPoses = Arrays.copyOf(visionOdometryPoses, capacity);
+  }
+}
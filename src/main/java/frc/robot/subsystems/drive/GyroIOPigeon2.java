@@ -1,7 +1,5 @@
 package frc.robot.subsystems.drive;
 
-import com.ctre.phoenix6.BaseStatusSignal;
-import com.ctre.phoenix6.StatusCode;
 import com.ctre.phoenix6.StatusSignal;
 import com.ctre.phoenix6.configs.Pigeon2Configuration;
 import com.ctre.phoenix6.hardware.Pigeon2;
@@ -10,7 +8,8 @@ import edu.wpi.first.math.util.Units;
 import edu.wpi.first.units.measure.Angle;
 import edu.wpi.first.units.measure.AngularVelocity;
 import frc.robot.constants.JsonConstants;
-import java.util.Queue;
+import frc.robot.util.CANSignalRegistry;
+import frc.robot.util.CANSignalRegistry.SignalGroup;
 
 /** IO implementation for Pigeon 2. */
 public class GyroIOPigeon2 implements GyroIO {
@@ -19,33 +18,34 @@ public class GyroIOPigeon2 implements GyroIO {
           JsonConstants.drivetrainConstants.DrivetrainConstants.Pigeon2Id,
           JsonConstants.drivetrainConstants.DrivetrainConstants.CANBusName);
   private final StatusSignal<Angle> yaw = pigeon.getYaw();
-  private final Queue<Double> yawPositionQueue;
-  private final Queue<Double> yawTimestampQueue;
+  private final int yawPositionSignal;
+  private final OdometrySampleBuffer.Reader odometryReader;
   private final StatusSignal<AngularVelocity> yawVelocity = pigeon.getAngularVelocityZWorld();
+  private final SignalGroup yawSignals;
+  private final SignalGroup yawVelocitySignals;
 
   public GyroIOPigeon2() {
     pigeon.getConfigurator().apply(new Pigeon2Configuration());
     pigeon.getConfigurator().setYaw(0.0);
-    yaw.setUpdateFrequency(Drive.ODOMETRY_FREQUENCY);
-    yawVelocity.setUpdateFrequency(50.0);
-    pigeon.optimizeBusUtilization();
-    yawTimestampQueue = PhoenixOdometryThread.getInstance().makeTimestampQueue();
-    yawPositionQueue = PhoenixOdometryThread.getInstance().registerSignal(pigeon.getYaw());
+    yawSignals = CANSignalRegistry.register("Drive/Pigeon2", pigeon, Drive.ODOMETRY_FREQUENCY, yaw);
+    yawVelocitySignals = CANSignalRegistry.register("Drive/Pigeon2", pigeon, 50.0, yawVelocity);
+    odometryReader = PhoenixOdometryThread.getInstance().makeSampleReader();
+    yawPositionSignal = PhoenixOdometryThread.getInstance().registerSignal(pigeon.getYaw());
   }
 
   @Override
   public void updateInputs(GyroIOInputs inputs) {
-    inputs.connected = BaseStatusSignal.refreshAll(yaw, yawVelocity).equals(StatusCode.OK);
+    inputs.connected = yawSignals.isAllGood() && yawVelocitySignals.isAllGood();
     inputs.yawPosition = Rotation2d.fromDegrees(yaw.getValueAsDouble());
     inputs.yawVelocityRadPerSec = Units.degreesToRadians(yawVelocity.getValueAsDouble());
 
-    inputs.odometryYawTimestamps =
-        yawTimestampQueue.stream().mapToDouble((Double value) -> value).toArray();
-    inputs.odometryYawPositions =
-        yawPositionQueue.stream()
-            .map((Double value) -> Rotation2d.fromDegrees(value))
-            .toArray(Rotation2d[]::new);
-    yawTimestampQueue.clear();
-    yawPositionQueue.clear();
+    int sampleCount = odometryReader.poll();
+    inputs.odometryYawTimestamps = new double[sampleCount];
+    inputs.odometryYawPositions = new Rotation2d[sampleCount];
+    for (int i = 0; i < sampleCount; i++) {
+      inputs.odometryYawTimestamps[i] = odometryReader.getTimestamp(yawPositionSignal, i);
+      inputs.odometryYawPositions[i] =
+          Rotation2d.fromDegrees(odometryReader.getValue(yawPositionSignal, i));
+    }
   }
 }
@@ -3,12 +3,15 @@ package frc.robot.subsystems.drive;
 import com.ctre.phoenix6.configs.CANcoderConfiguration;
 import com.ctre.phoenix6.configs.TalonFXConfiguration;
 import com.ctre.phoenix6.swerve.SwerveModuleConstants;
+import edu.wpi.first.math.MathUtil;
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.kinematics.SwerveModulePosition;
 import edu.wpi.first.math.kinematics.SwerveModuleState;
 import edu.wpi.first.math.util.Units;
 import edu.wpi.first.wpilibj.Alert;
 import edu.wpi.first.wpilibj.Alert.AlertType;
+import frc.robot.util.LoopTimeProfiler;
+import frc.robot.util.LoopTimeProfiler.Section;
 import org.littletonrobotics.junction.Logger;
 
 public class Module {
@@ -22,7 +25,19 @@ public class Module {
   private final Alert driveDisconnectedAlert;
   private final Alert turnDisconnectedAlert;
   private final Alert turnEncoderDisconnectedAlert;
-  private SwerveModulePosition[] odometryPositions = new SwerveModulePosition[] {};
+  private final String logKey;
+
+  // Odometry samples received this cycle, kept in preallocated buffers that are reused every cycle.
+  // Angles are the input objects themselves, so they are never copied.
+  private int odometrySampleCount = 0;
+  private double[] odometryTimestamps = new double[OdometrySampleBuffer.MAX_BATCH_SIZE];
+  private double[] odometryDistancesMeters = new double[OdometrySampleBuffer.MAX_BATCH_SIZE];
+  private Rotation2d[] odometryAngles = new Rotation2d[OdometrySampleBuffer.MAX_BATCH_SIZE];
+
+  // Last sample of the previous cycle, so positions can be interpolated across cycles
+  private double previousSampleTimestamp = Double.NaN;
+  private double previousSampleDistanceMeters = 0.0;
+  private Rotation2d previousSampleAngle = null;
 
   public Module(
       ModuleIO io,
@@ -32,6 +47,7 @@ public class Module {
     this.io = io;
     this.index = index;
     this.constants = constants;
+    logKey = "Drive/Module" + Integer.toString(index);
     driveDisconnectedAlert =
         new Alert(
             "Disconnected drive motor on module " + Integer.toString(index) + ".",
@@ -47,16 +63,30 @@ public class Module {
 
   public void periodic() {
     io.updateInputs(inputs);
-    Logger.processInputs("Drive/Module" + Integer.toString(index), inputs);
+    long processInputsStart = LoopTimeProfiler.start();
+    Logger.processInputs(logKey, inputs);
+    LoopTimeProfiler.stop(Section.ProcessInputs, processInputsStart);
+
+    // Remember the last sample before it is replaced
+    if (odometrySampleCount > 0) {
+      previousSampleTimestamp = odometryTimestamps[odometrySampleCount - 1];
+      previousSampleDistanceMeters = odometryDistancesMeters[odometrySampleCount - 1];
+      previousSampleAngle = odometryAngles[odometrySampleCount - 1];
+    }
 
     // Calculate positions for odometry
     int sampleCount = inputs.odometryTimestamps.length; // All signals are sampled together
-    odometryPositions = new SwerveModulePosition[sampleCount];
+    if (sampleCount > odometryTimestamps.length) {
+      odometryTimestamps = new double[sampleCount];
+      odometryDistancesMeters = new double[sampleCount];
+      odometryAngles = new Rotation2d[sampleCount];
+    }
     for (int i = 0; i < sampleCount; i++) {
-      double positionMeters = inputs.odometryDrivePositionsRad[i] * constants.WheelRadius;
-      Rotation2d angle = inputs.odometryTurnPositions[i];
-      odometryPositions[i] = new SwerveModulePosition(positionMeters, angle);
+      odometryTimestamps[i] = inputs.odometryTimestamps[i];
+      odometryDistancesMeters[i] = inputs.odometryDrivePositionsRad[i] * constants.WheelRadius;
+      odometryAngles[i] = inputs.odometryTurnPositions[i];
     }
+    odometrySampleCount = sampleCount;
 
     // Update alerts
     driveDisconnectedAlert.set(!inputs.driveConnected);
@@ -122,14 +152,78 @@ public class Module {
     return new SwerveModuleState(getVelocityMetersPerSec(), getAngle());
   }
 
-  /** Returns the module positions received this cycle. */
-  public SwerveModulePosition[] getOdometryPositions() {
-    return odometryPositions;
+  /** Returns the number of odometry samples received this cycle. */
+  public int getOdometrySampleCount() {
+    return odometrySampleCount;
+  }
+
+  /** Returns the timestamp of an odometry sample received this cycle. */
+  public double getOdometryTimestamp(int sampleIndex) {
+    return odometryTimestamps[sampleIndex];
+  }
+
+  /**
+   * Writes the module position at a given time into {@code position}, interpolated between this
+   * module's own samples around the sample at the given index. This removes the skew between
+   * modules whose signals were measured at slightly different times. Times outside the known
+   * samples are clamped. The distance is written in place, and an angle that lands exactly on a
+   * sample is that sample's input object, but interpolating the angle allocates a new Rotation2d
+   * since Rotation2d is immutable. With skewed modules that is one allocation per module per
+   * sample.
+   */
+  public void getOdometryPositionAt(
+      int sampleIndex, double timestamp, SwerveModulePosition position) {
+    double sampleTimestamp = odometryTimestamps[sampleIndex];
+    double sampleDistance = odometryDistancesMeters[sampleIndex];
+    Rotation2d sampleAngle = odometryAngles[sampleIndex];
+
+    if (timestamp < sampleTimestamp) {
+      double earlierTimestamp =
+          sampleIndex > 0 ? odometryTimestamps[sampleIndex - 1] : previousSampleTimestamp;
+      Rotation2d earlierAngle =
+          sampleIndex > 0 ? odometryAngles[sampleIndex - 1] : previousSampleAngle;
+      if (earlierAngle != null && earlierTimestamp < sampleTimestamp) {
+        double earlierDistance =
+            sampleIndex > 0
+                ? odometryDistancesMeters[sampleIndex - 1]
+                : previousSampleDistanceMeters;
+        interpolate(
+            earlierDistance,
+            earlierAngle,
+            sampleDistance,
+            sampleAngle,
+            Math.max(0.0, (timestamp - earlierTimestamp) / (sampleTimestamp - earlierTimestamp)),
+            position);
+        return;
+      }
+    } else if (timestamp > sampleTimestamp && sampleIndex + 1 < odometrySampleCount) {
+      double laterTimestamp = odometryTimestamps[sampleIndex + 1];
+      if (laterTimestamp > sampleTimestamp) {
+        interpolate(
+            sampleDistance,
+            sampleAngle,
+            odometryDistancesMeters[sampleIndex + 1],
+            odometryAngles[sampleIndex + 1],
+            Math.min(1.0, (timestamp - sampleTimestamp) / (laterTimestamp - sampleTimestamp)),
+            position);
+        return;
+      }
+    }
+
+    position.distanceMeters = sampleDistance;
+    position.angle = sampleAngle;
   }
 
-  /** Returns the timestamps of the samples received this cycle. */
-  public double[] getOdometryTimestamps() {
-    return inputs.odometryTimestamps;
+  /** Same math as SwerveModulePosition.interpolate, written into an existing position. */
+  private static void interpolate(
+      double startDistance,
+      Rotation2d startAngle,
+      double endDistance,
+      Rotation2d endAngle,
+      double t,
+      SwerveModulePosition position) {
+    position.distanceMeters = MathUtil.interpolate(startDistance, endDistance, t);
+    position.angle = startAngle.interpolate(endAngle, t);
   }
 
   /** Returns the module position in radians. */
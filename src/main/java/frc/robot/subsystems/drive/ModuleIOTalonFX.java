@@ -2,7 +2,6 @@ package frc.robot.subsystems.drive;
 
 import static frc.robot.util.PhoenixUtil.*;
 
-import com.ctre.phoenix6.BaseStatusSignal;
 import com.ctre.phoenix6.StatusSignal;
 import com.ctre.phoenix6.configs.CANcoderConfiguration;
 import com.ctre.phoenix6.configs.TalonFXConfiguration;
@@ -13,7 +12,6 @@ import com.ctre.phoenix6.controls.VelocityTorqueCurrentFOC;
 import com.ctre.phoenix6.controls.VelocityVoltage;
 import com.ctre.phoenix6.controls.VoltageOut;
 import com.ctre.phoenix6.hardware.CANcoder;
-import com.ctre.phoenix6.hardware.ParentDevice;
 import com.ctre.phoenix6.hardware.TalonFX;
 import com.ctre.phoenix6.signals.FeedbackSensorSourceValue;
 import com.ctre.phoenix6.signals.InvertedValue;
@@ -28,7 +26,8 @@ import edu.wpi.first.units.measure.AngularVelocity;
 import edu.wpi.first.units.measure.Current;
 import edu.wpi.first.units.measure.Voltage;
 import frc.robot.constants.JsonConstants;
-import java.util.Queue;
+import frc.robot.util.CANSignalRegistry;
+import frc.robot.util.CANSignalRegistry.SignalGroup;
 
 /**
  * Module IO implementation for Talon FX drive motor controller, Talon FX turn motor controller, and
@@ -58,12 +57,12 @@ public class ModuleIOTalonFX implements ModuleIO {
   private final VelocityTorqueCurrentFOC velocityTorqueCurrentRequest =
       new VelocityTorqueCurrentFOC(0.0);
 
-  // Timestamp inputs from Phoenix thread
-  private final Queue<Double> timestampQueue;
+  // Sample reader for the Phoenix odometry thread
+  private final OdometrySampleBuffer.Reader odometryReader;
 
   // Inputs from drive motor
   private final StatusSignal<Angle> drivePosition;
-  private final Queue<Double> drivePositionQueue;
+  private final int drivePositionSignal;
   private final StatusSignal<AngularVelocity> driveVelocity;
   private final StatusSignal<Voltage> driveAppliedVolts;
   private final StatusSignal<Current> driveCurrent;
@@ -71,11 +70,18 @@ public class ModuleIOTalonFX implements ModuleIO {
   // Inputs from turn motor
   private final StatusSignal<Angle> turnAbsolutePosition;
   private final StatusSignal<Angle> turnPosition;
-  private final Queue<Double> turnPositionQueue;
+  private final int turnPositionSignal;
   private final StatusSignal<AngularVelocity> turnVelocity;
   private final StatusSignal<Voltage> turnAppliedVolts;
   private final StatusSignal<Current> turnCurrent;
 
+  // Signal groups, refreshed every loop by the CANSignalRegistry
+  private final SignalGroup drivePositionSignals;
+  private final SignalGroup driveSignals;
+  private final SignalGroup turnPositionSignals;
+  private final SignalGroup turnSignals;
+  private final SignalGroup turnEncoderSignals;
+
   // Connection debouncers
   private final Debouncer driveConnectedDebounce = new Debouncer(0.5);
   private final Debouncer turnConnectedDebounce = new Debouncer(0.5);
@@ -149,12 +155,12 @@ public class ModuleIOTalonFX implements ModuleIO {
             : SensorDirectionValue.CounterClockwise_Positive;
     cancoder.getConfigurator().apply(cancoderConfig);
 
-    // Create timestamp queue
-    timestampQueue = PhoenixOdometryThread.getInstance().makeTimestampQueue();
+    // Create odometry sample reader
+    odometryReader = PhoenixOdometryThread.getInstance().makeSampleReader();
 
     // Create drive status signals
     drivePosition = driveTalon.getPosition();
-    drivePositionQueue =
+    drivePositionSignal =
         PhoenixOdometryThread.getInstance().registerSignal(driveTalon.getPosition());
     driveVelocity = driveTalon.getVelocity();
     driveAppliedVolts = driveTalon.getMotorVoltage();
@@ -163,45 +169,50 @@ public class ModuleIOTalonFX implements ModuleIO {
     // Create turn status signals
     turnAbsolutePosition = cancoder.getAbsolutePosition();
     turnPosition = turnTalon.getPosition();
-    turnPositionQueue = PhoenixOdometryThread.getInstance().registerSignal(turnTalon.getPosition());
+    turnPositionSignal =
+        PhoenixOdometryThread.getInstance().registerSignal(turnTalon.getPosition());
     turnVelocity = turnTalon.getVelocity();
     turnAppliedVolts = turnTalon.getMotorVoltage();
     turnCurrent = turnTalon.getStatorCurrent();
 
     // Configure periodic frames
-    BaseStatusSignal.setUpdateFrequencyForAll(
-        Drive.ODOMETRY_FREQUENCY, drivePosition, turnPosition);
-    BaseStatusSignal.setUpdateFrequencyForAll(
-        50.0,
-        driveVelocity,
-        driveAppliedVolts,
-        driveCurrent,
-        turnAbsolutePosition,
-        turnVelocity,
-        turnAppliedVolts,
-        turnCurrent);
-    ParentDevice.optimizeBusUtilizationForAll(driveTalon, turnTalon);
+    String driveName = "Drive/DriveMotor" + constants.DriveMotorId;
+    String turnName = "Drive/TurnMotor" + constants.SteerMotorId;
+    drivePositionSignals =
+        CANSignalRegistry.register(
+            driveName, driveTalon, Drive.ODOMETRY_FREQUENCY, drivePosition);
+    driveSignals =
+        CANSignalRegistry.register(
+            driveName, driveTalon, 50.0, driveVelocity, driveAppliedVolts, driveCurrent);
+    turnPositionSignals =
+        CANSignalRegistry.register(turnName, turnTalon, Drive.ODOMETRY_FREQUENCY, turnPosition);
+    turnSignals =
+        CANSignalRegistry.register(
+            turnName, turnTalon, 50.0, turnVelocity, turnAppliedVolts, turnCurrent);
+    turnEncoderSignals =
+        CANSignalRegistry.register(
+            "Drive/CANcoder" + constants.EncoderId, cancoder, 50.0, turnAbsolutePosition);
+    // The turn motor closes its loop on the CANcoder, so keep its position at the default rate
+    CANSignalRegistry.register(
+        "Drive/CANcoder" + constants.EncoderId, cancoder, 100.0, cancoder.getPosition());
   }
 
   @Override
   public void updateInputs(ModuleIOInputs inputs) {
-    // Refresh all signals
-    var driveStatus =
-        BaseStatusSignal.refreshAll(drivePosition, driveVelocity, driveAppliedVolts, driveCurrent);
-    var turnStatus =
-        BaseStatusSignal.refreshAll(turnPosition, turnVelocity, turnAppliedVolts, turnCurrent);
-    var turnEncoderStatus = BaseStatusSignal.refreshAll(turnAbsolutePosition);
-
     // Update drive inputs
-    inputs.driveConnected = driveConnectedDebounce.calculate(driveStatus.isOK());
+    inputs.driveConnected =
+        driveConnectedDebounce.calculate(
+            drivePositionSignals.isAllGood() && driveSignals.isAllGood());
     inputs.drivePositionRad = Units.rotationsToRadians(drivePosition.getValueAsDouble());
     inputs.driveVelocityRadPerSec = Units.rotationsToRadians(driveVelocity.getValueAsDouble());
     inputs.driveAppliedVolts = driveAppliedVolts.getValueAsDouble();
     inputs.driveCurrentAmps = driveCurrent.getValueAsDouble();
 
     // Update turn inputs
-    inputs.turnConnected = turnConnectedDebounce.calculate(turnStatus.isOK());
-    inputs.turnEncoderConnected = turnEncoderConnectedDebounce.calculate(turnEncoderStatus.isOK());
+    inputs.turnConnected =
+        turnConnectedDebounce.calculate(turnPositionSignals.isAllGood() && turnSignals.isAllGood());
+    inputs.turnEncoderConnected =
+        turnEncoderConnectedDebounce.calculate(turnEncoderSignals.isAllGood());
     inputs.turnAbsolutePosition = Rotation2d.fromRotations(turnAbsolutePosition.getValueAsDouble());
     inputs.turnPosition = Rotation2d.fromRotations(turnPosition.getValueAsDouble());
     inputs.turnVelocityRadPerSec = Units.rotationsToRadians(turnVelocity.getValueAsDouble());
@@ -209,20 +220,22 @@ public class ModuleIOTalonFX implements ModuleIO {
     inputs.turnCurrentAmps = turnCurrent.getValueAsDouble();
 
     // Update odometry inputs
-    inputs.odometryTimestamps =
-        timestampQueue.stream().mapToDouble((Double value) -> value).toArray();
-    inputs.odometryDrivePositionsRad =
-        drivePositionQueue.stream()
-            .mapToDouble((Double value) -> Units.rotationsToRadians(value))
-            .toArray();
-    inputs.odometryTurnPositions =
-        turnPositionQueue.stream()
-            .map((Double value) -> Rotation2d.fromRotations(value))
-            .toArray(Rotation2d[]::new);
-
-    timestampQueue.clear();
-    drivePositionQueue.clear();
-    turnPositionQueue.clear();
+    // Fresh arrays are required because AdvantageKit keeps references to logged arrays
+    int sampleCount = odometryReader.poll();
+    inputs.odometryTimestamps = new double[sampleCount];
+    inputs.odometryDrivePositionsRad = new double[sampleCount];
+    inputs.odometryTurnPositions = new Rotation2d[sampleCount];
+    for (int i = 0; i < sampleCount; i++) {
+      // Each module is stamped with the average time its own two signals were measured
+      inputs.odometryTimestamps[i] =
+          0.5
+              * (odometryReader.getTimestamp(drivePositionSignal, i)
+                  + odometryReader.getTimestamp(turnPositionSignal, i));
+      inputs.odometryDrivePositionsRad[i] =
+          Units.rotationsToRadians(odometryReader.getValue(drivePositionSignal, i));
+      inputs.odometryTurnPositions[i] =
+          Rotation2d.fromRotations(odometryReader.getValue(turnPositionSignal, i));
+    }
   }
 
   @Override
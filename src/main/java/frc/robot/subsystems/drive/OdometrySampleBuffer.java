@@ -0,0 +1,201 @@
+package frc.robot.subsystems.drive;
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Preallocated, lock-free ring buffer of high-frequency odometry samples.
+ *
+ * <p>Every sample is stored as primitive doubles: one shared batch timestamp ring plus a value ring
+ * and a timestamp ring per registered signal, so each signal keeps the time it was actually
+ * measured. There is exactly one writer (the odometry thread), which fills a slot and then
+ * publishes it by advancing a volatile sequence counter. Each consumer holds its own {@link
+ * Reader}, which remembers the last sequence it has drained.
+ *
+ * <p>Readers never block the writer. Once per loop the main thread calls {@link #latch()} to pick
+ * the batch end, and every reader then claims samples up to that same sequence so that all modules
+ * and the gyro see an identical batch. A reader copies its batch out of the ring and then checks
+ * the write sequence again (seqlock style); any sample the writer may have lapped during the copy
+ * is discarded rather than returned torn.
+ */
+public class OdometrySampleBuffer {
+  /** Number of samples retained. Must be a power of two. */
+  public static final int CAPACITY = 64;
+
+  /**
+   * Most samples a reader can claim in one batch. Keeping this well below {@link #CAPACITY} means
+   * older samples are dropped identically by every reader based on the latched sequence, and
+   * leaves the writer a wide margin before it can lap a batch that is being copied.
+   */
+  public static final int MAX_BATCH_SIZE = CAPACITY / 2;
+
+  private static final int MASK = CAPACITY - 1;
+
+  private final double[] timestamps = new double[CAPACITY];
+  private volatile double[][] values = new double[0][];
+  private volatile double[][] times = new double[0][];
+
+  // Total number of samples ever published, written only by the odometry thread
+  private volatile long writeSequence = 0;
+
+  // End of the batch readers should claim, written only by the consuming thread
+  private long latchedSequence = 0;
+
+  // Run by a reader after copying the first sample of a batch, so the stress harness can hold a
+  // reader mid-copy while the writer laps it. Always null on the robot.
+  Runnable copyStallHook = null;
+
+  /**
+   * Adds a new signal column. Must not be called concurrently with {@link #setValue} or {@link
+   * #publish}.
+   *
+   * @return the column index used to write and read values for this signal
+   */
+  int addSignal() {
+    double[][] newValues = Arrays.copyOf(values, values.length + 1);
+    newValues[values.length] = new double[CAPACITY];
+    double[][] newTimes = Arrays.copyOf(times, times.length + 1);
+    newTimes[times.length] = new double[CAPACITY];
+    times = newTimes;
+    values = newValues;
+    return values.length - 1;
+  }
+
+  /**
+   * Writes a value for the sample that will be published by the next call to publish.
+   *
+   * @param signal the signal index returned by {@link #addSignal()}
+   * @param value the measured value
+   * @param timestamp the FPGA time in seconds at which this signal was measured
+   */
+  void setValue(int signal, double value, double timestamp) {
+    int slot = (int) (writeSequence & MASK);
+    values[signal][slot] = value;
+    times[signal][slot] = timestamp;
+  }
+
+  /**
+   * Stamps the pending sample with a batch timestamp and makes it visible to every reader.
+   *
+   * @param timestamp representative FPGA time in seconds for the whole sample
+   */
+  void publish(double timestamp) {
+    long sequence = writeSequence;
+    timestamps[(int) (sequence & MASK)] = timestamp;
+    writeSequence = sequence + 1;
+    // Readers must see the new sequence before any write to the next slot becomes visible
+    VarHandle.storeStoreFence();
+  }
+
+  /** Returns the total number of samples published since startup. */
+  public long getWriteSequence() {
+    return writeSequence;
+  }
+
+  /**
+   * Fixes the end of the batch that readers will claim on their next poll. Called once per loop by
+   * the consuming thread before any reader is polled.
+   */
+  public void latch() {
+    latchedSequence = writeSequence;
+  }
+
+  /** Creates a reader that will only see samples published after this call. */
+  public Reader makeReader() {
+    return new Reader(writeSequence);
+  }
+
+  /** Per-consumer cursor into the sample ring. */
+  public class Reader {
+    private long readSequence;
+    private int batchSize = 0;
+    private long droppedSamples = 0;
+
+    // Private copy of the claimed batch, so it cannot be overwritten after validation
+    private final double[] batchTimestamps = new double[MAX_BATCH_SIZE];
+    private double[][] batchValues = new double[0][];
+    private double[][] batchTimes = new double[0][];
+
+    private Reader(long startSequence) {
+      readSequence = startSequence;
+    }
+
+    /**
+     * Claims every sample published before the last {@link #latch()} as the current batch. If more
+     * than {@link #MAX_BATCH_SIZE} samples are pending, or the writer lapped the batch while it was
+     * being copied, the oldest samples are skipped.
+     *
+     * @return the number of samples in the new batch
+     */
+    public int poll() {
+      double[][] ringTimes = times;
+      double[][] ringValues = values;
+      if (batchValues.length != ringValues.length) {
+        batchValues = new double[ringValues.length][MAX_BATCH_SIZE];
+        batchTimes = new double[ringValues.length][MAX_BATCH_SIZE];
+      }
+
+      long end = Math.max(latchedSequence, readSequence);
+      long start = Math.max(readSequence, end - MAX_BATCH_SIZE);
+
+      int count = (int) (end - start);
+      for (int i = 0; i < count; i++) {
+        int slot = (int) ((start + i) & MASK);
+        batchTimestamps[i] = timestamps[slot];
+        for (int signal = 0; signal < ringValues.length; signal++) {
+          batchValues[signal][i] = ringValues[signal][slot];
+          batchTimes[signal][i] = ringTimes[signal][slot];
+        }
+        if (i == 0 && copyStallHook != null) {
+          copyStallHook.run();
+        }
+      }
+
+      // Keep the copy above from being reordered after the sequence check below
+      VarHandle.acquireFence();
+
+      // The writer is filling the slot of sequence (writeSequence - CAPACITY), so every sample at
+      // or before that may have been overwritten while it was copied
+      long firstValid = writeSequence - CAPACITY + 1;
+      int skipped = (int) Math.max(0, Math.min(count, firstValid - start));
+      if (skipped > 0) {
+        count -= skipped;
+        System.arraycopy(batchTimestamps, skipped, batchTimestamps, 0, count);
+        for (int signal = 0; signal < ringValues.length; signal++) {
+          System.arraycopy(batchValues[signal], skipped, batchValues[signal], 0, count);
+          System.arraycopy(batchTimes[signal], skipped, batchTimes[signal], 0, count);
+        }
+      }
+
+      droppedSamples += (start - readSequence) + skipped;
+      batchSize = count;
+      readSequence = end;
+      return batchSize;
+    }
+
+    /** Returns the number of samples in the current batch. */
+    public int getBatchSize() {
+      return batchSize;
+    }
+
+    /** Returns the batch timestamp in seconds of the sample at the given index. */
+    public double getTimestamp(int index) {
+      return batchTimestamps[index];
+    }
+
+    /** Returns the time in seconds at which a signal was measured for the sample at an index. */
+    public double getTimestamp(int signal, int index) {
+      return batchTimes[signal][index];
+    }
+
+    /** Returns the value of a signal for the sample at the given index of the current batch. */
+    public double getValue(int signal, int index) {
+      return batchValues[signal][index];
+    }
+
+    /** Returns the total number of samples this reader skipped because it fell behind. */
+    public long getDroppedSamples() {
+      return droppedSamples;
+    }
+  }
+}
@@ -0,0 +1,125 @@
+package frc.robot.subsystems.drive;
+
+/**
+ * Online estimate of the mapping from the Phoenix status signal clock to FPGA time.
+ *
+ * <p>Phoenix timestamps are not in the FPGA timebase, so the odometry thread periodically reads
+ * both clocks back to back and feeds the pair to this model. The model fits {@code fpga = phoenix +
+ * offset + drift * (phoenix - reference)} with exponentially weighted least squares, so it tracks
+ * slow changes in offset and drift while averaging out scheduling jitter. The RMS of the fit
+ * residual is tracked as a measure of timing quality.
+ *
+ * <p>Observations are only added from one thread, but the fitted values may be read from any
+ * thread.
+ */
+public class PhoenixClockModel {
+  /** Per-observation forgetting factor; at 250 Hz this is roughly an 8 second window. */
+  private static final double FORGETTING_FACTOR = 0.9995;
+
+  /** Clock pairs whose FPGA bracket is wider than this were preempted and are ignored. */
+  private static final double MAX_BRACKET_SECONDS = 200e-6;
+
+  /** Minimum spread of Phoenix time (seconds) before the drift term is trusted. */
+  private static final double MIN_DRIFT_SPAN_SECONDS = 1.0;
+
+  private double referencePhoenixTime = Double.NaN;
+
+  // Exponentially weighted sums for the least-squares fit of y = offset + drift * x
+  private double sumWeight = 0.0;
+  private double sumX = 0.0;
+  private double sumY = 0.0;
+  private double sumXX = 0.0;
+  private double sumXY = 0.0;
+  private double meanSquaredResidual = 0.0;
+
+  private volatile double offsetSeconds = 0.0;
+  private volatile double driftPerSecond = 0.0;
+  private volatile double fitReferenceTime = 0.0;
+  private volatile double jitterSeconds = 0.0;
+  private volatile long observationCount = 0;
+  private volatile long rejectedCount = 0;
+
+  /**
+   * Adds a clock pair to the fit.
+   *
+   * @param fpgaBeforeSeconds FPGA time read immediately before the Phoenix time
+   * @param phoenixSeconds Phoenix time
+   * @param fpgaAfterSeconds FPGA time read immediately after the Phoenix time
+   */
+  public void addObservation(
+      double fpgaBeforeSeconds, double phoenixSeconds, double fpgaAfterSeconds) {
+    if (fpgaAfterSeconds - fpgaBeforeSeconds > MAX_BRACKET_SECONDS
+        || fpgaAfterSeconds < fpgaBeforeSeconds) {
+      rejectedCount++;
+      return;
+    }
+    if (Double.isNaN(referencePhoenixTime)) {
+      referencePhoenixTime = phoenixSeconds;
+    }
+
+    double x = phoenixSeconds - referencePhoenixTime;
+    double y = 0.5 * (fpgaBeforeSeconds + fpgaAfterSeconds) - phoenixSeconds;
+
+    // Residual against the previous fit, before this observation influences it
+    if (observationCount > 0) {
+      double residual = y - (offsetSeconds + driftPerSecond * x);
+      meanSquaredResidual =
+          FORGETTING_FACTOR * meanSquaredResidual + (1.0 - FORGETTING_FACTOR) * residual * residual;
+    }
+
+    sumWeight = FORGETTING_FACTOR * sumWeight + 1.0;
+    sumX = FORGETTING_FACTOR * sumX + x;
+    sumY = FORGETTING_FACTOR * sumY + y;
+    sumXX = FORGETTING_FACTOR * sumXX + x * x;
+    sumXY = FORGETTING_FACTOR * sumXY + x * y;
+
+    double meanX = sumX / sumWeight;
+    double meanY = sumY / sumWeight;
+    double varianceX = sumXX / sumWeight - meanX * meanX;
+    double drift = 0.0;
+    if (varianceX > MIN_DRIFT_SPAN_SECONDS * MIN_DRIFT_SPAN_SECONDS) {
+      drift = (sumXY / sumWeight - meanX * meanY) / varianceX;
+    }
+
+    driftPerSecond = drift;
+    offsetSeconds = meanY - drift * meanX;
+    fitReferenceTime = referencePhoenixTime;
+    jitterSeconds = Math.sqrt(meanSquaredResidual);
+    observationCount++;
+  }
+
+  /** Returns whether at least one clock pair has been accepted. */
+  public boolean isValid() {
+    return observationCount > 0;
+  }
+
+  /** Converts a Phoenix timestamp to FPGA time in seconds using the current fit. */
+  public double toFpgaSeconds(double phoenixSeconds) {
+    return phoenixSeconds + offsetSeconds + driftPerSecond * (phoenixSeconds - fitReferenceTime);
+  }
+
+  /** Returns the fitted offset (FPGA minus Phoenix time) at the reference time, in seconds. */
+  public double getOffsetSeconds() {
+    return offsetSeconds;
+  }
+
+  /** Returns the fitted drift of FPGA time relative to Phoenix time, in parts per million. */
+  public double getDriftPPM() {
+    return driftPerSecond * 1e6;
+  }
+
+  /** Returns the RMS residual of the fit in seconds. */
+  public double getJitterSeconds() {
+    return jitterSeconds;
+  }
+
+  /** Returns the number of clock pairs used by the fit. */
+  public long getObservationCount() {
+    return observationCount;
+  }
+
+  /** Returns the number of clock pairs rejected because the read was preempted. */
+  public long getRejectedCount() {
+    return rejectedCount;
+  }
+}
@@ -3,19 +3,19 @@ package frc.robot.subsystems.drive;
 import com.ctre.phoenix6.BaseStatusSignal;
 import com.ctre.phoenix6.CANBus;
 import com.ctre.phoenix6.StatusSignal;
+import com.ctre.phoenix6.Timestamp;
+import com.ctre.phoenix6.Utils;
 import edu.wpi.first.units.measure.Angle;
 import edu.wpi.first.wpilibj.RobotController;
 import frc.robot.constants.JsonConstants;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.ArrayBlockingQueue;
+import java.util.Arrays;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.DoubleSupplier;
 
 /**
- * Provides an interface for asynchronously reading high-frequency measurements to a set of queues.
+ * Provides an interface for asynchronously reading high-frequency measurements into a preallocated
+ * {@link OdometrySampleBuffer}.
  *
  * <p>This version is intended for Phoenix 6 devices on both the RIO and CANivore buses. When using
  * a CANivore, the thread uses the "waitForAll" blocking method to enable more consistent sampling.
@@ -26,10 +26,12 @@ public class PhoenixOdometryThread extends Thread {
   private final Lock signalsLock =
       new ReentrantLock(); // Prevents conflicts when registering signals
   private BaseStatusSignal[] phoenixSignals = new BaseStatusSignal[0];
-  private final List<DoubleSupplier> genericSignals = new ArrayList<>();
-  private final List<Queue<Double>> phoenixQueues = new ArrayList<>();
-  private final List<Queue<Double>> genericQueues = new ArrayList<>();
-  private final List<Queue<Double>> timestampQueues = new ArrayList<>();
+  private int[] phoenixColumns = new int[0];
+  private DoubleSupplier[] genericSignals = new DoubleSupplier[0];
+  private int[] genericColumns = new int[0];
+  private final OdometrySampleBuffer samples = new OdometrySampleBuffer();
+  private final PhoenixClockModel clockModel = new PhoenixClockModel();
+  private int readerCount = 0;
 
   private static boolean isCANFD =
       new CANBus(JsonConstants.drivetrainConstants.DrivetrainConstants.CANBusName).isNetworkFD();
@@ -49,62 +51,81 @@ public class PhoenixOdometryThread extends Thread {
 
   @Override
   public void start() {
-    if (timestampQueues.size() > 0) {
+    if (readerCount > 0) {
       super.start();
     }
   }
 
-  /** Registers a Phoenix signal to be read from the thread. */
-  public Queue<Double> registerSignal(StatusSignal<Angle> signal) {
-    Queue<Double> queue = new ArrayBlockingQueue<>(20);
+  /**
+   * Registers a Phoenix signal to be read from the thread.
+   *
+   * @return the signal index to pass to {@link OdometrySampleBuffer.Reader#getValue}
+   */
+  public int registerSignal(StatusSignal<Angle> signal) {
     signalsLock.lock();
-    Drive.odometryLock.lock();
     try {
-      BaseStatusSignal[] newSignals = new BaseStatusSignal[phoenixSignals.length + 1];
-      System.arraycopy(phoenixSignals, 0, newSignals, 0, phoenixSignals.length);
-      newSignals[phoenixSignals.length] = signal;
-      phoenixSignals = newSignals;
-      phoenixQueues.add(queue);
+      int column = samples.addSignal();
+      phoenixSignals = Arrays.copyOf(phoenixSignals, phoenixSignals.length + 1);
+      phoenixSignals[phoenixSignals.length - 1] = signal;
+      phoenixColumns = Arrays.copyOf(phoenixColumns, phoenixColumns.length + 1);
+      phoenixColumns[phoenixColumns.length - 1] = column;
+      return column;
     } finally {
       signalsLock.unlock();
-      Drive.odometryLock.unlock();
     }
-    return queue;
   }
 
-  /** Registers a generic signal to be read from the thread. */
-  public Queue<Double> registerSignal(DoubleSupplier signal) {
-    Queue<Double> queue = new ArrayBlockingQueue<>(20);
+  /**
+   * Registers a generic signal to be read from the thread.
+   *
+   * @return the signal index to pass to {@link OdometrySampleBuffer.Reader#getValue}
+   */
+  public int registerSignal(DoubleSupplier signal) {
     signalsLock.lock();
-    Drive.odometryLock.lock();
     try {
-      genericSignals.add(signal);
-      genericQueues.add(queue);
+      int column = samples.addSignal();
+      genericSignals = Arrays.copyOf(genericSignals, genericSignals.length + 1);
+      genericSignals[genericSignals.length - 1] = signal;
+      genericColumns = Arrays.copyOf(genericColumns, genericColumns.length + 1);
+      genericColumns[genericColumns.length - 1] = column;
+      return column;
     } finally {
       signalsLock.unlock();
-      Drive.odometryLock.unlock();
     }
-    return queue;
   }
 
-  /** Returns a new queue that returns timestamp values for each sample. */
-  public Queue<Double> makeTimestampQueue() {
-    Queue<Double> queue = new ArrayBlockingQueue<>(20);
-    Drive.odometryLock.lock();
+  /** Returns a new reader that drains every sample published after it is created. */
+  public OdometrySampleBuffer.Reader makeSampleReader() {
+    signalsLock.lock();
     try {
-      timestampQueues.add(queue);
+      readerCount++;
+      return samples.makeReader();
     } finally {
-      Drive.odometryLock.unlock();
+      signalsLock.unlock();
     }
-    return queue;
+  }
+
+  /** Returns the fitted mapping from Phoenix signal timestamps to FPGA time. */
+  public PhoenixClockModel getClockModel() {
+    return clockModel;
+  }
+
+  /**
+   * Fixes the batch of samples that every reader will drain on its next poll. Call once per loop,
+   * before any IO layer reads odometry samples, so that all modules and the gyro see the same
+   * batch. This never blocks the odometry thread.
+   */
+  public void latchSamples() {
+    samples.latch();
   }
 
   @Override
   public void run() {
     while (true) {
-      // Wait for updates from all signals
+      // Signals are only locked against registration, never against the main loop
       signalsLock.lock();
       try {
+        // Wait for updates from all signals
         if (isCANFD && phoenixSignals.length > 0) {
           BaseStatusSignal.waitForAll(2.0 / Drive.ODOMETRY_FREQUENCY, phoenixSignals);
         } else {
@@ -114,39 +135,37 @@ public class PhoenixOdometryThread extends Thread {
           Thread.sleep((long) (1000.0 / Drive.ODOMETRY_FREQUENCY));
           if (phoenixSignals.length > 0) BaseStatusSignal.refreshAll(phoenixSignals);
         }
-      } catch (InterruptedException e) {
-        e.printStackTrace();
-      } finally {
-        signalsLock.unlock();
-      }
 
-      // Save new data to queues
-      Drive.odometryLock.lock();
-      try {
-        // Sample timestamp is current FPGA time minus average CAN latency
-        //     Default timestamps from Phoenix are NOT compatible with
-        //     FPGA timestamps, this solution is imperfect but close
-        double timestamp = RobotController.getFPGATime() / 1e6;
-        double totalLatency = 0.0;
-        for (BaseStatusSignal signal : phoenixSignals) {
-          totalLatency += signal.getTimestamp().getLatency();
-        }
-        if (phoenixSignals.length > 0) {
-          timestamp -= totalLatency / phoenixSignals.length;
-        }
+        // Timestamps from Phoenix are NOT in the FPGA timebase, so read both clocks back to back
+        // and keep a continuously fitted mapping between them
+        double fpgaBefore = RobotController.getFPGATime() / 1e6;
+        double phoenixNow = Utils.getCurrentTimeSeconds();
+        double fpgaNow = RobotController.getFPGATime() / 1e6;
+        clockModel.addObservation(fpgaBefore, phoenixNow, fpgaNow);
 
-        // Add new samples to queues
+        // Write every Phoenix signal with the time it was actually measured, converted to FPGA
+        // time. The batch timestamp is the average of those times.
+        double totalTime = 0.0;
         for (int i = 0; i < phoenixSignals.length; i++) {
-          phoenixQueues.get(i).offer(phoenixSignals[i].getValueAsDouble());
-        }
-        for (int i = 0; i < genericSignals.size(); i++) {
-          genericQueues.get(i).offer(genericSignals.get(i).getAsDouble());
+          Timestamp signalTimestamp = phoenixSignals[i].getTimestamp();
+          double signalTime =
+              signalTimestamp.isValid()
+                  ? clockModel.toFpgaSeconds(signalTimestamp.getTime())
+                  : fpgaNow - signalTimestamp.getLatency();
+          totalTime += signalTime;
+          samples.setValue(phoenixColumns[i], phoenixSignals[i].getValueAsDouble(), signalTime);
         }
-        for (int i = 0; i < timestampQueues.size(); i++) {
-          timestampQueues.get(i).offer(timestamp);
+        double timestamp = phoenixSignals.length > 0 ? totalTime / phoenixSignals.length : fpgaNow;
+
+        // Generic signals are sampled now, so they share the batch timestamp
+        for (int i = 0; i < genericSignals.length; i++) {
+          samples.setValue(genericColumns[i], genericSignals[i].getAsDouble(), timestamp);
         }
+        samples.publish(timestamp);
+      } catch (InterruptedException e) {
+        e.printStackTrace();
       } finally {
-        Drive.odometryLock.unlock();
+        signalsLock.unlock();
       }
     }
   }
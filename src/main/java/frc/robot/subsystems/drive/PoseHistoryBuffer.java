@@ -0,0 +1,174 @@
+package frc.robot.subsystems.drive;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import java.util.Arrays;
+
+/**
+ * Ring buffer of timestamped poses, used in place of WPILib's {@code
+ * TimeInterpolatableBuffer<Pose2d>}.
+ *
+ * <p>Timestamps are kept in a primitive array in time order, so lookups are a binary search with
+ * no boxing, and adding a sample allocates nothing once the buffer has grown to hold the whole
+ * history. Samples are dropped, looked up and interpolated exactly as TimeInterpolatableBuffer does
+ * it, including ordering keys with {@link Double#compare}, so results match it bit for bit.
+ */
+class PoseHistoryBuffer {
+  private final double historySeconds;
+
+  // Capacity is always a power of two so that indices wrap with a mask
+  private double[] timestamps;
+  private Pose2d[] poses;
+  private int mask;
+  private int head = 0; // Physical index of the oldest sample
+  private int size = 0;
+
+  /**
+   * Create a buffer.
+   *
+   * @param historySeconds samples this much older than the newest sample are dropped
+   * @param initialCapacity number of samples to allocate room for up front
+   */
+  PoseHistoryBuffer(double historySeconds, int initialCapacity) {
+    this.historySeconds = historySeconds;
+
+    int capacity = Integer.highestOneBit(Math.max(initialCapacity, 2) - 1) << 1;
+    timestamps = new double[capacity];
+    poses = new Pose2d[capacity];
+    mask = capacity - 1;
+  }
+
+  /**
+   * Add a sample, replacing any sample with the same timestamp, after dropping samples that are too
+   * old relative to it.
+   *
+   * @param timestampSeconds the time of the sample
+   * @param pose the pose at that time
+   */
+  void addSample(double timestampSeconds, Pose2d pose) {
+    while (size > 0 && timestampSeconds - timestamps[head] >= historySeconds) {
+      poses[head] = null;
+      head = (head + 1) & mask;
+      size--;
+    }
+
+    // Samples almost always arrive in order, so check the newest one first
+    if (size == 0 || Double.compare(timestampSeconds, getTimestamp(size - 1)) > 0) {
+      if (size == timestamps.length) {
+        grow();
+      }
+      int index = (head + size) & mask;
+      timestamps[index] = timestampSeconds;
+      poses[index] = pose;
+      size++;
+      return;
+    }
+
+    int insertIndex = ceilingIndex(timestampSeconds);
+    if (Double.compare(getTimestamp(insertIndex), timestampSeconds) == 0) {
+      poses[(head + insertIndex) & mask] = pose;
+      return;
+    }
+
+    if (size == timestamps.length) {
+      grow();
+    }
+    for (int i = size; i > insertIndex; i--) {
+      int to = (head + i) & mask;
+      int from = (head + i - 1) & mask;
+      timestamps[to] = timestamps[from];
+      poses[to] = poses[from];
+    }
+    int index = (head + insertIndex) & mask;
+    timestamps[index] = timestampSeconds;
+    poses[index] = pose;
+    size++;
+  }
+
+  /** Remove every sample. */
+  void clear() {
+    Arrays.fill(poses, null);
+    head = 0;
+    size = 0;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  double getOldestTimestamp() {
+    return timestamps[head];
+  }
+
+  double getNewestTimestamp() {
+    return getTimestamp(size - 1);
+  }
+
+  /**
+   * Sample the buffer at a time, interpolating between the samples around it. Times outside the
+   * buffer return the nearest sample.
+   *
+   * @param timestampSeconds the time to sample at
+   * @return the pose at that time, or null if the buffer is empty
+   */
+  Pose2d getSample(double timestampSeconds) {
+    if (size == 0) {
+      return null;
+    }
+
+    int top = ceilingIndex(timestampSeconds);
+    if (top < size && Double.compare(getTimestamp(top), timestampSeconds) == 0) {
+      return getPose(top);
+    }
+
+    if (top == size) {
+      return getPose(size - 1);
+    } else if (top == 0) {
+      return getPose(0);
+    }
+
+    int bottom = top - 1;
+    double bottomTimestamp = getTimestamp(bottom);
+    return getPose(bottom)
+        .interpolate(
+            getPose(top),
+            (timestampSeconds - bottomTimestamp) / (getTimestamp(top) - bottomTimestamp));
+  }
+
+  private double getTimestamp(int index) {
+    return timestamps[(head + index) & mask];
+  }
+
+  private Pose2d getPose(int index) {
+    return poses[(head + index) & mask];
+  }
+
+  /** Returns the index of the first sample at or after a time, or size if there isn't one. */
+  private int ceilingIndex(double timestampSeconds) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (Double.compare(getTimestamp(mid), timestampSeconds) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private void grow() {
+    int capacity = timestamps.length;
+    double[] newTimestamps = new double[capacity * 2];
+    Pose2d[] newPoses = new Pose2d[capacity * 2];
+    for (int i = 0; i < size; i++) {
+      newTimestamps[i] = getTimestamp(i);
+      newPoses[i] = getPose(i);
+    }
+
+    timestamps = newTimestamps;
+    poses = newPoses;
+    mask = capacity * 2 - 1;
+    head = 0;
+  }
+}
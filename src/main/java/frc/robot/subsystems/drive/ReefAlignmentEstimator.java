@@ -0,0 +1,120 @@
+package frc.robot.subsystems.drive;
+
+import coppercore.vision.VisionLocalizer.DistanceToTag;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Transform2d;
+import edu.wpi.first.math.geometry.Translation2d;
+
+/**
+ * Filters the distance from the robot to its reef lineup goal, fusing observations from both front
+ * cameras with odometry.
+ *
+ * <p>The estimate is an along track and cross track distance, in the robot frame and with the same
+ * signs as {@link DistanceToTag}. Every loop it is first moved by the robot's motion since the last
+ * loop, using odometry alone so that vision corrections to the field pose don't make it jump. Then
+ * each camera's observation is blended in by a Kalman update, weighted by how much that camera is
+ * trusted against how far odometry may have drifted since the last correction. Both axes are
+ * measured directly and drift independently, so the covariance stays diagonal and is kept as one
+ * variance per axis.
+ *
+ * <p>Observations carry no heading, so heading is left to the gyro, which the rotation controller
+ * already uses directly.
+ */
+public class ReefAlignmentEstimator {
+  private double alongTrackMeters = 0.0;
+  private double crossTrackMeters = 0.0;
+  private double alongTrackVariance = 0.0;
+  private double crossTrackVariance = 0.0;
+  private boolean hasEstimate = false;
+
+  private Pose2d lastOdometryPose = null;
+
+  /** Forget the estimate, so that the next observation starts a new one. */
+  public void reset() {
+    hasEstimate = false;
+  }
+
+  /**
+   * Move the estimate by the robot's motion since the last call.
+   *
+   * @param odometryPose the robot pose from odometry alone, without vision corrections
+   * @param driftStdDevPerMeter standard deviation of odometry drift, in meters per meter driven
+   * @param processStdDevMeters standard deviation added every call, so that the estimate keeps
+   *     following the cameras while the robot is stopped
+   */
+  public void predict(Pose2d odometryPose, double driftStdDevPerMeter, double processStdDevMeters) {
+    if (hasEstimate && lastOdometryPose != null) {
+      Transform2d motion = odometryPose.minus(lastOdometryPose);
+
+      // Along track is toward the goal and cross track is away from it, so the goal is at
+      // (along, -cross) in the old robot frame. Move it into the new robot frame.
+      Translation2d goal =
+          new Translation2d(alongTrackMeters, -crossTrackMeters)
+              .minus(motion.getTranslation())
+              .rotateBy(motion.getRotation().unaryMinus());
+      alongTrackMeters = goal.getX();
+      crossTrackMeters = -goal.getY();
+
+      double driftStdDev = driftStdDevPerMeter * motion.getTranslation().getNorm();
+      double processVariance =
+          driftStdDev * driftStdDev + processStdDevMeters * processStdDevMeters;
+      alongTrackVariance += processVariance;
+      crossTrackVariance += processVariance;
+    }
+
+    lastOdometryPose = odometryPose;
+  }
+
+  /**
+   * Correct the estimate with a camera observation. Invalid observations are ignored.
+   *
+   * @param observation the distance to the goal seen by a camera
+   * @param stdDevMeters standard deviation of the camera's distances, in meters
+   * @return true if the observation was used
+   */
+  public boolean addObservation(DistanceToTag observation, double stdDevMeters) {
+    if (!observation.isValid()) {
+      return false;
+    }
+
+    double variance = stdDevMeters * stdDevMeters;
+    if (!hasEstimate) {
+      alongTrackMeters = observation.alongTrackDistance();
+      crossTrackMeters = observation.crossTrackDistance();
+      alongTrackVariance = variance;
+      crossTrackVariance = variance;
+      hasEstimate = true;
+      return true;
+    }
+
+    double alongTrackGain = alongTrackVariance / (alongTrackVariance + variance);
+    alongTrackMeters += alongTrackGain * (observation.alongTrackDistance() - alongTrackMeters);
+    alongTrackVariance *= 1.0 - alongTrackGain;
+
+    double crossTrackGain = crossTrackVariance / (crossTrackVariance + variance);
+    crossTrackMeters += crossTrackGain * (observation.crossTrackDistance() - crossTrackMeters);
+    crossTrackVariance *= 1.0 - crossTrackGain;
+    return true;
+  }
+
+  /**
+   * Get the estimate.
+   *
+   * @return the estimated distance to the goal, which is invalid if no camera has seen the goal
+   *     since the last reset
+   */
+  public DistanceToTag getEstimate() {
+    if (!hasEstimate) {
+      return new DistanceToTag(0, 0, false);
+    }
+    return new DistanceToTag(crossTrackMeters, alongTrackMeters, true);
+  }
+
+  public double getAlongTrackStdDevMeters() {
+    return hasEstimate ? Math.sqrt(alongTrackVariance) : Double.POSITIVE_INFINITY;
+  }
+
+  public double getCrossTrackStdDevMeters() {
+    return hasEstimate ? Math.sqrt(crossTrackVariance) : Double.POSITIVE_INFINITY;
+  }
+}
@@ -18,35 +18,7 @@ public class ReefLineupUtil {
    * @return int representing tag id to use
    */
   public static int getTagIdForReef(Drive drive) {
-    boolean allianceRed = drive.isAllianceRed();
-    switch (drive.getDesiredLocation()) {
-      case Reef0:
-      case Reef1:
-      case Algae0:
-        return allianceRed ? 10 : 21;
-      case Reef2:
-      case Reef3:
-      case Algae1:
-        return allianceRed ? 9 : 22;
-      case Reef4:
-      case Reef5:
-      case Algae2:
-        return allianceRed ? 8 : 17;
-      case Reef6:
-      case Reef7:
-      case Algae3:
-        return allianceRed ? 7 : 18;
-      case Reef8:
-      case Reef9:
-      case Algae4:
-        return allianceRed ? 6 : 19;
-      case Reef10:
-      case Reef11:
-      case Algae5:
-        return allianceRed ? 11 : 20;
-      default:
-        return -1;
-    }
+    return JsonConstants.fieldTargets.getTagId(drive.getDesiredLocation(), drive.isAllianceRed());
   }
 
   /**
@@ -55,32 +27,9 @@ public class ReefLineupUtil {
    * @return 0 for Front Left camera; 1 for Front Right camera
    */
   public static int getCameraIndexForLineup(Drive drive) {
-    switch (drive.getDesiredLocation()) {
-        // Right Side of reef side (align to left camera)
-      case Reef0:
-      case Reef2:
-      case Reef4:
-      case Reef6:
-      case Reef8:
-      case Reef10:
-      case Algae0:
-      case Algae1:
-      case Algae2:
-      case Algae3:
-      case Algae4:
-      case Algae5:
-        return JsonConstants.visionConstants.FrontLeftCameraIndex;
-        // Left side of reef side (align to right camera)
-      case Reef1:
-      case Reef3:
-      case Reef5:
-      case Reef7:
-      case Reef9:
-      case Reef11:
-        return JsonConstants.visionConstants.FrontRightCameraIndex;
-      default:
-        return -1;
-    }
+    // Right side of a reef side or algae aligns to the left camera, left side to the right camera
+    return JsonConstants.fieldTargets.getCameraIndex(
+        drive.getDesiredLocation(), drive.isAllianceRed());
   }
 
   /**
@@ -0,0 +1,158 @@
+package frc.robot.subsystems.drive;
+
+import edu.wpi.first.math.Matrix;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.numbers.N1;
+import edu.wpi.first.math.numbers.N3;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Fuses vision observations into the drive pose estimator on a separate thread.
+ *
+ * <p>Every vision measurement makes the pose estimator look back through its odometry history, so
+ * instead of applying them as they arrive, observations are queued during the loop and handed to
+ * the fusion thread once the loop is done. The thread drops any that are too old, in the future, or
+ * not finite, and applies the rest as one batch while the main thread is idle.
+ *
+ * <p>The main thread must not touch the pose estimator while a batch is being fused, and always
+ * waits for the batch at the same point in the next loop, so results don't depend on thread timing
+ * and replay the same way they ran on the robot.
+ */
+public class VisionFusion {
+  private final ExecutorService executor =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "VisionFusion");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  // Observations queued by the main thread, and the batch being fused; swapped on each start
+  private VisionMeasurementBatch pending = new VisionMeasurementBatch();
+  private VisionMeasurementBatch inFlight = new VisionMeasurementBatch();
+  private Future<?> job = null;
+
+  // Written by the fusion thread, read by the main thread once the job is done
+  private int appliedCount = 0;
+  private int rejectedCount = 0;
+  private double newestTimestampSeconds = Double.NaN;
+  private double computeSeconds = 0.0;
+
+  /**
+   * Queue a vision observation, to be fused after this loop. Must be called from the main thread.
+   *
+   * @param pose the robot pose measured by vision
+   * @param timestampSeconds the time the pose was measured, in the FPGA timebase
+   * @param stdDevs the standard deviations of the measurement (x meters, y meters, theta radians)
+   */
+  public void addObservation(Pose2d pose, double timestampSeconds, Matrix<N3, N1> stdDevs) {
+    pending.add(pose, timestampSeconds, stdDevs);
+  }
+
+  /**
+   * Start fusing the observations queued so far. Does nothing if none are queued.
+   *
+   * @param poseEstimator the estimator to fuse into, which must not be used until {@link #await()}
+   * @param nowSeconds the current FPGA time, used to gate old observations
+   * @param maxAgeSeconds observations older than this are dropped
+   * @param groupWindowSeconds observations this close together are combined into one correction
+   */
+  public void start(
+      DrivePoseEstimator poseEstimator,
+      double nowSeconds,
+      double maxAgeSeconds,
+      double groupWindowSeconds) {
+    await();
+    if (pending.isEmpty()) {
+      return;
+    }
+
+    VisionMeasurementBatch batch = pending;
+    pending = inFlight;
+    inFlight = batch;
+
+    job =
+        executor.submit(
+            () -> fuse(poseEstimator, batch, nowSeconds, maxAgeSeconds, groupWindowSeconds));
+  }
+
+  /**
+   * Wait for the batch being fused, if there is one.
+   *
+   * @return true if a batch finished, so its statistics are ready to be published
+   */
+  public boolean await() {
+    if (job == null) {
+      return false;
+    }
+
+    try {
+      job.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      throw new RuntimeException("Vision fusion failed", e.getCause());
+    } finally {
+      job = null;
+      inFlight.clear();
+    }
+    return true;
+  }
+
+  /**
+   * Drop every queued observation. Called when the pose is reset, since observations taken before
+   * the reset would pull the estimate back toward the old pose. Must be called from the main
+   * thread.
+   */
+  public void clear() {
+    pending.clear();
+  }
+
+  private void fuse(
+      DrivePoseEstimator poseEstimator,
+      VisionMeasurementBatch batch,
+      double nowSeconds,
+      double maxAgeSeconds,
+      double groupWindowSeconds) {
+    long startNanos = System.nanoTime();
+
+    rejectedCount = batch.retainValid(nowSeconds - maxAgeSeconds, nowSeconds);
+    appliedCount = batch.size();
+    if (batch.isEmpty()) {
+      newestTimestampSeconds = Double.NaN;
+    } else {
+      poseEstimator.addVisionMeasurements(batch, groupWindowSeconds);
+      newestTimestampSeconds = batch.getTimestamp(batch.size() - 1);
+    }
+
+    computeSeconds = (System.nanoTime() - startNanos) / 1e9;
+  }
+
+  /** Returns the number of observations queued for the next batch. */
+  public int getQueueDepth() {
+    return pending.size();
+  }
+
+  /** Returns the number of observations applied in the last batch. */
+  public int getAppliedCount() {
+    return appliedCount;
+  }
+
+  /** Returns the number of observations dropped by the gates in the last batch. */
+  public int getRejectedCount() {
+    return rejectedCount;
+  }
+
+  /** Returns the timestamp of the newest observation applied in the last batch, or NaN. */
+  public double getNewestTimestampSeconds() {
+    return newestTimestampSeconds;
+  }
+
+  /** Returns how long the fusion thread spent on the last batch, in seconds. */
+  public double getComputeSeconds() {
+    return computeSeconds;
+  }
+}
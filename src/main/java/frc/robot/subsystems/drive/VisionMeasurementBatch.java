@@ -0,0 +1,162 @@
+package frc.robot.subsystems.drive;
+
+import edu.wpi.first.math.Matrix;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.numbers.N1;
+import edu.wpi.first.math.numbers.N3;
+import java.util.Arrays;
+
+/**
+ * The vision measurements collected in one loop, from every camera, to be fused into the pose
+ * estimate together with {@link DrivePoseEstimator#addVisionMeasurements}.
+ *
+ * <p>Measurements are stored in parallel primitive arrays, which are reused from loop to loop.
+ */
+public class VisionMeasurementBatch {
+  private double[] timestamps = new double[8];
+  private Pose2d[] poses = new Pose2d[8];
+  private double[] stdDevsX = new double[8];
+  private double[] stdDevsY = new double[8];
+  private double[] stdDevsTheta = new double[8];
+  private int size = 0;
+
+  /**
+   * Add a measurement.
+   *
+   * @param pose the robot pose measured by vision
+   * @param timestampSeconds the time the pose was measured, in the same timebase as odometry
+   * @param stdDevs the standard deviations of the measurement (x meters, y meters, theta radians)
+   */
+  public void add(Pose2d pose, double timestampSeconds, Matrix<N3, N1> stdDevs) {
+    add(pose, timestampSeconds, stdDevs.get(0, 0), stdDevs.get(1, 0), stdDevs.get(2, 0));
+  }
+
+  /**
+   * Add a measurement.
+   *
+   * @param pose the robot pose measured by vision
+   * @param timestampSeconds the time the pose was measured, in the same timebase as odometry
+   * @param stdDevX standard deviation of x, in meters
+   * @param stdDevY standard deviation of y, in meters
+   * @param stdDevTheta standard deviation of heading, in radians
+   */
+  public void add(
+      Pose2d pose, double timestampSeconds, double stdDevX, double stdDevY, double stdDevTheta) {
+    if (size == timestamps.length) {
+      int capacity = size * 2;
+      timestamps = Arrays.copyOf(timestamps, capacity);
+      poses = Arrays.copyOf(poses, capacity);
+      stdDevsX = Arrays.copyOf(stdDevsX, capacity);
+      stdDevsY = Arrays.copyOf(stdDevsY, capacity);
+      stdDevsTheta = Arrays.copyOf(stdDevsTheta, capacity);
+    }
+
+    timestamps[size] = timestampSeconds;
+    poses[size] = pose;
+    stdDevsX[size] = stdDevX;
+    stdDevsY[size] = stdDevY;
+    stdDevsTheta[size] = stdDevTheta;
+    size++;
+  }
+
+  /** Remove every measurement. */
+  public void clear() {
+    Arrays.fill(poses, 0, size, null);
+    size = 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Drop measurements taken outside a time window, with a pose that isn't finite, or with a
+   * standard deviation that isn't finite and positive.
+   *
+   * @param oldestTimestampSeconds measurements before this time are dropped
+   * @param newestTimestampSeconds measurements after this time are dropped
+   * @return the number of measurements dropped
+   */
+  public int retainValid(double oldestTimestampSeconds, double newestTimestampSeconds) {
+    int kept = 0;
+    for (int i = 0; i < size; i++) {
+      Pose2d pose = poses[i];
+      if (timestamps[i] < oldestTimestampSeconds
+          || timestamps[i] > newestTimestampSeconds
+          || !Double.isFinite(pose.getX())
+          || !Double.isFinite(pose.getY())
+          || !Double.isFinite(pose.getRotation().getRadians())
+          || !isValidStdDev(stdDevsX[i])
+          || !isValidStdDev(stdDevsY[i])
+          || !isValidStdDev(stdDevsTheta[i])) {
+        continue;
+      }
+      move(i, kept++);
+    }
+
+    int dropped = size - kept;
+    Arrays.fill(poses, kept, size, null);
+    size = kept;
+    return dropped;
+  }
+
+  /** Sort the measurements by timestamp, keeping the order of equal timestamps. */
+  public void sortByTimestamp() {
+    // Batches hold a few measurements per camera, so an insertion sort is the fastest option
+    for (int i = 1; i < size; i++) {
+      double timestamp = timestamps[i];
+      Pose2d pose = poses[i];
+      double stdDevX = stdDevsX[i];
+      double stdDevY = stdDevsY[i];
+      double stdDevTheta = stdDevsTheta[i];
+
+      int j = i - 1;
+      while (j >= 0 && timestamps[j] > timestamp) {
+        move(j, j + 1);
+        j--;
+      }
+
+      timestamps[j + 1] = timestamp;
+      poses[j + 1] = pose;
+      stdDevsX[j + 1] = stdDevX;
+      stdDevsY[j + 1] = stdDevY;
+      stdDevsTheta[j + 1] = stdDevTheta;
+    }
+  }
+
+  public double getTimestamp(int index) {
+    return timestamps[index];
+  }
+
+  public Pose2d getPose(int index) {
+    return poses[index];
+  }
+
+  public double getStdDevX(int index) {
+    return stdDevsX[index];
+  }
+
+  public double getStdDevY(int index) {
+    return stdDevsY[index];
+  }
+
+  public double getStdDevTheta(int index) {
+    return stdDevsTheta[index];
+  }
+
+  private static boolean isValidStdDev(double stdDev) {
+    return stdDev > 0.0 && Double.isFinite(stdDev);
+  }
+
+  private void move(int from, int to) {
+    timestamps[to] = timestamps[from];
+    poses[to] = poses[from];
+    stdDevsX[to] = stdDevsX[from];
+    stdDevsY[to] = stdDevsY[from];
+    stdDevsTheta[to] = stdDevsTheta[from];
+  }
+}
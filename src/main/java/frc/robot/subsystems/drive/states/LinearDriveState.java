@@ -12,7 +12,6 @@ import edu.wpi.first.math.trajectory.TrapezoidProfile;
 import edu.wpi.first.math.trajectory.TrapezoidProfile.State;
 import frc.robot.constants.JsonConstants;
 import frc.robot.constants.subsystems.DrivetrainConstants;
-import frc.robot.subsystems.drive.DesiredLocationUtil;
 import frc.robot.subsystems.drive.Drive;
 import frc.robot.subsystems.drive.Drive.DriveTrigger;
 import frc.robot.subsystems.scoring.ScoringSubsystem;
@@ -131,7 +130,7 @@ public class LinearDriveState implements PeriodicStateInterface {
    * @return a pose representing the corresponding scoring location
    */
   public static Pose2d findLinearDriveFromDesiredLocation(Drive driveInput) {
-    return DesiredLocationUtil.findGoalPoseFromDesiredLocation(
+    return JsonConstants.fieldTargets.getLinearDrivePose(
         driveInput.getDesiredLocation(), driveInput.isAllianceRed());
   }
 
@@ -225,7 +224,15 @@ public class LinearDriveState implements PeriodicStateInterface {
       hasRunPhase1 = true;
     }
 
-    if (distanceToGoal < JsonConstants.drivetrainConstants.otfWarmupDistance
+    // Only a predicted arrival may cut a far warmup short; being close just starts warmup from idle
+    boolean isWarmupPredicted =
+        drive.isDriveDueForWarmup(
+            goalPose,
+            driveController.getConstraints().maxVelocity,
+            driveController.getConstraints().maxAcceleration);
+    if (isWarmupPredicted && ScoringSubsystem.getInstance() != null) {
+      ScoringSubsystem.getInstance().fireTrigger(ScoringTrigger.StartPredictedWarmup);
+    } else if (distanceToGoal < JsonConstants.drivetrainConstants.otfWarmupDistance
         && ScoringSubsystem.getInstance() != null) {
       ScoringSubsystem.getInstance().fireTrigger(ScoringTrigger.StartEarlyWarmup);
     } else if (distanceToGoal < JsonConstants.drivetrainConstants.otfFarWarmupDistance
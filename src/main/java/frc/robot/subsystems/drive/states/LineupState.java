@@ -7,7 +7,6 @@ import coppercore.controls.state_machine.transition.Transition;
 import coppercore.parameter_tools.LoggedTunableNumber;
 import coppercore.vision.VisionLocalizer.DistanceToTag;
 import edu.wpi.first.math.controller.PIDController;
-import edu.wpi.first.math.filter.LinearFilter;
 import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.geometry.Transform2d;
@@ -25,6 +24,7 @@ import frc.robot.subsystems.drive.Drive;
 import frc.robot.subsystems.drive.Drive.DesiredLocation;
 import frc.robot.subsystems.drive.Drive.DriveTrigger;
 import frc.robot.subsystems.drive.Drive.VisionAlignment;
+import frc.robot.subsystems.drive.ReefAlignmentEstimator;
 import frc.robot.subsystems.drive.ReefLineupUtil;
 import frc.robot.subsystems.scoring.ScoringSubsystem;
 import frc.robot.subsystems.scoring.ScoringSubsystem.ScoringTrigger;
@@ -33,11 +33,14 @@ import org.littletonrobotics.junction.Logger;
 public class LineupState implements PeriodicStateInterface {
   private Drive drive;
 
-  private DistanceToTag latestObservation;
+  // distance to the goal, fused from both front cameras and odometry
+  private final ReefAlignmentEstimator alignmentEstimator = new ReefAlignmentEstimator();
   private boolean hadObservationYet = false;
-  private int observationAge;
+  private boolean observedThisLoop = false;
   private DesiredLocation lastReefLocation = DesiredLocation.Reef0;
-  private boolean usingOtherCamera = false;
+
+  // Lineup decisions for this loop, so they are made once no matter how often they're read
+  private boolean linedUp = false;
 
   // cross tack pid test mode
   private LoggedTunableNumber crossTrackKp =
@@ -67,29 +70,17 @@ public class LineupState implements PeriodicStateInterface {
           JsonConstants.drivetrainConstants.driveCrossTrackKi,
           JsonConstants.drivetrainConstants.driveCrossTrackKd);
 
-  private PIDController driveCrossTrackOtherCameraLineupController =
-      new PIDController(
-          JsonConstants.drivetrainConstants.driveCrossTrackOtherCameraKp,
-          JsonConstants.drivetrainConstants.driveCrossTrackOtherCameraKi,
-          JsonConstants.drivetrainConstants.driveCrossTrackOtherCameraKd);
-
   private PIDController rotationController =
       new PIDController(
           JsonConstants.drivetrainConstants.driveRotationKp,
           JsonConstants.drivetrainConstants.driveRotationKi,
           JsonConstants.drivetrainConstants.driveRotationKd);
 
-  LinearFilter alongTrackFilter = LinearFilter.singlePoleIIR(0.2, 0.02);
-  LinearFilter crossTrackFilter = LinearFilter.singlePoleIIR(0.2, 0.02);
-
-  Pose2d poseAtLastObservation = null; // Initialize to null so we don't somehow lineup off of 0, 0
-
   public LineupState(Drive drive) {
     this.drive = drive;
     rotationController.enableContinuousInput(-Math.PI / 2, Math.PI / 2);
 
-    // Log adjustment on init so that it can be added to scope before lineup starts
-    Logger.recordOutput("Drive/Lineup/Adjustment", new Translation2d());
+    // Log final pose on init so that it can be added to scope before lineup starts
     Logger.recordOutput("Drive/Lineup/FinalPose", new Pose2d());
   }
 
@@ -101,15 +92,14 @@ public class LineupState implements PeriodicStateInterface {
     drive.disableReefCenterAlignment();
 
     // dont rely on previous estimates
-    latestObservation = null;
-    observationAge = 0;
+    alignmentEstimator.reset();
 
     hadObservationYet = false;
+    observedThisLoop = false;
+    linedUp = false;
 
     lastReefLocation = drive.getDesiredLocation();
 
-    poseAtLastObservation = drive.getPose();
-
     // begin warming up elevator/wrist when lineup starts
     if (ScoringSubsystem.getInstance() != null) {
       ScoringSubsystem.getInstance().fireTrigger(ScoringTrigger.StartWarmup);
@@ -127,46 +117,8 @@ public class LineupState implements PeriodicStateInterface {
    * @return Rotation2d representing desired rotation for lineup
    */
   public Rotation2d getRotationForReefSide() {
-    switch (drive.getDesiredLocation()) {
-      case Reef0:
-      case Reef1:
-      case Algae0:
-        return drive.isAllianceRed()
-            ? JsonConstants.redFieldLocations.redReefOTF0Rotation
-            : JsonConstants.blueFieldLocations.blueReefOTF0Rotation;
-      case Reef2:
-      case Reef3:
-      case Algae1:
-        return drive.isAllianceRed()
-            ? JsonConstants.redFieldLocations.redReefOTF2Rotation
-            : JsonConstants.blueFieldLocations.blueReefOTF2Rotation;
-      case Reef4:
-      case Reef5:
-      case Algae2:
-        return drive.isAllianceRed()
-            ? JsonConstants.redFieldLocations.redReefOTF4Rotation
-            : JsonConstants.blueFieldLocations.blueReefOTF4Rotation;
-      case Reef6:
-      case Reef7:
-      case Algae3:
-        return drive.isAllianceRed()
-            ? JsonConstants.redFieldLocations.redReefOTF6Rotation
-            : JsonConstants.blueFieldLocations.blueReefOTF6Rotation;
-      case Reef8:
-      case Reef9:
-      case Algae4:
-        return drive.isAllianceRed()
-            ? JsonConstants.redFieldLocations.redReefOTF8Rotation
-            : JsonConstants.blueFieldLocations.blueReefOTF8Rotation;
-      case Reef10:
-      case Reef11:
-      case Algae5:
-        return drive.isAllianceRed()
-            ? JsonConstants.redFieldLocations.redReefOTF10Rotation
-            : JsonConstants.blueFieldLocations.blueReefOTF10Rotation;
-      default:
-        return new Rotation2d();
-    }
+    return JsonConstants.fieldTargets.getReefFaceRotation(
+        drive.getDesiredLocation(), drive.isAllianceRed());
   }
 
   public boolean checkForSideSwitch() {
@@ -202,11 +154,11 @@ public class LineupState implements PeriodicStateInterface {
 
   /** checks for reef location update and handles state accordingly */
   public void checkForReefUpdate() {
-    // if we changed sides throw a invalid observation out so lineup doesnt think its finished and
-    // we can move on to other side
+    // if we changed sides throw the estimate out so lineup doesnt think its finished and we can
+    // move on to other side once a camera sees it
     if (checkForSideSwitch()) {
       lastReefLocation = drive.getDesiredLocation();
-      latestObservation = new DistanceToTag(0, 0, false);
+      alignmentEstimator.reset();
     }
     // if we changed locations and its not to the other side we need to go back to OTF to get
     // within tag distance
@@ -222,15 +174,9 @@ public class LineupState implements PeriodicStateInterface {
    */
   public boolean lineupFinished() {
     boolean switchedSides = checkForSideSwitch();
-    boolean latestObservationIsValid = latestObservation != null && latestObservation.isValid();
-    Logger.recordOutput("Drive/lineup/latestObservationIsValid", latestObservationIsValid);
+    Logger.recordOutput("Drive/lineup/observedThisLoop", observedThisLoop);
 
-    DistanceToTag observation;
-    if (latestObservationIsValid) {
-      observation = latestObservation;
-    } else {
-      observation = updateDistanceFromCachedPose();
-    }
+    DistanceToTag observation = alignmentEstimator.getEstimate();
 
     boolean rotationCorrect =
         Math.abs(drive.getRotation().getRadians() - getRotationForReefSide().getRadians())
@@ -252,8 +198,10 @@ public class LineupState implements PeriodicStateInterface {
     Logger.recordOutput("Drive/lineup/crossTrackCorrect", crossTrackCorrect);
     Logger.recordOutput("Drive/lineup/vyLowEnough", vyLowEnough);
 
+    // without a camera this loop the estimate has only been moved by odometry since it was seen
     return (JsonConstants.drivetrainConstants.allowLineupFinishWithCachedObservation
-            || latestObservationIsValid)
+            || observedThisLoop)
+        && observation.isValid()
         && hadObservationYet
         && rotationCorrect
         && alongTrackCorrect
@@ -277,8 +225,8 @@ public class LineupState implements PeriodicStateInterface {
 
     this.LineupWithReefLocation();
 
-    drive.setDriveLinedUp(lineupFinished());
-    Logger.recordOutput("drive/lineup/finished", lineupFinished());
+    drive.setDriveLinedUp(linedUp);
+    Logger.recordOutput("drive/lineup/finished", linedUp);
   }
 
   public double getAlongTrackVelocity(double alongTrackDistance) {
@@ -358,48 +306,30 @@ public class LineupState implements PeriodicStateInterface {
     return observationOtherCamera;
   }
 
-  /**
-   * calculates our expected distance errror based on global odometry fall back to this when there
-   * is no new observation or it isnt valid
-   *
-   * @return a DistanceToTag of the new expected distances needed to reach setpoint
-   */
-  public DistanceToTag updateDistanceFromCachedPose() {
-
-    if (poseAtLastObservation == null || latestObservation == null) {
-      return new DistanceToTag(0, 0, false);
-    }
-    Translation2d adjustment =
-        drive
-            .getPose()
-            .minus(poseAtLastObservation)
-            .getTranslation()
-            .rotateBy(getRotationForReefSide());
-
-    Logger.recordOutput("Drive/Lineup/Adjustment", adjustment);
-
-    DistanceToTag adjustedObservation =
-        new DistanceToTag(
-            latestObservation.crossTrackDistance() + adjustment.getY(),
-            latestObservation.alongTrackDistance() - adjustment.getX(),
-            true);
-    return adjustedObservation;
-  }
-
   /** take over goal speeds to align to reef exactly */
   public void LineupWithReefLocation() {
+    observedThisLoop = false;
+
+    // carry the estimate along with the robot before correcting it with this loop's observations
+    alignmentEstimator.predict(
+        drive.getOdometryPose(),
+        JsonConstants.drivetrainConstants.lineupOdometryDriftStdDevPerMeter,
+        JsonConstants.drivetrainConstants.lineupProcessStdDevMeters);
+
     int tagId = ReefLineupUtil.getTagIdForReef(drive);
     int cameraIndex = ReefLineupUtil.getCameraIndexForLineup(drive);
 
     if (tagId == -1 || cameraIndex == -1) {
       // TODO: check if this might be false first time, but on another loop true
       // drive.fireTrigger(DriveTrigger.CancelLineup);
+      linedUp = lineupFinished();
       return;
     }
 
     VisionAlignment alignmentSupplier = drive.getVisionAlignment();
 
     if (alignmentSupplier == null) {
+      linedUp = lineupFinished();
       return;
     }
 
@@ -417,33 +347,28 @@ public class LineupState implements PeriodicStateInterface {
     DistanceToTag otherCameraObs = tryOtherCamera(alignmentSupplier, tagId, cameraIndex);
 
     Logger.recordOutput("Drive/Lineup/newObservationValid", observation.isValid());
-
-    Logger.recordOutput("Drive/Lineup/usingOtherCamera", false);
-
-    if (observation.isValid()) {
-      usingOtherCamera = false;
-      driveCrossTrackOtherCameraLineupController.reset();
-      latestObservation = observation;
-
-      poseAtLastObservation = drive.getPose();
-
+    Logger.recordOutput(
+        "Drive/Lineup/otherCameraObservationValid",
+        otherCameraObs != null && otherCameraObs.isValid());
+
+    // fuse both cameras, trusting the one picked for this branch more. the pid always sees the
+    // fused estimate, so nothing jumps or needs a reset when one camera loses the tag
+    boolean usedLineupCamera =
+        alignmentEstimator.addObservation(
+            observation, JsonConstants.drivetrainConstants.lineupCameraStdDevMeters);
+    boolean usedOtherCamera =
+        otherCameraObs != null
+            && alignmentEstimator.addObservation(
+                otherCameraObs, JsonConstants.drivetrainConstants.lineupOtherCameraStdDevMeters);
+    observedThisLoop = usedLineupCamera || usedOtherCamera;
+    if (observedThisLoop) {
       hadObservationYet = true;
-      observationAge = 0;
-    } else if (otherCameraObs != null
-        && otherCameraObs.isValid()) { // Issues were had initially with this enabled on 3/27
-      // check if the other camera has observation (maybe we switched to other pole or camera got
-      // unplugged)
-      usingOtherCamera = true;
-      driveCrossTrackLineupController.reset();
-      latestObservation = otherCameraObs;
-      observation = otherCameraObs;
-      observationAge = 0;
-      Logger.recordOutput("Drive/Lineup/usingOtherCamera", true);
-    } else {
-      observation = updateDistanceFromCachedPose();
-      if (!observation.isValid()) {
-        drive.fireTrigger(DriveTrigger.BeginLinear);
-      }
+    }
+
+    // from here on lineup runs off of the fused estimate
+    observation = alignmentEstimator.getEstimate();
+    if (!observation.isValid() && !hadObservationYet) {
+      drive.fireTrigger(DriveTrigger.BeginLinear);
     }
 
     Logger.recordOutput(
@@ -457,23 +382,21 @@ public class LineupState implements PeriodicStateInterface {
                         .rotateBy(drive.getRotation()),
                     Rotation2d.kZero)));
 
-    double alongTrackDistanceFiltered =
-        alongTrackFilter.calculate(observation.alongTrackDistance());
-    double crossTrackDistanceFiltered =
-        crossTrackFilter.calculate(observation.crossTrackDistance());
-
     Logger.recordOutput("Drive/Lineup/AlongTrackDistance", observation.alongTrackDistance());
     Logger.recordOutput("Drive/Lineup/CrossTrackDistance", observation.crossTrackDistance());
-    Logger.recordOutput("Drive/Lineup/AlongTrackDistanceFiltered", alongTrackDistanceFiltered);
-    Logger.recordOutput("Drive/Lineup/CrossTrackDistanceFiltered", crossTrackDistanceFiltered);
+    Logger.recordOutput(
+        "Drive/Lineup/AlongTrackStdDev", alignmentEstimator.getAlongTrackStdDevMeters());
+    Logger.recordOutput(
+        "Drive/Lineup/CrossTrackStdDev", alignmentEstimator.getCrossTrackStdDevMeters());
     Logger.recordOutput("Drive/Lineup/IsObservationValid", observation.isValid());
 
     // give to PID Controllers and setGoalSpeeds (robotCentric)
-    if (!lineupFinished()) {
+    linedUp = lineupFinished();
+    if (!linedUp) {
       double vx =
           JsonConstants.drivetrainConstants.driveAlongTrackMultiplier
               * getAlongTrackVelocityReductionFactor(observation.crossTrackDistance())
-              * getAlongTrackVelocity(observation.alongTrackDistance()); // Maybe use filtered?
+              * getAlongTrackVelocity(observation.alongTrackDistance());
       double vy = driveCrossTrackLineupController.calculate(observation.crossTrackDistance());
 
       Angle headingOffset;
@@ -488,10 +411,6 @@ public class LineupState implements PeriodicStateInterface {
               drive.getRotation().getRadians(),
               this.getRotationForReefSide().getRadians() + headingOffset.in(Radians));
 
-      if (usingOtherCamera) {
-        vy = driveCrossTrackOtherCameraLineupController.calculate(observation.crossTrackDistance());
-      }
-
       drive.setGoalSpeeds(new ChassisSpeeds(vx, vy, omega), false);
     }
   }
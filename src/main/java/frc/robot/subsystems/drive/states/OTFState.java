@@ -49,146 +49,10 @@ public class OTFState implements PeriodicStateInterface {
    * @return a pose representing the corresponding scoring location
    */
   public static Pose2d findOTFPoseFromDesiredLocation(Drive driveInput) {
-    switch (driveInput.getDesiredLocation()) {
-        // NOTE: pairs of reef sides (ie 0 and 1) will have the same otf pose (approximately 0.5-1
-        // meter away from center of tag)
-      case Reef0:
-        return driveInput.isAllianceRed()
-            ? new Pose2d(
-                JsonConstants.redFieldLocations.redReefOTF0Translation,
-                JsonConstants.redFieldLocations.redReefOTF0Rotation)
-            : new Pose2d(
-                JsonConstants.blueFieldLocations.blueReefOTF0Translation,
-                JsonConstants.blueFieldLocations.blueReefOTF0Rotation);
-      case Reef1:
-      case Algae0:
-        return driveInput.isAllianceRed()
-            ? new Pose2d(
-                JsonConstants.redFieldLocations.redReefOTF1Translation,
-                JsonConstants.redFieldLocations.redReefOTF1Rotation)
-            : new Pose2d(
-                JsonConstants.blueFieldLocations.blueReefOTF1Translation,
-                JsonConstants.blueFieldLocations.blueReefOTF1Rotation);
-      case Reef2:
-        return driveInput.isAllianceRed()
-            ? new Pose2d(
-                JsonConstants.redFieldLocations.redReefOTF2Translation,
-                JsonConstants.redFieldLocations.redReefOTF2Rotation)
-            : new Pose2d(
-                JsonConstants.blueFieldLocations.blueReefOTF2Translation,
-                JsonConstants.blueFieldLocations.blueReefOTF2Rotation);
-      case Reef3:
-      case Algae1:
-        return driveInput.isAllianceRed()
-            ? new Pose2d(
-                JsonConstants.redFieldLocations.redReefOTF3Translation,
-                JsonConstants.redFieldLocations.redReefOTF3Rotation)
-            : new Pose2d(
-                JsonConstants.blueFieldLocations.blueReefOTF3Translation,
-                JsonConstants.blueFieldLocations.blueReefOTF3Rotation);
-      case Reef4:
-        return driveInput.isAllianceRed()
-            ? new Pose2d(
-                JsonConstants.redFieldLocations.redReefOTF4Translation,
-                JsonConstants.redFieldLocations.redReefOTF4Rotation)
-            : new Pose2d(
-                JsonConstants.blueFieldLocations.blueReefOTF4Translation,
-                JsonConstants.blueFieldLocations.blueReefOTF4Rotation);
-      case Reef5:
-      case Algae2:
-        return driveInput.isAllianceRed()
-            ? new Pose2d(
-                JsonConstants.redFieldLocations.redReefOTF5Translation,
-                JsonConstants.redFieldLocations.redReefOTF5Rotation)
-            : new Pose2d(
-                JsonConstants.blueFieldLocations.blueReefOTF5Translation,
-                JsonConstants.blueFieldLocations.blueReefOTF5Rotation);
-      case Reef6:
-        return driveInput.isAllianceRed()
-            ? new Pose2d(
-                JsonConstants.redFieldLocations.redReefOTF6Translation,
-                JsonConstants.redFieldLocations.redReefOTF6Rotation)
-            : new Pose2d(
-                JsonConstants.blueFieldLocations.blueReefOTF6Translation,
-                JsonConstants.blueFieldLocations.blueReefOTF6Rotation);
-      case Reef7:
-      case Algae3:
-        return driveInput.isAllianceRed()
-            ? new Pose2d(
-                JsonConstants.redFieldLocations.redReefOTF7Translation,
-                JsonConstants.redFieldLocations.redReefOTF7Rotation)
-            : new Pose2d(
-                JsonConstants.blueFieldLocations.blueReefOTF7Translation,
-                JsonConstants.blueFieldLocations.blueReefOTF7Rotation);
-      case Reef8:
-        return driveInput.isAllianceRed()
-            ? new Pose2d(
-                JsonConstants.redFieldLocations.redReefOTF8Translation,
-                JsonConstants.redFieldLocations.redReefOTF8Rotation)
-            : new Pose2d(
-                JsonConstants.blueFieldLocations.blueReefOTF8Translation,
-                JsonConstants.blueFieldLocations.blueReefOTF8Rotation);
-      case Reef9:
-      case Algae4:
-        return driveInput.isAllianceRed()
-            ? new Pose2d(
-                JsonConstants.redFieldLocations.redReefOTF9Translation,
-                JsonConstants.redFieldLocations.redReefOTF9Rotation)
-            : new Pose2d(
-                JsonConstants.blueFieldLocations.blueReefOTF9Translation,
-                JsonConstants.blueFieldLocations.blueReefOTF9Rotation);
-      case Reef10:
-        return driveInput.isAllianceRed()
-            ? new Pose2d(
-                JsonConstants.redFieldLocations.redReefOTF10Translation,
-                JsonConstants.redFieldLocations.redReefOTF10Rotation)
-            : new Pose2d(
-                JsonConstants.blueFieldLocations.blueReefOTF10Translation,
-                JsonConstants.blueFieldLocations.blueReefOTF10Rotation);
-      case Reef11:
-      case Algae5:
-        return driveInput.isAllianceRed()
-            ? new Pose2d(
-                JsonConstants.redFieldLocations.redReefOTF11Translation,
-                JsonConstants.redFieldLocations.redReefOTF11Rotation)
-            : new Pose2d(
-                JsonConstants.blueFieldLocations.blueReefOTF11Translation,
-                JsonConstants.blueFieldLocations.blueReefOTF11Rotation);
-      case CoralStationRight:
-        return driveInput.isAllianceRed()
-            ? new Pose2d(
-                JsonConstants.redFieldLocations.redCoralStationRightTranslation,
-                JsonConstants.redFieldLocations.redCoralStationRightRotation)
-            : new Pose2d(
-                JsonConstants.blueFieldLocations.blueCoralStationRightTranslation,
-                JsonConstants.blueFieldLocations.blueCoralStationRightRotation);
-      case CoralStationLeft:
-        return driveInput.isAllianceRed()
-            ? new Pose2d(
-                JsonConstants.redFieldLocations.redCoralStationLeftTranslation,
-                JsonConstants.redFieldLocations.redCoralStationLeftRotation)
-            : new Pose2d(
-                JsonConstants.blueFieldLocations.blueCoralStationLeftTranslation,
-                JsonConstants.blueFieldLocations.blueCoralStationLeftRotation);
-      case AutoLine:
-        return driveInput.isAllianceRed()
-            ? new Pose2d(
-                JsonConstants.redFieldLocations.redAutoLineTranslation,
-                JsonConstants.redFieldLocations.redAutoLineRotation)
-            : new Pose2d(
-                JsonConstants.blueFieldLocations.blueAutoLineTranslation,
-                JsonConstants.blueFieldLocations.blueAutoLineRotation);
-      case NetScore:
-        return driveInput.isAllianceRed()
-            ? new Pose2d(
-                JsonConstants.redFieldLocations.redNetScoreTranslation,
-                JsonConstants.redFieldLocations.redNetScoreRotation)
-            : new Pose2d(
-                JsonConstants.blueFieldLocations.blueNetScoreTranslation,
-                JsonConstants.blueFieldLocations.blueNetScoreRotation);
-      default:
-        return null;
-    }
+    // NOTE: pairs of reef sides (ie 0 and 1) will have the same otf pose (approximately 0.5-1
+    // meter away from center of tag)
+    return JsonConstants.fieldTargets.getOTFPose(
+        driveInput.getDesiredLocation(), driveInput.isAllianceRed());
   }
 
   /**
@@ -238,7 +102,15 @@ public class OTFState implements PeriodicStateInterface {
     //   drive.fireTrigger(DriveTrigger.FinishOTF);
     // }
 
-    if (drive.isDriveCloseForWarmup() && ScoringSubsystem.getInstance() != null) {
+    // Only a predicted arrival may cut a far warmup short; being close just starts warmup from idle
+    boolean isWarmupPredicted =
+        drive.isDriveDueForWarmup(
+            otfPose,
+            JsonConstants.drivetrainConstants.OTFMaxLinearVelocity,
+            JsonConstants.drivetrainConstants.OTFMaxLinearAccel);
+    if (isWarmupPredicted && ScoringSubsystem.getInstance() != null) {
+      ScoringSubsystem.getInstance().fireTrigger(ScoringTrigger.StartPredictedWarmup);
+    } else if (drive.isDriveCloseForWarmup() && ScoringSubsystem.getInstance() != null) {
       ScoringSubsystem.getInstance().fireTrigger(ScoringTrigger.StartEarlyWarmup);
     } else if (drive.isDriveCloseForFarWarmup() && ScoringSubsystem.getInstance() != null) {
       ScoringSubsystem.getInstance().fireTrigger(ScoringTrigger.StartFarWarmup);
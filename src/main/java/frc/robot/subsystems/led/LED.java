@@ -13,6 +13,8 @@ import frc.robot.subsystems.drive.Drive;
 import frc.robot.subsystems.scoring.ScoringSubsystem;
 import frc.robot.subsystems.scoring.ScoringSubsystem.FieldTarget;
 import frc.robot.subsystems.scoring.ScoringSubsystem.GamePiece;
+import frc.robot.util.LoopTimeProfiler;
+import frc.robot.util.LoopTimeProfiler.Section;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Supplier;
@@ -72,9 +74,13 @@ public class LED extends SubsystemBase {
     }
   }
 
-  /** Periodic method called every loop cycle. Updates LED patterns based on robot state. */
-  @Override
-  public void periodic() {
+  /**
+   * Updates LED patterns based on robot state. This is run in the slow loop group rather than every
+   * loop, since nobody can see a difference at more than 10 Hz.
+   */
+  public void update() {
+    long updateStart = LoopTimeProfiler.start();
+
     if (!DriverStation.isDisabled()) {
 
       // Drive Subsystem Checks
@@ -138,6 +144,8 @@ public class LED extends SubsystemBase {
       LEDConstants.rainbowPattern.applyTo(ledStrip);
     }
     led.setData(ledStrip);
+
+    LoopTimeProfiler.stop(Section.LED, updateStart);
   }
 
   /**
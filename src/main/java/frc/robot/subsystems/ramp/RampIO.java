@@ -26,13 +26,13 @@ public interface RampIO {
    * @param kI
    * @param kD
    */
-  public void setPID(double kP, double kI, double kD);
+  public default void setPID(double kP, double kI, double kD) {}
 
-  public void addOffset(double offset);
+  public default void addOffset(double offset) {}
 
-  public void updateInputs(RampInputs inputs);
+  public default void updateInputs(RampInputs inputs) {}
 
-  public void updateOutputs(RampInputs inputs, RampOutputs outputs);
+  public default void updateOutputs(RampInputs inputs, RampOutputs outputs) {}
 
-  public void setBrakeMode(boolean brake);
+  public default void setBrakeMode(boolean brake) {}
 }
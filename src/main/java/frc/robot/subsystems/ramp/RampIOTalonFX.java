@@ -3,13 +3,17 @@ package frc.robot.subsystems.ramp;
 import static edu.wpi.first.units.Units.Radians;
 import static edu.wpi.first.units.Units.Rotations;
 
+import com.ctre.phoenix6.StatusSignal;
 import com.ctre.phoenix6.configs.MotorOutputConfigs;
 import com.ctre.phoenix6.configs.TalonFXConfiguration;
 import com.ctre.phoenix6.hardware.TalonFX;
 import com.ctre.phoenix6.signals.InvertedValue;
 import com.ctre.phoenix6.signals.NeutralModeValue;
 import edu.wpi.first.math.controller.PIDController;
+import edu.wpi.first.units.measure.Angle;
+import edu.wpi.first.units.measure.AngularVelocity;
 import frc.robot.constants.JsonConstants;
+import frc.robot.util.CANSignalRegistry;
 
 // TODO make pid constants
 public class RampIOTalonFX implements RampIO {
@@ -21,6 +25,11 @@ public class RampIOTalonFX implements RampIO {
           JsonConstants.rampConstants.PID_TalonFX_D);
 
   private TalonFX talon;
+
+  // Status signals, refreshed every loop by the CANSignalRegistry
+  private StatusSignal<Angle> position;
+  private StatusSignal<AngularVelocity> velocity;
+
   public double angle_offset = 0.0;
   public final double gearing = (21.0 / 8.0);
 
@@ -36,6 +45,10 @@ public class RampIOTalonFX implements RampIO {
                             (JsonConstants.rampConstants.inverted)
                                 ? InvertedValue.CounterClockwise_Positive
                                 : InvertedValue.Clockwise_Positive)));
+
+    position = talon.getPosition();
+    velocity = talon.getVelocity();
+    CANSignalRegistry.register("Ramp/Motor", talon, 50.0, position, velocity);
   }
 
   @Override
@@ -53,7 +66,7 @@ public class RampIOTalonFX implements RampIO {
   @Override
   public void updateInputs(RampInputs inputs) {
     inputs.position =
-        Rotations.of(talon.getPosition().getValueAsDouble() / gearing).in(Radians) + angle_offset;
+        Rotations.of(position.getValueAsDouble() / gearing).in(Radians) + angle_offset;
   }
 
   public void setBrakeMode(boolean brake) {
@@ -62,7 +75,7 @@ public class RampIOTalonFX implements RampIO {
 
   @Override
   public void updateOutputs(RampInputs inputs, RampOutputs outputs) {
-    outputs.velocity = talon.getVelocity().getValueAsDouble();
+    outputs.velocity = velocity.getValueAsDouble();
     double volts = inputs.controlValue;
     if (inputs.positionControl) {
       controller.setSetpoint(inputs.controlValue);
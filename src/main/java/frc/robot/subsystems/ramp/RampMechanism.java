@@ -7,6 +7,8 @@ import edu.wpi.first.units.measure.AngularVelocity;
 import frc.robot.Robot;
 import frc.robot.TestModeManager;
 import frc.robot.constants.JsonConstants;
+import frc.robot.util.LoopTimeProfiler;
+import frc.robot.util.LoopTimeProfiler.Section;
 import java.util.function.BooleanSupplier;
 import org.littletonrobotics.junction.Logger;
 
@@ -60,8 +62,10 @@ public class RampMechanism {
     io.updateOutputs(inputs, outputs);
 
     Logger.recordOutput("ramp/inPosition", inPositionBooleanSupplier.getAsBoolean());
+    long processInputsStart = LoopTimeProfiler.start();
     Logger.processInputs("ramp/inputs", inputs);
     Logger.processInputs("ramp/outputs", outputs);
+    LoopTimeProfiler.stop(Section.ProcessInputs, processInputsStart);
   }
 
   public void setPosition(double position) {
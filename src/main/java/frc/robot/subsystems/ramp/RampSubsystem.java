@@ -15,6 +15,8 @@ import frc.robot.subsystems.ramp.states.IdleState;
 import frc.robot.subsystems.ramp.states.IntakeState;
 import frc.robot.subsystems.ramp.states.RampState;
 import frc.robot.subsystems.ramp.states.RampState.RampTriggers;
+import frc.robot.util.LoopTimeProfiler;
+import frc.robot.util.LoopTimeProfiler.Section;
 import org.littletonrobotics.junction.Logger;
 
 // TODO apply current to hold in position
@@ -56,11 +58,17 @@ public class RampSubsystem extends SubsystemBase {
 
   @Override
   public void periodic() {
+    long periodicStart = LoopTimeProfiler.start();
+
     if (!DriverStation.isTestEnabled()) {
+      long stateMachineStart = LoopTimeProfiler.start();
       stateMachine.periodic();
+      LoopTimeProfiler.stop(Section.RampStateMachine, stateMachineStart);
     }
     mechanism.periodic();
     Logger.recordOutput("ramp/state", stateMachine.getCurrentState());
+
+    LoopTimeProfiler.stop(Section.Ramp, periodicStart);
   }
 
   private void setupStateMachine(RampMechanism mechanism) {
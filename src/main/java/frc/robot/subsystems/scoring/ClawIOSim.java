@@ -2,18 +2,20 @@ package frc.robot.subsystems.scoring;
 
 import static edu.wpi.first.units.Units.Amps;
 import static edu.wpi.first.units.Units.Rotations;
-import static edu.wpi.first.units.Units.RotationsPerSecond;
 import static edu.wpi.first.units.Units.Seconds;
 import static edu.wpi.first.units.Units.Volts;
 
+import edu.wpi.first.math.system.plant.DCMotor;
 import edu.wpi.first.units.measure.Angle;
-import edu.wpi.first.units.measure.Current;
 import edu.wpi.first.units.measure.MutAngle;
 import edu.wpi.first.units.measure.MutVoltage;
 import edu.wpi.first.units.measure.Voltage;
 import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.RobotController;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import frc.robot.constants.JsonConstants;
+import frc.robot.constants.SimConstants;
+import frc.robot.subsystems.scoring.sim.RollerPlant;
 import org.littletonrobotics.junction.Logger;
 
 public class ClawIOSim implements ClawIO {
@@ -37,6 +39,14 @@ public class ClawIOSim implements ClawIO {
   /** Keep track of simulated motor position */
   private MutAngle motorPos = Rotations.mutable(0.0);
 
+  // Gear the rollers so their free speed per volt matches rotationsPerSecondPerVolt
+  private final RollerPlant rollers =
+      new RollerPlant(
+          DCMotor.getKrakenX60(1),
+          DCMotor.getKrakenX60(1).KvRadPerSecPerVolt
+              / (2.0 * Math.PI * JsonConstants.clawConstantsSim.rotationsPerSecondPerVolt),
+          JsonConstants.clawConstantsSim.rollerMomentOfInertiaKgM2);
+
   /**
    * Keeps track of where a gamepiece is.
    *
@@ -54,6 +64,8 @@ public class ClawIOSim implements ClawIO {
   private HasState has = HasState.CORAL;
 
   public ClawIOSim() {
+    rollers.setStatorCurrentLimit(JsonConstants.clawConstants.clawStatorCurrentLimit.in(Amps));
+
     SmartDashboard.putBoolean("clawSim/coralAvailable", false);
     SmartDashboard.putBoolean("clawSim/algaeAvailable", false);
 
@@ -65,48 +77,18 @@ public class ClawIOSim implements ClawIO {
       outputVoltage.mut_replace(Volts.zero());
     }
 
-    boolean coralAvailable = SmartDashboard.getBoolean("clawSim/coralAvailable", false);
-    boolean algaeAvailable = SmartDashboard.getBoolean("clawSim/algaeAvailable", false);
+    coralAvailable = SmartDashboard.getBoolean("clawSim/coralAvailable", false);
+    algaeAvailable = SmartDashboard.getBoolean("clawSim/algaeAvailable", false);
 
-    // v Volts * k Rotations/Second*Volt * s Seconds =  Rotations
-    motorPos.mut_plus(
-        RotationsPerSecond.of(
-                outputVoltage.in(Volts) * JsonConstants.clawConstantsSim.rotationsPerSecondPerVolt)
-            .times(Seconds.of(0.02)));
+    double batteryVolts = RobotController.getBatteryVoltage();
+    double dtSeconds = SimConstants.plantSubstepTime.in(Seconds);
 
-    if (has == HasState.NONE) {
-      if (outputVoltage.in(Volts) < 0.0 && algaeAvailable) {
-        has = HasState.ALGAE;
-        piecePos = 1.0;
-      }
-      if (outputVoltage.in(Volts) > 0.0 && coralAvailable) {
-        has = HasState.CORAL;
-        piecePos = 0.0;
-      }
-    } else {
-      piecePos +=
-          RotationsPerSecond.of(
-                      outputVoltage.in(Volts)
-                          * JsonConstants.clawConstantsSim.rotationsPerSecondPerVolt)
-                  .times(Seconds.of(0.02))
-                  .in(Rotations)
-              * 0.05;
-
-      if (piecePos > 1.0) {
-        has = HasState.NONE;
-        piecePos = -1.0;
-      }
-
-      if (piecePos < 0.0) {
-        if (has == HasState.ALGAE) {
-          piecePos = 0.0;
-        } else if (has == HasState.CORAL) {
-          has = HasState.NONE;
-          piecePos = -1.0;
-        }
-      }
+    for (int i = 0; i < SimConstants.plantSubstepsPerLoop; i++) {
+      stepRollers(batteryVolts, dtSeconds);
     }
 
+    motorPos.mut_setMagnitude(rollers.getPositionRotations());
+
     Logger.recordOutput("clawSim/outputVoltage", outputVoltage.in(Volts));
 
     hasCoral = has == HasState.CORAL;
@@ -133,7 +115,55 @@ public class ClawIOSim implements ClawIO {
     Logger.recordOutput("clawSim/piecePos", piecePos);
   }
 
-  private final Current currentPushing = Amps.of(50);
+  /** Step the rollers and whatever gamepiece they're holding by one plant step. */
+  private void stepRollers(double batteryVolts, double dtSeconds) {
+    double volts = outputVoltage.in(Volts);
+
+    if (has == HasState.NONE) {
+      if (volts < 0.0 && algaeAvailable) {
+        has = HasState.ALGAE;
+        piecePos = 1.0;
+      }
+      if (volts > 0.0 && coralAvailable) {
+        has = HasState.CORAL;
+        piecePos = 0.0;
+      }
+    }
+
+    double contactFriction = 0.0;
+    if (has == HasState.CORAL) {
+      contactFriction = JsonConstants.clawConstantsSim.coralContactFrictionNewtonMeters;
+    } else if (has == HasState.ALGAE) {
+      contactFriction = JsonConstants.clawConstantsSim.algaeContactFrictionNewtonMeters;
+    }
+    // An algae pulled all the way in is pinned against the back of the claw and stalls the rollers
+    boolean algaeBottomedOut = has == HasState.ALGAE && piecePos <= 0.0;
+
+    double lastRollerRotations = rollers.getPositionRotations();
+    rollers.stepVoltage(volts, batteryVolts, contactFriction, algaeBottomedOut, dtSeconds);
+
+    if (has == HasState.NONE) {
+      return;
+    }
+
+    piecePos +=
+        (rollers.getPositionRotations() - lastRollerRotations)
+            * JsonConstants.clawConstantsSim.pieceTravelPerRotation;
+
+    if (piecePos > 1.0) {
+      has = HasState.NONE;
+      piecePos = -1.0;
+    }
+
+    if (piecePos < 0.0) {
+      if (has == HasState.ALGAE) {
+        piecePos = 0.0;
+      } else if (has == HasState.CORAL) {
+        has = HasState.NONE;
+        piecePos = -1.0;
+      }
+    }
+  }
 
   public void updateInputs(ClawInputs inputs) {
     updateSimState();
@@ -141,15 +171,9 @@ public class ClawIOSim implements ClawIO {
     inputs.algaeDetected = algaeSensed;
     inputs.coralDetected = coralSensed;
 
-    Current motorCurrent =
-        (hasAlgae || hasCoral || algaeAvailable || coralAvailable)
-                && (outputVoltage.in(Volts) != 0.0)
-            ? currentPushing
-            : Amps.zero();
-
     inputs.clawMotorPos.mut_replace(motorPos);
-    inputs.clawStatorCurrent.mut_replace(motorCurrent);
-    inputs.clawSupplyCurrent.mut_replace(motorCurrent);
+    inputs.clawStatorCurrent.mut_setMagnitude(rollers.getStatorCurrentAmps());
+    inputs.clawSupplyCurrent.mut_setMagnitude(rollers.getSupplyCurrentAmps());
   }
 
   public void applyOutputs(ClawOutputs outputs) {
@@ -13,9 +13,13 @@ import com.ctre.phoenix6.hardware.CANrange;
 import com.ctre.phoenix6.hardware.TalonFX;
 import com.ctre.phoenix6.signals.NeutralModeValue;
 import edu.wpi.first.units.measure.Angle;
+import edu.wpi.first.units.measure.Current;
+import edu.wpi.first.units.measure.Distance;
 import edu.wpi.first.units.measure.MutVoltage;
 import edu.wpi.first.units.measure.Voltage;
 import frc.robot.constants.JsonConstants;
+import frc.robot.util.CANSignalRegistry;
+import frc.robot.util.CANSignalRegistry.SignalGroup;
 
 public class ClawIOTalonFX implements ClawIO {
   CANrange coralRange = new CANrange(JsonConstants.clawConstants.coralCANrangeID, "canivore");
@@ -23,6 +27,22 @@ public class ClawIOTalonFX implements ClawIO {
 
   TalonFX rollerMotor = new TalonFX(JsonConstants.clawConstants.clawMotorID, "canivore");
 
+  // Status signals, refreshed every loop by the CANSignalRegistry
+  private final StatusSignal<Boolean> coralIsDetected = coralRange.getIsDetected();
+  private final StatusSignal<Double> coralSignalStrength = coralRange.getSignalStrength();
+  private final StatusSignal<Distance> coralDistance = coralRange.getDistance();
+
+  private final StatusSignal<Boolean> algaeIsDetected = algaeRange.getIsDetected();
+  private final StatusSignal<Double> algaeSignalStrength = algaeRange.getSignalStrength();
+  private final StatusSignal<Distance> algaeDistance = algaeRange.getDistance();
+
+  private final StatusSignal<Angle> rollerPosition = rollerMotor.getPosition();
+  private final StatusSignal<Current> rollerStatorCurrent = rollerMotor.getStatorCurrent();
+  private final StatusSignal<Current> rollerSupplyCurrent = rollerMotor.getSupplyCurrent();
+
+  private final SignalGroup coralRangeSignals;
+  private final SignalGroup algaeRangeSignals;
+
   private MutVoltage outputVoltage = Volts.mutable(0.0);
   private VoltageOut voltageRequest = new VoltageOut(outputVoltage);
 
@@ -63,36 +83,50 @@ public class ClawIOTalonFX implements ClawIO {
                     .withProximityHysteresis(JsonConstants.clawConstants.algaeProximityHysteresis));
 
     algaeRange.getConfigurator().apply(algaeRangeConfigs);
+
+    coralRangeSignals =
+        CANSignalRegistry.register(
+            "Claw/CoralCANrange",
+            coralRange,
+            50.0,
+            coralIsDetected,
+            coralSignalStrength,
+            coralDistance);
+    algaeRangeSignals =
+        CANSignalRegistry.register(
+            "Claw/AlgaeCANrange",
+            algaeRange,
+            50.0,
+            algaeIsDetected,
+            algaeSignalStrength,
+            algaeDistance);
+    CANSignalRegistry.register(
+        "Claw/RollerMotor",
+        rollerMotor,
+        50.0,
+        rollerPosition,
+        rollerStatorCurrent,
+        rollerSupplyCurrent);
   }
 
   public void updateInputs(ClawInputs inputs) {
     inputs.algaeDetected = isAlgaeDetected();
     inputs.coralDetected = isCoralDetected();
 
-    inputs.algaeSignalStrength = algaeRange.getSignalStrength().getValueAsDouble();
-    inputs.algaeDistance.mut_replace(algaeRange.getDistance().getValue());
+    inputs.algaeSignalStrength = algaeSignalStrength.getValueAsDouble();
+    inputs.algaeDistance.mut_replace(algaeDistance.getValue());
 
-    inputs.algaeRangeConnected =
-        algaeRange.isConnected()
-            && StatusSignal.isAllGood(
-                algaeRange.getIsDetected(),
-                algaeRange.getSignalStrength(),
-                algaeRange.getDistance());
+    inputs.algaeRangeConnected = algaeRange.isConnected() && algaeRangeSignals.isAllGood();
 
-    inputs.coralSignalStrength = coralRange.getSignalStrength().getValueAsDouble();
-    inputs.coralDistance.mut_replace(coralRange.getDistance().getValue());
+    inputs.coralSignalStrength = coralSignalStrength.getValueAsDouble();
+    inputs.coralDistance.mut_replace(coralDistance.getValue());
 
-    inputs.coralRangeConnected =
-        coralRange.isConnected()
-            && StatusSignal.isAllGood(
-                coralRange.getIsDetected(),
-                coralRange.getSignalStrength(),
-                coralRange.getDistance());
+    inputs.coralRangeConnected = coralRange.isConnected() && coralRangeSignals.isAllGood();
 
-    inputs.clawMotorPos.mut_replace(rollerMotor.getPosition().getValue());
+    inputs.clawMotorPos.mut_replace(rollerPosition.getValue());
 
-    inputs.clawStatorCurrent.mut_replace(rollerMotor.getStatorCurrent().getValue());
-    inputs.clawSupplyCurrent.mut_replace(rollerMotor.getSupplyCurrent().getValue());
+    inputs.clawStatorCurrent.mut_replace(rollerStatorCurrent.getValue());
+    inputs.clawSupplyCurrent.mut_replace(rollerSupplyCurrent.getValue());
   }
 
   public void applyOutputs(ClawOutputs outputs) {
@@ -105,14 +139,14 @@ public class ClawIOTalonFX implements ClawIO {
   }
 
   public Angle getClawMotorPos() {
-    return rollerMotor.getPosition().getValue();
+    return rollerPosition.getValue();
   }
 
   public boolean isCoralDetected() {
-    return coralRange.getIsDetected().getValue();
+    return coralIsDetected.getValue();
   }
 
   public boolean isAlgaeDetected() {
-    return algaeRange.getIsDetected().getValue();
+    return algaeIsDetected.getValue();
   }
 }
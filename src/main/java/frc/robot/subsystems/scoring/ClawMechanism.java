@@ -10,6 +10,8 @@ import edu.wpi.first.math.filter.Debouncer.DebounceType;
 import frc.robot.TestModeManager;
 import frc.robot.constants.JsonConstants;
 import frc.robot.subsystems.scoring.states.IntakeState;
+import frc.robot.util.LoopTimeProfiler;
+import frc.robot.util.LoopTimeProfiler.Section;
 import org.littletonrobotics.junction.Logger;
 
 public class ClawMechanism {
@@ -58,8 +60,10 @@ public class ClawMechanism {
     io.updateInputs(inputs);
     io.applyOutputs(outputs);
 
+    long processInputsStart = LoopTimeProfiler.start();
     Logger.processInputs("claw/inputs", inputs);
     Logger.processInputs("claw/outputs", outputs);
+    LoopTimeProfiler.stop(Section.ProcessInputs, processInputsStart);
   }
 
   /** This method must be called from the subsystem's test periodic! */
@@ -0,0 +1,256 @@
+package frc.robot.subsystems.scoring;
+
+import static edu.wpi.first.units.Units.Amps;
+import static edu.wpi.first.units.Units.Kilograms;
+import static edu.wpi.first.units.Units.Meters;
+import static edu.wpi.first.units.Units.Rotations;
+import static edu.wpi.first.units.Units.RotationsPerSecond;
+import static edu.wpi.first.units.Units.RotationsPerSecondPerSecond;
+import static edu.wpi.first.units.Units.Seconds;
+import static edu.wpi.first.units.Units.Volts;
+
+import edu.wpi.first.math.system.plant.DCMotor;
+import edu.wpi.first.units.AngularAccelerationUnit;
+import edu.wpi.first.units.AngularVelocityUnit;
+import edu.wpi.first.units.PerUnit;
+import edu.wpi.first.units.VoltageUnit;
+import edu.wpi.first.units.measure.Angle;
+import edu.wpi.first.units.measure.AngularVelocity;
+import edu.wpi.first.units.measure.Current;
+import edu.wpi.first.units.measure.Per;
+import edu.wpi.first.units.measure.Voltage;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.RobotController;
+import frc.robot.constants.SimConstants;
+import frc.robot.constants.subsystems.ElevatorConstants;
+import frc.robot.subsystems.scoring.sim.ElevatorPlant;
+import frc.robot.subsystems.scoring.sim.MotionMagicExpoSim;
+import frc.robot.subsystems.scoring.sim.MotionMagicExpoSim.GravityType;
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * Elevator IO backed by a pure-Java {@link ElevatorPlant} instead of Phoenix sim state.
+ *
+ * <p>The lead motor's MotionMagicExpoTorqueCurrentFOC control is emulated by {@link
+ * MotionMagicExpoSim}, and the controller and plant are stepped together at 1 kHz inside {@link
+ * #updateInputs}, so a loop costs the same no matter how fast the sim is being run.
+ */
+public class ElevatorIOPlantSim implements ElevatorIO {
+  private final ElevatorPlant plant =
+      new ElevatorPlant(
+          DCMotor.getKrakenX60Foc(1),
+          2,
+          ElevatorConstants.synced.getObject().elevatorReduction,
+          ElevatorConstants.synced.getObject().carriageMass.in(Kilograms),
+          ElevatorConstants.synced.getObject().elevatorHeightPerSpoolRotation.in(Meters),
+          ElevatorConstants.synced.getObject().minElevatorHeight.in(Meters),
+          ElevatorConstants.synced.getObject().maxElevatorHeight.in(Meters),
+          ElevatorConstants.synced.getObject().spoolTeeth,
+          ElevatorConstants.synced.getObject().largeCANCoderTeeth,
+          ElevatorConstants.synced.getObject().smallCANCoderTeeth,
+          ElevatorConstants.Sim.synced.getObject().elevatorStartingHeight.in(Meters));
+
+  private final MotionMagicExpoSim controller =
+      new MotionMagicExpoSim(GravityType.ElevatorStatic);
+
+  private ElevatorOutputMode outputMode = ElevatorOutputMode.ClosedLoop;
+  private boolean motorsDisabled = false;
+
+  // Goal of the closed loop, in large encoder rotations
+  private double largeEncoderGoalRotations = 0.0;
+
+  private double overrideVolts = 0.0;
+  private double overrideAmps = 0.0;
+
+  public ElevatorIOPlantSim() {
+    ElevatorConstants constants = ElevatorConstants.synced.getObject();
+
+    controller.setPID(constants.elevatorkP, constants.elevatorkI, constants.elevatorkD);
+    controller.setFF(
+        constants.elevatorkS, constants.elevatorkV, constants.elevatorkA, constants.elevatorkG);
+    controller.setProfile(
+        constants.elevatorAngularCruiseVelocity.in(RotationsPerSecond),
+        constants.elevatorExpo_kV_raw,
+        constants.elevatorExpo_kA_raw);
+
+    plant.setStatorCurrentLimit(constants.elevatorStatorCurrentLimit.in(Amps));
+    plant.setBrakeMode(false); // The TalonFXs are configured to coast
+  }
+
+  @Override
+  public void updateInputs(ElevatorInputs inputs) {
+    double batteryVolts = RobotController.getBatteryVoltage();
+    double dtSeconds = SimConstants.plantSubstepTime.in(Seconds);
+
+    for (int i = 0; i < SimConstants.plantSubstepsPerLoop; i++) {
+      step(batteryVolts, dtSeconds);
+    }
+
+    Logger.recordOutput("elevator/simElevatorHeightMeters", plant.getHeightMeters());
+    Logger.recordOutput(
+        "elevator/simElevatorVelocityMetersPerSec", plant.getVelocityMetersPerSecond());
+
+    inputs.largeEncoderConnected = true;
+    inputs.smallEncoderConnected = true;
+
+    inputs.largeEncoderPos.mut_setMagnitude(plant.getLargeEncoderRotations());
+    inputs.largeEncoderVel.mut_setMagnitude(plant.getLargeEncoderVelocityRotationsPerSecond());
+    inputs.smallEncoderPos.mut_setMagnitude(plant.getSmallEncoderRotations());
+    inputs.leadMotorAngle.mut_setMagnitude(plant.getMotorRotations());
+
+    inputs.largeEncoderAbsolutePos.mut_setMagnitude(plant.getLargeEncoderAbsoluteRotations());
+    inputs.largeAbsPosRot = plant.getLargeEncoderAbsoluteRotations();
+    inputs.smallEncoderAbsolutePos.mut_setMagnitude(plant.getSmallEncoderAbsoluteRotations());
+
+    inputs.largeEncoderGoalPos.mut_setMagnitude(largeEncoderGoalRotations);
+    inputs.largeEncoderSetpointPos.mut_setMagnitude(controller.getReferencePosition());
+
+    inputs.elevatorLeadMotorStatorCurrent.mut_setMagnitude(plant.getStatorCurrentAmps());
+    inputs.elevatorLeadMotorSupplyCurrent.mut_setMagnitude(plant.getSupplyCurrentAmps());
+    inputs.elevatorFollowerMotorStatorCurrent.mut_setMagnitude(plant.getStatorCurrentAmps());
+    inputs.elevatorFollowerMotorSupplyCurrent.mut_setMagnitude(plant.getSupplyCurrentAmps());
+
+    inputs.motionMagicError = controller.getError();
+
+    inputs.elevatorMechanismVelocity.mut_setMagnitude(
+        plant.getLargeEncoderVelocityRotationsPerSecond());
+  }
+
+  /** Run the emulated TalonFXs and the elevator for one plant step. */
+  private void step(double batteryVolts, double dtSeconds) {
+    // Phoenix sim disables the motors whenever the robot is disabled
+    if (motorsDisabled || !DriverStation.isEnabled()) {
+      controller.reset();
+      plant.stepVoltage(0.0, batteryVolts, dtSeconds);
+      return;
+    }
+
+    switch (outputMode) {
+      case ClosedLoop:
+        double amps =
+            controller.calculate(
+                largeEncoderGoalRotations,
+                plant.getLargeEncoderRotations(),
+                plant.getLargeEncoderVelocityRotationsPerSecond(),
+                dtSeconds);
+        plant.stepTorqueCurrent(amps, batteryVolts, dtSeconds);
+        break;
+      case Voltage:
+        controller.reset();
+        plant.stepVoltage(overrideVolts, batteryVolts, dtSeconds);
+        break;
+      case Current:
+        controller.reset();
+        plant.stepTorqueCurrent(overrideAmps, batteryVolts, dtSeconds);
+        break;
+    }
+  }
+
+  @Override
+  public void applyOutputs(ElevatorOutputs outputs) {
+    outputs.motorsDisabled = motorsDisabled;
+    outputs.outputMode = outputMode;
+
+    if (motorsDisabled) {
+      outputs.elevatorAppliedVolts.mut_replace(Volts.of(0.0));
+      return;
+    }
+
+    switch (outputMode) {
+      case ClosedLoop:
+        Logger.recordOutput("elevator/referenceSlope", controller.getReferenceVelocity());
+        // Like the TalonFX, report the closed-loop output even though it's a current
+        outputs.elevatorAppliedVolts.mut_setMagnitude(controller.getOutput());
+        outputs.pContrib.mut_setMagnitude(controller.getProportionalOutput());
+        outputs.iContrib.mut_setMagnitude(controller.getIntegratedOutput());
+        outputs.dContrib.mut_setMagnitude(controller.getDerivativeOutput());
+        break;
+      case Voltage:
+        outputs.elevatorAppliedVolts.mut_setMagnitude(overrideVolts);
+        break;
+      case Current:
+        outputs.elevatorAppliedVolts.mut_setMagnitude(plant.getAppliedVolts());
+        break;
+    }
+  }
+
+  @Override
+  public void setLargeCANCoderGoalPos(Angle goalPos) {
+    largeEncoderGoalRotations = goalPos.in(Rotations);
+  }
+
+  @Override
+  public Angle getLargeCANCoderAbsPos() {
+    return Rotations.of(plant.getLargeEncoderAbsoluteRotations());
+  }
+
+  @Override
+  public Angle getSmallCANCoderAbsPos() {
+    return Rotations.of(plant.getSmallEncoderAbsoluteRotations());
+  }
+
+  @Override
+  public void setLargeCANCoderPosition(Angle newAngle) {
+    plant.setLargeEncoderPosition(newAngle.in(Rotations));
+
+    // The closed loop runs on this encoder, so restart the profile from its new position
+    controller.reset();
+  }
+
+  @Override
+  public void setSmallCANCoderPosition(Angle newAngle) {
+    plant.setSmallEncoderPosition(newAngle.in(Rotations));
+  }
+
+  @Override
+  public void setOverrideVoltage(Voltage volts) {
+    overrideVolts = volts.in(Volts);
+  }
+
+  @Override
+  public void setOverrideCurrent(Current current) {
+    overrideAmps = current.in(Amps);
+  }
+
+  @Override
+  public void setOutputMode(ElevatorOutputMode mode) {
+    outputMode = mode;
+  }
+
+  @Override
+  public void setPID(double p, double i, double d) {
+    controller.setPID(p, i, d);
+  }
+
+  @Override
+  public void setMaxProfile(
+      AngularVelocity maxVelocity,
+      Per<VoltageUnit, AngularAccelerationUnit> expo_kA,
+      Per<VoltageUnit, AngularVelocityUnit> expo_kV) {
+    // Like ElevatorIOTalonFX, keep the configured cruise velocity and only update the Expo gains
+    controller.setProfile(
+        ElevatorConstants.synced.getObject().elevatorAngularCruiseVelocity.in(RotationsPerSecond),
+        expo_kV.in(PerUnit.combine(Volts, RotationsPerSecond)),
+        expo_kA.in(PerUnit.combine(Volts, RotationsPerSecondPerSecond)));
+  }
+
+  @Override
+  public void setFF(double kS, double kV, double kA, double kG) {
+    controller.setFF(kS, kV, kA, kG);
+  }
+
+  @Override
+  public void setBrakeMode(boolean brakeMode) {
+    plant.setBrakeMode(brakeMode);
+  }
+
+  @Override
+  public void setStatorCurrentLimit(Current currentLimit) {
+    plant.setStatorCurrentLimit(currentLimit.in(Amps));
+  }
+
+  @Override
+  public void setMotorsDisabled(boolean disabled) {
+    motorsDisabled = disabled;
+  }
+}
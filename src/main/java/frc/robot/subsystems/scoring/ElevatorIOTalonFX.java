@@ -3,8 +3,6 @@ package frc.robot.subsystems.scoring;
 import static edu.wpi.first.units.Units.Rotations;
 import static edu.wpi.first.units.Units.Volts;
 
-import com.ctre.phoenix6.BaseStatusSignal;
-import com.ctre.phoenix6.StatusCode;
 import com.ctre.phoenix6.StatusSignal;
 import com.ctre.phoenix6.configs.CANcoderConfiguration;
 import com.ctre.phoenix6.configs.CurrentLimitsConfigs;
@@ -31,7 +29,10 @@ import edu.wpi.first.units.measure.Current;
 import edu.wpi.first.units.measure.MutAngle;
 import edu.wpi.first.units.measure.Per;
 import edu.wpi.first.units.measure.Voltage;
+import frc.robot.TelemetryManager;
 import frc.robot.constants.subsystems.ElevatorConstants;
+import frc.robot.util.CANSignalRegistry;
+import frc.robot.util.CANSignalRegistry.SignalGroup;
 import org.littletonrobotics.junction.Logger;
 
 public class ElevatorIOTalonFX implements ElevatorIO {
@@ -59,7 +60,30 @@ public class ElevatorIOTalonFX implements ElevatorIO {
 
   boolean motorDisabled = false;
 
+  // Status signals, refreshed every loop by the CANSignalRegistry
+  StatusSignal<Angle> largeCANcoderPosition;
+  StatusSignal<AngularVelocity> largeCANcoderVelocity;
   StatusSignal<Angle> largeCANcoderAbsolutePosition;
+  StatusSignal<Angle> smallCANcoderPosition;
+  StatusSignal<Angle> smallCANcoderAbsolutePosition;
+
+  StatusSignal<Angle> leadMotorPosition;
+  StatusSignal<Double> leadMotorClosedLoopReference;
+  StatusSignal<Double> leadMotorClosedLoopReferenceSlope;
+  StatusSignal<Double> leadMotorClosedLoopError;
+  StatusSignal<Double> leadMotorClosedLoopOutput;
+  StatusSignal<Double> leadMotorClosedLoopProportionalOutput;
+  StatusSignal<Double> leadMotorClosedLoopIntegratedOutput;
+  StatusSignal<Double> leadMotorClosedLoopDerivativeOutput;
+  StatusSignal<Voltage> leadMotorVoltage;
+  StatusSignal<Current> leadMotorStatorCurrent;
+  StatusSignal<Current> leadMotorSupplyCurrent;
+
+  StatusSignal<Current> followerMotorStatorCurrent;
+  StatusSignal<Current> followerMotorSupplyCurrent;
+
+  SignalGroup largeCANcoderSignals;
+  SignalGroup smallCANcoderSignals;
 
   // Reuse the same motion magic request to avoid garbage collector having to clean them up.
   MotionMagicExpoTorqueCurrentFOC motionMagicExpoTorqueCurrentFOC =
@@ -90,10 +114,6 @@ public class ElevatorIOTalonFX implements ElevatorIO {
     cancoderConfiguration.MagnetSensor.MagnetOffset = -0.026123046875;
     largeCANCoder.getConfigurator().apply(cancoderConfiguration);
 
-    largeCANcoderAbsolutePosition = largeCANCoder.getAbsolutePosition();
-
-    BaseStatusSignal.setUpdateFrequencyForAll(50.0, largeCANcoderAbsolutePosition);
-
     // Update with small CANcoder direction and apply
     cancoderConfiguration.MagnetSensor.SensorDirection =
         ElevatorConstants.synced.getObject().elevatorSmallCANCoderDirection;
@@ -146,43 +166,107 @@ public class ElevatorIOTalonFX implements ElevatorIO {
         new Follower(
             leadMotor.getDeviceID(),
             ElevatorConstants.synced.getObject().invertFollowerElevatorMotor));
+
+    registerSignals();
+  }
+
+  /** Register every signal that this IO reads with the CANSignalRegistry */
+  private void registerSignals() {
+    largeCANcoderPosition = largeCANCoder.getPosition();
+    largeCANcoderVelocity = largeCANCoder.getVelocity();
+    largeCANcoderAbsolutePosition = largeCANCoder.getAbsolutePosition();
+    smallCANcoderPosition = smallCANCoder.getPosition();
+    smallCANcoderAbsolutePosition = smallCANCoder.getAbsolutePosition();
+
+    leadMotorPosition = leadMotor.getPosition();
+    leadMotorClosedLoopReference = leadMotor.getClosedLoopReference();
+    leadMotorClosedLoopReferenceSlope = leadMotor.getClosedLoopReferenceSlope();
+    leadMotorClosedLoopError = leadMotor.getClosedLoopError();
+    leadMotorClosedLoopOutput = leadMotor.getClosedLoopOutput();
+    leadMotorClosedLoopProportionalOutput = leadMotor.getClosedLoopProportionalOutput();
+    leadMotorClosedLoopIntegratedOutput = leadMotor.getClosedLoopIntegratedOutput();
+    leadMotorClosedLoopDerivativeOutput = leadMotor.getClosedLoopDerivativeOutput();
+    leadMotorVoltage = leadMotor.getMotorVoltage();
+    leadMotorStatorCurrent = leadMotor.getStatorCurrent();
+    leadMotorSupplyCurrent = leadMotor.getSupplyCurrent();
+
+    followerMotorStatorCurrent = followerMotor.getStatorCurrent();
+    followerMotorSupplyCurrent = followerMotor.getSupplyCurrent();
+
+    // The elevator closes its loop on the large CANcoder, so read it faster than the robot loop
+    largeCANcoderSignals =
+        CANSignalRegistry.register(
+            "Elevator/LargeCANcoder",
+            largeCANCoder,
+            100.0,
+            largeCANcoderPosition,
+            largeCANcoderVelocity,
+            largeCANcoderAbsolutePosition);
+    smallCANcoderSignals =
+        CANSignalRegistry.register(
+            "Elevator/SmallCANcoder",
+            smallCANCoder,
+            50.0,
+            smallCANcoderPosition,
+            smallCANcoderAbsolutePosition);
+
+    CANSignalRegistry.register("Elevator/LeadMotor", leadMotor, 100.0, leadMotorPosition);
+    CANSignalRegistry.register(
+        "Elevator/LeadMotor",
+        leadMotor,
+        50.0,
+        leadMotorClosedLoopOutput,
+        leadMotorVoltage,
+        leadMotorStatorCurrent,
+        leadMotorSupplyCurrent);
+    // The closed-loop breakdown is only logged for tuning, so it follows the telemetry level
+    CANSignalRegistry.registerDiagnostic(
+        "Elevator/LeadMotor",
+        leadMotor,
+        leadMotorClosedLoopReference,
+        leadMotorClosedLoopReferenceSlope,
+        leadMotorClosedLoopError,
+        leadMotorClosedLoopProportionalOutput,
+        leadMotorClosedLoopIntegratedOutput,
+        leadMotorClosedLoopDerivativeOutput);
+    CANSignalRegistry.register(
+        "Elevator/FollowerMotor",
+        followerMotor,
+        50.0,
+        followerMotorStatorCurrent,
+        followerMotorSupplyCurrent);
   }
 
   @Override
   public void updateInputs(ElevatorInputs inputs) {
-    inputs.largeEncoderPos.mut_replace(largeCANCoder.getPosition().getValue());
-    inputs.smallEncoderPos.mut_replace(smallCANCoder.getPosition().getValue());
-
-    inputs.largeEncoderVel.mut_replace(largeCANCoder.getVelocity().getValue());
-    inputs.leadMotorAngle.mut_replace(leadMotor.getPosition().getValue());
+    inputs.largeEncoderPos.mut_replace(largeCANcoderPosition.getValue());
+    inputs.smallEncoderPos.mut_replace(smallCANcoderPosition.getValue());
 
-    StatusCode refreshStatus = BaseStatusSignal.refreshAll(largeCANcoderAbsolutePosition);
+    inputs.largeEncoderVel.mut_replace(largeCANcoderVelocity.getValue());
+    inputs.leadMotorAngle.mut_replace(leadMotorPosition.getValue());
 
-    inputs.largeEncoderConnected = refreshStatus.isOK();
+    inputs.largeEncoderConnected = largeCANcoderSignals.isAllGood();
     inputs.largeEncoderAbsolutePos.mut_replace(largeCANcoderAbsolutePosition.getValue());
 
-    inputs.largeAbsPosRot = largeCANCoder.getAbsolutePosition().getValueAsDouble();
-
-    refreshStatus = BaseStatusSignal.refreshAll(smallCANCoder.getAbsolutePosition());
+    inputs.largeAbsPosRot = largeCANcoderAbsolutePosition.getValueAsDouble();
 
-    inputs.smallEncoderConnected = refreshStatus.isOK();
-    inputs.smallEncoderAbsolutePos.mut_replace(
-        smallCANCoder.getAbsolutePosition().refresh().getValue());
+    inputs.smallEncoderConnected = smallCANcoderSignals.isAllGood();
+    inputs.smallEncoderAbsolutePos.mut_replace(smallCANcoderAbsolutePosition.getValue());
 
     inputs.largeEncoderGoalPos.mut_replace(largeEncoderGoalAngle);
     inputs.largeEncoderSetpointPos.mut_replace(largeEncoderSetpointPosition);
 
-    inputs.elevatorLeadMotorStatorCurrent.mut_replace(leadMotor.getStatorCurrent().getValue());
-    inputs.elevatorLeadMotorSupplyCurrent.mut_replace(leadMotor.getSupplyCurrent().getValue());
+    inputs.elevatorLeadMotorStatorCurrent.mut_replace(leadMotorStatorCurrent.getValue());
+    inputs.elevatorLeadMotorSupplyCurrent.mut_replace(leadMotorSupplyCurrent.getValue());
 
-    inputs.elevatorFollowerMotorStatorCurrent.mut_replace(
-        followerMotor.getStatorCurrent().getValue());
-    inputs.elevatorFollowerMotorSupplyCurrent.mut_replace(
-        followerMotor.getSupplyCurrent().getValue());
+    inputs.elevatorFollowerMotorStatorCurrent.mut_replace(followerMotorStatorCurrent.getValue());
+    inputs.elevatorFollowerMotorSupplyCurrent.mut_replace(followerMotorSupplyCurrent.getValue());
 
-    inputs.motionMagicError = leadMotor.getClosedLoopError().getValueAsDouble();
+    if (TelemetryManager.shouldLogDiagnostics()) {
+      inputs.motionMagicError = leadMotorClosedLoopError.getValueAsDouble();
+    }
 
-    inputs.elevatorMechanismVelocity.mut_replace(largeCANCoder.getVelocity().getValue());
+    inputs.elevatorMechanismVelocity.mut_replace(largeCANcoderVelocity.getValue());
   }
 
   @Override
@@ -200,20 +284,22 @@ public class ElevatorIOTalonFX implements ElevatorIO {
         case ClosedLoop:
           leadMotor.setControl(motionMagicExpoTorqueCurrentFOC);
 
-          largeEncoderSetpointPosition.mut_setMagnitude(
-              (leadMotor.getClosedLoopReference().getValue()));
-
-          Logger.recordOutput(
-              "elevator/referenceSlope",
-              leadMotor.getClosedLoopReferenceSlope().getValueAsDouble());
           outputs.elevatorAppliedVolts.mut_replace(
-              Volts.of(leadMotor.getClosedLoopOutput().getValueAsDouble()));
-          outputs.pContrib.mut_replace(
-              Volts.of(leadMotor.getClosedLoopProportionalOutput().getValueAsDouble()));
-          outputs.iContrib.mut_replace(
-              Volts.of(leadMotor.getClosedLoopIntegratedOutput().getValueAsDouble()));
-          outputs.dContrib.mut_replace(
-              Volts.of(leadMotor.getClosedLoopDerivativeOutput().getValueAsDouble()));
+              Volts.of(leadMotorClosedLoopOutput.getValueAsDouble()));
+
+          if (TelemetryManager.shouldLogDiagnostics()) {
+            largeEncoderSetpointPosition.mut_setMagnitude(
+                (leadMotorClosedLoopReference.getValue()));
+
+            Logger.recordOutput(
+                "elevator/referenceSlope", leadMotorClosedLoopReferenceSlope.getValueAsDouble());
+            outputs.pContrib.mut_replace(
+                Volts.of(leadMotorClosedLoopProportionalOutput.getValueAsDouble()));
+            outputs.iContrib.mut_replace(
+                Volts.of(leadMotorClosedLoopIntegratedOutput.getValueAsDouble()));
+            outputs.dContrib.mut_replace(
+                Volts.of(leadMotorClosedLoopDerivativeOutput.getValueAsDouble()));
+          }
           break;
         case Voltage:
           leadMotor.setControl(new VoltageOut(overrideVoltage));
@@ -221,7 +307,7 @@ public class ElevatorIOTalonFX implements ElevatorIO {
           break;
         case Current:
           leadMotor.setControl(currentOut.withOutput(overrideCurrent));
-          outputs.elevatorAppliedVolts.mut_replace(leadMotor.getMotorVoltage().getValue());
+          outputs.elevatorAppliedVolts.mut_replace(leadMotorVoltage.getValue());
           break;
       }
     }
@@ -236,12 +322,12 @@ public class ElevatorIOTalonFX implements ElevatorIO {
 
   @Override
   public Angle getLargeCANCoderAbsPos() {
-    return largeCANCoder.getAbsolutePosition().getValue();
+    return largeCANcoderAbsolutePosition.getValue();
   }
 
   @Override
   public Angle getSmallCANCoderAbsPos() {
-    return smallCANCoder.getAbsolutePosition().getValue();
+    return smallCANcoderAbsolutePosition.getValue();
   }
 
   @Override
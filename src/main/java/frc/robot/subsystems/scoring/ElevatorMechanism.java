@@ -33,6 +33,8 @@ import frc.robot.TestModeManager;
 import frc.robot.constants.JsonConstants;
 import frc.robot.constants.subsystems.ElevatorConstants;
 import frc.robot.subsystems.scoring.ElevatorIO.ElevatorOutputMode;
+import frc.robot.util.LoopTimeProfiler;
+import frc.robot.util.LoopTimeProfiler.Section;
 import java.util.function.DoubleSupplier;
 import org.littletonrobotics.junction.Logger;
 
@@ -158,8 +160,10 @@ public class ElevatorMechanism implements Tunable {
 
     Logger.recordOutput("elevator/velocity", getElevatorVelocity());
 
+    long processInputsStart = LoopTimeProfiler.start();
     Logger.processInputs("elevator/inputs", inputs);
     Logger.processInputs("elevator/outputs", outputs);
+    LoopTimeProfiler.stop(Section.ProcessInputs, processInputsStart);
   }
 
   /** This method must be called from the subsystem's test periodic! */
@@ -0,0 +1,468 @@
+package frc.robot.subsystems.scoring;
+
+import edu.wpi.first.units.Measure;
+import frc.robot.constants.ScoringSetpoints;
+import frc.robot.constants.WristConstants;
+import frc.robot.constants.subsystems.ElevatorConstants;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.imageio.ImageIO;
+
+/**
+ * Precomputed elevator and wrist protection clamps for every combination of the conditions that
+ * ScoringSubsystem.determineProtectionClamps checks.
+ *
+ * <p>Every clamp is the max or min of a handful of constants, picked by comparing the elevator
+ * height, wrist angle and their goals against other constants. Those comparisons are packed into
+ * a bit index, and the table holds the resulting clamps and the reasons they were applied for
+ * every index, built once from the constants when they are loaded. A lookup is then a few
+ * primitive comparisons and two array reads, and never allocates.
+ *
+ * <p>The comparisons use Double.compare on base unit magnitudes and the max/min keep the first
+ * value on ties, exactly like Measure.lt/gt and Measure.max/min, so the table gives bit-for-bit
+ * the same clamps as comparing the measures directly.
+ */
+public final class ProtectionClampTable {
+  /** Why a clamp was applied, logged as a bit mask of ordinals under scoring/clamps/active. */
+  public enum ClampReason {
+    WristAboveChassis,
+    ElevatorAboveClaw,
+    CloseToReef,
+    ElevatorUpToAvoidReefBaseAlgae,
+    WristInToAvoidReefBase,
+    WristInToPassReef,
+    ElevatorUpToAvoidReefBase,
+    ElevatorBelowReefLevel,
+    ElevatorAboveReefLevel,
+    WristDownForAlgae,
+    CanWristHitCrossbar;
+
+    private final int bit = 1 << ordinal();
+
+    /** Check whether this reason is set in a reason mask from {@link #getReasons} */
+    public boolean isSet(int reasons) {
+      return (reasons & bit) != 0;
+    }
+  }
+
+  // Elevator height conditions
+  private static final int HEIGHT_BELOW_WRIST_DOWN = 1 << 0;
+  private static final int HEIGHT_AT_OR_BELOW_REEF_SAFE = 1 << 1;
+  private static final int HEIGHT_ABOVE_L3 = 1 << 2;
+  private static final int HEIGHT_BELOW_ALGAE_IN = 1 << 3;
+  private static final int HEIGHT_BELOW_CROSSBAR_TOP = 1 << 4;
+  // Wrist angle conditions
+  private static final int WRIST_BELOW_ELEVATOR_DOWN_SAFE = 1 << 5;
+  private static final int WRIST_AT_OR_BELOW_REEF_BASE = 1 << 6;
+  private static final int WRIST_BELOW_REEF_SAFE = 1 << 7;
+  // Robot conditions
+  private static final int HOLDING_ALGAE = 1 << 8;
+  private static final int CLOSE_TO_REEF = 1 << 9;
+  private static final int ALGAE_DETECTED = 1 << 10;
+  // Conditions that depend on the goals as well as the current position
+  private static final int PASSING_REEF_LEVEL = 1 << 11;
+  private static final int BELOW_GOAL_HEIGHT = 1 << 12;
+  private static final int CROSSBAR_IN_REACH = 1 << 13;
+
+  private static final int ENTRY_COUNT = 1 << 14;
+
+  // Palette indices of each entry's four clamps, one byte each
+  private static final int ELEVATOR_MIN_SHIFT = 0;
+  private static final int ELEVATOR_MAX_SHIFT = 8;
+  private static final int WRIST_MIN_SHIFT = 16;
+  private static final int WRIST_MAX_SHIFT = 24;
+
+  // Constants in base units (meters and radians)
+  private final double minElevatorHeight;
+  private final double maxElevatorHeight;
+  private final double minWristDownHeight;
+  private final double minReefSafeHeight;
+  private final double minWristDownReefBaseSafeHeight;
+  private final double l2MaxHeightBelow;
+  private final double l3MinHeightAbove;
+  private final double l4MinHeightAbove;
+  private final double minAlgaeInHeight;
+  private final double crossbarTopCollisionHeight;
+  private final double crossbarBottomCollisionHeight;
+  private final double l3AlgaeHeight;
+
+  private final double wristMinMinAngle;
+  private final double wristMaxMaxAngle;
+  private final double minElevatorDownSafeAngle;
+  private final double maxReefBaseWristDownCollisionAngle;
+  private final double minReefSafeAngle;
+  private final double algaeUnderCrossbarAngle;
+  private final double crossbarTopCollisionAngle;
+  private final double crossbarBottomCollisionAngle;
+
+  private final double[] palette;
+  private final int[] clampIndices = new int[ENTRY_COUNT];
+  private final short[] reasons = new short[ENTRY_COUNT];
+
+  private ProtectionClampTable(
+      ElevatorConstants elevator, WristConstants wrist, ScoringSetpoints setpoints) {
+    minElevatorHeight = elevator.minElevatorHeight.baseUnitMagnitude();
+    maxElevatorHeight = elevator.maxElevatorHeight.baseUnitMagnitude();
+    minWristDownHeight = elevator.minWristDownHeight.baseUnitMagnitude();
+    minReefSafeHeight = elevator.minReefSafeHeight.baseUnitMagnitude();
+    minWristDownReefBaseSafeHeight = elevator.minWristDownReefBaseSafeHeight.baseUnitMagnitude();
+    l2MaxHeightBelow = elevator.L2MaxHeightBelow.baseUnitMagnitude();
+    l3MinHeightAbove = elevator.L3MinHeightAbove.baseUnitMagnitude();
+    l4MinHeightAbove = elevator.L4MinHeightAbove.baseUnitMagnitude();
+    minAlgaeInHeight = elevator.minAlgaeInHeight.baseUnitMagnitude();
+    crossbarTopCollisionHeight = elevator.crossbarTopCollisionHeight.baseUnitMagnitude();
+    crossbarBottomCollisionHeight = elevator.crossbarBottomCollisionHeight.baseUnitMagnitude();
+    l3AlgaeHeight = setpoints.L3algae.elevatorHeight().baseUnitMagnitude();
+
+    wristMinMinAngle = wrist.wristMinMinAngle.baseUnitMagnitude();
+    wristMaxMaxAngle = wrist.wristMaxMaxAngle.baseUnitMagnitude();
+    minElevatorDownSafeAngle = wrist.minElevatorDownSafeAngle.baseUnitMagnitude();
+    maxReefBaseWristDownCollisionAngle =
+        wrist.maxReefBaseWristDownCollisionAngle.baseUnitMagnitude();
+    minReefSafeAngle = wrist.minReefSafeAngle.baseUnitMagnitude();
+    algaeUnderCrossbarAngle = wrist.algaeUnderCrossbarAngle.baseUnitMagnitude();
+    crossbarTopCollisionAngle = wrist.crossbarTopCollisionAngle.baseUnitMagnitude();
+    crossbarBottomCollisionAngle = wrist.crossbarBottomCollisionAngle.baseUnitMagnitude();
+
+    List<Double> values = new ArrayList<>();
+    for (int index = 0; index < ENTRY_COUNT; index++) {
+      fillEntry(index, values);
+    }
+
+    palette = new double[values.size()];
+    for (int i = 0; i < palette.length; i++) {
+      palette[i] = values.get(i);
+    }
+  }
+
+  /**
+   * Builds the table from loaded scoring constants.
+   *
+   * @param elevator elevator constants
+   * @param wrist wrist constants
+   * @param setpoints scoring setpoints, for the L3 algae height
+   * @return a new table
+   */
+  public static ProtectionClampTable build(
+      ElevatorConstants elevator, WristConstants wrist, ScoringSetpoints setpoints) {
+    return new ProtectionClampTable(elevator, wrist, setpoints);
+  }
+
+  /**
+   * Find the table entry for the current state of the elevator and wrist.
+   *
+   * @param height current elevator height, in meters
+   * @param goalHeight elevator goal height, in meters
+   * @param wristAngle current wrist angle, in radians
+   * @param wristGoalAngle wrist goal angle, in radians
+   * @param holdingAlgae true if the current game piece is algae
+   * @param closeToReef true if the robot is close enough to the reef to run reef protections
+   * @param algaeDetected true if the claw detects an algae
+   * @return the index to pass to the getters
+   */
+  public int index(
+      double height,
+      double goalHeight,
+      double wristAngle,
+      double wristGoalAngle,
+      boolean holdingAlgae,
+      boolean closeToReef,
+      boolean algaeDetected) {
+    int index = 0;
+
+    if (lt(height, minWristDownHeight)) {
+      index |= HEIGHT_BELOW_WRIST_DOWN;
+    }
+    if (!gt(height, minReefSafeHeight)) {
+      index |= HEIGHT_AT_OR_BELOW_REEF_SAFE;
+    }
+    // This check has always compared raw doubles rather than measures
+    if (height > l3MinHeightAbove) {
+      index |= HEIGHT_ABOVE_L3;
+    }
+    if (lt(height, minAlgaeInHeight)) {
+      index |= HEIGHT_BELOW_ALGAE_IN;
+    }
+    if (lt(height, crossbarTopCollisionHeight)) {
+      index |= HEIGHT_BELOW_CROSSBAR_TOP;
+    }
+
+    if (lt(wristAngle, minElevatorDownSafeAngle)) {
+      index |= WRIST_BELOW_ELEVATOR_DOWN_SAFE;
+    }
+    if (!gt(wristAngle, maxReefBaseWristDownCollisionAngle)) {
+      index |= WRIST_AT_OR_BELOW_REEF_BASE;
+    }
+    if (lt(wristAngle, minReefSafeAngle)) {
+      index |= WRIST_BELOW_REEF_SAFE;
+    }
+
+    if (holdingAlgae) {
+      index |= HOLDING_ALGAE;
+    }
+    if (closeToReef) {
+      index |= CLOSE_TO_REEF;
+    }
+    if (algaeDetected) {
+      index |= ALGAE_DETECTED;
+    }
+
+    if (willPassReefLevel(height, goalHeight)) {
+      index |= PASSING_REEF_LEVEL;
+    }
+    if (lt(height, goalHeight)) {
+      index |= BELOW_GOAL_HEIGHT;
+    }
+    if (canWristHitCrossbar(wristAngle, wristGoalAngle)) {
+      index |= CROSSBAR_IN_REACH;
+    }
+
+    return index;
+  }
+
+  /** Minimum allowed elevator height for an entry, in meters */
+  public double getElevatorMin(int index) {
+    return palette[(clampIndices[index] >>> ELEVATOR_MIN_SHIFT) & 0xff];
+  }
+
+  /** Maximum allowed elevator height for an entry, in meters */
+  public double getElevatorMax(int index) {
+    return palette[(clampIndices[index] >>> ELEVATOR_MAX_SHIFT) & 0xff];
+  }
+
+  /** Minimum allowed wrist angle for an entry, in radians */
+  public double getWristMin(int index) {
+    return palette[(clampIndices[index] >>> WRIST_MIN_SHIFT) & 0xff];
+  }
+
+  /** Maximum allowed wrist angle for an entry, in radians */
+  public double getWristMax(int index) {
+    return palette[(clampIndices[index] >>> WRIST_MAX_SHIFT) & 0xff];
+  }
+
+  /** Bit mask of the {@link ClampReason}s that applied to an entry */
+  public int getReasons(int index) {
+    return reasons[index];
+  }
+
+  /**
+   * Render the table as a PNG for review.
+   *
+   * <p>There is one panel for each combination of game piece, reef proximity and algae detection,
+   * with elevator height increasing to the right and wrist angle increasing upward. Each pixel is
+   * a stationary elevator and wrist, colored by which of their clamps would push them somewhere
+   * else: red if the elevator is outside its clamps, blue if the wrist is, and magenta if both
+   * are.
+   *
+   * @param panelSize width and height of each panel, in pixels
+   * @return the encoded PNG
+   */
+  public byte[] renderPng(int panelSize) {
+    final int gap = 4;
+    BufferedImage image =
+        new BufferedImage(4 * panelSize + 3 * gap, 2 * panelSize + gap, BufferedImage.TYPE_INT_RGB);
+
+    for (int panel = 0; panel < 8; panel++) {
+      boolean holdingAlgae = (panel & 1) != 0;
+      boolean algaeDetected = (panel & 2) != 0;
+      boolean closeToReef = (panel & 4) != 0;
+      int left = (panel % 4) * (panelSize + gap);
+      int top = (panel / 4) * (panelSize + gap);
+
+      for (int x = 0; x < panelSize; x++) {
+        double height =
+            minElevatorHeight + (maxElevatorHeight - minElevatorHeight) * (x + 0.5) / panelSize;
+        for (int y = 0; y < panelSize; y++) {
+          double wristAngle =
+              wristMaxMaxAngle - (wristMaxMaxAngle - wristMinMinAngle) * (y + 0.5) / panelSize;
+          int index =
+              index(
+                  height,
+                  height,
+                  wristAngle,
+                  wristAngle,
+                  holdingAlgae,
+                  closeToReef,
+                  algaeDetected);
+
+          boolean elevatorClamped =
+              height < getElevatorMin(index) || height > getElevatorMax(index);
+          boolean wristClamped = wristAngle < getWristMin(index) || wristAngle > getWristMax(index);
+
+          int red = elevatorClamped ? 0xd0 : 0x30;
+          int blue = wristClamped ? 0xd0 : 0x30;
+          int green = elevatorClamped || wristClamped ? 0x30 : 0xa0;
+          image.setRGB(left + x, top + y, (red << 16) | (green << 8) | blue);
+        }
+      }
+    }
+
+    ByteArrayOutputStream png = new ByteArrayOutputStream();
+    try {
+      ImageIO.write(image, "png", png);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return png.toByteArray();
+  }
+
+  /** Work out the clamps and reasons of one entry, following determineProtectionClamps. */
+  private void fillEntry(int index, List<Double> values) {
+    double elevatorMin = minElevatorHeight;
+    double elevatorMax = maxElevatorHeight;
+    double wristMin = wristMinMinAngle;
+    double wristMax = wristMaxMaxAngle;
+    int reasonMask = 0;
+
+    boolean algaeDetected = has(index, ALGAE_DETECTED);
+    boolean holdingAlgae = has(index, HOLDING_ALGAE);
+
+    // Keep the wrist above the chassis when the elevator is down
+    if (has(index, HEIGHT_BELOW_WRIST_DOWN) && !algaeDetected) {
+      reasonMask |= bit(ClampReason.WristAboveChassis);
+      wristMin = max(wristMin, minElevatorDownSafeAngle);
+    }
+
+    // Keep the elevator above the claw when the wrist is down
+    if (has(index, WRIST_BELOW_ELEVATOR_DOWN_SAFE)) {
+      reasonMask |= bit(ClampReason.ElevatorAboveClaw);
+      elevatorMin = max(elevatorMin, minWristDownHeight);
+    }
+
+    if (has(index, CLOSE_TO_REEF)) {
+      reasonMask |= bit(ClampReason.CloseToReef);
+
+      // Keep the elevator up while the wrist is down next to the reef
+      if (has(index, WRIST_AT_OR_BELOW_REEF_BASE)) {
+        reasonMask |= bit(ClampReason.ElevatorUpToAvoidReefBaseAlgae);
+        elevatorMin = max(elevatorMin, minWristDownReefBaseSafeHeight);
+      }
+
+      // Keep the wrist in when the elevator is next to the reef base
+      if (has(index, HEIGHT_AT_OR_BELOW_REEF_SAFE) && !holdingAlgae) {
+        reasonMask |= bit(ClampReason.WristInToAvoidReefBase);
+        wristMin = max(wristMin, minReefSafeAngle);
+      }
+
+      if (!holdingAlgae && has(index, PASSING_REEF_LEVEL)) {
+        // Keep the wrist in to pass a reef level, and hold the elevator on its side of the level
+        // until it is
+        reasonMask |= bit(ClampReason.WristInToPassReef);
+        wristMin = max(wristMin, minReefSafeAngle);
+
+        if (has(index, WRIST_BELOW_REEF_SAFE)) {
+          reasonMask |= bit(ClampReason.ElevatorUpToAvoidReefBase);
+          elevatorMin = max(elevatorMin, minReefSafeHeight);
+
+          // Passing a reef level always means passing L4
+          if (has(index, BELOW_GOAL_HEIGHT)) {
+            reasonMask |= bit(ClampReason.ElevatorBelowReefLevel);
+            elevatorMax = min(elevatorMax, l4MinHeightAbove);
+          } else {
+            reasonMask |= bit(ClampReason.ElevatorAboveReefLevel);
+            elevatorMin = max(elevatorMin, l4MinHeightAbove);
+          }
+        }
+      } else if (holdingAlgae) {
+        if (has(index, HEIGHT_ABOVE_L3) && has(index, WRIST_AT_OR_BELOW_REEF_BASE)) {
+          elevatorMin = max(elevatorMin, l3AlgaeHeight);
+        }
+      }
+    }
+
+    // Tuck a held algae under the crossbar
+    if (algaeDetected && has(index, HEIGHT_BELOW_ALGAE_IN)) {
+      reasonMask |= bit(ClampReason.WristDownForAlgae);
+      wristMax = min(wristMax, algaeUnderCrossbarAngle);
+    }
+
+    // Keep the elevator on its side of the crossbar while the wrist could hit it
+    if (has(index, CROSSBAR_IN_REACH)) {
+      reasonMask |= bit(ClampReason.CanWristHitCrossbar);
+      if (has(index, HEIGHT_BELOW_CROSSBAR_TOP)) {
+        elevatorMax = min(elevatorMax, crossbarBottomCollisionHeight);
+      } else {
+        elevatorMin = max(elevatorMin, crossbarTopCollisionHeight);
+      }
+    }
+
+    clampIndices[index] =
+        (intern(values, elevatorMin) << ELEVATOR_MIN_SHIFT)
+            | (intern(values, elevatorMax) << ELEVATOR_MAX_SHIFT)
+            | (intern(values, wristMin) << WRIST_MIN_SHIFT)
+            | (intern(values, wristMax) << WRIST_MAX_SHIFT);
+    reasons[index] = (short) reasonMask;
+  }
+
+  /** Same result as ReefAvoidanceHelper.willPassReefLevel, on raw heights */
+  private boolean willPassReefLevel(double height, double goalHeight) {
+    if (lt(height, l2MaxHeightBelow) && lt(goalHeight, l2MaxHeightBelow)) {
+      return false;
+    }
+
+    if (gt(height, l4MinHeightAbove) && gt(goalHeight, l4MinHeightAbove)) {
+      return false;
+    }
+
+    if (lt(height, goalHeight)) {
+      return !gt(height, l4MinHeightAbove) && !lt(goalHeight, l4MinHeightAbove);
+    } else {
+      return !lt(height, l4MinHeightAbove) && !gt(goalHeight, l4MinHeightAbove);
+    }
+  }
+
+  private boolean canWristHitCrossbar(double wristAngle, double wristGoalAngle) {
+    boolean inDangerZone =
+        gt(wristAngle, crossbarBottomCollisionAngle) && lt(wristAngle, crossbarTopCollisionAngle);
+    boolean willPassUp =
+        lt(wristAngle, crossbarBottomCollisionAngle)
+            && gt(wristGoalAngle, crossbarBottomCollisionAngle);
+    boolean willPassDown =
+        gt(wristAngle, crossbarTopCollisionAngle) && lt(wristGoalAngle, crossbarTopCollisionAngle);
+    return inDangerZone || willPassUp || willPassDown;
+  }
+
+  private static boolean has(int index, int condition) {
+    return (index & condition) != 0;
+  }
+
+  private static int bit(ClampReason reason) {
+    return reason.bit;
+  }
+
+  /** Comparisons with the semantics of {@link Measure#lt} and {@link Measure#gt} */
+  private static boolean lt(double a, double b) {
+    return Double.compare(a, b) < 0;
+  }
+
+  private static boolean gt(double a, double b) {
+    return Double.compare(a, b) > 0;
+  }
+
+  /** Same result as {@link Measure#max}, which keeps the first value unless another is greater */
+  private static double max(double current, double other) {
+    return gt(other, current) ? other : current;
+  }
+
+  /** Same result as {@link Measure#min}, which keeps the first value unless another is less */
+  private static double min(double current, double other) {
+    return lt(other, current) ? other : current;
+  }
+
+  private static int intern(List<Double> values, double value) {
+    for (int i = 0; i < values.size(); i++) {
+      if (Double.doubleToRawLongBits(values.get(i)) == Double.doubleToRawLongBits(value)) {
+        return i;
+      }
+    }
+    if (values.size() > 0xff) {
+      throw new IllegalStateException("Too many distinct protection clamp values");
+    }
+    values.add(value);
+    return values.size() - 1;
+  }
+}
@@ -0,0 +1,428 @@
+package frc.robot.subsystems.scoring;
+
+import static edu.wpi.first.units.Units.Meters;
+import static edu.wpi.first.units.Units.Radians;
+import static edu.wpi.first.units.Units.Rotations;
+import static edu.wpi.first.units.Units.RotationsPerSecond;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.trajectory.ExponentialProfile;
+import frc.robot.constants.WristConstants;
+import frc.robot.constants.subsystems.ElevatorConstants;
+import java.util.Arrays;
+import java.util.stream.DoubleStream;
+
+/**
+ * Plans coordinated elevator and wrist moves between scoring setpoints.
+ *
+ * <p>Sending both mechanisms straight to their goals lets the protection clamps stop one of them
+ * until the other clears the reef or crossbar, which adds dead time to the move. The planner
+ * instead considers routing through an intermediate goal on the corners of the safe region (the
+ * heights and angles the {@link ProtectionClampTable} compares against) and picks whichever route
+ * is fastest. Each route is timed by stepping both Motion Magic Expo profiles at the robot loop
+ * rate, with their goals clamped by the table every step just as the robot does, so the plan
+ * never asks for anything the clamps would not allow anyway.
+ *
+ * <p>While a plan is followed, it moves on to its final goal as soon as the clamps would not
+ * restrict it, or once both mechanisms reach the intermediate goal.
+ *
+ * <p>All heights are in meters and angles in radians.
+ */
+public class ScoringMotionPlanner {
+  private static final double LOOP_PERIOD_SECONDS = 0.02;
+  private static final double MAX_PLAN_SECONDS = 5.0;
+
+  /** Phoenix generates Expo profiles against a nominal 12 V, whatever the supply voltage */
+  private static final double PROFILE_VOLTS = 12.0;
+
+  /** Robot conditions the protection clamps depend on, other than the mechanism positions */
+  public record ClampContext(boolean holdingAlgae, boolean closeToReef, boolean algaeDetected) {}
+
+  /** A planned move, made of an optional intermediate goal followed by the final goal. */
+  public static class Plan {
+    private final double[] heights;
+    private final double[] angles;
+    private final double directSeconds;
+    private final double plannedSeconds;
+
+    private int waypoint = 0;
+
+    private Plan(double[] heights, double[] angles, double directSeconds, double plannedSeconds) {
+      this.heights = heights;
+      this.angles = angles;
+      this.directSeconds = directSeconds;
+      this.plannedSeconds = plannedSeconds;
+    }
+
+    /** The elevator height the plan is currently sending the elevator to */
+    public double getGoalHeight() {
+      return heights[waypoint];
+    }
+
+    /** The wrist angle the plan is currently sending the wrist to */
+    public double getGoalAngle() {
+      return angles[waypoint];
+    }
+
+    /** True once the plan has moved on to its final goal */
+    public boolean isOnFinalGoal() {
+      return waypoint == heights.length - 1;
+    }
+
+    /** True if the plan goes through an intermediate goal */
+    public boolean hasIntermediateGoal() {
+      return heights.length > 1;
+    }
+
+    /** Predicted time to reach the final goal by sending both mechanisms straight to it */
+    public double getDirectSeconds() {
+      return directSeconds;
+    }
+
+    /** Predicted time to reach the final goal by following this plan */
+    public double getPlannedSeconds() {
+      return plannedSeconds;
+    }
+
+    /** Predicted time saved by following this plan instead of going straight to the goal */
+    public double getSecondsSaved() {
+      return plannedSeconds < directSeconds ? directSeconds - plannedSeconds : 0.0;
+    }
+  }
+
+  private final ProtectionClampTable clamps;
+
+  private final ExponentialProfile elevatorProfile;
+  private final double elevatorCruiseVelocity;
+  private final ExponentialProfile wristProfile;
+  private final double wristCruiseVelocity;
+
+  private final double elevatorTolerance;
+  private final double wristTolerance;
+
+  private final double wristMaxMaxAngle;
+
+  private final double[] cornerHeights;
+  private final double[] cornerAngles;
+
+  // Simulated profile references, reused between simulations
+  private final ExponentialProfile.State elevatorReference = new ExponentialProfile.State();
+  private final ExponentialProfile.State wristReference = new ExponentialProfile.State();
+  private final ExponentialProfile.State elevatorGoal = new ExponentialProfile.State();
+  private final ExponentialProfile.State wristGoal = new ExponentialProfile.State();
+
+  /**
+   * Create a planner for the current scoring constants.
+   *
+   * @param clamps protection clamps to plan around
+   * @param elevator elevator constants, for its Motion Magic Expo profile and setpoint tolerance
+   * @param wrist wrist constants, for its Motion Magic Expo profile, setpoint tolerance and the
+   *     angles of its clamps
+   */
+  public ScoringMotionPlanner(
+      ProtectionClampTable clamps, ElevatorConstants elevator, WristConstants wrist) {
+    this.clamps = clamps;
+
+    // The elevator profile runs in large CANcoder rotations, so scale it into meters
+    double metersPerRotation =
+        elevator.elevatorHeightPerSpoolRotation.in(Meters)
+            * (double) elevator.largeCANCoderTeeth
+            / (double) elevator.spoolTeeth;
+    elevatorProfile =
+        new ExponentialProfile(
+            ExponentialProfile.Constraints.fromCharacteristics(
+                PROFILE_VOLTS,
+                elevator.elevatorExpo_kV_raw / metersPerRotation,
+                elevator.elevatorExpo_kA_raw / metersPerRotation));
+    elevatorCruiseVelocity =
+        elevator.elevatorAngularCruiseVelocity.in(RotationsPerSecond) * metersPerRotation;
+
+    double radiansPerRotation = Rotations.of(1.0).in(Radians);
+    wristProfile =
+        new ExponentialProfile(
+            ExponentialProfile.Constraints.fromCharacteristics(
+                PROFILE_VOLTS,
+                wrist.wristMotionMagicExpo_kV / radiansPerRotation,
+                wrist.wristMotionMagicExpo_kA / radiansPerRotation));
+    wristCruiseVelocity =
+        wrist.wristMotionMagicCruiseVelocityRotationsPerSecond * radiansPerRotation;
+
+    elevatorTolerance = elevator.elevatorSetpointEpsilon.in(Meters);
+    wristTolerance = wrist.wristSetpointEpsilon.in(Radians);
+
+    double minElevatorHeight = elevator.minElevatorHeight.in(Meters);
+    double maxElevatorHeight = elevator.maxElevatorHeight.in(Meters);
+    double wristMinMinAngle = wrist.wristMinMinAngle.in(Radians);
+    wristMaxMaxAngle = wrist.wristMaxMaxAngle.in(Radians);
+
+    cornerHeights =
+        Arrays.stream(
+                new double[] {
+                  elevator.minWristDownHeight.in(Meters),
+                  elevator.minWristDownReefBaseSafeHeight.in(Meters),
+                  elevator.minReefSafeHeight.in(Meters),
+                  elevator.L4MinHeightAbove.in(Meters),
+                  elevator.minAlgaeInHeight.in(Meters),
+                })
+            .filter(height -> height >= minElevatorHeight && height <= maxElevatorHeight)
+            .distinct()
+            .toArray();
+    cornerAngles =
+        Arrays.stream(
+                new double[] {
+                  wrist.minElevatorDownSafeAngle.in(Radians),
+                  wrist.minReefSafeAngle.in(Radians),
+                  wrist.algaeUnderCrossbarAngle.in(Radians),
+                })
+            .filter(angle -> angle >= wristMinMinAngle && angle <= wristMaxMaxAngle)
+            .distinct()
+            .toArray();
+  }
+
+  /**
+   * Plan a move from the current state of the mechanisms to a goal.
+   *
+   * @param height current elevator height
+   * @param heightVelocity current elevator velocity
+   * @param angle current wrist angle
+   * @param angleVelocity current wrist velocity
+   * @param goalHeight elevator goal height
+   * @param goalAngle wrist goal angle
+   * @param context conditions for the protection clamps, assumed to hold for the whole move
+   * @return the fastest plan found
+   */
+  public Plan plan(
+      double height,
+      double heightVelocity,
+      double angle,
+      double angleVelocity,
+      double goalHeight,
+      double goalAngle,
+      ClampContext context) {
+    double[] finalHeight = {goalHeight};
+    double[] finalAngle = {goalAngle};
+    double directSeconds =
+        simulate(
+            finalHeight,
+            finalAngle,
+            height,
+            heightVelocity,
+            angle,
+            angleVelocity,
+            context,
+            MAX_PLAN_SECONDS);
+
+    Plan best = new Plan(finalHeight, finalAngle, directSeconds, directSeconds);
+
+    // If the clamps keep the mechanisms from ever reaching the goal, no route will get there. If
+    // nothing is clamped on the way, going straight to the goal can't be beaten.
+    if (Double.isInfinite(directSeconds)
+        || directSeconds
+            <= simulateUnclamped(
+                height, heightVelocity, angle, angleVelocity, goalHeight, goalAngle)) {
+      return best;
+    }
+
+    // Route through each corner of the safe region between the start and the goal, keeping one
+    // mechanism at its start or goal. Going back on either axis can only add time.
+    double[] viaHeights = valuesBetween(cornerHeights, height, goalHeight);
+    double[] viaAngles = valuesBetween(cornerAngles, angle, goalAngle);
+    for (double viaHeight : viaHeights) {
+      for (double viaAngle : viaAngles) {
+        boolean onCorner =
+            viaHeight == height
+                || viaHeight == goalHeight
+                || viaAngle == angle
+                || viaAngle == goalAngle;
+        if (!onCorner || (viaHeight == goalHeight && viaAngle == goalAngle)) {
+          continue;
+        }
+
+        double[] heights = {viaHeight, goalHeight};
+        double[] angles = {viaAngle, goalAngle};
+        double seconds =
+            simulate(
+                heights,
+                angles,
+                height,
+                heightVelocity,
+                angle,
+                angleVelocity,
+                context,
+                best.plannedSeconds);
+        if (seconds < best.plannedSeconds) {
+          best = new Plan(heights, angles, directSeconds, seconds);
+        }
+      }
+    }
+
+    return best;
+  }
+
+  /**
+   * Move a plan on to its final goal if it is ready to.
+   *
+   * @param plan the plan being followed
+   * @param height current elevator height
+   * @param angle current wrist angle
+   * @param context current conditions for the protection clamps
+   */
+  public void update(Plan plan, double height, double angle, ClampContext context) {
+    if (!plan.isOnFinalGoal() && canAdvance(plan, height, angle, context)) {
+      plan.waypoint++;
+    }
+  }
+
+  /**
+   * Check whether the mechanisms are at the final goal of a plan.
+   *
+   * @param plan the plan being followed
+   * @param height current elevator height
+   * @param angle current wrist angle
+   * @return true if both mechanisms are within their setpoint tolerances of the final goal
+   */
+  public boolean isAtFinalGoal(Plan plan, double height, double angle) {
+    int last = plan.heights.length - 1;
+    return Math.abs(height - plan.heights[last]) <= elevatorTolerance
+        && Math.abs(angle - plan.angles[last]) <= wristTolerance;
+  }
+
+  private boolean canAdvance(Plan plan, double height, double angle, ClampContext context) {
+    int current = plan.waypoint;
+    if (Math.abs(height - plan.heights[current]) <= elevatorTolerance
+        && Math.abs(angle - plan.angles[current]) <= wristTolerance) {
+      return true;
+    }
+
+    double nextHeight = plan.heights[current + 1];
+    double nextAngle = plan.angles[current + 1];
+    int index = indexFor(height, nextHeight, angle, nextAngle, context);
+    return nextHeight >= clamps.getElevatorMin(index)
+        && nextHeight <= clamps.getElevatorMax(index)
+        && nextAngle >= clamps.getWristMin(index);
+  }
+
+  /**
+   * Time how long the mechanisms take to reach the last of some goals, following them like a
+   * plan would, with the protection clamps applied every loop.
+   *
+   * @return the time in seconds, or positive infinity if it would take longer than maxSeconds
+   */
+  private double simulate(
+      double[] heights,
+      double[] angles,
+      double height,
+      double heightVelocity,
+      double angle,
+      double angleVelocity,
+      ClampContext context,
+      double maxSeconds) {
+    Plan plan = new Plan(heights, angles, 0.0, 0.0);
+    maxSeconds = Math.min(maxSeconds, MAX_PLAN_SECONDS);
+    elevatorReference.position = height;
+    elevatorReference.velocity = heightVelocity;
+    wristReference.position = angle;
+    wristReference.velocity = angleVelocity;
+
+    for (double t = 0.0; t < maxSeconds; t += LOOP_PERIOD_SECONDS) {
+      double currentHeight = elevatorReference.position;
+      double currentAngle = wristReference.position;
+      if (plan.isOnFinalGoal() && isAtFinalGoal(plan, currentHeight, currentAngle)) {
+        return t;
+      }
+
+      update(plan, currentHeight, currentAngle, context);
+
+      double goalHeight = plan.getGoalHeight();
+      double goalAngle = plan.getGoalAngle();
+      int index = indexFor(currentHeight, goalHeight, currentAngle, goalAngle, context);
+      step(
+          elevatorProfile,
+          elevatorCruiseVelocity,
+          elevatorReference,
+          elevatorGoal,
+          MathUtil.clamp(
+              goalHeight, clamps.getElevatorMin(index), clamps.getElevatorMax(index)));
+      // WristMechanism.setMaxAngle always pins the maximum at wristMaxMaxAngle, so only the
+      // minimum clamp affects the wrist
+      step(
+          wristProfile,
+          wristCruiseVelocity,
+          wristReference,
+          wristGoal,
+          MathUtil.clamp(goalAngle, clamps.getWristMin(index), wristMaxMaxAngle));
+    }
+
+    return Double.POSITIVE_INFINITY;
+  }
+
+  /** Time how long the mechanisms take to reach a goal with no clamps in the way. */
+  private double simulateUnclamped(
+      double height,
+      double heightVelocity,
+      double angle,
+      double angleVelocity,
+      double goalHeight,
+      double goalAngle) {
+    elevatorReference.position = height;
+    elevatorReference.velocity = heightVelocity;
+    wristReference.position = angle;
+    wristReference.velocity = angleVelocity;
+
+    for (double t = 0.0; t < MAX_PLAN_SECONDS; t += LOOP_PERIOD_SECONDS) {
+      if (Math.abs(elevatorReference.position - goalHeight) <= elevatorTolerance
+          && Math.abs(wristReference.position - goalAngle) <= wristTolerance) {
+        return t;
+      }
+
+      step(elevatorProfile, elevatorCruiseVelocity, elevatorReference, elevatorGoal, goalHeight);
+      step(wristProfile, wristCruiseVelocity, wristReference, wristGoal, goalAngle);
+    }
+
+    return Double.POSITIVE_INFINITY;
+  }
+
+  /** Advance a simulated profile reference by one loop, in place. */
+  private static void step(
+      ExponentialProfile profile,
+      double cruiseVelocity,
+      ExponentialProfile.State reference,
+      ExponentialProfile.State goal,
+      double goalPosition) {
+    goal.position = goalPosition;
+    goal.velocity = 0.0;
+    ExponentialProfile.State next = profile.calculate(LOOP_PERIOD_SECONDS, reference, goal);
+
+    // Like the TalonFX, hold the cruise velocity until the profile needs to slow down
+    if (cruiseVelocity > 0.0 && Math.abs(next.velocity) > cruiseVelocity) {
+      next.velocity = Math.copySign(cruiseVelocity, next.velocity);
+      next.position = reference.position + next.velocity * LOOP_PERIOD_SECONDS;
+    }
+
+    reference.position = next.position;
+    reference.velocity = next.velocity;
+  }
+
+  private int indexFor(
+      double height, double goalHeight, double angle, double goalAngle, ClampContext context) {
+    return clamps.index(
+        height,
+        goalHeight,
+        angle,
+        goalAngle,
+        context.holdingAlgae(),
+        context.closeToReef(),
+        context.algaeDetected());
+  }
+
+  /** Get the values between start and end, along with start and end themselves */
+  private static double[] valuesBetween(double[] values, double start, double end) {
+    double low = Math.min(start, end);
+    double high = Math.max(start, end);
+    return DoubleStream.concat(
+            Arrays.stream(values).filter(value -> value > low && value < high),
+            DoubleStream.of(start, end))
+        .distinct()
+        .toArray();
+  }
+}
@@ -2,6 +2,8 @@ package frc.robot.subsystems.scoring;
 
 import static edu.wpi.first.units.Units.Meters;
 import static edu.wpi.first.units.Units.MetersPerSecond;
+import static edu.wpi.first.units.Units.Radians;
+import static edu.wpi.first.units.Units.RadiansPerSecond;
 import static edu.wpi.first.units.Units.Rotations;
 import static edu.wpi.first.units.Units.RotationsPerSecond;
 
@@ -11,7 +13,6 @@ import coppercore.controls.state_machine.state.PeriodicStateInterface;
 import coppercore.controls.state_machine.state.StateContainer;
 import coppercore.wpilib_interface.MonitorWithAlert;
 import coppercore.wpilib_interface.MonitoredSubsystem;
-import edu.wpi.first.units.Measure;
 import edu.wpi.first.units.measure.Angle;
 import edu.wpi.first.units.measure.AngularVelocity;
 import edu.wpi.first.units.measure.Current;
@@ -22,12 +23,18 @@ import edu.wpi.first.units.measure.MutDistance;
 import edu.wpi.first.units.measure.Voltage;
 import edu.wpi.first.wpilibj.Alert.AlertType;
 import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Timer;
 import frc.robot.InitBindings;
 import frc.robot.TestModeManager;
 import frc.robot.TestModeManager.TestMode;
 import frc.robot.constants.JsonConstants;
+import frc.robot.constants.ModeConstants;
+import frc.robot.constants.ModeConstants.Mode;
+import frc.robot.constants.ScoringSetpoints;
 import frc.robot.constants.ScoringSetpoints.ScoringSetpoint;
 import frc.robot.subsystems.scoring.ElevatorIO.ElevatorOutputMode;
+import frc.robot.subsystems.scoring.ScoringMotionPlanner.ClampContext;
+import frc.robot.subsystems.scoring.ScoringMotionPlanner.Plan;
 import frc.robot.subsystems.scoring.states.FarWarmupState;
 import frc.robot.subsystems.scoring.states.IdleState;
 import frc.robot.subsystems.scoring.states.InitState;
@@ -35,6 +42,8 @@ import frc.robot.subsystems.scoring.states.IntakeState;
 import frc.robot.subsystems.scoring.states.ScoreState;
 import frc.robot.subsystems.scoring.states.TuningState;
 import frc.robot.subsystems.scoring.states.WarmupState;
+import frc.robot.util.LoopTimeProfiler;
+import frc.robot.util.LoopTimeProfiler.Section;
 import java.util.function.BooleanSupplier;
 import java.util.function.DoubleSupplier;
 import java.util.function.Supplier;
@@ -185,6 +194,7 @@ public class ScoringSubsystem extends MonitoredSubsystem {
     StartEarlyWarmup, // drive automatically enters warmup when a certain distance away from OTF
     // target (after FarWarmup) ONLY FOR CORAL
     StartFarWarmup, // Start a "far warmup" when drive is a certain distance from it's OTF target
+    StartPredictedWarmup, // drive estimates it will arrive once warmup is done, even from FarWarmup
     WarmupReady,
     CancelWarmup, // Warmup button was released, go back to idle
     ScoredPiece,
@@ -208,6 +218,40 @@ public class ScoringSubsystem extends MonitoredSubsystem {
 
   private Supplier<Distance> reefDistanceSupplier = () -> Meters.zero();
 
+  // Protection clamps, reused every loop by determineProtectionClamps
+  private final MutDistance elevatorMinHeightClamp = Meters.mutable(0.0);
+  private final MutDistance elevatorMaxHeightClamp = Meters.mutable(0.0);
+  private final MutAngle wristMinAngleClamp = Radians.mutable(0.0);
+  private final MutAngle wristMaxAngleClamp = Radians.mutable(0.0);
+
+  private final ScoringMotionPlanner motionPlanner =
+      new ScoringMotionPlanner(
+          JsonConstants.protectionClamps,
+          JsonConstants.elevatorConstants,
+          JsonConstants.wristConstants);
+
+  // The plan being followed to reach plannedSetpoint, or null when goals are set directly
+  private Plan motionPlan = null;
+  private ScoringSetpoint plannedSetpoint = null;
+  private double motionPlanStartTimestamp = 0.0;
+  private boolean motionPlanFinished = false;
+
+  // Intermediate goals of the motion plan, reused every loop
+  private final MutDistance plannedGoalHeight = Meters.mutable(0.0);
+  private final MutAngle plannedGoalAngle = Radians.mutable(0.0);
+
+  // Last estimate of the time to reach warmup, kept until the mechanisms or the goal change
+  private ScoringSetpoint warmupEstimateSetpoint = null;
+  private ClampContext warmupEstimateContext = null;
+  private double warmupEstimateHeight = 0.0;
+  private double warmupEstimateAngle = 0.0;
+  private double warmupEstimateSeconds = 0.0;
+
+  // When drive last became lined up, to measure how long it then waits for scoring
+  private boolean wasDriveLinedUp = false;
+  private double driveLinedUpTimestamp = 0.0;
+  private ScoringState lastState = null;
+
   /**
    * Supplies a boolean determining whether or not the elevator can safely move up without hitting
    * the ramp
@@ -228,6 +272,11 @@ public class ScoringSubsystem extends MonitoredSubsystem {
 
     instance = this;
 
+    if (ModeConstants.currentMode != Mode.REAL) {
+      // Log the protection clamp table once, as a PNG, so it can be reviewed off the robot
+      Logger.recordOutput("scoring/clamps/table", JsonConstants.protectionClamps.renderPng(200));
+    }
+
     stateMachineConfiguration = new StateMachineConfiguration<>();
 
     stateMachineConfiguration
@@ -270,6 +319,13 @@ public class ScoringSubsystem extends MonitoredSubsystem {
             ScoringTrigger.StartEarlyWarmup,
             ScoringState.Warmup,
             () -> canFarWarmup() && hasCurrentPiece())
+        .permitIf(
+            ScoringTrigger.StartPredictedWarmup,
+            ScoringState.Warmup,
+            () ->
+                JsonConstants.scoringFeatureFlags.usePredictiveWarmup
+                    && canFarWarmup()
+                    && hasCurrentPiece())
         .permitIf(
             ScoringTrigger.StartFarWarmup,
             ScoringState.FarWarmup,
@@ -302,6 +358,10 @@ public class ScoringSubsystem extends MonitoredSubsystem {
     stateMachineConfiguration
         .configure(ScoringState.FarWarmup)
         .permit(ScoringTrigger.StartWarmup, ScoringState.Warmup)
+        .permitIf(
+            ScoringTrigger.StartPredictedWarmup,
+            ScoringState.Warmup,
+            () -> JsonConstants.scoringFeatureFlags.usePredictiveWarmup)
         .permit(ScoringTrigger.CancelWarmup, ScoringState.Idle);
 
     stateMachineConfiguration
@@ -365,6 +425,18 @@ public class ScoringSubsystem extends MonitoredSubsystem {
         && (currentTarget == FieldTarget.L3 || currentTarget == FieldTarget.L4);
   }
 
+  /**
+   * Would firing StartPredictedWarmup move the scoring subsystem into warmup at the moment?
+   *
+   * @return true if scoring is in Idle or FarWarmup and can warm up early for its target
+   */
+  public boolean canStartPredictedWarmup() {
+    ScoringState state = stateMachine.getCurrentState();
+    return (state == ScoringState.Idle || state == ScoringState.FarWarmup)
+        && canFarWarmup()
+        && hasCurrentPiece();
+  }
+
   public void setIsDriveLinedUpSupplier(BooleanSupplier newSupplier) {
     isDriveLinedUpSupplier = newSupplier;
   }
@@ -456,6 +528,7 @@ public class ScoringSubsystem extends MonitoredSubsystem {
    * @param goalHeight Goal height to command elevator mechanism to
    */
   public void setElevatorGoalHeight(Distance goalHeight) {
+    cancelMotionPlan();
     if (JsonConstants.scoringFeatureFlags.runElevator) {
       elevatorMechanism.setGoalHeight(goalHeight);
     }
@@ -467,6 +540,7 @@ public class ScoringSubsystem extends MonitoredSubsystem {
    * @param goalAngle Goal wrist to command wrist mechanism to
    */
   public void setWristGoalAngle(Angle goalAngle) {
+    cancelMotionPlan();
     if (JsonConstants.scoringFeatureFlags.runWrist) {
       wristMechanism.setGoalAngle(goalAngle);
     }
@@ -480,11 +554,20 @@ public class ScoringSubsystem extends MonitoredSubsystem {
   /**
    * Set the goal positions for elevator and wrist according to a ScoringSetpoint
    *
+   * <p>When the motion planner is enabled, a new setpoint is reached by following a plan from the
+   * {@link ScoringMotionPlanner}, which periodic streams to the mechanisms.
+   *
    * @param setpoint The setpoint to control to
    */
   public void setGoalSetpoint(ScoringSetpoint setpoint) {
-    setElevatorGoalHeight(setpoint.elevatorHeight());
-    setWristGoalAngle(setpoint.wristAngle());
+    if (canUseMotionPlanner()) {
+      if (!setpoint.equals(plannedSetpoint)) {
+        planMotion(setpoint);
+      }
+    } else {
+      setElevatorGoalHeight(setpoint.elevatorHeight());
+      setWristGoalAngle(setpoint.wristAngle());
+    }
     Logger.recordOutput("scoring/setpoint", setpoint.name());
     setpointUpdatesThisCycle++;
 
@@ -497,6 +580,146 @@ public class ScoringSubsystem extends MonitoredSubsystem {
     lastSetpointUpdate = newSetpointUpdate;
   }
 
+  private boolean canUseMotionPlanner() {
+    return JsonConstants.scoringFeatureFlags.useMotionPlanner
+        && JsonConstants.scoringFeatureFlags.runElevator
+        && JsonConstants.scoringFeatureFlags.runWrist;
+  }
+
+  /** Plan a move to a new setpoint and start following it */
+  private void planMotion(ScoringSetpoint setpoint) {
+    motionPlan =
+        motionPlanner.plan(
+            getElevatorHeight().in(Meters),
+            getElevatorVelocity().in(MetersPerSecond),
+            getWristAngle().in(Radians),
+            getWristVelocity().in(RadiansPerSecond),
+            setpoint.elevatorHeight().in(Meters),
+            setpoint.wristAngle().in(Radians),
+            getClampContext());
+    plannedSetpoint = setpoint;
+    motionPlanStartTimestamp = Timer.getFPGATimestamp();
+    motionPlanFinished = false;
+
+    Logger.recordOutput("scoring/planner/directSeconds", motionPlan.getDirectSeconds());
+    Logger.recordOutput("scoring/planner/plannedSeconds", motionPlan.getPlannedSeconds());
+    Logger.recordOutput("scoring/planner/secondsSaved", motionPlan.getSecondsSaved());
+    Logger.recordOutput("scoring/planner/hasIntermediateGoal", motionPlan.hasIntermediateGoal());
+
+    followMotionPlan();
+  }
+
+  /** Send the current goals of the motion plan to the mechanisms, if there is a plan */
+  private void followMotionPlan() {
+    if (motionPlan == null) {
+      return;
+    }
+
+    double height = getElevatorHeight().in(Meters);
+    double angle = getWristAngle().in(Radians);
+    motionPlanner.update(motionPlan, height, angle, getClampContext());
+
+    if (motionPlan.isOnFinalGoal()) {
+      elevatorMechanism.setGoalHeight(plannedSetpoint.elevatorHeight());
+      wristMechanism.setGoalAngle(plannedSetpoint.wristAngle());
+    } else {
+      plannedGoalHeight.mut_setMagnitude(motionPlan.getGoalHeight());
+      plannedGoalAngle.mut_setMagnitude(motionPlan.getGoalAngle());
+      elevatorMechanism.setGoalHeight(plannedGoalHeight);
+      wristMechanism.setGoalAngle(plannedGoalAngle);
+    }
+
+    if (!motionPlanFinished && motionPlanner.isAtFinalGoal(motionPlan, height, angle)) {
+      // Compare against the predicted times to see what the planner saves in practice
+      motionPlanFinished = true;
+      Logger.recordOutput(
+          "scoring/planner/transitionSeconds",
+          Timer.getFPGATimestamp() - motionPlanStartTimestamp);
+    }
+  }
+
+  /** Stop following the motion plan so that goals can be set directly */
+  private void cancelMotionPlan() {
+    motionPlan = null;
+    plannedSetpoint = null;
+  }
+
+  /**
+   * Estimate how long the elevator and wrist will take to reach the warmup setpoint for the current
+   * target, with the protection clamps that will apply once drive is at the reef.
+   *
+   * <p>The estimate comes from the {@link ScoringMotionPlanner} and is only recomputed when the
+   * mechanisms move or the target changes.
+   *
+   * @return estimated seconds from now until warmup is reached
+   */
+  public double getSecondsToWarmup() {
+    if (!JsonConstants.scoringFeatureFlags.runElevator
+        || !JsonConstants.scoringFeatureFlags.runWrist) {
+      return 0.0;
+    }
+
+    ScoringSetpoint setpoint =
+        ScoringSetpoints.getWarmupSetpoint(
+            currentPiece == GamePiece.Coral ? currentTarget : currentAlgaeScoreTarget);
+    ClampContext context =
+        new ClampContext(currentPiece == GamePiece.Algae, true, isAlgaeDetected());
+    double height = getElevatorHeight().in(Meters);
+    double angle = getWristAngle().in(Radians);
+
+    if (setpoint.equals(warmupEstimateSetpoint)
+        && context.equals(warmupEstimateContext)
+        && Math.abs(height - warmupEstimateHeight)
+            <= JsonConstants.elevatorConstants.elevatorSetpointEpsilon.in(Meters)
+        && Math.abs(angle - warmupEstimateAngle)
+            <= JsonConstants.wristConstants.wristSetpointEpsilon.in(Radians)) {
+      return warmupEstimateSeconds;
+    }
+
+    Plan plan =
+        motionPlanner.plan(
+            height,
+            getElevatorVelocity().in(MetersPerSecond),
+            angle,
+            getWristVelocity().in(RadiansPerSecond),
+            setpoint.elevatorHeight().in(Meters),
+            setpoint.wristAngle().in(Radians),
+            context);
+
+    warmupEstimateSetpoint = setpoint;
+    warmupEstimateContext = context;
+    warmupEstimateHeight = height;
+    warmupEstimateAngle = angle;
+    warmupEstimateSeconds =
+        canUseMotionPlanner() ? plan.getPlannedSeconds() : plan.getDirectSeconds();
+    return warmupEstimateSeconds;
+  }
+
+  /** Log how long scoring took to reach Score after drive finished lining up */
+  private void logLinedUpWait(boolean isDriveLinedUp) {
+    ScoringState state = stateMachine.getCurrentState();
+
+    if (isDriveLinedUp && !wasDriveLinedUp) {
+      driveLinedUpTimestamp = Timer.getFPGATimestamp();
+    }
+
+    if (state == ScoringState.Score && lastState != ScoringState.Score && isDriveLinedUp) {
+      Logger.recordOutput(
+          "scoring/warmup/linedUpWaitSeconds", Timer.getFPGATimestamp() - driveLinedUpTimestamp);
+    }
+
+    wasDriveLinedUp = isDriveLinedUp;
+    lastState = state;
+  }
+
+  /** Get the conditions that the protection clamps depend on, besides the mechanism positions */
+  private ClampContext getClampContext() {
+    return new ClampContext(
+        currentPiece == GamePiece.Algae,
+        isCloseToReef(reefDistanceSupplier.get()),
+        isAlgaeDetected());
+  }
+
   /**
    * Get the current height of the elevator.
    *
@@ -710,6 +933,8 @@ public class ScoringSubsystem extends MonitoredSubsystem {
 
   @Override
   public void monitoredPeriodic() {
+    long periodicStart = LoopTimeProfiler.start();
+
     Logger.recordOutput("scoring/setpointUpdatesThisCycle", setpointUpdatesThisCycle);
     // Reset setpoint update counter every cycle
     setpointUpdatesThisCycle = 0;
@@ -719,8 +944,14 @@ public class ScoringSubsystem extends MonitoredSubsystem {
       fireTrigger(ScoringTrigger.LeaveTestMode);
     }
     Logger.recordOutput("scoring/prePeriodicState", stateMachine.getCurrentState());
+    long stateMachineStart = LoopTimeProfiler.start();
     stateMachine.periodic();
 
+    if (canUseMotionPlanner()) {
+      followMotionPlan();
+    }
+    long mechanismsStart = LoopTimeProfiler.stop(Section.ScoringStateMachine, stateMachineStart);
+
     if (JsonConstants.scoringFeatureFlags.runElevator) {
       elevatorMechanism.periodic();
     }
@@ -732,15 +963,22 @@ public class ScoringSubsystem extends MonitoredSubsystem {
     if (JsonConstants.scoringFeatureFlags.runClaw) {
       clawMechanism.periodic();
     }
+    long clampsStart = LoopTimeProfiler.stop(Section.ScoringMechanisms, mechanismsStart);
 
     if (JsonConstants.scoringFeatureFlags.runElevator
         && JsonConstants.scoringFeatureFlags.runWrist) {
       determineProtectionClamps();
     }
+    LoopTimeProfiler.stop(Section.ScoringClamps, clampsStart);
+
+    boolean isDriveLinedUp = isDriveLinedUpSupplier.getAsBoolean();
+    logLinedUpWait(isDriveLinedUp);
 
     Logger.recordOutput("scoring/state", stateMachine.getCurrentState());
-    Logger.recordOutput("scoring/isDriveLinedUp", isDriveLinedUpSupplier.getAsBoolean());
+    Logger.recordOutput("scoring/isDriveLinedUp", isDriveLinedUp);
     Logger.recordOutput("scoring/currentTarget", currentTarget);
+
+    LoopTimeProfiler.stop(Section.Scoring, periodicStart);
   }
 
   /** This method must be called by RobotContainer, as it does not run automatically! */
@@ -820,179 +1058,49 @@ public class ScoringSubsystem extends MonitoredSubsystem {
   /**
    * Based on the state of the wrist and elevator, clamp their positions to avoid collisions
    *
+   * <p>The clamps come from the {@link ProtectionClampTable} built when the constants were loaded,
+   * and the reasons they apply are logged as a mask of {@link ProtectionClampTable.ClampReason}s.
+   *
    * <p>This method does not verify that the mechanisms exist, so featureflags should be checked
    * before it is called.
    */
   public void determineProtectionClamps() {
-    MutDistance elevatorMinHeight = JsonConstants.elevatorConstants.minElevatorHeight.mutableCopy();
-    MutDistance elevatorMaxHeight = JsonConstants.elevatorConstants.maxElevatorHeight.mutableCopy();
-
     Distance elevatorHeight = elevatorMechanism.getElevatorHeight();
     Distance elevatorGoalHeight = elevatorMechanism.getElevatorGoalHeight();
 
-    MutAngle wristMinAngle = JsonConstants.wristConstants.wristMinMinAngle.mutableCopy();
-    MutAngle wristMaxAngle = JsonConstants.wristConstants.wristMaxMaxAngle.mutableCopy();
-
     Angle wristAngle = wristMechanism.getWristAngle();
     Angle wristGoalAngle = wristMechanism.getWristGoalAngle();
 
-    boolean wristAboveChassis = false;
-    // If the elevator is below the minimum safe height for wrist to be down, clamp wrist above its
-    // collision point
-    if (elevatorHeight.lt(JsonConstants.elevatorConstants.minWristDownHeight)
-        && !isAlgaeDetected()) {
-      wristAboveChassis = true;
-      wristMinAngle.mut_replace(
-          (Angle)
-              Measure.max(wristMinAngle, JsonConstants.wristConstants.minElevatorDownSafeAngle));
-    }
-    Logger.recordOutput("scoring/clamps/wristAboveChassis", wristAboveChassis);
-
-    boolean elevatorAboveClaw = false;
-    // If the wrist is below the minimum safe angle for the elevator to be down, clamp the elevator
-    // above its collision point
-    if (wristAngle.lt(JsonConstants.wristConstants.minElevatorDownSafeAngle)) {
-      elevatorAboveClaw = true;
-      elevatorMinHeight.mut_replace(
-          (Distance)
-              Measure.max(elevatorMinHeight, JsonConstants.elevatorConstants.minWristDownHeight));
-    }
-    Logger.recordOutput("scoring/clamps/elevatorAboveClaw", elevatorAboveClaw);
-
-    boolean closeToReef = false;
-    boolean closeToReefUpperAlgae = false;
-    boolean wristInToAvoidReefBase = false;
-    boolean elevatorUpToAvoidReefBase = false;
-    boolean wristInToPassReef = false;
-    boolean elevatorBelowReefLevel = false;
-    boolean elevatorAboveReefLevel = false;
-    boolean elevatorUpToAvoidReefBaseAlgae = false;
-
     Distance reefDistance = reefDistanceSupplier.get();
     Logger.recordOutput("scoring/reefDistanceSupplier", reefDistance);
-    if (reefDistance.lt(JsonConstants.wristConstants.closeToReefThreshold)
-        && !DriverStation.isTest()) {
-      closeToReef = true;
-
-      // If we're close to the reef and the wrist is down, keep the elevator up
-      if (wristAngle.lte(JsonConstants.wristConstants.maxReefBaseWristDownCollisionAngle)) {
-        elevatorUpToAvoidReefBaseAlgae = true;
-        elevatorMinHeight.mut_replace(
-            (Distance)
-                Measure.max(
-                    elevatorMinHeight,
-                    JsonConstants.elevatorConstants.minWristDownReefBaseSafeHeight));
-      }
-
-      if (elevatorHeight.lte(JsonConstants.elevatorConstants.minReefSafeHeight)
-          && currentPiece != GamePiece.Algae) {
-        wristInToAvoidReefBase = true;
-        // If elevator is next to reef base, make sure wrist doesn't hit it
-        wristMinAngle.mut_replace(
-            (Angle) Measure.max(wristMinAngle, JsonConstants.wristConstants.minReefSafeAngle));
-      }
-
-      if (getGamePiece() == GamePiece.Coral
-          && ReefAvoidanceHelper.willPassReefLevel(elevatorHeight, elevatorGoalHeight)) {
-        // Don't run this protection when holding an algae
-        wristInToPassReef = true;
-        // If we will pass a reef level, clamp the wrist to be in a safe position to pass the reef
-        wristMinAngle.mut_replace(
-            (Angle) Measure.max(wristMinAngle, JsonConstants.wristConstants.minReefSafeAngle));
-
-        // If we will pass a reef level and the wrist is in an unsafe position to pass the reef,
-        // clamp
-        // the elevator above or below the point of collision
-        if (wristAngle.lt(JsonConstants.wristConstants.minReefSafeAngle)) {
-          elevatorUpToAvoidReefBase = true;
-          // If the wrist would hit the reef base, clamp the elevator above the reef base height
-          elevatorMinHeight.mut_replace(
-              (Distance)
-                  Measure.max(
-                      elevatorMinHeight, JsonConstants.elevatorConstants.minReefSafeHeight));
-
-          if (elevatorHeight.lt(elevatorGoalHeight)) {
-            elevatorBelowReefLevel = true;
-            elevatorMaxHeight.mut_replace(
-                (Distance)
-                    Measure.min(
-                        elevatorMaxHeight,
-                        ReefAvoidanceHelper.getCollisionHeight(
-                            elevatorHeight, elevatorGoalHeight)));
-          } else {
-            elevatorAboveReefLevel = true;
-            elevatorMinHeight.mut_replace(
-                (Distance)
-                    Measure.max(
-                        elevatorMinHeight,
-                        ReefAvoidanceHelper.getCollisionHeight(
-                            elevatorHeight, elevatorGoalHeight)));
-          }
-        }
-      } else if (getGamePiece() == GamePiece.Algae) {
-        if (elevatorHeight.in(Meters) > JsonConstants.elevatorConstants.L3MinHeightAbove.in(Meters)
-            && wristAngle.lte(JsonConstants.wristConstants.maxReefBaseWristDownCollisionAngle)) {
-          elevatorMinHeight.mut_replace(
-              (Distance)
-                  Measure.max(
-                      elevatorMinHeight, JsonConstants.scoringSetpoints.L3algae.elevatorHeight()));
-        }
-      }
-    }
-
-    boolean wristDownForAlgae = false;
-    if (isAlgaeDetected()
-        && elevatorMechanism
-            .getElevatorHeight()
-            .lt(JsonConstants.elevatorConstants.minAlgaeInHeight)) {
-      wristDownForAlgae = true;
-      wristMaxAngle.mut_replace(
-          (Angle) Measure.min(wristMaxAngle, JsonConstants.wristConstants.algaeUnderCrossbarAngle));
-    }
-
-    boolean wristInDangerZone =
-        wristAngle.gt(JsonConstants.wristConstants.crossbarBottomCollisionAngle)
-            && wristAngle.lt(JsonConstants.wristConstants.crossbarTopCollisionAngle);
-    boolean willPassDangerZoneUp =
-        wristAngle.lt(JsonConstants.wristConstants.crossbarBottomCollisionAngle)
-            && wristGoalAngle.gt(JsonConstants.wristConstants.crossbarBottomCollisionAngle);
-    boolean willPassDangerZoneDown =
-        wristAngle.gt(JsonConstants.wristConstants.crossbarTopCollisionAngle)
-            && wristGoalAngle.lt(JsonConstants.wristConstants.crossbarTopCollisionAngle);
-    boolean willPassDangerZone = willPassDangerZoneUp || willPassDangerZoneDown;
-
-    boolean canWristHitCrossbar = wristInDangerZone || willPassDangerZone;
-
-    if (canWristHitCrossbar) {
-      // If the wrist can hit the crossbar, keep elevator on the same side of the crossbar that it
-      // is
-      if (elevatorHeight.lt(JsonConstants.elevatorConstants.crossbarTopCollisionHeight)) {
-        elevatorMaxHeight.mut_replace(
-            (Distance)
-                Measure.min(
-                    elevatorMaxHeight,
-                    JsonConstants.elevatorConstants.crossbarBottomCollisionHeight));
-      } else {
-        elevatorMinHeight.mut_replace(
-            (Distance)
-                Measure.max(
-                    elevatorMinHeight, JsonConstants.elevatorConstants.crossbarTopCollisionHeight));
-      }
-    }
-
-    Logger.recordOutput("scoring/clamps/closeToReef", closeToReef);
-    Logger.recordOutput("scoring/clamps/wristInToAvoidReefBase", wristInToAvoidReefBase);
-    Logger.recordOutput("scoring/clamps/elevatorUpToAvoidReefBase", elevatorUpToAvoidReefBase);
-    Logger.recordOutput("scoring/clamps/wristInToPassReef", wristInToPassReef);
-    Logger.recordOutput("scoring/clamps/elevatorBelowReefLevel", elevatorBelowReefLevel);
-    Logger.recordOutput("scoring/clamps/elevatorAboveReefLevel", elevatorAboveReefLevel);
-    Logger.recordOutput("scoring/clamps/wristDownForAlgae", wristDownForAlgae);
-    Logger.recordOutput("scoring/clamps/canWristHitCrossbar", canWristHitCrossbar);
-    Logger.recordOutput(
-        "scoring/clamps/elevatorUpToAvoidReefBaseAlgae", elevatorUpToAvoidReefBaseAlgae);
+    boolean closeToReef = isCloseToReef(reefDistance);
+
+    ProtectionClampTable table = JsonConstants.protectionClamps;
+    int index =
+        table.index(
+            elevatorHeight.baseUnitMagnitude(),
+            elevatorGoalHeight.baseUnitMagnitude(),
+            wristAngle.baseUnitMagnitude(),
+            wristGoalAngle.baseUnitMagnitude(),
+            currentPiece == GamePiece.Algae,
+            closeToReef,
+            isAlgaeDetected());
+
+    Logger.recordOutput("scoring/clamps/active", table.getReasons(index));
+
+    elevatorMinHeightClamp.mut_setBaseUnitMagnitude(table.getElevatorMin(index));
+    elevatorMaxHeightClamp.mut_setBaseUnitMagnitude(table.getElevatorMax(index));
+    wristMinAngleClamp.mut_setBaseUnitMagnitude(table.getWristMin(index));
+    wristMaxAngleClamp.mut_setBaseUnitMagnitude(table.getWristMax(index));
+
+    elevatorMechanism.setAllowedRangeOfMotion(elevatorMinHeightClamp, elevatorMaxHeightClamp);
+    wristMechanism.setAllowedRangeOfMotion(wristMinAngleClamp, wristMaxAngleClamp);
+  }
 
-    elevatorMechanism.setAllowedRangeOfMotion(elevatorMinHeight, elevatorMaxHeight);
-    wristMechanism.setAllowedRangeOfMotion(wristMinAngle, wristMaxAngle);
+  /** Check whether the robot is close enough to the reef for the reef protection clamps */
+  private boolean isCloseToReef(Distance reefDistance) {
+    return reefDistance.lt(JsonConstants.wristConstants.closeToReefThreshold)
+        && !DriverStation.isTest();
   }
 
   /**
@@ -0,0 +1,185 @@
+package frc.robot.subsystems.scoring;
+
+import static edu.wpi.first.units.Units.Amps;
+import static edu.wpi.first.units.Units.KilogramSquareMeters;
+import static edu.wpi.first.units.Units.Meters;
+import static edu.wpi.first.units.Units.Radians;
+import static edu.wpi.first.units.Units.Rotations;
+import static edu.wpi.first.units.Units.RotationsPerSecond;
+import static edu.wpi.first.units.Units.RotationsPerSecondPerSecond;
+import static edu.wpi.first.units.Units.Seconds;
+import static edu.wpi.first.units.Units.Volts;
+
+import com.ctre.phoenix6.configs.CurrentLimitsConfigs;
+import com.ctre.phoenix6.signals.NeutralModeValue;
+import edu.wpi.first.math.system.plant.DCMotor;
+import edu.wpi.first.units.AngularAccelerationUnit;
+import edu.wpi.first.units.AngularVelocityUnit;
+import edu.wpi.first.units.PerUnit;
+import edu.wpi.first.units.VoltageUnit;
+import edu.wpi.first.units.measure.Angle;
+import edu.wpi.first.units.measure.AngularVelocity;
+import edu.wpi.first.units.measure.Per;
+import edu.wpi.first.units.measure.Voltage;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.RobotController;
+import frc.robot.constants.JsonConstants;
+import frc.robot.constants.SimConstants;
+import frc.robot.subsystems.scoring.sim.MotionMagicExpoSim;
+import frc.robot.subsystems.scoring.sim.MotionMagicExpoSim.GravityType;
+import frc.robot.subsystems.scoring.sim.WristPlant;
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * Wrist IO backed by a pure-Java {@link WristPlant} instead of Phoenix sim state.
+ *
+ * <p>The wrist motor's MotionMagicExpoVoltage control is emulated by {@link MotionMagicExpoSim},
+ * stepped together with the plant at 1 kHz inside {@link #updateInputs}.
+ */
+public class WristIOPlantSim implements WristIO {
+  private final WristPlant plant =
+      new WristPlant(
+          DCMotor.getKrakenX60Foc(1),
+          JsonConstants.wristConstants.wristReduction,
+          JsonConstants.wristConstantsSim.wristMomentOfInertia.in(KilogramSquareMeters),
+          JsonConstants.wristConstantsSim.wristArmLength.in(Meters),
+          JsonConstants.wristConstantsSim.wristMinAngle.in(Radians),
+          JsonConstants.wristConstantsSim.wristMaxAngle.in(Radians),
+          JsonConstants.wristConstantsSim.wristStartingAngle.in(Radians));
+
+  private final MotionMagicExpoSim controller = new MotionMagicExpoSim(GravityType.ArmCosine);
+
+  // Goal of the closed loop, as seen by the wrist CANcoder
+  private double wristGoalRotations = 0.2;
+
+  private boolean motorsDisabled = false;
+  private boolean isOverriding = false;
+  private double overrideVolts = 0.0;
+
+  public WristIOPlantSim() {
+    controller.setPID(
+        JsonConstants.wristConstants.wristKP,
+        JsonConstants.wristConstants.wristKI,
+        JsonConstants.wristConstants.wristKD);
+    controller.setFF(
+        JsonConstants.wristConstants.wristKS,
+        JsonConstants.wristConstants.wristKV,
+        JsonConstants.wristConstants.wristKA,
+        JsonConstants.wristConstants.wristKG);
+    controller.setProfile(
+        JsonConstants.wristConstants.wristMotionMagicCruiseVelocityRotationsPerSecond,
+        JsonConstants.wristConstants.wristMotionMagicExpo_kV,
+        JsonConstants.wristConstants.wristMotionMagicExpo_kA);
+
+    plant.setStatorCurrentLimit(JsonConstants.wristConstants.wristStatorCurrentLimit.in(Amps));
+    plant.setBrakeMode(
+        JsonConstants.wristConstants.wristNeutralModeValue == NeutralModeValue.Brake);
+  }
+
+  @Override
+  public void updateInputs(WristInputs inputs) {
+    double batteryVolts = RobotController.getBatteryVoltage();
+    double dtSeconds = SimConstants.plantSubstepTime.in(Seconds);
+
+    for (int i = 0; i < SimConstants.plantSubstepsPerLoop; i++) {
+      step(batteryVolts, dtSeconds);
+    }
+
+    Logger.recordOutput("wristSim/position", plant.getAngleRad());
+
+    inputs.isWristEncoderConnected = true;
+
+    inputs.wristGoalPosition.mut_setMagnitude(wristGoalRotations);
+    inputs.wristSetpointPosition.mut_setMagnitude(controller.getReferencePosition());
+    inputs.wristTargetVelocity.mut_setMagnitude(controller.getReferenceVelocity());
+
+    inputs.wristPosition.mut_setMagnitude(plant.getAngleRotations());
+    inputs.wristVelocity.mut_setMagnitude(plant.getVelocityRotationsPerSecond());
+
+    inputs.wristSupplyCurrent.mut_setMagnitude(plant.getSupplyCurrentAmps());
+    inputs.wristStatorCurrent.mut_setMagnitude(plant.getStatorCurrentAmps());
+  }
+
+  /** Run the emulated TalonFX and the wrist for one plant step. */
+  private void step(double batteryVolts, double dtSeconds) {
+    // Phoenix sim disables the motor whenever the robot is disabled
+    if (motorsDisabled || !DriverStation.isEnabled()) {
+      controller.reset();
+      plant.stepVoltage(0.0, batteryVolts, dtSeconds);
+    } else if (isOverriding) {
+      controller.reset();
+      plant.stepVoltage(overrideVolts, batteryVolts, dtSeconds);
+    } else {
+      double volts =
+          controller.calculate(
+              wristGoalRotations,
+              plant.getAngleRotations(),
+              plant.getVelocityRotationsPerSecond(),
+              dtSeconds);
+      plant.stepVoltage(volts, batteryVolts, dtSeconds);
+    }
+  }
+
+  @Override
+  public void applyOutputs(WristOutputs outputs) {
+    if (motorsDisabled) {
+      outputs.wristOutput = 0.0;
+    } else if (isOverriding) {
+      outputs.wristOutput = overrideVolts;
+    } else {
+      outputs.wristOutput = controller.getOutput();
+    }
+  }
+
+  @Override
+  public void setWristGoalPos(Angle goalPos) {
+    wristGoalRotations = goalPos.in(Rotations);
+  }
+
+  @Override
+  public void setPID(double kP, double kI, double kD) {
+    controller.setPID(kP, kI, kD);
+  }
+
+  @Override
+  public void setMaxProfile(
+      AngularVelocity maxVelocity,
+      Per<VoltageUnit, AngularAccelerationUnit> expo_kA,
+      Per<VoltageUnit, AngularVelocityUnit> expo_kV) {
+    controller.setProfile(
+        maxVelocity.in(RotationsPerSecond),
+        expo_kV.in(PerUnit.combine(Volts, RotationsPerSecond)),
+        expo_kA.in(PerUnit.combine(Volts, RotationsPerSecondPerSecond)));
+  }
+
+  @Override
+  public void setFF(double kS, double kV, double kA, double kG) {
+    controller.setFF(kS, kV, kA, kG);
+  }
+
+  @Override
+  public void setBrakeMode(boolean brakeMode) {
+    plant.setBrakeMode(brakeMode);
+  }
+
+  @Override
+  public void setCurrentLimits(CurrentLimitsConfigs limits) {
+    plant.setStatorCurrentLimit(
+        limits.StatorCurrentLimitEnable ? limits.StatorCurrentLimit : Double.POSITIVE_INFINITY);
+  }
+
+  @Override
+  public void setMotorsDisabled(boolean disabled) {
+    motorsDisabled = disabled;
+  }
+
+  @Override
+  public void setOverrideMode(boolean override) {
+    isOverriding = override;
+  }
+
+  @Override
+  public void setOverrideVoltage(Voltage volts) {
+    overrideVolts = volts.in(Volts);
+  }
+}
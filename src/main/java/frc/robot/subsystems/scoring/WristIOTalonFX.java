@@ -25,16 +25,32 @@ import edu.wpi.first.units.AngularVelocityUnit;
 import edu.wpi.first.units.VoltageUnit;
 import edu.wpi.first.units.measure.Angle;
 import edu.wpi.first.units.measure.AngularVelocity;
+import edu.wpi.first.units.measure.Current;
 import edu.wpi.first.units.measure.MutAngle;
 import edu.wpi.first.units.measure.MutVoltage;
 import edu.wpi.first.units.measure.Per;
 import edu.wpi.first.units.measure.Voltage;
+import frc.robot.TelemetryManager;
 import frc.robot.constants.JsonConstants;
+import frc.robot.util.CANSignalRegistry;
+import frc.robot.util.CANSignalRegistry.SignalGroup;
 
 public class WristIOTalonFX implements WristIO {
   TalonFX wristMotor = new TalonFX(JsonConstants.wristConstants.wristMotorId, "canivore");
   CANcoder wristCANcoder = new CANcoder(JsonConstants.wristConstants.wristCANcoderId, "canivore");
 
+  // Status signals, refreshed every loop by the CANSignalRegistry
+  private final StatusSignal<Angle> wristPosition = wristCANcoder.getPosition();
+  private final StatusSignal<AngularVelocity> wristVelocity = wristCANcoder.getVelocity();
+  private final StatusSignal<Double> closedLoopReference = wristMotor.getClosedLoopReference();
+  private final StatusSignal<Double> closedLoopReferenceSlope =
+      wristMotor.getClosedLoopReferenceSlope();
+  private final StatusSignal<Double> closedLoopOutput = wristMotor.getClosedLoopOutput();
+  private final StatusSignal<Current> supplyCurrent = wristMotor.getSupplyCurrent();
+  private final StatusSignal<Current> statorCurrent = wristMotor.getStatorCurrent();
+
+  private final SignalGroup wristCANcoderSignals;
+
   // Keep track of talonFX configs and only update FF/PID when necessary to avoid unnecessary object
   // creation
   private TalonFXConfiguration talonFXConfigs;
@@ -103,24 +119,30 @@ public class WristIOTalonFX implements WristIO {
                         JsonConstants.wristConstants.wristCANcoderSensorDirection));
 
     wristCANcoder.getConfigurator().apply(ccConfigs);
+
+    wristCANcoderSignals =
+        CANSignalRegistry.register(
+            "Wrist/CANcoder", wristCANcoder, 100.0, wristPosition, wristVelocity);
+    CANSignalRegistry.register(
+        "Wrist/Motor", wristMotor, 50.0, closedLoopOutput, supplyCurrent, statorCurrent);
+    CANSignalRegistry.registerDiagnostic(
+        "Wrist/Motor", wristMotor, closedLoopReference, closedLoopReferenceSlope);
   }
 
   public void updateInputs(WristInputs inputs) {
     inputs.wristGoalPosition.mut_replace(wristGoalPosition);
-    inputs.wristSetpointPosition.mut_replace(
-        Rotations.of(wristMotor.getClosedLoopReference().getValue()));
-
-    StatusSignal<Angle> positionSignal = wristCANcoder.getPosition();
-    inputs.isWristEncoderConnected = positionSignal.getStatus().isOK();
+    if (TelemetryManager.shouldLogDiagnostics()) {
+      inputs.wristSetpointPosition.mut_setMagnitude(closedLoopReference.getValue());
+      inputs.wristTargetVelocity.mut_setMagnitude(closedLoopReferenceSlope.getValue());
+    }
 
-    inputs.wristPosition.mut_replace(positionSignal.getValue());
-    inputs.wristVelocity.mut_replace(wristCANcoder.getVelocity().getValue());
+    inputs.isWristEncoderConnected = wristCANcoderSignals.isAllGood();
 
-    inputs.wristTargetVelocity.mut_setMagnitude(
-        wristMotor.getClosedLoopReferenceSlope().getValue());
+    inputs.wristPosition.mut_replace(wristPosition.getValue());
+    inputs.wristVelocity.mut_replace(wristVelocity.getValue());
 
-    inputs.wristSupplyCurrent.mut_replace(wristMotor.getSupplyCurrent().getValue());
-    inputs.wristStatorCurrent.mut_replace(wristMotor.getStatorCurrent().getValue());
+    inputs.wristSupplyCurrent.mut_replace(supplyCurrent.getValue());
+    inputs.wristStatorCurrent.mut_replace(statorCurrent.getValue());
   }
 
   public void applyOutputs(WristOutputs outputs) {
@@ -137,7 +159,7 @@ public class WristIOTalonFX implements WristIO {
     }
 
     wristMotor.setControl(request.withPosition(wristGoalPosition));
-    outputs.wristOutput = wristMotor.getClosedLoopOutput().getValue();
+    outputs.wristOutput = closedLoopOutput.getValue();
   }
 
   public void setWristGoalPos(Angle goalPos) {
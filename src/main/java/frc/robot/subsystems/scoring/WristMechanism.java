@@ -13,6 +13,8 @@ import edu.wpi.first.units.measure.AngularVelocity;
 import edu.wpi.first.units.measure.MutAngle;
 import frc.robot.TestModeManager;
 import frc.robot.constants.JsonConstants;
+import frc.robot.util.LoopTimeProfiler;
+import frc.robot.util.LoopTimeProfiler.Section;
 import org.littletonrobotics.junction.Logger;
 
 /**
@@ -97,8 +99,10 @@ public class WristMechanism {
     io.updateInputs(inputs);
     io.applyOutputs(outputs);
 
+    long processInputsStart = LoopTimeProfiler.start();
     Logger.processInputs("wrist/inputs", inputs);
     Logger.processInputs("wrist/outputs", outputs);
+    LoopTimeProfiler.stop(Section.ProcessInputs, processInputsStart);
   }
 
   public void setBrakeMode(boolean brake) {
@@ -0,0 +1,189 @@
+package frc.robot.subsystems.scoring.sim;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.system.plant.DCMotor;
+
+/**
+ * Pure-Java model of the elevator: a carriage lifted by a spool against gravity, with the two
+ * CANcoders geared off the spool so their absolute positions can be combined with CRT.
+ *
+ * <p>Each call to a step method advances the model by one small time step with a constant input.
+ * Callers run several steps per robot loop so the model stays stable and the emulated motor
+ * controller can run at its real rate.
+ */
+public class ElevatorPlant {
+  private static final double GRAVITY_METERS_PER_SECOND_SQUARED = 9.8;
+
+  private final MotorModel motors;
+  private final double reduction;
+  private final double carriageMassKg;
+  private final double metersPerSpoolRotation;
+  private final double minHeightMeters;
+  private final double maxHeightMeters;
+
+  private final double largeEncoderRotationsPerSpoolRotation;
+  private final double smallEncoderRotationsPerSpoolRotation;
+
+  private double heightMeters;
+  private double velocityMetersPerSecond = 0.0;
+
+  // Offsets from the encoders' absolute positions to the positions they report, set by
+  // setLargeEncoderPosition and setSmallEncoderPosition
+  private double largeEncoderOffsetRotations = 0.0;
+  private double smallEncoderOffsetRotations = 0.0;
+
+  /**
+   * @param motor model of one elevator motor
+   * @param motorCount number of motors driving the spool
+   * @param reduction motor rotations per spool rotation
+   * @param carriageMassKg mass lifted by the spool
+   * @param metersPerSpoolRotation elevator travel per spool rotation
+   * @param minHeightMeters lowest the elevator can go
+   * @param maxHeightMeters highest the elevator can go
+   * @param spoolTeeth teeth on the spool gear driving the encoders
+   * @param largeEncoderTeeth teeth on the large encoder's gear
+   * @param smallEncoderTeeth teeth on the small encoder's gear
+   * @param startingHeightMeters initial height
+   */
+  public ElevatorPlant(
+      DCMotor motor,
+      int motorCount,
+      double reduction,
+      double carriageMassKg,
+      double metersPerSpoolRotation,
+      double minHeightMeters,
+      double maxHeightMeters,
+      int spoolTeeth,
+      int largeEncoderTeeth,
+      int smallEncoderTeeth,
+      double startingHeightMeters) {
+    this.motors = new MotorModel(motor, motorCount);
+    this.reduction = reduction;
+    this.carriageMassKg = carriageMassKg;
+    this.metersPerSpoolRotation = metersPerSpoolRotation;
+    this.minHeightMeters = minHeightMeters;
+    this.maxHeightMeters = maxHeightMeters;
+
+    largeEncoderRotationsPerSpoolRotation = (double) spoolTeeth / (double) largeEncoderTeeth;
+    smallEncoderRotationsPerSpoolRotation = (double) spoolTeeth / (double) smallEncoderTeeth;
+
+    heightMeters = MathUtil.clamp(startingHeightMeters, minHeightMeters, maxHeightMeters);
+  }
+
+  public void setStatorCurrentLimit(double amps) {
+    motors.setStatorCurrentLimit(amps);
+  }
+
+  public void setBrakeMode(boolean brakeMode) {
+    motors.setBrakeMode(brakeMode);
+  }
+
+  /** Step the elevator with every motor applying a voltage. */
+  public void stepVoltage(double volts, double batteryVolts, double dtSeconds) {
+    step(motors.applyVoltage(volts, getRotorVelocityRadPerSec(), batteryVolts), dtSeconds);
+  }
+
+  /** Step the elevator with every motor commanded to a torque current. */
+  public void stepTorqueCurrent(double amps, double batteryVolts, double dtSeconds) {
+    step(motors.applyTorqueCurrent(amps, getRotorVelocityRadPerSec(), batteryVolts), dtSeconds);
+  }
+
+  private void step(double rotorTorqueNewtonMeters, double dtSeconds) {
+    double spoolRadius = metersPerSpoolRotation / (2.0 * Math.PI);
+    double liftForceNewtons = rotorTorqueNewtonMeters * reduction / spoolRadius;
+    double acceleration = liftForceNewtons / carriageMassKg - GRAVITY_METERS_PER_SECOND_SQUARED;
+
+    // Semi-implicit Euler is plenty at 1 kHz
+    velocityMetersPerSecond += acceleration * dtSeconds;
+    heightMeters += velocityMetersPerSecond * dtSeconds;
+
+    // Hard stops at either end of travel
+    if (heightMeters <= minHeightMeters) {
+      heightMeters = minHeightMeters;
+      velocityMetersPerSecond = Math.max(velocityMetersPerSecond, 0.0);
+    } else if (heightMeters >= maxHeightMeters) {
+      heightMeters = maxHeightMeters;
+      velocityMetersPerSecond = Math.min(velocityMetersPerSecond, 0.0);
+    }
+  }
+
+  private double getRotorVelocityRadPerSec() {
+    return getSpoolVelocityRotationsPerSecond() * reduction * 2.0 * Math.PI;
+  }
+
+  public double getHeightMeters() {
+    return heightMeters;
+  }
+
+  public double getVelocityMetersPerSecond() {
+    return velocityMetersPerSecond;
+  }
+
+  public double getSpoolRotations() {
+    return heightMeters / metersPerSpoolRotation;
+  }
+
+  public double getSpoolVelocityRotationsPerSecond() {
+    return velocityMetersPerSecond / metersPerSpoolRotation;
+  }
+
+  /** Position of the motor rotors, in rotations */
+  public double getMotorRotations() {
+    return getSpoolRotations() * reduction;
+  }
+
+  /** Position reported by the large encoder, which counts rotations from its last seed */
+  public double getLargeEncoderRotations() {
+    return getSpoolRotations() * largeEncoderRotationsPerSpoolRotation
+        + largeEncoderOffsetRotations;
+  }
+
+  /** Absolute position of the large encoder, in [0, 1) rotations */
+  public double getLargeEncoderAbsoluteRotations() {
+    return MathUtil.inputModulus(
+        getSpoolRotations() * largeEncoderRotationsPerSpoolRotation, 0.0, 1.0);
+  }
+
+  public double getLargeEncoderVelocityRotationsPerSecond() {
+    return getSpoolVelocityRotationsPerSecond() * largeEncoderRotationsPerSpoolRotation;
+  }
+
+  /** Make the large encoder report a new position without moving the elevator. */
+  public void setLargeEncoderPosition(double rotations) {
+    largeEncoderOffsetRotations =
+        rotations - getSpoolRotations() * largeEncoderRotationsPerSpoolRotation;
+  }
+
+  /** Position reported by the small encoder, which counts rotations from its last seed */
+  public double getSmallEncoderRotations() {
+    return getSpoolRotations() * smallEncoderRotationsPerSpoolRotation
+        + smallEncoderOffsetRotations;
+  }
+
+  /** Absolute position of the small encoder, in [0, 1) rotations */
+  public double getSmallEncoderAbsoluteRotations() {
+    return MathUtil.inputModulus(
+        getSpoolRotations() * smallEncoderRotationsPerSpoolRotation, 0.0, 1.0);
+  }
+
+  /** Make the small encoder report a new position without moving the elevator. */
+  public void setSmallEncoderPosition(double rotations) {
+    smallEncoderOffsetRotations =
+        rotations - getSpoolRotations() * smallEncoderRotationsPerSpoolRotation;
+  }
+
+  /** Stator current of each motor during the last step */
+  public double getStatorCurrentAmps() {
+    return motors.getStatorCurrentAmps();
+  }
+
+  /** Supply current of each motor during the last step */
+  public double getSupplyCurrentAmps() {
+    return motors.getSupplyCurrentAmps();
+  }
+
+  /** Voltage across each motor during the last step */
+  public double getAppliedVolts() {
+    return motors.getAppliedVolts();
+  }
+}
@@ -0,0 +1,183 @@
+package frc.robot.subsystems.scoring.sim;
+
+import edu.wpi.first.math.trajectory.ExponentialProfile;
+
+/**
+ * Java emulation of a TalonFX running Motion Magic Expo, for the pure-Java mechanism plants.
+ *
+ * <p>Like the TalonFX, this is meant to run at 1 kHz. Each step advances an exponential profile
+ * toward the goal and runs slot 0 gains on the new reference, so the output can be a voltage or a
+ * torque current depending on what the gains were tuned for. Positions are mechanism rotations, as
+ * seen by the TalonFX's feedback sensor.
+ */
+public class MotionMagicExpoSim {
+  /** Matches the Phoenix 6 GravityTypeValue the gains were tuned with */
+  public enum GravityType {
+    ElevatorStatic, // kG is constant
+    ArmCosine // kG is scaled by the cosine of the mechanism position, 0 being horizontal
+  }
+
+  /** Phoenix generates Expo profiles against a nominal 12 V, whatever the supply voltage */
+  private static final double PROFILE_VOLTS = 12.0;
+
+  /** Expo gains of zero mean "unlimited" to Phoenix, so stand in a tiny gain for them */
+  private static final double MIN_EXPO_GAIN = 1e-6;
+
+  private final GravityType gravityType;
+
+  private double kP = 0.0;
+  private double kI = 0.0;
+  private double kD = 0.0;
+  private double kS = 0.0;
+  private double kV = 0.0;
+  private double kA = 0.0;
+  private double kG = 0.0;
+
+  private ExponentialProfile profile;
+  private double cruiseVelocity = 0.0;
+
+  private boolean active = false;
+  private ExponentialProfile.State reference = new ExponentialProfile.State();
+  private final ExponentialProfile.State goal = new ExponentialProfile.State();
+  private double referenceAcceleration = 0.0;
+  private double errorIntegral = 0.0;
+
+  private double error = 0.0;
+  private double proportionalOutput = 0.0;
+  private double integratedOutput = 0.0;
+  private double derivativeOutput = 0.0;
+  private double output = 0.0;
+
+  public MotionMagicExpoSim(GravityType gravityType) {
+    this.gravityType = gravityType;
+    setProfile(0.0, 0.0, 0.0);
+  }
+
+  public void setPID(double kP, double kI, double kD) {
+    this.kP = kP;
+    this.kI = kI;
+    this.kD = kD;
+  }
+
+  public void setFF(double kS, double kV, double kA, double kG) {
+    this.kS = kS;
+    this.kV = kV;
+    this.kA = kA;
+    this.kG = kG;
+  }
+
+  /**
+   * Set the Motion Magic Expo profile constraints.
+   *
+   * @param cruiseVelocity maximum profile velocity in rotations per second, or 0 for no limit
+   * @param expoKV profile kV in volts per rotation per second
+   * @param expoKA profile kA in volts per rotation per second squared
+   */
+  public void setProfile(double cruiseVelocity, double expoKV, double expoKA) {
+    this.cruiseVelocity = cruiseVelocity;
+    profile =
+        new ExponentialProfile(
+            ExponentialProfile.Constraints.fromCharacteristics(
+                PROFILE_VOLTS,
+                Math.max(expoKV, MIN_EXPO_GAIN),
+                Math.max(expoKA, MIN_EXPO_GAIN)));
+  }
+
+  /**
+   * Stops following the current profile. The next call to {@link #calculate} starts a new profile
+   * from wherever the mechanism is, as the TalonFX does when a Motion Magic request is applied
+   * after some other control.
+   */
+  public void reset() {
+    active = false;
+  }
+
+  /**
+   * Advance the profile by one step and calculate the closed-loop output.
+   *
+   * @param goalPosition position to profile toward, in rotations
+   * @param position measured position, in rotations
+   * @param velocity measured velocity, in rotations per second
+   * @param dtSeconds time since the last step
+   * @return the closed-loop output, in whatever unit the gains produce
+   */
+  public double calculate(double goalPosition, double position, double velocity, double dtSeconds) {
+    if (!active) {
+      reference = new ExponentialProfile.State(position, velocity);
+      errorIntegral = 0.0;
+      active = true;
+    }
+
+    goal.position = goalPosition;
+    goal.velocity = 0.0;
+    ExponentialProfile.State next = profile.calculate(dtSeconds, reference, goal);
+
+    // The exponential profile has no velocity limit of its own, so cruise by holding the
+    // velocity and let the profile take over again once it needs to slow down
+    if (cruiseVelocity > 0.0 && Math.abs(next.velocity) > cruiseVelocity) {
+      next.velocity = Math.copySign(cruiseVelocity, next.velocity);
+      next.position = reference.position + next.velocity * dtSeconds;
+    }
+
+    referenceAcceleration = (next.velocity - reference.velocity) / dtSeconds;
+    reference = next;
+
+    error = reference.position - position;
+    errorIntegral += error * dtSeconds;
+
+    proportionalOutput = kP * error;
+    integratedOutput = kI * errorIntegral;
+    derivativeOutput = kD * (reference.velocity - velocity);
+
+    double feedforward =
+        kS * Math.signum(reference.velocity)
+            + kV * reference.velocity
+            + kA * referenceAcceleration
+            + gravityFeedforward(position);
+
+    output = feedforward + proportionalOutput + integratedOutput + derivativeOutput;
+    return output;
+  }
+
+  private double gravityFeedforward(double position) {
+    switch (gravityType) {
+      case ArmCosine:
+        return kG * Math.cos(position * 2.0 * Math.PI);
+      case ElevatorStatic:
+      default:
+        return kG;
+    }
+  }
+
+  /** Position of the profile at the last step, in rotations */
+  public double getReferencePosition() {
+    return reference.position;
+  }
+
+  /** Velocity of the profile at the last step, in rotations per second */
+  public double getReferenceVelocity() {
+    return reference.velocity;
+  }
+
+  /** Profile position minus measured position at the last step, in rotations */
+  public double getError() {
+    return error;
+  }
+
+  public double getProportionalOutput() {
+    return proportionalOutput;
+  }
+
+  public double getIntegratedOutput() {
+    return integratedOutput;
+  }
+
+  public double getDerivativeOutput() {
+    return derivativeOutput;
+  }
+
+  /** Total closed-loop output at the last step */
+  public double getOutput() {
+    return output;
+  }
+}
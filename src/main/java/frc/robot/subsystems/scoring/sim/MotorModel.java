@@ -0,0 +1,98 @@
+package frc.robot.subsystems.scoring.sim;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.system.plant.DCMotor;
+
+/**
+ * Electrical model of one or more identical motors driving the same shaft, shared by the mechanism
+ * plants. Turns a voltage or torque-current request into rotor torque, applying the stator current
+ * limit, the battery's voltage limit and the neutral mode the way a TalonFX would.
+ */
+final class MotorModel {
+  private final DCMotor motor;
+  private final int motorCount;
+
+  private double statorCurrentLimitAmps = Double.POSITIVE_INFINITY;
+  private boolean brakeMode = true;
+
+  private double statorCurrentAmps = 0.0;
+  private double supplyCurrentAmps = 0.0;
+  private double appliedVolts = 0.0;
+
+  /**
+   * @param motor model of a single motor, without any reduction
+   * @param motorCount how many of these motors drive the shaft, each with the same output
+   */
+  MotorModel(DCMotor motor, int motorCount) {
+    this.motor = motor;
+    this.motorCount = motorCount;
+  }
+
+  void setStatorCurrentLimit(double amps) {
+    statorCurrentLimitAmps = amps;
+  }
+
+  void setBrakeMode(boolean brakeMode) {
+    this.brakeMode = brakeMode;
+  }
+
+  /**
+   * Applies a voltage to every motor.
+   *
+   * @param volts requested voltage, limited to the battery voltage
+   * @param rotorVelocityRadPerSec current rotor speed
+   * @param batteryVolts current battery voltage
+   * @return total torque of all motors at the rotor, in newton meters
+   */
+  double applyVoltage(double volts, double rotorVelocityRadPerSec, double batteryVolts) {
+    volts = MathUtil.clamp(volts, -batteryVolts, batteryVolts);
+    if (volts == 0.0 && !brakeMode) {
+      // Coasting leaves the windings open, so no current flows
+      return applyStatorCurrent(0.0, rotorVelocityRadPerSec, batteryVolts);
+    }
+    return applyStatorCurrent(
+        motor.getCurrent(rotorVelocityRadPerSec, volts), rotorVelocityRadPerSec, batteryVolts);
+  }
+
+  /**
+   * Commands a torque current to every motor, as TorqueCurrentFOC does.
+   *
+   * @param amps requested stator current per motor
+   * @param rotorVelocityRadPerSec current rotor speed
+   * @param batteryVolts current battery voltage
+   * @return total torque of all motors at the rotor, in newton meters
+   */
+  double applyTorqueCurrent(double amps, double rotorVelocityRadPerSec, double batteryVolts) {
+    // The motor can't push more current than the battery can drive against back-EMF
+    double backEmfVolts = rotorVelocityRadPerSec / motor.KvRadPerSecPerVolt;
+    double maxAmps = (batteryVolts - backEmfVolts) / motor.rOhms;
+    double minAmps = (-batteryVolts - backEmfVolts) / motor.rOhms;
+    return applyStatorCurrent(
+        MathUtil.clamp(amps, minAmps, maxAmps), rotorVelocityRadPerSec, batteryVolts);
+  }
+
+  private double applyStatorCurrent(
+      double amps, double rotorVelocityRadPerSec, double batteryVolts) {
+    statorCurrentAmps = MathUtil.clamp(amps, -statorCurrentLimitAmps, statorCurrentLimitAmps);
+    appliedVolts =
+        statorCurrentAmps * motor.rOhms + rotorVelocityRadPerSec / motor.KvRadPerSecPerVolt;
+    supplyCurrentAmps = batteryVolts > 0.0 ? statorCurrentAmps * appliedVolts / batteryVolts : 0.0;
+
+    return motorCount * motor.KtNMPerAmp * statorCurrentAmps;
+  }
+
+  /** Stator current of each motor during the last step */
+  double getStatorCurrentAmps() {
+    return statorCurrentAmps;
+  }
+
+  /** Supply current of each motor during the last step */
+  double getSupplyCurrentAmps() {
+    return supplyCurrentAmps;
+  }
+
+  /** Voltage across each motor during the last step */
+  double getAppliedVolts() {
+    return appliedVolts;
+  }
+}
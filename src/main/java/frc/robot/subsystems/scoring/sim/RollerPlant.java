@@ -0,0 +1,101 @@
+package frc.robot.subsystems.scoring.sim;
+
+import edu.wpi.first.math.system.plant.DCMotor;
+
+/**
+ * Pure-Java model of a set of rollers on a geared motor. A game piece in contact with the rollers
+ * drags on them with a constant friction torque, and a piece pinned against a hard stop stalls
+ * them, so the motor current reflects what the rollers are holding.
+ *
+ * <p>Like {@link ElevatorPlant}, each step advances the model by one small time step.
+ */
+public class RollerPlant {
+  private final MotorModel motor;
+  private final double reduction;
+  private final double momentOfInertiaKgM2;
+
+  private double positionRad = 0.0;
+  private double velocityRadPerSec = 0.0;
+
+  /**
+   * @param motor model of the roller motor
+   * @param reduction motor rotations per roller rotation
+   * @param momentOfInertiaKgM2 moment of inertia of the rollers
+   */
+  public RollerPlant(DCMotor motor, double reduction, double momentOfInertiaKgM2) {
+    this.motor = new MotorModel(motor, 1);
+    this.reduction = reduction;
+    this.momentOfInertiaKgM2 = momentOfInertiaKgM2;
+  }
+
+  public void setStatorCurrentLimit(double amps) {
+    motor.setStatorCurrentLimit(amps);
+  }
+
+  public void setBrakeMode(boolean brakeMode) {
+    motor.setBrakeMode(brakeMode);
+  }
+
+  /**
+   * Step the rollers with the motor applying a voltage.
+   *
+   * @param volts voltage requested of the motor
+   * @param batteryVolts current battery voltage
+   * @param contactFrictionNewtonMeters friction torque from a game piece touching the rollers, or 0
+   *     if there isn't one
+   * @param reverseBlocked true if a game piece is pinned so the rollers can't turn backwards
+   * @param dtSeconds length of the step
+   */
+  public void stepVoltage(
+      double volts,
+      double batteryVolts,
+      double contactFrictionNewtonMeters,
+      boolean reverseBlocked,
+      double dtSeconds) {
+    double driveTorque =
+        motor.applyVoltage(volts, velocityRadPerSec * reduction, batteryVolts) * reduction;
+
+    double lastVelocity = velocityRadPerSec;
+    if (lastVelocity == 0.0 && Math.abs(driveTorque) <= contactFrictionNewtonMeters) {
+      // Static friction holds the rollers still
+      velocityRadPerSec = 0.0;
+    } else {
+      double frictionSign =
+          lastVelocity != 0.0 ? Math.signum(lastVelocity) : Math.signum(driveTorque);
+      double netTorque = driveTorque - frictionSign * contactFrictionNewtonMeters;
+      velocityRadPerSec += netTorque / momentOfInertiaKgM2 * dtSeconds;
+
+      // Friction can stop the rollers but can't spin them the other way
+      if (lastVelocity != 0.0 && Math.signum(velocityRadPerSec) != Math.signum(lastVelocity)) {
+        velocityRadPerSec = 0.0;
+      }
+    }
+
+    if (reverseBlocked && velocityRadPerSec < 0.0) {
+      velocityRadPerSec = 0.0;
+    }
+
+    positionRad += velocityRadPerSec * dtSeconds;
+  }
+
+  /** Position of the rollers, in rotations */
+  public double getPositionRotations() {
+    return positionRad / (2.0 * Math.PI);
+  }
+
+  public double getVelocityRotationsPerSecond() {
+    return velocityRadPerSec / (2.0 * Math.PI);
+  }
+
+  public double getStatorCurrentAmps() {
+    return motor.getStatorCurrentAmps();
+  }
+
+  public double getSupplyCurrentAmps() {
+    return motor.getSupplyCurrentAmps();
+  }
+
+  public double getAppliedVolts() {
+    return motor.getAppliedVolts();
+  }
+}
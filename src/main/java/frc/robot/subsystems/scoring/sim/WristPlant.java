@@ -0,0 +1,109 @@
+package frc.robot.subsystems.scoring.sim;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.system.plant.DCMotor;
+
+/**
+ * Pure-Java model of the wrist: an arm on a geared motor, pulled down by gravity and stopped at
+ * either end of its range. Angles are measured from horizontal, as the wrist CANcoder sees them.
+ *
+ * <p>Like {@link ElevatorPlant}, each step method advances the model by one small time step.
+ */
+public class WristPlant {
+  private static final double GRAVITY_METERS_PER_SECOND_SQUARED = 9.8;
+
+  private final MotorModel motor;
+  private final double reduction;
+  private final double momentOfInertiaKgM2;
+  private final double armLengthMeters;
+  private final double minAngleRad;
+  private final double maxAngleRad;
+
+  private double angleRad;
+  private double velocityRadPerSec = 0.0;
+
+  /**
+   * @param motor model of the wrist motor
+   * @param reduction motor rotations per wrist rotation
+   * @param momentOfInertiaKgM2 moment of inertia of the wrist about its pivot
+   * @param armLengthMeters length of the wrist, used to work out the torque from gravity
+   * @param minAngleRad lowest the wrist can go
+   * @param maxAngleRad highest the wrist can go
+   * @param startingAngleRad initial angle
+   */
+  public WristPlant(
+      DCMotor motor,
+      double reduction,
+      double momentOfInertiaKgM2,
+      double armLengthMeters,
+      double minAngleRad,
+      double maxAngleRad,
+      double startingAngleRad) {
+    this.motor = new MotorModel(motor, 1);
+    this.reduction = reduction;
+    this.momentOfInertiaKgM2 = momentOfInertiaKgM2;
+    this.armLengthMeters = armLengthMeters;
+    this.minAngleRad = minAngleRad;
+    this.maxAngleRad = maxAngleRad;
+
+    angleRad = MathUtil.clamp(startingAngleRad, minAngleRad, maxAngleRad);
+  }
+
+  public void setStatorCurrentLimit(double amps) {
+    motor.setStatorCurrentLimit(amps);
+  }
+
+  public void setBrakeMode(boolean brakeMode) {
+    motor.setBrakeMode(brakeMode);
+  }
+
+  /** Step the wrist with the motor applying a voltage. */
+  public void stepVoltage(double volts, double batteryVolts, double dtSeconds) {
+    double rotorTorque =
+        motor.applyVoltage(volts, velocityRadPerSec * reduction, batteryVolts) * reduction;
+
+    // Gravity on a uniform rod pivoting at one end, as in WPILib's SingleJointedArmSim
+    double gravityAcceleration =
+        -GRAVITY_METERS_PER_SECOND_SQUARED * 3.0 / (2.0 * armLengthMeters) * Math.cos(angleRad);
+    double acceleration = rotorTorque / momentOfInertiaKgM2 + gravityAcceleration;
+
+    velocityRadPerSec += acceleration * dtSeconds;
+    angleRad += velocityRadPerSec * dtSeconds;
+
+    if (angleRad <= minAngleRad) {
+      angleRad = minAngleRad;
+      velocityRadPerSec = Math.max(velocityRadPerSec, 0.0);
+    } else if (angleRad >= maxAngleRad) {
+      angleRad = maxAngleRad;
+      velocityRadPerSec = Math.min(velocityRadPerSec, 0.0);
+    }
+  }
+
+  public double getAngleRad() {
+    return angleRad;
+  }
+
+  public double getVelocityRadPerSec() {
+    return velocityRadPerSec;
+  }
+
+  public double getAngleRotations() {
+    return angleRad / (2.0 * Math.PI);
+  }
+
+  public double getVelocityRotationsPerSecond() {
+    return velocityRadPerSec / (2.0 * Math.PI);
+  }
+
+  public double getStatorCurrentAmps() {
+    return motor.getStatorCurrentAmps();
+  }
+
+  public double getSupplyCurrentAmps() {
+    return motor.getSupplyCurrentAmps();
+  }
+
+  public double getAppliedVolts() {
+    return motor.getAppliedVolts();
+  }
+}
@@ -0,0 +1,257 @@
+package frc.robot.util;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.CANBus;
+import com.ctre.phoenix6.StatusCode;
+import com.ctre.phoenix6.hardware.ParentDevice;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * Project-wide registry of the Phoenix status signals read by the robot code.
+ *
+ * <p>Each IO registers the signals it reads, with the rate it wants them at, when it is
+ * constructed. The registry sets their update frequencies, and {@link #optimizeBusUtilization()}
+ * then turns off every signal that no one registered. Once per loop, {@link #refreshAll()}
+ * refreshes every registered signal with one batched {@link BaseStatusSignal#refreshAll} per CAN
+ * bus, so IOs read values with {@code getValue()} instead of refreshing signals one at a time.
+ *
+ * <p>Diagnostic signals, which are only logged and never used for control, are registered with
+ * {@link #registerDiagnostic}. They all share one rate, set by {@link
+ * #setDiagnosticFrequency(double)}, and are left out of the refresh while that rate is 0 Hz.
+ *
+ * <p>Bus utilization and the age of every signal are published under {@code CAN/<bus>/}, one bus
+ * per loop in rotation. The registry is only meant to be used from the main robot thread.
+ */
+public final class CANSignalRegistry {
+  /** A signal is counted as stale once it is this many update periods old. */
+  private static final double STALE_PERIODS = 3.0;
+
+  /** The signals registered together by one IO, used to check that they are all being received. */
+  public static final class SignalGroup {
+    private final BaseStatusSignal[] signals;
+
+    private SignalGroup(BaseStatusSignal[] signals) {
+      this.signals = signals;
+    }
+
+    /**
+     * Check the signals as of the last {@link CANSignalRegistry#refreshAll()}.
+     *
+     * @return true if every signal in the group was refreshed without error
+     */
+    public boolean isAllGood() {
+      return BaseStatusSignal.isAllGood(signals);
+    }
+  }
+
+  /** A signal registered with the registry. */
+  private record Entry(
+      String name, double frequencyHz, boolean diagnostic, BaseStatusSignal signal) {}
+
+  /** The signals registered on one CAN bus, refreshed together. */
+  private static final class Bus {
+    private final String name;
+    private final CANBus canBus;
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    // The signals currently being refreshed, rebuilt when the diagnostic rate changes
+    private BaseStatusSignal[] signals = new BaseStatusSignal[0];
+    private String[] signalNames = new String[0];
+    private double[] periodsSeconds = new double[0];
+
+    private final String utilizationKey;
+    private final String activeSignalsKey;
+    private final String refreshStatusKey;
+    private final String signalNamesKey;
+    private final String signalAgesKey;
+    private final String staleSignalsKey;
+
+    private Bus(String name) {
+      this.name = name;
+      this.canBus = new CANBus(name);
+
+      String prefix = "CAN/" + (name.isEmpty() ? "rio" : name) + "/";
+      utilizationKey = prefix + "Utilization";
+      activeSignalsKey = prefix + "ActiveSignals";
+      refreshStatusKey = prefix + "RefreshStatus";
+      signalNamesKey = prefix + "SignalNames";
+      signalAgesKey = prefix + "SignalAgesMs";
+      staleSignalsKey = prefix + "StaleSignals";
+    }
+
+    /** Rebuild the refreshed signals, leaving out diagnostics while they are paused. */
+    private void rebuild() {
+      int count = 0;
+      for (Entry entry : entries) {
+        if (!entry.diagnostic() || diagnosticFrequencyHz > 0.0) {
+          count++;
+        }
+      }
+
+      signals = new BaseStatusSignal[count];
+      signalNames = new String[count];
+      periodsSeconds = new double[count];
+
+      int i = 0;
+      for (Entry entry : entries) {
+        if (!entry.diagnostic() || diagnosticFrequencyHz > 0.0) {
+          double frequencyHz = entry.diagnostic() ? diagnosticFrequencyHz : entry.frequencyHz();
+          signals[i] = entry.signal();
+          signalNames[i] = entry.name();
+          periodsSeconds[i] = 1.0 / frequencyHz;
+          i++;
+        }
+      }
+    }
+  }
+
+  private static final List<Bus> buses = new ArrayList<>();
+  private static final List<ParentDevice> devices = new ArrayList<>();
+
+  // Status of each bus's last refresh, in the same order as buses
+  private static StatusCode[] refreshStatuses = new StatusCode[0];
+  private static int publishIndex = 0;
+
+  // Rate shared by every diagnostic signal, 0 Hz while they are paused
+  private static double diagnosticFrequencyHz = 0.0;
+
+  private CANSignalRegistry() {}
+
+  /**
+   * Register signals of a device to be refreshed every loop.
+   *
+   * @param name name to publish the signals under, e.g. "Elevator/LeadMotor"
+   * @param device the device the signals belong to
+   * @param frequencyHz rate the device should send the signals at
+   * @param signals the signals to register
+   * @return a group of the signals, to check whether they are being received
+   */
+  public static SignalGroup register(
+      String name, ParentDevice device, double frequencyHz, BaseStatusSignal... signals) {
+    BaseStatusSignal.setUpdateFrequencyForAll(frequencyHz, signals);
+    add(name, device, frequencyHz, false, signals);
+    return new SignalGroup(signals);
+  }
+
+  /**
+   * Register diagnostic signals of a device, which are only logged and never used for control.
+   * They are sent at the rate set by {@link #setDiagnosticFrequency(double)}, and keep their last
+   * values while paused.
+   *
+   * @param name name to publish the signals under, e.g. "Elevator/LeadMotor"
+   * @param device the device the signals belong to
+   * @param signals the signals to register
+   */
+  public static void registerDiagnostic(
+      String name, ParentDevice device, BaseStatusSignal... signals) {
+    BaseStatusSignal.setUpdateFrequencyForAll(diagnosticFrequencyHz, signals);
+    add(name, device, diagnosticFrequencyHz, true, signals);
+  }
+
+  /**
+   * Change the rate of every diagnostic signal. This doesn't wait for the devices to apply the new
+   * rate, so it is safe to call from the robot loop.
+   *
+   * @param frequencyHz new rate for diagnostic signals, or 0 to pause them
+   */
+  public static void setDiagnosticFrequency(double frequencyHz) {
+    if (frequencyHz == diagnosticFrequencyHz) {
+      return;
+    }
+    diagnosticFrequencyHz = frequencyHz;
+
+    for (Bus bus : buses) {
+      for (Entry entry : bus.entries) {
+        if (entry.diagnostic()) {
+          entry.signal().setUpdateFrequency(frequencyHz, 0.0);
+        }
+      }
+      bus.rebuild();
+    }
+  }
+
+  /**
+   * Check whether diagnostic signals are being sent, so that IOs can skip logging them otherwise.
+   *
+   * @return true if the diagnostic rate is above 0 Hz
+   */
+  public static boolean areDiagnosticsEnabled() {
+    return diagnosticFrequencyHz > 0.0;
+  }
+
+  private static void add(
+      String name,
+      ParentDevice device,
+      double frequencyHz,
+      boolean diagnostic,
+      BaseStatusSignal[] signals) {
+    Bus bus = getBus(device.getNetwork());
+    for (BaseStatusSignal signal : signals) {
+      bus.entries.add(new Entry(name + "/" + signal.getName(), frequencyHz, diagnostic, signal));
+    }
+    bus.rebuild();
+
+    if (!devices.contains(device)) {
+      devices.add(device);
+    }
+  }
+
+  /**
+   * Disable every status signal of the registered devices that wasn't registered. This should be
+   * called once, after all IOs have been constructed.
+   */
+  public static void optimizeBusUtilization() {
+    if (!devices.isEmpty()) {
+      ParentDevice.optimizeBusUtilizationForAll(devices.toArray(new ParentDevice[0]));
+    }
+  }
+
+  /** Refresh all registered signals, once per bus, and publish one bus's metrics. */
+  public static void refreshAll() {
+    for (int i = 0; i < buses.size(); i++) {
+      refreshStatuses[i] = BaseStatusSignal.refreshAll(buses.get(i).signals);
+    }
+
+    if (!buses.isEmpty()) {
+      publishIndex = (publishIndex + 1) % buses.size();
+      publish(buses.get(publishIndex), refreshStatuses[publishIndex]);
+    }
+  }
+
+  private static Bus getBus(String name) {
+    for (Bus bus : buses) {
+      if (bus.name.equals(name)) {
+        return bus;
+      }
+    }
+
+    Bus bus = new Bus(name);
+    buses.add(bus);
+    refreshStatuses = Arrays.copyOf(refreshStatuses, buses.size());
+    return bus;
+  }
+
+  private static void publish(Bus bus, StatusCode refreshStatus) {
+    // Fresh arrays are required because AdvantageKit keeps references to logged arrays
+    double[] agesMs = new double[bus.signals.length];
+    int staleSignals = 0;
+    for (int i = 0; i < bus.signals.length; i++) {
+      double ageSeconds = bus.signals[i].getTimestamp().getLatency();
+      agesMs[i] = ageSeconds * 1000.0;
+      if (ageSeconds > STALE_PERIODS * bus.periodsSeconds[i]) {
+        staleSignals++;
+      }
+    }
+
+    Logger.recordOutput(bus.utilizationKey, bus.canBus.getStatus().BusUtilization);
+    Logger.recordOutput(bus.activeSignalsKey, bus.signals.length);
+    Logger.recordOutput(bus.refreshStatusKey, refreshStatus.getName());
+    Logger.recordOutput(bus.signalNamesKey, bus.signalNames);
+    Logger.recordOutput(bus.signalAgesKey, agesMs);
+    Logger.recordOutput(bus.staleSignalsKey, staleSignals);
+  }
+}
@@ -7,7 +7,16 @@ import com.pathplanner.lib.path.PathPoint;
 import com.pathplanner.lib.pathfinding.LocalADStar;
 import com.pathplanner.lib.pathfinding.Pathfinder;
 import edu.wpi.first.math.Pair;
+import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.wpilibj.DriverStation;
+import frc.robot.constants.JsonConstants;
+import frc.robot.util.LoopTimeProfiler.Section;
+import frc.robot.util.pathfinding.DStarLitePathfinder;
+import frc.robot.util.pathfinding.NavGrid;
+import frc.robot.util.pathfinding.OTFPathCache;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -21,6 +30,81 @@ import org.littletonrobotics.junction.inputs.LoggableInputs;
 public class LocalADStarAK implements Pathfinder {
   private final ADStarIO io = new ADStarIO();
 
+  private int pathCacheHits = 0;
+  private int pathCacheMisses = 0;
+  private long goalSetNanos = 0;
+  private boolean waitingForFirstPath = false;
+
+  // NaN until the cache thread is done, then how long the cache took to build, or 0 if loaded
+  private volatile double pathCacheBuildMillis = Double.NaN;
+
+  /**
+   * Loads the precomputed OTF path cache from the temp directory, or builds it on a background
+   * thread and saves it there if it is missing or out of date. It is kept out of the deploy
+   * directory, which is the source tree in sim. The robot boots disabled, so calling this from a
+   * constructor builds the cache before it's needed. Until the cache is ready, every pathfind goes
+   * to LocalADStar as before.
+   *
+   * @param goals the OTF targets to cache paths to
+   */
+  public void startPathCache(List<Translation2d> goals) {
+    if (Logger.hasReplaySource()) {
+      // Replay reads paths from the log, so the cache would never be used
+      return;
+    }
+
+    Thread thread = new Thread(() -> loadOrBuildPathCache(goals), "OTFPathCache");
+    thread.setDaemon(true);
+    thread.setPriority(Thread.MIN_PRIORITY);
+    thread.start();
+  }
+
+  private void loadOrBuildPathCache(List<Translation2d> goals) {
+    Path cacheFile = Path.of(System.getProperty("java.io.tmpdir"), "otfcache.bin");
+    try {
+      NavGrid grid = NavGrid.loadFromDeploy();
+      OTFPathCache cache = OTFPathCache.loadIfCurrent(cacheFile, grid, goals);
+      double buildMillis = 0.0;
+      if (cache == null) {
+        long buildStart = System.nanoTime();
+        cache = OTFPathCache.build(grid, goals);
+        buildMillis = (System.nanoTime() - buildStart) / 1e6;
+        try {
+          cache.save(cacheFile);
+        } catch (IOException e) {
+          DriverStation.reportWarning("Failed to save OTF path cache: " + e.getMessage(), false);
+        }
+      }
+      io.pathCache = cache;
+      pathCacheBuildMillis = buildMillis;
+    } catch (IOException e) {
+      DriverStation.reportWarning("Failed to load OTF path cache: " + e.getMessage(), false);
+    }
+  }
+
+  /**
+   * Blocks until the path for the current goal has been calculated, or the timeout passes. This is
+   * for headless simulation, where the robot loop runs faster than real time and planning on the
+   * background thread would otherwise appear to take many loops.
+   *
+   * @param timeoutMillis longest time to wait, in wall-clock milliseconds
+   */
+  public void awaitPendingPath(long timeoutMillis) {
+    if (!waitingForFirstPath || io.cachedPath != null) {
+      return;
+    }
+
+    long deadline = System.nanoTime() + timeoutMillis * 1_000_000L;
+    while (!io.adStar.isNewPathAvailable() && System.nanoTime() < deadline) {
+      try {
+        Thread.sleep(1);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
   /**
    * Get if a new path has been calculated since the last time a path was retrieved
    *
@@ -32,7 +116,9 @@ public class LocalADStarAK implements Pathfinder {
       io.updateIsNewPathAvailable();
     }
 
+    long processInputsStart = LoopTimeProfiler.start();
     Logger.processInputs("LocalADStarAK", io);
+    LoopTimeProfiler.stop(Section.ProcessInputs, processInputsStart);
 
     return io.isNewPathAvailable;
   }
@@ -50,12 +136,20 @@ public class LocalADStarAK implements Pathfinder {
       io.updateCurrentPathPoints(constraints, goalEndState);
     }
 
+    long processInputsStart = LoopTimeProfiler.start();
     Logger.processInputs("LocalADStarAK", io);
+    LoopTimeProfiler.stop(Section.ProcessInputs, processInputsStart);
 
     if (io.currentPathPoints.isEmpty()) {
       return null;
     }
 
+    if (waitingForFirstPath && !Logger.hasReplaySource()) {
+      waitingForFirstPath = false;
+      Logger.recordOutput(
+          "LocalADStarAK/PathCache/TimeToFirstPathMs", (System.nanoTime() - goalSetNanos) / 1e6);
+    }
+
     return PathPlannerPath.fromPathPoints(io.currentPathPoints, constraints, goalEndState);
   }
 
@@ -69,6 +163,10 @@ public class LocalADStarAK implements Pathfinder {
   public void setStartPosition(Translation2d startPosition) {
     if (!Logger.hasReplaySource()) {
       io.adStar.setStartPosition(startPosition);
+      io.startPosition = startPosition;
+      if (io.cachedPath != null) {
+        io.lookUpCachedPath();
+      }
     }
   }
 
@@ -81,7 +179,24 @@ public class LocalADStarAK implements Pathfinder {
   @Override
   public void setGoalPosition(Translation2d goalPosition) {
     if (!Logger.hasReplaySource()) {
+      // LocalADStar always gets the request too, so it can take over on a miss or once dynamic
+      // obstacles are added
       io.adStar.setGoalPosition(goalPosition);
+      io.goalPosition = goalPosition;
+
+      boolean hit = io.lookUpCachedPath();
+      if (hit) {
+        pathCacheHits++;
+      } else {
+        pathCacheMisses++;
+      }
+      goalSetNanos = System.nanoTime();
+      waitingForFirstPath = true;
+
+      Logger.recordOutput("LocalADStarAK/PathCache/LastLookupHit", hit);
+      Logger.recordOutput("LocalADStarAK/PathCache/Hits", pathCacheHits);
+      Logger.recordOutput("LocalADStarAK/PathCache/Misses", pathCacheMisses);
+      Logger.recordOutput("LocalADStarAK/PathCache/BuildMs", pathCacheBuildMillis);
     }
   }
 
@@ -98,14 +213,31 @@ public class LocalADStarAK implements Pathfinder {
       List<Pair<Translation2d, Translation2d>> obs, Translation2d currentRobotPos) {
     if (!Logger.hasReplaySource()) {
       io.adStar.setDynamicObstacles(obs, currentRobotPos);
+      io.hasDynamicObstacles = !obs.isEmpty();
+      if (io.hasDynamicObstacles) {
+        io.cachedPath = null;
+      }
     }
   }
 
   private static class ADStarIO implements LoggableInputs {
-    public LocalADStar adStar = new LocalADStar();
+    public Pathfinder adStar =
+        JsonConstants.drivetrainConstants.useDStarLitePathfinder
+            ? new DStarLitePathfinder()
+            : new LocalADStar();
     public boolean isNewPathAvailable = false;
     public List<PathPoint> currentPathPoints = Collections.emptyList();
 
+    // Set once by the cache thread
+    public volatile OTFPathCache pathCache = null;
+    public boolean hasDynamicObstacles = false;
+    public Translation2d startPosition = new Translation2d();
+    public Translation2d goalPosition = new Translation2d();
+
+    // Non-null while the current request is being served from the cache instead of LocalADStar
+    public List<Pose2d> cachedPath = null;
+    public boolean isCachedPathNew = false;
+
     @Override
     public void toLog(LogTable table) {
       table.put("IsNewPathAvailable", isNewPathAvailable);
@@ -136,12 +268,39 @@ public class LocalADStarAK implements Pathfinder {
       currentPathPoints = pathPoints;
     }
 
+    /**
+     * Looks up a path for the current start and goal in the cache
+     *
+     * @return true if the path will be served from the cache
+     */
+    public boolean lookUpCachedPath() {
+      OTFPathCache cache = pathCache;
+      cachedPath =
+          cache != null && !hasDynamicObstacles
+              ? cache.findPath(startPosition, goalPosition)
+              : null;
+      isCachedPathNew = cachedPath != null;
+      return cachedPath != null;
+    }
+
     public void updateIsNewPathAvailable() {
-      isNewPathAvailable = adStar.isNewPathAvailable();
+      if (cachedPath != null) {
+        isNewPathAvailable = isCachedPathNew;
+      } else {
+        isNewPathAvailable = adStar.isNewPathAvailable();
+      }
     }
 
     public void updateCurrentPathPoints(PathConstraints constraints, GoalEndState goalEndState) {
-      PathPlannerPath currentPath = adStar.getCurrentPath(constraints, goalEndState);
+      PathPlannerPath currentPath;
+      if (cachedPath != null) {
+        isCachedPathNew = false;
+        currentPath =
+            new PathPlannerPath(
+                PathPlannerPath.waypointsFromPoses(cachedPath), constraints, null, goalEndState);
+      } else {
+        currentPath = adStar.getCurrentPath(constraints, goalEndState);
+      }
 
       if (currentPath != null) {
         currentPathPoints = currentPath.getAllPathPoints();
@@ -0,0 +1,75 @@
+package frc.robot.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs work that doesn't need the full robot loop rate at a fraction of it.
+ *
+ * <p>Control code (drive, scoring, climb and the command scheduler) runs every loop. Work that
+ * only feeds people, like LEDs, dashboard publishing and strategy I/O, is put in a slower group
+ * instead. Groups are counted in robot loops rather than wall-clock time, and everything runs on
+ * the main robot thread, so a replayed log runs each group on exactly the same loops as the robot
+ * did.
+ *
+ * <p>Slow tasks run after the scheduler, so they all see the state that every subsystem left at the
+ * end of the same loop.
+ */
+public final class LoopGroups {
+  /** Groups of work, by how often they run. */
+  public enum LoopGroup {
+    /** Every loop, 50 Hz. */
+    Control(1, 0),
+    /** Every fifth loop, 10 Hz. Offset so that it doesn't line up with other periodic work. */
+    Slow(5, 2);
+
+    private final int divisor;
+    private final int offset;
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    LoopGroup(int divisor, int offset) {
+      this.divisor = divisor;
+      this.offset = offset;
+    }
+  }
+
+  private static final LoopGroup[] GROUPS = LoopGroup.values();
+
+  private static long loopCount = 0;
+
+  private LoopGroups() {}
+
+  /**
+   * Add a task to run every time its group runs.
+   *
+   * @param group the group to run the task in
+   * @param task the task to run
+   */
+  public static void add(LoopGroup group, Runnable task) {
+    group.tasks.add(task);
+  }
+
+  /**
+   * Check whether a group runs this loop, for work that is called from a mode-specific method
+   * instead of being added as a task.
+   *
+   * @param group the group to check
+   * @return true if the group runs this loop
+   */
+  public static boolean isDue(LoopGroup group) {
+    return loopCount % group.divisor == group.offset;
+  }
+
+  /** Run the tasks of every group that is due this loop. Called once at the end of each loop. */
+  public static void run() {
+    for (LoopGroup group : GROUPS) {
+      if (isDue(group)) {
+        for (Runnable task : group.tasks) {
+          task.run();
+        }
+      }
+    }
+
+    loopCount++;
+  }
+}
@@ -0,0 +1,198 @@
+package frc.robot.util;
+
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * Always-on section timer for the main robot loop.
+ *
+ * <p>Code wraps a section of the loop with {@link #start()} and {@link #stop(Section, long)}; a
+ * section may be entered several times per loop and its times are summed. {@link #endLoop()} is
+ * called once at the end of robotPeriodic, and pushes every section's total for that loop into a
+ * rolling window. The window is kept as a log-linear histogram (exact below 16 us, within about 6%
+ * above), so percentiles never need a sort. To keep the per-loop cost flat, only one section's
+ * p50/p99/max is published each loop, in rotation, under {@code LoopTime/<section>/}.
+ *
+ * <p>Nothing here allocates after class initialization. The profiler is only meant to be used from
+ * the main robot thread.
+ */
+public final class LoopTimeProfiler {
+  /** Sections of the loop that are timed. Nested sections are also counted in their parent. */
+  public enum Section {
+    /** The batched refresh of every registered CAN signal, before the scheduler runs. */
+    CANRefresh("CANRefresh", false),
+    Scheduler("Scheduler", false),
+    /** Scheduler time not spent in a timed subsystem: button polling and commands. */
+    Commands("Commands", false),
+    Drive("Drive", true),
+    DriveInputs("Drive/Inputs", false),
+    DriveStateMachine("Drive/StateMachine", false),
+    DriveOdometry("Drive/Odometry", false),
+    Scoring("Scoring", true),
+    ScoringStateMachine("Scoring/StateMachine", false),
+    ScoringMechanisms("Scoring/Mechanisms", false),
+    ScoringClamps("Scoring/Clamps", false),
+    Climb("Climb", true),
+    ClimbStateMachine("Climb/StateMachine", false),
+    Ramp("Ramp", true),
+    RampStateMachine("Ramp/StateMachine", false),
+    Vision("Vision", true),
+    StrategyManager("StrategyManager", false),
+    /** The slow loop group, after the scheduler. Only runs on some loops. */
+    SlowGroup("SlowGroup", false),
+    /** Runs in the slow loop group, not the scheduler, so it counts toward SlowGroup. */
+    LED("LED", false),
+    /** Every Logger.processInputs call, across all subsystems. */
+    ProcessInputs("ProcessInputs", false),
+    /** Time spent in the previous loop's {@link LoopTimeProfiler#endLoop()}. */
+    Profiler("Profiler", false);
+
+    private final String name;
+    private final boolean scheduledSubsystem;
+
+    Section(String name, boolean scheduledSubsystem) {
+      this.name = name;
+      this.scheduledSubsystem = scheduledSubsystem;
+    }
+  }
+
+  /** Number of loops in the rolling window, 5 seconds at 50 Hz. */
+  private static final int WINDOW_LOOPS = 250;
+
+  // Histogram layout: one bucket per microsecond below 16 us, then 8 buckets per power of two
+  private static final int LINEAR_BUCKETS = 16;
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKET_COUNT = 160; // Covers up to about 2 seconds
+
+  private static final Section[] SECTIONS = Section.values();
+  private static final int SECTION_COUNT = SECTIONS.length;
+
+  private static final long[] loopNanos = new long[SECTION_COUNT];
+  private static final int[][] windowMicros = new int[SECTION_COUNT][WINDOW_LOOPS];
+  private static final int[][] bucketCounts = new int[SECTION_COUNT][BUCKET_COUNT];
+  private static int windowIndex = 0;
+  private static int windowFill = 0;
+  private static int publishIndex = 0;
+
+  private static final String[] p50Keys = new String[SECTION_COUNT];
+  private static final String[] p99Keys = new String[SECTION_COUNT];
+  private static final String[] maxKeys = new String[SECTION_COUNT];
+
+  static {
+    for (Section section : SECTIONS) {
+      String prefix = "LoopTime/" + section.name + "/";
+      p50Keys[section.ordinal()] = prefix + "P50Micros";
+      p99Keys[section.ordinal()] = prefix + "P99Micros";
+      maxKeys[section.ordinal()] = prefix + "MaxMicros";
+    }
+  }
+
+  private LoopTimeProfiler() {}
+
+  /** Returns the current time, to be passed to {@link #stop(Section, long)}. */
+  public static long start() {
+    return System.nanoTime();
+  }
+
+  /**
+   * Adds the time since {@code startNanos} to a section for the current loop.
+   *
+   * @param section the section that just finished
+   * @param startNanos the value returned by {@link #start()} when the section began
+   * @return the current time, so back-to-back sections can share one clock read
+   */
+  public static long stop(Section section, long startNanos) {
+    long now = System.nanoTime();
+    loopNanos[section.ordinal()] += now - startNanos;
+    return now;
+  }
+
+  /**
+   * Closes the current loop: records every section's total into the rolling window, resets the
+   * totals, and publishes the statistics of the next section in rotation.
+   */
+  public static void endLoop() {
+    long endLoopStart = System.nanoTime();
+
+    long subsystemNanos = 0;
+    for (Section section : SECTIONS) {
+      if (section.scheduledSubsystem) {
+        subsystemNanos += loopNanos[section.ordinal()];
+      }
+    }
+    loopNanos[Section.Commands.ordinal()] =
+        Math.max(0, loopNanos[Section.Scheduler.ordinal()] - subsystemNanos);
+
+    boolean windowFull = windowFill == WINDOW_LOOPS;
+    for (int i = 0; i < SECTION_COUNT; i++) {
+      int micros = (int) Math.min(loopNanos[i] / 1000, Integer.MAX_VALUE);
+      loopNanos[i] = 0;
+
+      if (windowFull) {
+        bucketCounts[i][bucketFor(windowMicros[i][windowIndex])]--;
+      }
+      windowMicros[i][windowIndex] = micros;
+      bucketCounts[i][bucketFor(micros)]++;
+    }
+    windowIndex = (windowIndex + 1) % WINDOW_LOOPS;
+    if (!windowFull) {
+      windowFill++;
+    }
+
+    publish(publishIndex);
+    publishIndex = (publishIndex + 1) % SECTION_COUNT;
+
+    loopNanos[Section.Profiler.ordinal()] = System.nanoTime() - endLoopStart;
+  }
+
+  private static void publish(int section) {
+    int[] counts = bucketCounts[section];
+    int p50Rank = (windowFill + 1) / 2;
+    int p99Rank = (int) Math.ceil(windowFill * 0.99);
+
+    int max = 0;
+    int[] micros = windowMicros[section];
+    for (int i = 0; i < windowFill; i++) {
+      max = Math.max(max, micros[i]);
+    }
+
+    double p50 = 0.0;
+    double p99 = 0.0;
+    int cumulative = 0;
+    for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+      int previous = cumulative;
+      cumulative += counts[bucket];
+      if (previous < p50Rank && cumulative >= p50Rank) {
+        p50 = bucketMidpointMicros(bucket);
+      }
+      if (cumulative >= p99Rank) {
+        p99 = bucketMidpointMicros(bucket);
+        break;
+      }
+    }
+
+    Logger.recordOutput(p50Keys[section], Math.min(p50, max));
+    Logger.recordOutput(p99Keys[section], Math.min(p99, max));
+    Logger.recordOutput(maxKeys[section], (double) max);
+  }
+
+  private static int bucketFor(int micros) {
+    if (micros < LINEAR_BUCKETS) {
+      return Math.max(micros, 0);
+    }
+    int exponent = 31 - Integer.numberOfLeadingZeros(micros);
+    int subBucket = (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    int bucket = LINEAR_BUCKETS + (exponent - 4) * SUB_BUCKETS + subBucket;
+    return Math.min(bucket, BUCKET_COUNT - 1);
+  }
+
+  private static double bucketMidpointMicros(int bucket) {
+    if (bucket < LINEAR_BUCKETS) {
+      return bucket;
+    }
+    int exponent = 4 + (bucket - LINEAR_BUCKETS) / SUB_BUCKETS;
+    int subBucket = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+    double width = 1L << (exponent - SUB_BUCKET_BITS);
+    return (SUB_BUCKETS + subBucket) * width + width / 2.0;
+  }
+}
@@ -0,0 +1,406 @@
+package frc.robot.util.pathfinding;
+
+import edu.wpi.first.math.Pair;
+import edu.wpi.first.math.geometry.Translation2d;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * D* Lite (Koenig and Likhachev) over a {@link NavGrid} with rectangular dynamic obstacles.
+ *
+ * <p>The search runs backward from the goal, so when the robot moves or obstacles are added or
+ * removed, only the nodes whose cost-to-goal actually changes get expanded again instead of
+ * restarting the whole search. Changing the goal does restart the search.
+ *
+ * <p>All per-node state lives in primitive arrays indexed by node, and the open list is an indexed
+ * binary heap, so replanning doesn't allocate. This class is not thread safe.
+ */
+public final class DStarLite {
+  private static final double SQRT_2 = Math.sqrt(2.0);
+  private static final double INFINITY = Double.POSITIVE_INFINITY;
+  private static final double KEY_EPSILON = 1e-9;
+
+  private final NavGrid grid;
+
+  // Number of dynamic obstacle boxes covering each node
+  private final int[] dynamicObstacleCounts;
+  private List<Pair<Translation2d, Translation2d>> dynamicObstacles = List.of();
+  private final IntPredicate blockedNodes = this::isBlocked;
+
+  // Scratch space for moving a blocked start or goal onto the nearest free node
+  private final int[] searchQueue;
+  private final boolean[] searchVisited;
+
+  private final double[] g;
+  private final double[] rhs;
+
+  // Open list: binary heap of nodes ordered by (key1, key2)
+  private final int[] heap;
+  private final int[] heapPositions;
+  private final double[] key1;
+  private final double[] key2;
+  private int heapSize = 0;
+
+  private Translation2d realStart = new Translation2d();
+  private Translation2d realGoal = null;
+  private int startNode = -1;
+  private int goalNode = -1;
+  private double keyModifier = 0.0;
+
+  private int expansions = 0;
+
+  public DStarLite(NavGrid grid) {
+    this.grid = grid;
+
+    int nodeCount = grid.getNodeCount();
+    dynamicObstacleCounts = new int[nodeCount];
+    g = new double[nodeCount];
+    rhs = new double[nodeCount];
+    heap = new int[nodeCount];
+    heapPositions = new int[nodeCount];
+    key1 = new double[nodeCount];
+    key2 = new double[nodeCount];
+    searchQueue = new int[nodeCount];
+    searchVisited = new boolean[nodeCount];
+    Arrays.fill(heapPositions, -1);
+  }
+
+  /** Sets the goal and restarts the search. */
+  public void setGoal(Translation2d goal) {
+    realGoal = goal;
+    goalNode = nearestFreeNode(goal);
+    startNode = nearestFreeNode(realStart);
+    reset();
+  }
+
+  /** Moves the start. The existing search is kept, only the heuristic offset changes. */
+  public void setStart(Translation2d start) {
+    realStart = start;
+    int newStartNode = nearestFreeNode(start);
+    if (newStartNode != startNode && startNode != -1 && newStartNode != -1) {
+      keyModifier += heuristic(startNode, newStartNode);
+    }
+    startNode = newStartNode;
+  }
+
+  /**
+   * Replaces the set of dynamic obstacles, updating only the nodes around cells that changed.
+   *
+   * @param obstacles boxes, each given by two opposite corners
+   */
+  public void setDynamicObstacles(List<Pair<Translation2d, Translation2d>> obstacles) {
+    if (obstacles.equals(dynamicObstacles)) {
+      return;
+    }
+
+    // Apply the new boxes before removing the old ones so nodes covered by both never change
+    for (Pair<Translation2d, Translation2d> box : obstacles) {
+      changeBox(box, 1);
+    }
+    for (Pair<Translation2d, Translation2d> box : dynamicObstacles) {
+      changeBox(box, -1);
+    }
+    dynamicObstacles = List.copyOf(obstacles);
+
+    // The start or goal may have been moved off of a blocked node, or be able to move back
+    setStart(realStart);
+    if (realGoal != null && nearestFreeNode(realGoal) != goalNode) {
+      setGoal(realGoal);
+    }
+  }
+
+  /**
+   * Brings the search up to date for the current start, goal and obstacles.
+   *
+   * @return true if the goal is reachable from the start
+   */
+  public boolean computeShortestPath() {
+    if (goalNode == -1 || startNode == -1) {
+      return false;
+    }
+
+    expansions = 0;
+    while (heapSize > 0) {
+      double startKey1 = Math.min(g[startNode], rhs[startNode]) + keyModifier;
+      double startKey2 = Math.min(g[startNode], rhs[startNode]);
+      int node = heap[0];
+      if (!isKeyLess(key1[node], key2[node], startKey1, startKey2)
+          && rhs[startNode] == g[startNode]) {
+        break;
+      }
+
+      double oldKey1 = key1[node];
+      double oldKey2 = key2[node];
+      double newKey2 = Math.min(g[node], rhs[node]);
+      double newKey1 = newKey2 + heuristic(startNode, node) + keyModifier;
+      expansions++;
+      if (isKeyLess(oldKey1, oldKey2, newKey1, newKey2)) {
+        key1[node] = newKey1;
+        key2[node] = newKey2;
+        siftDown(0);
+      } else if (g[node] > rhs[node]) {
+        g[node] = rhs[node];
+        removeFromHeap(node);
+        updateNeighbors(node);
+      } else {
+        g[node] = INFINITY;
+        updateVertex(node);
+        updateNeighbors(node);
+      }
+    }
+    return g[startNode] < INFINITY;
+  }
+
+  /** Returns the number of nodes expanded by the last {@link #computeShortestPath()}. */
+  public int getExpansionCount() {
+    return expansions;
+  }
+
+  /**
+   * Returns the path found by the last {@link #computeShortestPath()}: the exact start, the center
+   * of every node along the way, then the exact goal. Empty if there is no path.
+   */
+  public List<Translation2d> getPath() {
+    List<Translation2d> points = new ArrayList<>();
+    if (startNode == -1 || goalNode == -1 || g[startNode] == INFINITY) {
+      return points;
+    }
+
+    points.add(realStart);
+    int node = startNode;
+    points.add(grid.nodeCenter(node));
+    for (int steps = 0; node != goalNode; steps++) {
+      int best = -1;
+      double bestCost = INFINITY;
+      for (int dir = 0; dir < 8; dir++) {
+        double cost = edgeCost(node, dir);
+        if (cost == INFINITY) {
+          continue;
+        }
+        int neighbor = neighbor(node, dir);
+        if (cost + g[neighbor] < bestCost) {
+          bestCost = cost + g[neighbor];
+          best = neighbor;
+        }
+      }
+      if (best == -1 || steps > g.length) {
+        points.clear();
+        return points;
+      }
+      node = best;
+      points.add(grid.nodeCenter(node));
+    }
+    points.add(realGoal);
+    return points;
+  }
+
+  /** Checks a straight line against both the static grid and the dynamic obstacles. */
+  public boolean isLineClear(Translation2d from, Translation2d to) {
+    return grid.isLineClear(from, to, blockedNodes);
+  }
+
+  private void reset() {
+    Arrays.fill(g, INFINITY);
+    Arrays.fill(rhs, INFINITY);
+    for (int i = 0; i < heapSize; i++) {
+      heapPositions[heap[i]] = -1;
+    }
+    heapSize = 0;
+    keyModifier = 0.0;
+
+    if (goalNode != -1) {
+      rhs[goalNode] = 0.0;
+      insertIntoHeap(goalNode);
+    }
+  }
+
+  /** Adds delta to the obstacle count of every node under a box and updates those that flipped. */
+  private void changeBox(Pair<Translation2d, Translation2d> box, int delta) {
+    int node1 = grid.nodeAt(box.getFirst());
+    int node2 = grid.nodeAt(box.getSecond());
+    int minX = Math.min(grid.xOf(node1), grid.xOf(node2));
+    int maxX = Math.max(grid.xOf(node1), grid.xOf(node2));
+    int minY = Math.min(grid.yOf(node1), grid.yOf(node2));
+    int maxY = Math.max(grid.yOf(node1), grid.yOf(node2));
+
+    for (int x = minX; x <= maxX; x++) {
+      for (int y = minY; y <= maxY; y++) {
+        int node = grid.indexOf(x, y);
+        boolean wasBlocked = dynamicObstacleCounts[node] > 0;
+        dynamicObstacleCounts[node] += delta;
+        if (wasBlocked != dynamicObstacleCounts[node] > 0 && !grid.isObstacle(node)) {
+          onNodeChanged(x, y);
+        }
+      }
+    }
+  }
+
+  /**
+   * A node's blocked state changed. That changes the cost of every edge touching it and every
+   * diagonal cutting its corner, all of which have both ends within one node of it.
+   */
+  private void onNodeChanged(int x, int y) {
+    if (goalNode == -1) {
+      return;
+    }
+    for (int dx = -1; dx <= 1; dx++) {
+      for (int dy = -1; dy <= 1; dy++) {
+        if (grid.isInBounds(x + dx, y + dy)) {
+          updateVertex(grid.indexOf(x + dx, y + dy));
+        }
+      }
+    }
+  }
+
+  private void updateNeighbors(int node) {
+    for (int dir = 0; dir < 8; dir++) {
+      int x = grid.xOf(node) + NavGrid.DX[dir];
+      int y = grid.yOf(node) + NavGrid.DY[dir];
+      if (grid.isInBounds(x, y)) {
+        updateVertex(grid.indexOf(x, y));
+      }
+    }
+  }
+
+  private void updateVertex(int node) {
+    if (node != goalNode) {
+      double best = INFINITY;
+      for (int dir = 0; dir < 8; dir++) {
+        double cost = edgeCost(node, dir);
+        if (cost != INFINITY) {
+          best = Math.min(best, cost + g[neighbor(node, dir)]);
+        }
+      }
+      rhs[node] = best;
+    }
+
+    if (heapPositions[node] != -1) {
+      removeFromHeap(node);
+    }
+    if (g[node] != rhs[node]) {
+      insertIntoHeap(node);
+    }
+  }
+
+  private double edgeCost(int node, int dir) {
+    int x = grid.xOf(node);
+    int y = grid.yOf(node);
+    int nx = x + NavGrid.DX[dir];
+    int ny = y + NavGrid.DY[dir];
+    if (isBlocked(x, y) || isBlocked(nx, ny)) {
+      return INFINITY;
+    }
+    if (dir % 2 == 0) {
+      return 1.0;
+    }
+    // Don't let diagonals clip the corner of an obstacle
+    return isBlocked(nx, y) || isBlocked(x, ny) ? INFINITY : SQRT_2;
+  }
+
+  private int neighbor(int node, int dir) {
+    return grid.indexOf(grid.xOf(node) + NavGrid.DX[dir], grid.yOf(node) + NavGrid.DY[dir]);
+  }
+
+  private boolean isBlocked(int x, int y) {
+    return grid.isObstacle(x, y) || dynamicObstacleCounts[grid.indexOf(x, y)] > 0;
+  }
+
+  private boolean isBlocked(int node) {
+    return node == -1 || grid.isObstacle(node) || dynamicObstacleCounts[node] > 0;
+  }
+
+  /** Octile distance in nodes, which is exact on an empty 8-connected grid. */
+  private double heuristic(int a, int b) {
+    int dx = Math.abs(grid.xOf(a) - grid.xOf(b));
+    int dy = Math.abs(grid.yOf(a) - grid.yOf(b));
+    return Math.max(dx, dy) + (SQRT_2 - 1.0) * Math.min(dx, dy);
+  }
+
+  /** Returns the closest node that isn't blocked, or -1 if there is none. */
+  private int nearestFreeNode(Translation2d position) {
+    int start = grid.nodeAt(position);
+    if (!isBlocked(start)) {
+      return start;
+    }
+    return grid.nearestFreeNode(start, blockedNodes, searchQueue, searchVisited);
+  }
+
+  /**
+   * Lexicographic key comparison. The same key can be summed in a different order for different
+   * nodes, so values within rounding error are treated as equal; otherwise the search can stop one
+   * ulp short of the start.
+   */
+  private static boolean isKeyLess(double a1, double a2, double b1, double b2) {
+    if (Math.abs(a1 - b1) > KEY_EPSILON) {
+      return a1 < b1;
+    }
+    return a2 < b2 - KEY_EPSILON;
+  }
+
+  private boolean isNodeLess(int a, int b) {
+    return isKeyLess(key1[a], key2[a], key1[b], key2[b]);
+  }
+
+  private void insertIntoHeap(int node) {
+    key2[node] = Math.min(g[node], rhs[node]);
+    key1[node] = key2[node] + (startNode == -1 ? 0.0 : heuristic(startNode, node)) + keyModifier;
+    heap[heapSize] = node;
+    heapPositions[node] = heapSize;
+    heapSize++;
+    siftUp(heapSize - 1);
+  }
+
+  private void removeFromHeap(int node) {
+    int position = heapPositions[node];
+    heapPositions[node] = -1;
+    heapSize--;
+    if (position == heapSize) {
+      return;
+    }
+
+    int moved = heap[heapSize];
+    heap[position] = moved;
+    heapPositions[moved] = position;
+    siftUp(position);
+    siftDown(heapPositions[moved]);
+  }
+
+  private void siftUp(int position) {
+    int node = heap[position];
+    while (position > 0) {
+      int parentPosition = (position - 1) / 2;
+      int parent = heap[parentPosition];
+      if (!isNodeLess(node, parent)) {
+        break;
+      }
+      heap[position] = parent;
+      heapPositions[parent] = position;
+      position = parentPosition;
+    }
+    heap[position] = node;
+    heapPositions[node] = position;
+  }
+
+  private void siftDown(int position) {
+    int node = heap[position];
+    while (true) {
+      int child = 2 * position + 1;
+      if (child >= heapSize) {
+        break;
+      }
+      if (child + 1 < heapSize && isNodeLess(heap[child + 1], heap[child])) {
+        child++;
+      }
+      if (!isNodeLess(heap[child], node)) {
+        break;
+      }
+      heap[position] = heap[child];
+      heapPositions[heap[child]] = position;
+      position = child;
+    }
+    heap[position] = node;
+    heapPositions[node] = position;
+  }
+}
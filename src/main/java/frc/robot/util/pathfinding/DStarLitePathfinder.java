@@ -0,0 +1,145 @@
+package frc.robot.util.pathfinding;
+
+import com.pathplanner.lib.path.GoalEndState;
+import com.pathplanner.lib.path.PathConstraints;
+import com.pathplanner.lib.path.PathPlannerPath;
+import com.pathplanner.lib.pathfinding.Pathfinder;
+import edu.wpi.first.math.Pair;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * PathPlanner {@link Pathfinder} backed by {@link DStarLite}, as a drop in replacement for
+ * LocalADStar.
+ *
+ * <p>Like LocalADStar, planning runs on a background thread and the robot polls for new paths.
+ * Unlike LocalADStar, changing the dynamic obstacles or the start only repairs the existing search,
+ * so removing the auto obstacles in teleopInit doesn't throw away the current plan.
+ */
+public class DStarLitePathfinder implements Pathfinder {
+  private final Object lock = new Object();
+
+  // Requests from the robot thread, guarded by lock
+  private Translation2d requestedStart = null;
+  private Translation2d requestedGoal = null;
+  private List<Pair<Translation2d, Translation2d>> requestedObstacles = null;
+
+  // Latest result, guarded by lock
+  private List<Pose2d> currentPath = List.of();
+  private boolean newPathAvailable = false;
+
+  private final DStarLite planner;
+
+  public DStarLitePathfinder() {
+    DStarLite loadedPlanner = null;
+    try {
+      loadedPlanner = new DStarLite(NavGrid.loadFromDeploy());
+    } catch (IOException e) {
+      System.out.println("WARNING: Failed to load navgrid for D* Lite: " + e.getMessage());
+    }
+    planner = loadedPlanner;
+
+    if (planner != null) {
+      Thread thread = new Thread(this::runThread, "DStarLitePathfinder");
+      thread.setDaemon(true);
+      thread.start();
+    }
+  }
+
+  @Override
+  public boolean isNewPathAvailable() {
+    synchronized (lock) {
+      return newPathAvailable;
+    }
+  }
+
+  @Override
+  public PathPlannerPath getCurrentPath(PathConstraints constraints, GoalEndState goalEndState) {
+    List<Pose2d> path;
+    synchronized (lock) {
+      path = currentPath;
+      newPathAvailable = false;
+    }
+
+    if (path.size() < 2) {
+      return null;
+    }
+    return new PathPlannerPath(
+        PathPlannerPath.waypointsFromPoses(path), constraints, null, goalEndState);
+  }
+
+  @Override
+  public void setStartPosition(Translation2d startPosition) {
+    synchronized (lock) {
+      requestedStart = startPosition;
+      lock.notifyAll();
+    }
+  }
+
+  @Override
+  public void setGoalPosition(Translation2d goalPosition) {
+    synchronized (lock) {
+      requestedGoal = goalPosition;
+      lock.notifyAll();
+    }
+  }
+
+  @Override
+  public void setDynamicObstacles(
+      List<Pair<Translation2d, Translation2d>> obs, Translation2d currentRobotPos) {
+    synchronized (lock) {
+      requestedObstacles = List.copyOf(obs);
+      requestedStart = currentRobotPos;
+      lock.notifyAll();
+    }
+  }
+
+  private void runThread() {
+    boolean hasGoal = false;
+    while (true) {
+      Translation2d start;
+      Translation2d goal;
+      List<Pair<Translation2d, Translation2d>> obstacles;
+      synchronized (lock) {
+        while (requestedStart == null && requestedGoal == null && requestedObstacles == null) {
+          try {
+            lock.wait();
+          } catch (InterruptedException e) {
+            return;
+          }
+        }
+        start = requestedStart;
+        goal = requestedGoal;
+        obstacles = requestedObstacles;
+        requestedStart = null;
+        requestedGoal = null;
+        requestedObstacles = null;
+      }
+
+      // Obstacles and start are incremental; a new goal restarts the search with both applied
+      if (obstacles != null) {
+        planner.setDynamicObstacles(obstacles);
+      }
+      if (start != null) {
+        planner.setStart(start);
+      }
+      if (goal != null) {
+        planner.setGoal(goal);
+        hasGoal = true;
+      }
+      if (!hasGoal) {
+        continue;
+      }
+
+      List<Translation2d> points = planner.computeShortestPath() ? planner.getPath() : List.of();
+      List<Pose2d> path =
+          points.isEmpty() ? List.of() : GridPaths.toWaypointPoses(points, planner::isLineClear);
+      synchronized (lock) {
+        currentPath = path;
+        newPathAvailable = true;
+      }
+    }
+  }
+}
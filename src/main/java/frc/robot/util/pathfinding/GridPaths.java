@@ -0,0 +1,44 @@
+package frc.robot.util.pathfinding;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiPredicate;
+
+/** Helpers shared by the grid planners for turning a chain of nodes into PathPlanner waypoints. */
+final class GridPaths {
+  private GridPaths() {}
+
+  /**
+   * Shortcuts a chain of points and gives each one a heading along the path.
+   *
+   * @param points the exact start, the node centers in order, and the exact goal
+   * @param isLineClear whether the robot can drive straight between two points
+   * @return waypoint poses, suitable for {@code PathPlannerPath.waypointsFromPoses}
+   */
+  static List<Pose2d> toWaypointPoses(
+      List<Translation2d> points, BiPredicate<Translation2d, Translation2d> isLineClear) {
+    // Greedily shortcut to the furthest point still in line of sight
+    List<Translation2d> shortcut = new ArrayList<>();
+    shortcut.add(points.get(0));
+    int last = points.size() - 1;
+    int i = 0;
+    while (i < last) {
+      int j = i + 1;
+      while (j < last && isLineClear.test(points.get(i), points.get(j + 1))) {
+        j++;
+      }
+      shortcut.add(points.get(j));
+      i = j;
+    }
+
+    List<Pose2d> poses = new ArrayList<>(shortcut.size());
+    for (int k = 0; k < shortcut.size(); k++) {
+      Translation2d previous = shortcut.get(Math.max(k - 1, 0));
+      Translation2d next = shortcut.get(Math.min(k + 1, shortcut.size() - 1));
+      poses.add(new Pose2d(shortcut.get(k), next.minus(previous).getAngle()));
+    }
+    return poses;
+  }
+}
@@ -0,0 +1,220 @@
+package frc.robot.util.pathfinding;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.wpilibj.Filesystem;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.IntPredicate;
+import java.util.zip.CRC32;
+
+/**
+ * Static obstacle grid from PathPlanner's navgrid.json, using the same node layout as LocalADStar:
+ * node (x, y) covers [x * nodeSize, (x + 1) * nodeSize) in field X, and likewise in Y.
+ *
+ * <p>Nodes are addressed by a flat index ({@code y * nodesX + x}) so planners can keep their
+ * per-node state in primitive arrays. Anything outside the grid is treated as an obstacle.
+ */
+public final class NavGrid {
+  /** The 8 neighbor offsets, counter-clockwise starting at +X. Diagonals are the odd directions. */
+  public static final int[] DX = {1, 1, 0, -1, -1, -1, 0, 1};
+
+  public static final int[] DY = {0, 1, 1, 1, 0, -1, -1, -1};
+
+  public final double nodeSizeMeters;
+  public final int nodesX;
+  public final int nodesY;
+
+  private final boolean[] obstacles;
+  private final long checksum;
+
+  private NavGrid(double nodeSizeMeters, int nodesX, int nodesY, boolean[] obstacles, long crc) {
+    this.nodeSizeMeters = nodeSizeMeters;
+    this.nodesX = nodesX;
+    this.nodesY = nodesY;
+    this.obstacles = obstacles;
+    this.checksum = crc;
+  }
+
+  /** Loads pathplanner/navgrid.json from the deploy directory. */
+  public static NavGrid loadFromDeploy() throws IOException {
+    return load(Filesystem.getDeployDirectory().toPath().resolve("pathplanner/navgrid.json"));
+  }
+
+  /**
+   * Loads a PathPlanner navgrid file.
+   *
+   * @param navgridPath path to navgrid.json
+   * @return the loaded grid
+   * @throws IOException if the file can't be read or isn't a navgrid
+   */
+  public static NavGrid load(Path navgridPath) throws IOException {
+    byte[] bytes = Files.readAllBytes(navgridPath);
+    JsonNode json = new ObjectMapper().readTree(bytes);
+
+    JsonNode grid = json.get("grid");
+    if (grid == null || !grid.isArray() || grid.size() == 0 || !json.has("nodeSizeMeters")) {
+      throw new IOException("Invalid navgrid file " + navgridPath);
+    }
+
+    int nodesY = grid.size();
+    int nodesX = grid.get(0).size();
+    boolean[] obstacles = new boolean[nodesX * nodesY];
+    for (int y = 0; y < nodesY; y++) {
+      JsonNode row = grid.get(y);
+      for (int x = 0; x < nodesX; x++) {
+        obstacles[y * nodesX + x] = row.get(x).asBoolean();
+      }
+    }
+
+    CRC32 crc = new CRC32();
+    crc.update(bytes);
+    return new NavGrid(
+        json.get("nodeSizeMeters").asDouble(), nodesX, nodesY, obstacles, crc.getValue());
+  }
+
+  /** Returns a checksum of the source file, for invalidating anything precomputed from it. */
+  public long getChecksum() {
+    return checksum;
+  }
+
+  public int getNodeCount() {
+    return nodesX * nodesY;
+  }
+
+  public int indexOf(int x, int y) {
+    return y * nodesX + x;
+  }
+
+  public int xOf(int index) {
+    return index % nodesX;
+  }
+
+  public int yOf(int index) {
+    return index / nodesX;
+  }
+
+  public boolean isInBounds(int x, int y) {
+    return x >= 0 && x < nodesX && y >= 0 && y < nodesY;
+  }
+
+  /** Returns true if the node is a static obstacle or outside of the grid. */
+  public boolean isObstacle(int x, int y) {
+    return !isInBounds(x, y) || obstacles[indexOf(x, y)];
+  }
+
+  public boolean isObstacle(int index) {
+    return obstacles[index];
+  }
+
+  /** Returns the index of the node containing a field position, clamped onto the grid. */
+  public int nodeAt(Translation2d position) {
+    int x = (int) Math.floor(position.getX() / nodeSizeMeters);
+    int y = (int) Math.floor(position.getY() / nodeSizeMeters);
+    return indexOf(Math.max(0, Math.min(nodesX - 1, x)), Math.max(0, Math.min(nodesY - 1, y)));
+  }
+
+  /** Returns the field position of the center of a node. */
+  public Translation2d nodeCenter(int index) {
+    return new Translation2d(
+        (xOf(index) + 0.5) * nodeSizeMeters, (yOf(index) + 0.5) * nodeSizeMeters);
+  }
+
+  /**
+   * Returns the node containing a field position, or the closest free node (by breadth-first
+   * search) if that node is an obstacle, matching how LocalADStar moves blocked starts and goals.
+   *
+   * @return the node index, or -1 if the grid has no free nodes
+   */
+  public int nearestFreeNode(Translation2d position) {
+    int start = nodeAt(position);
+    if (!obstacles[start]) {
+      return start;
+    }
+    return nearestFreeNode(
+        start, this::isObstacle, new int[getNodeCount()], new boolean[getNodeCount()]);
+  }
+
+  /**
+   * Breadth-first search for the closest node that isn't blocked, for planners that add their own
+   * obstacles on top of this grid. The caller provides the scratch arrays so the search doesn't
+   * allocate; {@code visited} must be all false and is left that way.
+   *
+   * @param start the node to search from
+   * @param isBlocked whether a node is blocked, given its index
+   * @param queue scratch array with room for every node
+   * @param visited scratch array with room for every node
+   * @return the node index, or -1 if every node reachable from the start is blocked
+   */
+  public int nearestFreeNode(int start, IntPredicate isBlocked, int[] queue, boolean[] visited) {
+    int head = 0;
+    int tail = 0;
+    queue[tail++] = start;
+    visited[start] = true;
+    int found = -1;
+    while (head < tail) {
+      int node = queue[head++];
+      if (!isBlocked.test(node)) {
+        found = node;
+        break;
+      }
+      for (int dir = 0; dir < 8; dir += 2) {
+        int x = xOf(node) + DX[dir];
+        int y = yOf(node) + DY[dir];
+        if (isInBounds(x, y) && !visited[indexOf(x, y)]) {
+          visited[indexOf(x, y)] = true;
+          queue[tail++] = indexOf(x, y);
+        }
+      }
+    }
+
+    for (int i = 0; i < tail; i++) {
+      visited[queue[i]] = false;
+    }
+    return found;
+  }
+
+  /**
+   * Checks whether a neighbor move is legal: the target is free and, for diagonals, neither of the
+   * two side nodes is an obstacle so the robot doesn't clip a corner.
+   */
+  public boolean canMove(int x, int y, int dir) {
+    int nx = x + DX[dir];
+    int ny = y + DY[dir];
+    if (isObstacle(nx, ny)) {
+      return false;
+    }
+    return dir % 2 == 0 || (!isObstacle(nx, y) && !isObstacle(x, ny));
+  }
+
+  /**
+   * Checks whether the straight line between two field positions stays clear of static obstacles,
+   * sampling every quarter node.
+   */
+  public boolean isLineClear(Translation2d from, Translation2d to) {
+    return isLineClear(from, to, this::isObstacle);
+  }
+
+  /**
+   * Checks whether the straight line between two field positions stays inside the grid and clear of
+   * blocked nodes, sampling every quarter node.
+   *
+   * @param isBlocked whether a node is blocked, given its index
+   */
+  public boolean isLineClear(Translation2d from, Translation2d to, IntPredicate isBlocked) {
+    double dx = to.getX() - from.getX();
+    double dy = to.getY() - from.getY();
+    int steps = (int) Math.ceil(Math.hypot(dx, dy) / (nodeSizeMeters / 4.0));
+    for (int i = 0; i <= steps; i++) {
+      double t = steps == 0 ? 0.0 : (double) i / steps;
+      int x = (int) Math.floor((from.getX() + t * dx) / nodeSizeMeters);
+      int y = (int) Math.floor((from.getY() + t * dy) / nodeSizeMeters);
+      if (!isInBounds(x, y) || isBlocked.test(indexOf(x, y))) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
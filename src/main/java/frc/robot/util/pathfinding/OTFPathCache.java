@@ -0,0 +1,218 @@
+package frc.robot.util.pathfinding;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Precomputed shortest paths from every navgrid node to each on-the-fly target.
+ *
+ * <p>For each target, a Dijkstra search outward from the target node stores, for every free node,
+ * the direction of the next node on its shortest path to the target. That is one byte per node per
+ * target, so every OTF target for both alliances fits in a few kilobytes on disk.
+ * Serving a path is a walk down the stored directions from the robot's node followed by a local
+ * repair: the exact start and goal are spliced on and the node chain is shortcut wherever the
+ * straight line is clear, giving the same kind of waypoint list LocalADStar produces.
+ *
+ * <p>Only the static navgrid is considered, so callers must not use the cache while dynamic
+ * obstacles are set.
+ */
+public final class OTFPathCache {
+  private static final int MAGIC = 0x4F544650; // "OTFP"
+  private static final int VERSION = 1;
+
+  private static final byte GOAL = 8;
+  private static final byte UNREACHABLE = -1;
+
+  private static final double GOAL_MATCH_TOLERANCE_METERS = 1e-3;
+
+  private final NavGrid grid;
+  private final Translation2d[] goals;
+  private final byte[][] nextHops;
+
+  private OTFPathCache(NavGrid grid, Translation2d[] goals, byte[][] nextHops) {
+    this.grid = grid;
+    this.goals = goals;
+    this.nextHops = nextHops;
+  }
+
+  /**
+   * Searches the grid for every goal. This takes a few milliseconds per goal, so it should be run
+   * off the main thread.
+   */
+  public static OTFPathCache build(NavGrid grid, List<Translation2d> goals) {
+    byte[][] nextHops = new byte[goals.size()][];
+    for (int i = 0; i < goals.size(); i++) {
+      nextHops[i] = searchFrom(grid, grid.nearestFreeNode(goals.get(i)));
+    }
+    return new OTFPathCache(grid, goals.toArray(new Translation2d[0]), nextHops);
+  }
+
+  /**
+   * Loads a cache saved by {@link #save(Path)}.
+   *
+   * @return the cache, or null if the file doesn't exist or was built from a different navgrid or
+   *     set of goals
+   * @throws IOException if the file exists but can't be read
+   */
+  public static OTFPathCache loadIfCurrent(Path file, NavGrid grid, List<Translation2d> goals)
+      throws IOException {
+    if (!Files.exists(file)) {
+      return null;
+    }
+
+    try (DataInputStream in =
+        new DataInputStream(new GZIPInputStream(Files.newInputStream(file)))) {
+      if (in.readInt() != MAGIC
+          || in.readInt() != VERSION
+          || in.readLong() != keyFor(grid, goals)
+          || in.readInt() != grid.getNodeCount()
+          || in.readInt() != goals.size()) {
+        return null;
+      }
+
+      byte[][] nextHops = new byte[goals.size()][grid.getNodeCount()];
+      for (byte[] hops : nextHops) {
+        in.readFully(hops);
+      }
+      return new OTFPathCache(grid, goals.toArray(new Translation2d[0]), nextHops);
+    }
+  }
+
+  /** Writes the cache, gzipped, so it can be loaded at startup instead of rebuilt. */
+  public void save(Path file) throws IOException {
+    Files.createDirectories(file.getParent());
+    try (DataOutputStream out =
+        new DataOutputStream(new GZIPOutputStream(Files.newOutputStream(file)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeLong(keyFor(grid, Arrays.asList(goals)));
+      out.writeInt(grid.getNodeCount());
+      out.writeInt(goals.length);
+      for (byte[] hops : nextHops) {
+        out.write(hops);
+      }
+    }
+  }
+
+  /** Returns true if a path to this goal can be served from the cache. */
+  public boolean hasGoal(Translation2d goal) {
+    return goalIndexOf(goal) != -1;
+  }
+
+  /**
+   * Finds a path from an arbitrary start to a cached goal.
+   *
+   * @param start where the robot is now
+   * @param goal the goal, which must be one of the goals the cache was built with
+   * @return waypoint poses from start to goal, each facing along the path, or null if the goal
+   *     isn't cached or can't be reached from start
+   */
+  public List<Pose2d> findPath(Translation2d start, Translation2d goal) {
+    int goalIndex = goalIndexOf(goal);
+    if (goalIndex == -1) {
+      return null;
+    }
+    byte[] hops = nextHops[goalIndex];
+
+    int node = grid.nearestFreeNode(start);
+    if (node == -1 || hops[node] == UNREACHABLE) {
+      return null;
+    }
+
+    // Walk the stored directions down to the goal node
+    List<Translation2d> points = new ArrayList<>();
+    points.add(start);
+    points.add(grid.nodeCenter(node));
+    for (int steps = 0; hops[node] != GOAL; steps++) {
+      if (steps > hops.length) {
+        return null; // Only possible if the file was corrupted
+      }
+      int dir = hops[node];
+      node = grid.indexOf(grid.xOf(node) + NavGrid.DX[dir], grid.yOf(node) + NavGrid.DY[dir]);
+      points.add(grid.nodeCenter(node));
+    }
+    points.add(goal);
+
+    return GridPaths.toWaypointPoses(points, grid::isLineClear);
+  }
+
+  private int goalIndexOf(Translation2d goal) {
+    for (int i = 0; i < goals.length; i++) {
+      if (goals[i].getDistance(goal) < GOAL_MATCH_TOLERANCE_METERS) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /** Dijkstra from the goal; each reached node stores the direction to step toward the goal. */
+  private static byte[] searchFrom(NavGrid grid, int goalNode) {
+    byte[] hops = new byte[grid.getNodeCount()];
+    Arrays.fill(hops, UNREACHABLE);
+    if (goalNode == -1) {
+      return hops;
+    }
+
+    double[] costs = new double[grid.getNodeCount()];
+    Arrays.fill(costs, Double.POSITIVE_INFINITY);
+    PriorityQueue<QueueEntry> open =
+        new PriorityQueue<>(Comparator.comparingDouble(QueueEntry::cost));
+
+    costs[goalNode] = 0.0;
+    hops[goalNode] = GOAL;
+    open.add(new QueueEntry(goalNode, 0.0));
+    while (!open.isEmpty()) {
+      QueueEntry entry = open.poll();
+      int node = entry.node();
+      if (entry.cost() > costs[node]) {
+        continue;
+      }
+
+      int x = grid.xOf(node);
+      int y = grid.yOf(node);
+      for (int dir = 0; dir < 8; dir++) {
+        if (!grid.canMove(x, y, dir)) {
+          continue;
+        }
+        int neighbor = grid.indexOf(x + NavGrid.DX[dir], y + NavGrid.DY[dir]);
+        double cost = costs[node] + (dir % 2 == 0 ? 1.0 : Math.sqrt(2.0));
+        if (cost < costs[neighbor]) {
+          costs[neighbor] = cost;
+          hops[neighbor] = (byte) ((dir + 4) % 8); // Moves are symmetric, so step back the same way
+          open.add(new QueueEntry(neighbor, cost));
+        }
+      }
+    }
+    return hops;
+  }
+
+  /** Identifies the navgrid and goals a cache was built for. */
+  private static long keyFor(NavGrid grid, List<Translation2d> goals) {
+    ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + goals.size() * 2 * Double.BYTES);
+    buffer.putLong(grid.getChecksum());
+    for (Translation2d goal : goals) {
+      buffer.putDouble(goal.getX());
+      buffer.putDouble(goal.getY());
+    }
+
+    CRC32 crc = new CRC32();
+    crc.update(buffer.array());
+    return crc.getValue();
+  }
+
+  private record QueueEntry(int node, double cost) {}
+}
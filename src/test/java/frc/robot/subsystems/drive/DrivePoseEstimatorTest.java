@@ -0,0 +1,157 @@
+package frc.robot.subsystems.drive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.wpi.first.math.VecBuilder;
+import edu.wpi.first.math.estimator.SwerveDrivePoseEstimator;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Transform2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.math.kinematics.SwerveModulePosition;
+import java.util.Optional;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs WPILib's SwerveDrivePoseEstimator and DrivePoseEstimator side by side on the same random
+ * odometry, vision and reset sequences, and checks that every estimate is exactly the same.
+ */
+public class DrivePoseEstimatorTest {
+  private static final int SEEDS = 20;
+  private static final int STEPS = 5000;
+  private static final double ODOMETRY_PERIOD_SECONDS = 0.004;
+  // Reaches past the odometry history, so stale measurements and clamped samples are covered
+  private static final double LOOKBACK_SECONDS = 2.0 * DrivePoseEstimator.BUFFER_DURATION_SECONDS;
+
+  private final SwerveDriveKinematics kinematics =
+      new SwerveDriveKinematics(
+          new Translation2d(0.3, 0.3),
+          new Translation2d(0.3, -0.3),
+          new Translation2d(-0.3, 0.3),
+          new Translation2d(-0.3, -0.3));
+
+  @Test
+  public void matchesWpilibEstimator() {
+    for (int seed = 0; seed < SEEDS; seed++) {
+      runSequence(seed);
+    }
+  }
+
+  private void runSequence(long seed) {
+    Random random = new Random(seed);
+
+    Rotation2d gyroAngle = Rotation2d.fromRadians(random.nextDouble() * 2.0 * Math.PI);
+    SwerveModulePosition[] positions = new SwerveModulePosition[4];
+    for (int i = 0; i < 4; i++) {
+      positions[i] = new SwerveModulePosition(0.0, new Rotation2d());
+    }
+    Pose2d initialPose = randomPose(random);
+
+    SwerveDrivePoseEstimator expected =
+        new SwerveDrivePoseEstimator(kinematics, gyroAngle, copy(positions), initialPose);
+    DrivePoseEstimator actual =
+        new DrivePoseEstimator(kinematics, gyroAngle, copy(positions), initialPose, 400);
+
+    double timestamp = 1.0;
+    for (int step = 0; step < STEPS; step++) {
+      String context = "seed " + seed + ", step " + step;
+
+      // Jitter the odometry period a little, like a real CAN bus
+      timestamp += ODOMETRY_PERIOD_SECONDS * (0.5 + random.nextDouble());
+      gyroAngle = gyroAngle.plus(Rotation2d.fromRadians(random.nextGaussian() * 0.02));
+      for (int i = 0; i < 4; i++) {
+        positions[i] =
+            new SwerveModulePosition(
+                positions[i].distanceMeters + random.nextGaussian() * 0.02,
+                positions[i].angle.plus(Rotation2d.fromRadians(random.nextGaussian() * 0.1)));
+      }
+      assertPoseEquals(
+          expected.updateWithTime(timestamp, gyroAngle, copy(positions)),
+          actual.updateWithTime(timestamp, gyroAngle, copy(positions)),
+          context);
+
+      if (random.nextDouble() < 0.2) {
+        // Some measurements land exactly on an odometry sample, and some are older than the history
+        double visionTimestamp =
+            random.nextDouble() < 0.2
+                ? timestamp
+                : timestamp - random.nextDouble() * LOOKBACK_SECONDS;
+        Pose2d visionPose =
+            expected
+                .getEstimatedPosition()
+                .plus(
+                    new Transform2d(
+                        random.nextGaussian() * 0.2,
+                        random.nextGaussian() * 0.2,
+                        Rotation2d.fromRadians(random.nextGaussian() * 0.1)));
+        if (random.nextBoolean()) {
+          var stdDevs =
+              VecBuilder.fill(
+                  0.05 + random.nextDouble(),
+                  0.05 + random.nextDouble(),
+                  0.05 + random.nextDouble() * 5.0);
+          expected.addVisionMeasurement(visionPose, visionTimestamp, stdDevs);
+          actual.addVisionMeasurement(visionPose, visionTimestamp, stdDevs);
+        } else {
+          expected.addVisionMeasurement(visionPose, visionTimestamp);
+          actual.addVisionMeasurement(visionPose, visionTimestamp);
+        }
+        assertPoseEquals(
+            expected.getEstimatedPosition(), actual.getEstimatedPosition(), context + " vision");
+      }
+
+      if (random.nextDouble() < 0.05) {
+        double sampleTimestamp = timestamp - random.nextDouble() * LOOKBACK_SECONDS;
+        Optional<Pose2d> expectedSample = expected.sampleAt(sampleTimestamp);
+        assertTrue(expectedSample.isPresent(), context);
+        assertPoseEquals(
+            expectedSample.get(), actual.sampleAt(sampleTimestamp), context + " sample");
+      }
+
+      if (random.nextDouble() < 0.002) {
+        Pose2d resetPose = randomPose(random);
+        expected.resetPosition(gyroAngle, copy(positions), resetPose);
+        actual.resetPosition(gyroAngle, copy(positions), resetPose);
+        assertPoseEquals(
+            expected.getEstimatedPosition(), actual.getEstimatedPosition(), context + " reset");
+      }
+
+      if (random.nextDouble() < 0.002) {
+        Rotation2d resetRotation = Rotation2d.fromRadians(random.nextDouble() * 2.0 * Math.PI);
+        expected.resetRotation(resetRotation);
+        actual.resetRotation(resetRotation);
+        assertPoseEquals(
+            expected.getEstimatedPosition(),
+            actual.getEstimatedPosition(),
+            context + " reset rotation");
+      }
+    }
+  }
+
+  private static Pose2d randomPose(Random random) {
+    return new Pose2d(
+        random.nextDouble() * 17.0,
+        random.nextDouble() * 8.0,
+        Rotation2d.fromRadians((random.nextDouble() * 2.0 - 1.0) * Math.PI));
+  }
+
+  private static SwerveModulePosition[] copy(SwerveModulePosition[] positions) {
+    SwerveModulePosition[] copy = new SwerveModulePosition[positions.length];
+    for (int i = 0; i < positions.length; i++) {
+      copy[i] = positions[i].copy();
+    }
+    return copy;
+  }
+
+  /** Pose2d.equals allows a small tolerance, so compare every stored double exactly instead */
+  private static void assertPoseEquals(Pose2d expected, Pose2d actual, String context) {
+    assertEquals(expected.getX(), actual.getX(), context);
+    assertEquals(expected.getY(), actual.getY(), context);
+    assertEquals(expected.getRotation().getRadians(), actual.getRotation().getRadians(), context);
+    assertEquals(expected.getRotation().getCos(), actual.getRotation().getCos(), context);
+    assertEquals(expected.getRotation().getSin(), actual.getRotation().getSin(), context);
+  }
+}
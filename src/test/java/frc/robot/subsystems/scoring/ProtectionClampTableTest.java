@@ -0,0 +1,283 @@
+package frc.robot.subsystems.scoring;
+
+import static edu.wpi.first.units.Units.Meters;
+import static edu.wpi.first.units.Units.Radians;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import edu.wpi.first.units.Measure;
+import edu.wpi.first.units.measure.Angle;
+import edu.wpi.first.units.measure.Distance;
+import edu.wpi.first.units.measure.MutAngle;
+import edu.wpi.first.units.measure.MutDistance;
+import frc.robot.constants.JsonConstants;
+import frc.robot.constants.WristConstants;
+import frc.robot.constants.subsystems.ElevatorConstants;
+import java.util.TreeSet;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Sweeps elevator height, wrist angle, game piece and reef proximity, and checks that every {@link
+ * ProtectionClampTable} lookup gives exactly the clamps the original per-loop measure logic did.
+ */
+public class ProtectionClampTableTest {
+  private static final int GRID_STEPS = 40;
+
+  @BeforeAll
+  public static void loadConstants() {
+    JsonConstants.loadConstants();
+  }
+
+  @Test
+  public void tableMatchesMeasureLogic() {
+    ElevatorConstants elevator = JsonConstants.elevatorConstants;
+    WristConstants wrist = JsonConstants.wristConstants;
+    ProtectionClampTable table = JsonConstants.protectionClamps;
+
+    double[] heightConstants = {
+      elevator.minElevatorHeight.in(Meters),
+      elevator.maxElevatorHeight.in(Meters),
+      elevator.minWristDownHeight.in(Meters),
+      elevator.minReefSafeHeight.in(Meters),
+      elevator.minWristDownReefBaseSafeHeight.in(Meters),
+      elevator.L2MaxHeightBelow.in(Meters),
+      elevator.L3MinHeightAbove.in(Meters),
+      elevator.L4MinHeightAbove.in(Meters),
+      elevator.minAlgaeInHeight.in(Meters),
+      elevator.crossbarTopCollisionHeight.in(Meters),
+      elevator.crossbarBottomCollisionHeight.in(Meters),
+      JsonConstants.scoringSetpoints.L3algae.elevatorHeight().in(Meters)
+    };
+    double[] angleConstants = {
+      wrist.wristMinMinAngle.in(Radians),
+      wrist.wristMaxMaxAngle.in(Radians),
+      wrist.minElevatorDownSafeAngle.in(Radians),
+      wrist.maxReefBaseWristDownCollisionAngle.in(Radians),
+      wrist.minReefSafeAngle.in(Radians),
+      wrist.algaeUnderCrossbarAngle.in(Radians),
+      wrist.crossbarTopCollisionAngle.in(Radians),
+      wrist.crossbarBottomCollisionAngle.in(Radians)
+    };
+
+    double[] heights = samples(heightConstants, true);
+    double[] goalHeights =
+        samples(
+            new double[] {
+              elevator.minElevatorHeight.in(Meters),
+              elevator.maxElevatorHeight.in(Meters),
+              elevator.L2MaxHeightBelow.in(Meters),
+              elevator.L4MinHeightAbove.in(Meters)
+            },
+            false);
+    double[] angles = samples(angleConstants, true);
+    double[] goalAngles =
+        samples(
+            new double[] {
+              wrist.wristMinMinAngle.in(Radians),
+              wrist.wristMaxMaxAngle.in(Radians),
+              wrist.crossbarTopCollisionAngle.in(Radians),
+              wrist.crossbarBottomCollisionAngle.in(Radians)
+            },
+            false);
+
+    for (double height : heights) {
+      for (double goalHeight : goalHeights) {
+        for (double angle : angles) {
+          for (double goalAngle : goalAngles) {
+            for (boolean holdingAlgae : new boolean[] {false, true}) {
+              for (boolean closeToReef : new boolean[] {false, true}) {
+                for (boolean algaeDetected : new boolean[] {false, true}) {
+                  double[] expected =
+                      measureClamps(
+                          Meters.of(height),
+                          Meters.of(goalHeight),
+                          Radians.of(angle),
+                          Radians.of(goalAngle),
+                          holdingAlgae,
+                          closeToReef,
+                          algaeDetected);
+                  int index =
+                      table.index(
+                          height,
+                          goalHeight,
+                          angle,
+                          goalAngle,
+                          holdingAlgae,
+                          closeToReef,
+                          algaeDetected);
+                  double[] actual = {
+                    table.getElevatorMin(index),
+                    table.getElevatorMax(index),
+                    table.getWristMin(index),
+                    table.getWristMax(index)
+                  };
+
+                  assertArrayEquals(
+                      expected,
+                      actual,
+                      () ->
+                          String.format(
+                              "height %s, goal height %s, angle %s, goal angle %s, algae %s, "
+                                  + "close to reef %s, algae detected %s",
+                              height,
+                              goalHeight,
+                              angle,
+                              goalAngle,
+                              holdingAlgae,
+                              closeToReef,
+                              algaeDetected));
+                }
+              }
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Every constant and its neighboring doubles, plus a grid across the constants' range if asked
+   * for, so each comparison is checked on both sides of and exactly at its boundary.
+   */
+  private static double[] samples(double[] constants, boolean withGrid) {
+    TreeSet<Double> samples = new TreeSet<>();
+    double low = Double.POSITIVE_INFINITY;
+    double high = Double.NEGATIVE_INFINITY;
+    for (double constant : constants) {
+      samples.add(constant);
+      samples.add(Math.nextDown(constant));
+      samples.add(Math.nextUp(constant));
+      low = Math.min(low, constant);
+      high = Math.max(high, constant);
+    }
+    if (withGrid) {
+      double margin = 0.1 * (high - low);
+      for (int i = 0; i <= GRID_STEPS; i++) {
+        samples.add(low - margin + (high - low + 2.0 * margin) * i / GRID_STEPS);
+      }
+    }
+    return samples.stream().mapToDouble(Double::doubleValue).toArray();
+  }
+
+  /**
+   * ScoringSubsystem.determineProtectionClamps as it was before the table, minus logging and with
+   * the subsystem state passed in.
+   *
+   * @return elevator min and max in meters, then wrist min and max in radians
+   */
+  private static double[] measureClamps(
+      Distance elevatorHeight,
+      Distance elevatorGoalHeight,
+      Angle wristAngle,
+      Angle wristGoalAngle,
+      boolean holdingAlgae,
+      boolean closeToReef,
+      boolean algaeDetected) {
+    MutDistance elevatorMinHeight = JsonConstants.elevatorConstants.minElevatorHeight.mutableCopy();
+    MutDistance elevatorMaxHeight = JsonConstants.elevatorConstants.maxElevatorHeight.mutableCopy();
+
+    MutAngle wristMinAngle = JsonConstants.wristConstants.wristMinMinAngle.mutableCopy();
+    MutAngle wristMaxAngle = JsonConstants.wristConstants.wristMaxMaxAngle.mutableCopy();
+
+    if (elevatorHeight.lt(JsonConstants.elevatorConstants.minWristDownHeight) && !algaeDetected) {
+      wristMinAngle.mut_replace(
+          (Angle)
+              Measure.max(wristMinAngle, JsonConstants.wristConstants.minElevatorDownSafeAngle));
+    }
+
+    if (wristAngle.lt(JsonConstants.wristConstants.minElevatorDownSafeAngle)) {
+      elevatorMinHeight.mut_replace(
+          (Distance)
+              Measure.max(elevatorMinHeight, JsonConstants.elevatorConstants.minWristDownHeight));
+    }
+
+    if (closeToReef) {
+      if (wristAngle.lte(JsonConstants.wristConstants.maxReefBaseWristDownCollisionAngle)) {
+        elevatorMinHeight.mut_replace(
+            (Distance)
+                Measure.max(
+                    elevatorMinHeight,
+                    JsonConstants.elevatorConstants.minWristDownReefBaseSafeHeight));
+      }
+
+      if (elevatorHeight.lte(JsonConstants.elevatorConstants.minReefSafeHeight) && !holdingAlgae) {
+        wristMinAngle.mut_replace(
+            (Angle) Measure.max(wristMinAngle, JsonConstants.wristConstants.minReefSafeAngle));
+      }
+
+      if (!holdingAlgae
+          && ReefAvoidanceHelper.willPassReefLevel(elevatorHeight, elevatorGoalHeight)) {
+        wristMinAngle.mut_replace(
+            (Angle) Measure.max(wristMinAngle, JsonConstants.wristConstants.minReefSafeAngle));
+
+        if (wristAngle.lt(JsonConstants.wristConstants.minReefSafeAngle)) {
+          elevatorMinHeight.mut_replace(
+              (Distance)
+                  Measure.max(
+                      elevatorMinHeight, JsonConstants.elevatorConstants.minReefSafeHeight));
+
+          if (elevatorHeight.lt(elevatorGoalHeight)) {
+            elevatorMaxHeight.mut_replace(
+                (Distance)
+                    Measure.min(
+                        elevatorMaxHeight,
+                        ReefAvoidanceHelper.getCollisionHeight(
+                            elevatorHeight, elevatorGoalHeight)));
+          } else {
+            elevatorMinHeight.mut_replace(
+                (Distance)
+                    Measure.max(
+                        elevatorMinHeight,
+                        ReefAvoidanceHelper.getCollisionHeight(
+                            elevatorHeight, elevatorGoalHeight)));
+          }
+        }
+      } else if (holdingAlgae) {
+        if (elevatorHeight.in(Meters) > JsonConstants.elevatorConstants.L3MinHeightAbove.in(Meters)
+            && wristAngle.lte(JsonConstants.wristConstants.maxReefBaseWristDownCollisionAngle)) {
+          elevatorMinHeight.mut_replace(
+              (Distance)
+                  Measure.max(
+                      elevatorMinHeight, JsonConstants.scoringSetpoints.L3algae.elevatorHeight()));
+        }
+      }
+    }
+
+    if (algaeDetected && elevatorHeight.lt(JsonConstants.elevatorConstants.minAlgaeInHeight)) {
+      wristMaxAngle.mut_replace(
+          (Angle) Measure.min(wristMaxAngle, JsonConstants.wristConstants.algaeUnderCrossbarAngle));
+    }
+
+    boolean wristInDangerZone =
+        wristAngle.gt(JsonConstants.wristConstants.crossbarBottomCollisionAngle)
+            && wristAngle.lt(JsonConstants.wristConstants.crossbarTopCollisionAngle);
+    boolean willPassDangerZoneUp =
+        wristAngle.lt(JsonConstants.wristConstants.crossbarBottomCollisionAngle)
+            && wristGoalAngle.gt(JsonConstants.wristConstants.crossbarBottomCollisionAngle);
+    boolean willPassDangerZoneDown =
+        wristAngle.gt(JsonConstants.wristConstants.crossbarTopCollisionAngle)
+            && wristGoalAngle.lt(JsonConstants.wristConstants.crossbarTopCollisionAngle);
+
+    if (wristInDangerZone || willPassDangerZoneUp || willPassDangerZoneDown) {
+      if (elevatorHeight.lt(JsonConstants.elevatorConstants.crossbarTopCollisionHeight)) {
+        elevatorMaxHeight.mut_replace(
+            (Distance)
+                Measure.min(
+                    elevatorMaxHeight,
+                    JsonConstants.elevatorConstants.crossbarBottomCollisionHeight));
+      } else {
+        elevatorMinHeight.mut_replace(
+            (Distance)
+                Measure.max(
+                    elevatorMinHeight, JsonConstants.elevatorConstants.crossbarTopCollisionHeight));
+      }
+    }
+
+    return new double[] {
+      elevatorMinHeight.in(Meters),
+      elevatorMaxHeight.in(Meters),
+      wristMinAngle.in(Radians),
+      wristMaxAngle.in(Radians)
+    };
+  }
+}
@@ -0,0 +1,235 @@
+package frc.robot.util;
+
+import edu.wpi.first.util.datalog.DataLogReader;
+import edu.wpi.first.util.datalog.DataLogRecord;
+import frc.robot.Main;
+import frc.robot.constants.ModeConstants;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Replays every log in a directory against the current code, in parallel.
+ *
+ * <p>The robot code is full of static state (the AdvantageKit Logger, the command scheduler,
+ * subsystem singletons), so each log is replayed by its own robot JVM rather than by several robots
+ * sharing this one. Up to one robot process per CPU core runs at a time. Each runs {@link Main} in
+ * replay mode with timing disabled, reading its log through AdvantageKit's {@code AKIT_LOG_PATH}
+ * and writing the usual {@code _sim} log next to it. Console output from each robot goes to a
+ * {@code _sim.txt} file beside the log.
+ *
+ * <p>When every log is done, a summary of wall time, replay speed-up (log duration / wall time) and
+ * any crashes is printed and written to {@code replay_summary.csv} in the log directory. Run with
+ * {@code ./gradlew batchReplay -PlogDir=<path>}, optionally passing {@code -Pjobs=<n>}; the process
+ * exits non-zero if any replay failed.
+ */
+public class BatchReplayRunner {
+  private static final String SIM_SUFFIX = "_sim";
+  private static final long TIMEOUT_MINUTES = 15;
+
+  /** Outcome of replaying one log. */
+  private record ReplayResult(
+      Path log, int exitCode, double logSeconds, double wallSeconds, String error) {
+    boolean succeeded() {
+      return exitCode == 0 && error == null;
+    }
+
+    double speedUp() {
+      return wallSeconds > 0.0 ? logSeconds / wallSeconds : 0.0;
+    }
+  }
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+    if (args.length < 1) {
+      System.err.println("Usage: BatchReplayRunner <log directory> [jobs]");
+      System.exit(2);
+    }
+    Path logDir = Paths.get(args[0]).toAbsolutePath();
+    int jobs =
+        args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+    List<Path> logs;
+    try (Stream<Path> files = Files.list(logDir)) {
+      logs =
+          files
+              .filter(path -> path.toString().endsWith(".wpilog"))
+              .filter(path -> !path.toString().endsWith(SIM_SUFFIX + ".wpilog"))
+              .sorted()
+              .toList();
+    }
+    if (logs.isEmpty()) {
+      System.err.println("No logs found in " + logDir);
+      System.exit(2);
+    }
+
+    System.out.println("Replaying " + logs.size() + " logs with " + jobs + " parallel jobs");
+    long batchStart = System.nanoTime();
+
+    ExecutorService executor = Executors.newFixedThreadPool(jobs);
+    List<Future<ReplayResult>> futures = new ArrayList<>();
+    for (Path log : logs) {
+      futures.add(executor.submit(() -> replay(log)));
+    }
+    executor.shutdown();
+
+    List<ReplayResult> results = new ArrayList<>();
+    for (Future<ReplayResult> future : futures) {
+      try {
+        ReplayResult result = future.get();
+        results.add(result);
+        System.out.println(
+            String.format(
+                Locale.US,
+                "%-4s %s (%.1fs, %.1fx)",
+                result.succeeded() ? "OK" : "FAIL",
+                result.log().getFileName(),
+                result.wallSeconds(),
+                result.speedUp()));
+      } catch (Exception e) {
+        throw new RuntimeException("Replay runner thread failed", e);
+      }
+    }
+
+    double batchSeconds = (System.nanoTime() - batchStart) / 1e9;
+    boolean allSucceeded = writeSummary(logDir, results, jobs, batchSeconds);
+    System.exit(allSucceeded ? 0 : 1);
+  }
+
+  /** Replays one log in a fresh robot JVM and waits for it to exit. */
+  private static ReplayResult replay(Path log) {
+    double logSeconds = readLogDuration(log);
+    Path consoleFile = siblingWithSuffix(log, SIM_SUFFIX + ".txt");
+
+    ProcessBuilder builder =
+        JvmLauncher.forMainClass(
+                Main.class, List.of(ModeConstants.forceReplayProperty + "=true"), List.of())
+            .redirectOutput(consoleFile.toFile());
+    builder.environment().put("AKIT_LOG_PATH", log.toString());
+
+    long start = System.nanoTime();
+    int exitCode;
+    String error = null;
+    try {
+      Process process = builder.start();
+      if (process.waitFor(TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+        exitCode = process.exitValue();
+      } else {
+        process.destroyForcibly();
+        exitCode = -1;
+        error = "Timed out after " + TIMEOUT_MINUTES + " minutes";
+      }
+    } catch (IOException | InterruptedException e) {
+      exitCode = -1;
+      error = "Failed to launch robot process: " + e.getMessage();
+    }
+    double wallSeconds = (System.nanoTime() - start) / 1e9;
+
+    if (error == null && exitCode != 0) {
+      String exception = findException(consoleFile);
+      error = exception != null ? exception : "Exited with code " + exitCode;
+    }
+    return new ReplayResult(log, exitCode, logSeconds, wallSeconds, error);
+  }
+
+  /** Returns the span between the first and last record in a log, in seconds, or 0 if unknown. */
+  private static double readLogDuration(Path log) {
+    try {
+      DataLogReader reader = new DataLogReader(log.toString());
+      if (!reader.isValid()) {
+        return 0.0;
+      }
+      long first = Long.MAX_VALUE;
+      long last = Long.MIN_VALUE;
+      for (DataLogRecord record : reader) {
+        first = Math.min(first, record.getTimestamp());
+        last = Math.max(last, record.getTimestamp());
+      }
+      return last > first ? (last - first) / 1e6 : 0.0;
+    } catch (IOException e) {
+      return 0.0;
+    }
+  }
+
+  /** Returns the first exception line in a crashed robot's console output, or null if none. */
+  private static String findException(Path consoleFile) {
+    try (Stream<String> lines = Files.lines(consoleFile)) {
+      return lines
+          .filter(line -> line.contains("Exception") || line.contains("Error:"))
+          .filter(line -> !line.startsWith("\tat "))
+          .findFirst()
+          .map(String::trim)
+          .orElse(null);
+    } catch (IOException | UncheckedIOException e) {
+      return null;
+    }
+  }
+
+  private static boolean writeSummary(
+      Path logDir, List<ReplayResult> results, int jobs, double batchSeconds) throws IOException {
+    double totalLogSeconds = 0.0;
+    double totalWallSeconds = 0.0;
+    int failures = 0;
+    Path summaryFile = logDir.resolve("replay_summary.csv");
+    try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(summaryFile))) {
+      out.println("log,status,exit_code,log_seconds,wall_seconds,speed_up,error");
+      for (ReplayResult result : results) {
+        totalLogSeconds += result.logSeconds();
+        totalWallSeconds += result.wallSeconds();
+        if (!result.succeeded()) {
+          failures++;
+        }
+        out.println(
+            String.format(
+                Locale.US,
+                "%s,%s,%d,%.3f,%.3f,%.2f,\"%s\"",
+                result.log().getFileName(),
+                result.succeeded() ? "OK" : "FAIL",
+                result.exitCode(),
+                result.logSeconds(),
+                result.wallSeconds(),
+                result.speedUp(),
+                result.error() == null ? "" : result.error().replace("\"", "\"\"")));
+      }
+    }
+
+    System.out.println();
+    System.out.println(
+        String.format(
+            Locale.US,
+            "Replayed %d logs (%.0fs of match time) in %.1fs with %d jobs",
+            results.size(),
+            totalLogSeconds,
+            batchSeconds,
+            jobs));
+    System.out.println(
+        String.format(
+            Locale.US,
+            "Speed-up: %.1fx per replay, %.1fx overall",
+            totalWallSeconds > 0.0 ? totalLogSeconds / totalWallSeconds : 0.0,
+            batchSeconds > 0.0 ? totalLogSeconds / batchSeconds : 0.0));
+    for (ReplayResult result : results) {
+      if (!result.succeeded()) {
+        System.out.println("FAILED " + result.log().getFileName() + ": " + result.error());
+      }
+    }
+    System.out.println(failures + " failed, summary written to " + summaryFile);
+    return failures == 0;
+  }
+
+  private static Path siblingWithSuffix(Path log, String suffix) {
+    String name = log.getFileName().toString();
+    int extension = name.lastIndexOf('.');
+    return log.resolveSibling((extension == -1 ? name : name.substring(0, extension)) + suffix);
+  }
+}
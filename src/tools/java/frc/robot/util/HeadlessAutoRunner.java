@@ -0,0 +1,420 @@
+package frc.robot.util;
+
+import com.ctre.phoenix6.SignalLogger;
+import edu.wpi.first.hal.AllianceStationID;
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Filesystem;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import frc.robot.Robot;
+import frc.robot.RobotContainer;
+import frc.robot.StrategyManager;
+import frc.robot.constants.AutoStrategy;
+import frc.robot.constants.AutoStrategyContainer.Action;
+import frc.robot.constants.AutoStrategyContainer.ActionType;
+import frc.robot.constants.ModeConstants;
+import frc.robot.constants.ModeConstants.Mode;
+import frc.robot.subsystems.drive.Drive;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.ironmaple.simulation.SimulatedArena;
+
+/**
+ * Runs autonomous strategies in simulation, headless and faster than real time.
+ *
+ * <p>Each strategy runs in its own JVM (the robot code is full of static state), up to one per CPU
+ * core. A robot process builds the normal {@link RobotContainer} without starting the AdvantageKit
+ * logger or any NT4Publisher, pauses the sim clock, and then steps the same work a {@code
+ * LoggedRobot} loop does in autonomous (strategy manager, command scheduler with every subsystem's
+ * periodic, robot model and {@link SimulatedArena}) in lock-step, advancing the clock by one loop
+ * period each step, until the end of the autonomous period. Pathfinding runs on a background thread
+ * in wall-clock time, so each step waits for any pending path; otherwise planning would look many
+ * loops slower than it is on the robot. A human player loads coral or algae into the claw sim
+ * whenever an intake action has the robot at its intake location.
+ *
+ * <p>Completion time, pieces scored (Score and NetScore actions that finished within the period)
+ * and the duration of each action are printed and written to {@code
+ * build/reports/headless-auto/summary.csv}. Run with {@code ./gradlew headlessAuto}, optionally
+ * with {@code -Pautos=<name,name>}, {@code -Palliance=<Red|Blue>} and {@code -Pjobs=<n>}.
+ */
+public class HeadlessAutoRunner {
+  static final double AUTO_DURATION_SECONDS = 15.0;
+
+  private static final double LOOP_PERIOD_SECONDS = 0.02;
+  private static final long PATHFIND_TIMEOUT_MILLIS = 500;
+  private static final long TIMEOUT_MINUTES = 5;
+
+  private static final String RUN_FLAG = "--run";
+  private static final String RESULT_PREFIX = "HeadlessAuto/Result\t";
+  private static final String ACTION_PREFIX = "HeadlessAuto/Action\t";
+
+  static final Path REPORT_DIR = Paths.get("build", "reports", "headless-auto");
+
+  /** How one action went in a run. */
+  record ActionResult(
+      ActionType type,
+      String location,
+      String target,
+      double startSeconds,
+      double durationSeconds,
+      boolean finished) {}
+
+  /** How one run of a strategy went. */
+  record RunResult(
+      String name,
+      boolean completed,
+      double completionSeconds,
+      int piecesScored,
+      int actionsFinished,
+      int actionsTotal,
+      double wallSeconds,
+      List<ActionResult> actions) {}
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+    if (args.length >= 4 && args[0].equals(RUN_FLAG)) {
+      // Subsystems leave non-daemon threads behind, so exit explicitly either way
+      try {
+        runStrategy(args[1], args[2], args[3].isEmpty() ? null : Long.parseLong(args[3]));
+      } catch (Throwable t) {
+        t.printStackTrace();
+        System.exit(1);
+      }
+      System.exit(0);
+    }
+
+    int jobs = parseJobs(args, 0);
+    String alliance = parseAlliance(args, 1);
+    List<String> names = parseStrategyNames(args, 2);
+
+    System.out.println(
+        "Running " + names.size() + " autos on " + alliance + " with " + jobs + " parallel jobs");
+    Files.createDirectories(REPORT_DIR);
+    long batchStart = System.nanoTime();
+
+    ExecutorService executor = Executors.newFixedThreadPool(jobs);
+    List<Future<RunResult>> futures = new ArrayList<>();
+    for (String name : names) {
+      futures.add(
+          executor.submit(() -> launch(name, alliance, null, REPORT_DIR.resolve(name + ".txt"))));
+    }
+    executor.shutdown();
+
+    boolean allSucceeded = true;
+    try (PrintWriter summary =
+        new PrintWriter(Files.newBufferedWriter(REPORT_DIR.resolve("summary.csv")))) {
+      summary.println(
+          "auto,completed,completion_seconds,pieces_scored,actions_finished,actions_total,"
+              + "wall_seconds");
+      for (int i = 0; i < names.size(); i++) {
+        RunResult result = getResult(futures.get(i));
+        if (result == null) {
+          allSucceeded = false;
+          System.out.println(
+              "FAILED " + names.get(i) + ", see " + REPORT_DIR.resolve(names.get(i) + ".txt"));
+          continue;
+        }
+
+        String row =
+            String.format(
+                Locale.US,
+                "%s,%b,%.2f,%d,%d,%d,%.2f",
+                result.name(),
+                result.completed(),
+                result.completionSeconds(),
+                result.piecesScored(),
+                result.actionsFinished(),
+                result.actionsTotal(),
+                result.wallSeconds());
+        summary.println(row);
+
+        StringBuilder report = new StringBuilder(row).append('\n');
+        for (ActionResult action : result.actions()) {
+          report.append(
+              String.format(
+                  Locale.US,
+                  "    %s %s %s: start %.2fs, took %.2fs%s%n",
+                  action.type(),
+                  action.location(),
+                  action.target(),
+                  action.startSeconds(),
+                  action.durationSeconds(),
+                  action.finished() ? "" : " (unfinished)"));
+        }
+        System.out.print(report);
+      }
+    }
+
+    System.out.println(
+        String.format(
+            Locale.US,
+            "Ran %d autos in %.1fs, summary written to %s",
+            names.size(),
+            (System.nanoTime() - batchStart) / 1e9,
+            REPORT_DIR.resolve("summary.csv")));
+    System.exit(allSucceeded ? 0 : 1);
+  }
+
+  static int parseJobs(String[] args, int index) {
+    return args.length > index && !args[index].isEmpty()
+        ? Integer.parseInt(args[index])
+        : Runtime.getRuntime().availableProcessors();
+  }
+
+  static String parseAlliance(String[] args, int index) {
+    return args.length > index && !args[index].isEmpty() ? args[index] : "Blue";
+  }
+
+  /** Returns the strategy names given from index on, or every strategy if none were given. */
+  static List<String> parseStrategyNames(String[] args, int index) throws IOException {
+    List<String> names = new ArrayList<>();
+    for (int i = index; i < args.length; i++) {
+      if (!args[i].isEmpty()) {
+        names.add(args[i]);
+      }
+    }
+    if (!names.isEmpty()) {
+      return names;
+    }
+
+    Path autoDirectory = Filesystem.getDeployDirectory().toPath().resolve("auto");
+    try (Stream<Path> files = Files.list(autoDirectory)) {
+      return files
+          .map(path -> path.getFileName().toString())
+          .filter(name -> name.endsWith(".json"))
+          .map(name -> name.replace(".json", ""))
+          .sorted()
+          .toList();
+    }
+  }
+
+  static RunResult getResult(Future<RunResult> future) {
+    try {
+      return future.get();
+    } catch (Exception e) {
+      throw new RuntimeException("Auto runner thread failed", e);
+    }
+  }
+
+  /**
+   * Runs one strategy in a new robot JVM and waits for it to finish.
+   *
+   * @param name the strategy to run
+   * @param alliance "Red" or "Blue"
+   * @param seed seed for {@link SimPerturbations}, or null to run without disturbances
+   * @param consoleFile where to write the robot's console output
+   * @return the run's result, or null if the robot crashed or timed out
+   */
+  static RunResult launch(String name, String alliance, Long seed, Path consoleFile) {
+    ProcessBuilder builder =
+        JvmLauncher.forMainClass(
+                HeadlessAutoRunner.class,
+                List.of(),
+                List.of(RUN_FLAG, name, alliance, seed == null ? "" : seed.toString()))
+            .redirectOutput(consoleFile.toFile());
+
+    try {
+      Process process = builder.start();
+      if (!process.waitFor(TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+        process.destroyForcibly();
+        return null;
+      }
+      if (process.exitValue() != 0) {
+        return null;
+      }
+      return parseOutput(Files.readAllLines(consoleFile));
+    } catch (IOException | InterruptedException e) {
+      return null;
+    }
+  }
+
+  private static RunResult parseOutput(List<String> lines) {
+    List<ActionResult> actions = new ArrayList<>();
+    for (String line : lines) {
+      if (line.startsWith(ACTION_PREFIX)) {
+        String[] fields = line.substring(ACTION_PREFIX.length()).split("\t");
+        actions.add(
+            new ActionResult(
+                ActionType.valueOf(fields[0]),
+                fields[1],
+                fields[2],
+                Double.parseDouble(fields[3]),
+                Double.parseDouble(fields[4]),
+                Boolean.parseBoolean(fields[5])));
+      } else if (line.startsWith(RESULT_PREFIX)) {
+        String[] fields = line.substring(RESULT_PREFIX.length()).split("\t");
+        return new RunResult(
+            fields[0],
+            Boolean.parseBoolean(fields[1]),
+            Double.parseDouble(fields[2]),
+            Integer.parseInt(fields[3]),
+            Integer.parseInt(fields[4]),
+            Integer.parseInt(fields[5]),
+            Double.parseDouble(fields[6]),
+            actions);
+      }
+    }
+    return null;
+  }
+
+  /** Runs one strategy in this JVM, printing a result line and one line per action. */
+  private static void runStrategy(String name, String alliance, Long seed) {
+    HAL.initialize(500, 0);
+    DriverStation.silenceJoystickConnectionWarning(true);
+
+    if (ModeConstants.currentMode != Mode.MAPLESIM && ModeConstants.currentMode != Mode.SIM) {
+      throw new IllegalStateException(
+          "Headless autos need a sim mode, but the robot is in " + ModeConstants.currentMode);
+    }
+
+    if (seed != null) {
+      SimPerturbations.randomize(seed);
+      System.out.println("Seed " + seed + ": " + SimPerturbations.describe());
+    }
+
+    // Drive picks its auto obstacles from the alliance when it is constructed, so set the
+    // alliance before building the robot
+    DriverStationSim.setDsAttached(true);
+    DriverStationSim.setAllianceStationId(
+        alliance.equalsIgnoreCase("Red") ? AllianceStationID.Red1 : AllianceStationID.Blue1);
+    DriverStationSim.setAutonomous(true);
+    DriverStationSim.setEnabled(false);
+    DriverStationSim.notifyNewData();
+    DriverStation.refreshData();
+
+    SimHooks.pauseTiming();
+    long wallStart = System.nanoTime();
+
+    RobotContainer robotContainer = new RobotContainer();
+    CANSignalRegistry.optimizeBusUtilization();
+    SignalLogger.enableAutoLogging(false);
+    SignalLogger.stop();
+    SimulatedArena.getInstance().resetFieldForAuto();
+
+    // The robot believes it is where it should be, but was placed slightly off
+    if (RobotContainer.driveSim != null) {
+      Pose2d placedPose =
+          RobotContainer.driveSim
+              .getSimulatedDriveTrainPose()
+              .transformBy(SimPerturbations.getStartPoseOffset());
+      RobotContainer.driveSim.setSimulationWorldPose(placedPose);
+    }
+
+    AutoStrategy strategy =
+        robotContainer.getAutoStrategies().stream()
+            .filter(candidate -> candidate.autoStrategyName.equals(name))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("No auto strategy named " + name));
+
+    DriverStationSim.setEnabled(true);
+    DriverStationSim.notifyNewData();
+    DriverStation.refreshData();
+    robotContainer.autonomousInit(strategy);
+
+    StrategyManager strategyManager = robotContainer.getStrategyManager();
+    List<String> actionLines = new ArrayList<>();
+    Action currentAction = null;
+    double actionStart = 0.0;
+    int actionsFinished = 0;
+    int piecesScored = 0;
+    double completionTime = Double.NaN;
+
+    int loops = (int) Math.round(AUTO_DURATION_SECONDS / LOOP_PERIOD_SECONDS);
+    for (int loop = 0; loop < loops; loop++) {
+      double time = loop * LOOP_PERIOD_SECONDS;
+      updateHumanPlayer(robotContainer.getDrive(), currentAction);
+      step(robotContainer);
+
+      Action action = strategyManager.getCurrentAction();
+      if (action != currentAction) {
+        if (currentAction != null) {
+          actionsFinished++;
+          if (currentAction.type() == ActionType.Score
+              || currentAction.type() == ActionType.NetScore) {
+            piecesScored++;
+          }
+          actionLines.add(formatAction(currentAction, actionStart, time, true));
+        }
+        currentAction = action;
+        actionStart = time;
+      }
+      if (currentAction == null && strategyManager.getQueuedActionCount() == 0) {
+        completionTime = time;
+        break;
+      }
+    }
+    if (currentAction != null) {
+      actionLines.add(formatAction(currentAction, actionStart, AUTO_DURATION_SECONDS, false));
+    }
+
+    for (String line : actionLines) {
+      System.out.println(ACTION_PREFIX + line);
+    }
+    System.out.println(
+        RESULT_PREFIX
+            + String.format(
+                Locale.US,
+                "%s\t%b\t%.3f\t%d\t%d\t%d\t%.3f",
+                name,
+                !Double.isNaN(completionTime),
+                completionTime,
+                piecesScored,
+                actionsFinished,
+                strategy.actions.size(),
+                (System.nanoTime() - wallStart) / 1e9));
+  }
+
+  /** Hands the claw sim a game piece when an intake action has driven to its location. */
+  private static void updateHumanPlayer(Drive drive, Action action) {
+    boolean atIntake = drive != null && action != null && drive.isDriveCloseToFinalLineupPose();
+    SmartDashboard.putBoolean(
+        "clawSim/coralAvailable", atIntake && action.type() == ActionType.Intake);
+    SmartDashboard.putBoolean(
+        "clawSim/algaeAvailable", atIntake && action.type() == ActionType.IntakeAlgae);
+  }
+
+  /** Does the work of one robot loop in autonomous, then advances the sim clock. */
+  private static void step(RobotContainer robotContainer) {
+    DriverStation.refreshData();
+
+    // autonomousPeriodic and robotPeriodic
+    robotContainer.periodic();
+    Robot.runLoop();
+
+    // simulationPeriodic
+    robotContainer.updateRobotModel();
+    if (ModeConstants.currentMode == Mode.MAPLESIM) {
+      robotContainer.updateMapleSim();
+    }
+
+    if (robotContainer.getDrive() != null) {
+      robotContainer.getDrive().awaitPendingPath(PATHFIND_TIMEOUT_MILLIS);
+    }
+    SimHooks.stepTiming(LOOP_PERIOD_SECONDS);
+  }
+
+  private static String formatAction(Action action, double start, double end, boolean finished) {
+    return String.format(
+        Locale.US,
+        "%s\t%s\t%s\t%.3f\t%.3f\t%b",
+        action.type(),
+        action.location(),
+        action.scoringTarget(),
+        start,
+        end - start,
+        finished);
+  }
+}
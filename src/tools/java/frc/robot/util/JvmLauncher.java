@@ -0,0 +1,40 @@
+package frc.robot.util;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts robot code in a separate JVM, for runners that need one isolated robot per job. Children
+ * share this JVM's java binary, classpath, native library path and working directory, so they find
+ * the same deploy directory and sim natives.
+ */
+final class JvmLauncher {
+  private JvmLauncher() {}
+
+  /**
+   * Creates a process builder that runs a main class in a new JVM.
+   *
+   * @param mainClass the class whose main method to run
+   * @param systemProperties extra system properties, as "key=value"
+   * @param args arguments to pass to main
+   * @return a process builder, ready to have its output redirected and be started
+   */
+  static ProcessBuilder forMainClass(
+      Class<?> mainClass, List<String> systemProperties, List<String> args) {
+    List<String> command = new ArrayList<>();
+    command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+    for (String property : systemProperties) {
+      command.add("-D" + property);
+    }
+    command.add("-Djava.library.path=" + System.getProperty("java.library.path"));
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add(mainClass.getName());
+    command.addAll(args);
+
+    return new ProcessBuilder(command)
+        .directory(Paths.get(System.getProperty("user.dir")).toFile())
+        .redirectErrorStream(true);
+  }
+}
@@ -0,0 +1,193 @@
+package frc.robot.util;
+
+import frc.robot.constants.AutoStrategyContainer.ActionType;
+import frc.robot.util.HeadlessAutoRunner.ActionResult;
+import frc.robot.util.HeadlessAutoRunner.RunResult;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs many seeded trials of each auto strategy with {@link HeadlessAutoRunner}, each with
+ * different {@link SimPerturbations} (starting pose, odometry noise, vision dropout, coral
+ * detection delay and battery sag), and reports how the results are distributed.
+ *
+ * <p>For each strategy this reports the crash and completion rates, p50/p90 of completion time
+ * (trials that don't finish count as the full autonomous period), p50/p90 of cycle time (time
+ * between pieces scored), mean pieces scored, and the failure rate of each action type, where a
+ * failure is an action that was started but didn't finish before the end of auto. Trial i of every
+ * strategy uses seed i, so strategies are compared under the same disturbances.
+ *
+ * <p>Results are printed and written to {@code build/reports/headless-auto/monte-carlo.csv}. Run
+ * with {@code ./gradlew monteCarloAuto -Ptrials=<n>}, optionally with {@code -Pautos=<name,name>},
+ * {@code -Palliance=<Red|Blue>} and {@code -Pjobs=<n>}.
+ */
+public class MonteCarloAutoRunner {
+  private static final int DEFAULT_TRIALS = 50;
+
+  public static void main(String[] args) throws IOException {
+    int trials = args.length > 0 && !args[0].isEmpty() ? Integer.parseInt(args[0]) : DEFAULT_TRIALS;
+    int jobs = HeadlessAutoRunner.parseJobs(args, 1);
+    String alliance = HeadlessAutoRunner.parseAlliance(args, 2);
+    List<String> names = HeadlessAutoRunner.parseStrategyNames(args, 3);
+
+    Path trialDir = HeadlessAutoRunner.REPORT_DIR.resolve("monte-carlo");
+    Files.createDirectories(trialDir);
+    System.out.println(
+        String.format(
+            "Running %d trials of %d autos on %s with %d parallel jobs",
+            trials, names.size(), alliance, jobs));
+    long batchStart = System.nanoTime();
+
+    // Submit trial by trial rather than strategy by strategy, so early results cover every
+    // strategy
+    ExecutorService executor = Executors.newFixedThreadPool(jobs);
+    List<List<Future<RunResult>>> futures = new ArrayList<>();
+    for (int i = 0; i < names.size(); i++) {
+      futures.add(new ArrayList<>());
+    }
+    for (int trial = 0; trial < trials; trial++) {
+      long seed = trial;
+      for (int i = 0; i < names.size(); i++) {
+        String name = names.get(i);
+        Path consoleFile = trialDir.resolve(name + "-" + seed + ".txt");
+        futures
+            .get(i)
+            .add(
+                executor.submit(
+                    () -> HeadlessAutoRunner.launch(name, alliance, seed, consoleFile)));
+      }
+    }
+    executor.shutdown();
+
+    Path summaryFile = HeadlessAutoRunner.REPORT_DIR.resolve("monte-carlo.csv");
+    try (PrintWriter summary = new PrintWriter(Files.newBufferedWriter(summaryFile))) {
+      summary.println(
+          "auto,trials,crashes,completion_rate,completion_p50,completion_p90,cycle_p50,cycle_p90,"
+              + "mean_pieces,action_type,action_failure_rate");
+      for (int i = 0; i < names.size(); i++) {
+        List<RunResult> results = new ArrayList<>();
+        for (Future<RunResult> future : futures.get(i)) {
+          RunResult result = HeadlessAutoRunner.getResult(future);
+          if (result != null) {
+            results.add(result);
+          }
+        }
+        summarize(names.get(i), trials, results, summary);
+      }
+    }
+
+    System.out.println(
+        String.format(
+            Locale.US,
+            "Ran %d trials in %.1fs, summary written to %s",
+            trials * names.size(),
+            (System.nanoTime() - batchStart) / 1e9,
+            summaryFile));
+    System.exit(0);
+  }
+
+  private static void summarize(
+      String name, int trials, List<RunResult> results, PrintWriter summary) {
+    int crashes = trials - results.size();
+    int completed = 0;
+    double totalPieces = 0.0;
+    double[] completionTimes = new double[results.size()];
+    List<Double> cycleTimes = new ArrayList<>();
+    Map<ActionType, int[]> actionCounts = new EnumMap<>(ActionType.class); // {started, failed}
+
+    for (int r = 0; r < results.size(); r++) {
+      RunResult result = results.get(r);
+      if (result.completed()) {
+        completed++;
+      }
+      completionTimes[r] =
+          result.completed()
+              ? result.completionSeconds()
+              : HeadlessAutoRunner.AUTO_DURATION_SECONDS;
+      totalPieces += result.piecesScored();
+
+      double lastScoreTime = 0.0;
+      for (ActionResult action : result.actions()) {
+        int[] counts = actionCounts.computeIfAbsent(action.type(), type -> new int[2]);
+        counts[0]++;
+        if (!action.finished()) {
+          counts[1]++;
+          continue;
+        }
+        if (action.type() == ActionType.Score || action.type() == ActionType.NetScore) {
+          double scoreTime = action.startSeconds() + action.durationSeconds();
+          cycleTimes.add(scoreTime - lastScoreTime);
+          lastScoreTime = scoreTime;
+        }
+      }
+    }
+
+    double[] cycles = cycleTimes.stream().mapToDouble(Double::doubleValue).toArray();
+    double completionRate = results.isEmpty() ? 0.0 : (double) completed / results.size();
+    double meanPieces = results.isEmpty() ? 0.0 : totalPieces / results.size();
+    String row =
+        String.format(
+            Locale.US,
+            "%s,%d,%d,%.3f,%.2f,%.2f,%.2f,%.2f,%.2f",
+            name,
+            trials,
+            crashes,
+            completionRate,
+            percentile(completionTimes, 0.5),
+            percentile(completionTimes, 0.9),
+            percentile(cycles, 0.5),
+            percentile(cycles, 0.9),
+            meanPieces);
+
+    System.out.println(
+        String.format(
+            Locale.US,
+            "%s: %d/%d completed, %d crashed, completion p50 %.2fs p90 %.2fs, cycle p50 %.2fs "
+                + "p90 %.2fs, %.2f pieces",
+            name,
+            completed,
+            results.size(),
+            crashes,
+            percentile(completionTimes, 0.5),
+            percentile(completionTimes, 0.9),
+            percentile(cycles, 0.5),
+            percentile(cycles, 0.9),
+            meanPieces));
+    summary.println(row + ",,");
+    for (Map.Entry<ActionType, int[]> entry : actionCounts.entrySet()) {
+      double failureRate = (double) entry.getValue()[1] / entry.getValue()[0];
+      System.out.println(
+          String.format(
+              Locale.US,
+              "    %s failed %d/%d (%.1f%%)",
+              entry.getKey(),
+              entry.getValue()[1],
+              entry.getValue()[0],
+              failureRate * 100.0));
+      summary.println(
+          String.format(Locale.US, "%s,,,,,,,,,%s,%.3f", name, entry.getKey(), failureRate));
+    }
+  }
+
+  /** Nearest-rank percentile, or NaN if there are no values. */
+  private static double percentile(double[] values, double fraction) {
+    if (values.length == 0) {
+      return Double.NaN;
+    }
+    double[] sorted = values.clone();
+    Arrays.sort(sorted);
+    int rank = (int) Math.ceil(fraction * sorted.length);
+    return sorted[Math.max(rank - 1, 0)];
+  }
+}
@@ -0,0 +1,224 @@
+package frc.robot.util;
+
+import static edu.wpi.first.units.Units.Amps;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Transform2d;
+import edu.wpi.first.units.measure.Angle;
+import edu.wpi.first.units.measure.Voltage;
+import edu.wpi.first.wpilibj.Timer;
+import frc.robot.InitSubsystems;
+import frc.robot.subsystems.drive.ModuleIO;
+import frc.robot.subsystems.scoring.ClawIO;
+import java.util.Locale;
+import java.util.Random;
+import org.ironmaple.simulation.motorsims.SimulatedBattery;
+
+/**
+ * Random disturbances for simulation, so the Monte Carlo auto runner can test how robust an auto is
+ * rather than how it does in one perfect run.
+ *
+ * <p>The disturbances reach the robot through an {@link InitSubsystems.SimIODecorator}, plus a
+ * phantom load on the maple-sim battery, so the sim IO implementations don't know about them.
+ * Nothing is disturbed until {@link #randomize(long)} draws a trial's disturbances from a seed and
+ * installs them. Like the rest of the sim, this is only used from the robot thread.
+ */
+public final class SimPerturbations {
+  // Trials are drawn from these ranges
+  private static final double START_TRANSLATION_STD_DEV_METERS = 0.05;
+  private static final double START_ROTATION_STD_DEV_DEGREES = 2.0;
+  private static final double MAX_WHEEL_SLIP_STD_DEV = 0.03; // Fraction of wheel travel
+  private static final double MAX_VISION_DROPOUT_PROBABILITY = 0.5;
+  private static final double MAX_CORAL_DETECTION_DELAY_SECONDS = 0.15;
+  private static final double MAX_BATTERY_SAG_VOLTS = 1.5;
+
+  // Internal resistance BatterySim uses for the default battery, which maple-sim's battery uses
+  private static final double BATTERY_RESISTANCE_OHMS = 0.02;
+
+  private static Random random = new Random(0);
+
+  private static Transform2d startPoseOffset = new Transform2d();
+  private static double wheelSlipStdDev = 0.0;
+  private static double visionDropoutProbability = 0.0;
+  private static double maxCoralDetectionDelaySeconds = 0.0;
+  private static double batterySagVolts = 0.0;
+
+  private static boolean installed = false;
+
+  private SimPerturbations() {}
+
+  /**
+   * Draws one trial's disturbances and installs them. This must be called before the robot is
+   * built, since the sim IO is only decorated when it is constructed.
+   *
+   * @param seed the trial's seed; the same seed gives the same disturbances
+   */
+  public static void randomize(long seed) {
+    random = new Random(seed);
+
+    startPoseOffset =
+        new Transform2d(
+            random.nextGaussian() * START_TRANSLATION_STD_DEV_METERS,
+            random.nextGaussian() * START_TRANSLATION_STD_DEV_METERS,
+            Rotation2d.fromDegrees(random.nextGaussian() * START_ROTATION_STD_DEV_DEGREES));
+    wheelSlipStdDev = random.nextDouble() * MAX_WHEEL_SLIP_STD_DEV;
+    visionDropoutProbability = random.nextDouble() * MAX_VISION_DROPOUT_PROBABILITY;
+    maxCoralDetectionDelaySeconds = random.nextDouble() * MAX_CORAL_DETECTION_DELAY_SECONDS;
+    batterySagVolts = random.nextDouble() * MAX_BATTERY_SAG_VOLTS;
+
+    if (!installed) {
+      InitSubsystems.setSimIODecorator(new PerturbingIODecorator());
+      // Sag the battery by drawing extra current from it, so every sim motor sees the same
+      // voltage whether it reads it from maple-sim or from the RoboRIO sim
+      SimulatedBattery.addElectricalAppliances(
+          () -> Amps.of(batterySagVolts / BATTERY_RESISTANCE_OHMS));
+      installed = true;
+    }
+  }
+
+  /** Returns a one line description of the current disturbances, for reports. */
+  public static String describe() {
+    return String.format(
+        Locale.US,
+        "start offset (%.3f m, %.3f m, %.1f deg), wheel slip %.3f, vision dropout %.2f, "
+            + "coral detection delay up to %.3f s, battery sag %.2f V",
+        startPoseOffset.getX(),
+        startPoseOffset.getY(),
+        startPoseOffset.getRotation().getDegrees(),
+        wheelSlipStdDev,
+        visionDropoutProbability,
+        maxCoralDetectionDelaySeconds,
+        batterySagVolts);
+  }
+
+  /** Returns how far the robot's real starting pose is from where the auto expects it. */
+  public static Transform2d getStartPoseOffset() {
+    return startPoseOffset;
+  }
+
+  private static final class PerturbingIODecorator implements InitSubsystems.SimIODecorator {
+    @Override
+    public ModuleIO decorateModule(ModuleIO io) {
+      return new SlippingModuleIO(io);
+    }
+
+    @Override
+    public ClawIO decorateClaw(ClawIO io) {
+      return new DelayedCoralClawIO(io);
+    }
+
+    @Override
+    public boolean shouldDropVisionMeasurement() {
+      return visionDropoutProbability > 0.0 && random.nextDouble() < visionDropoutProbability;
+    }
+  }
+
+  /** Adds the odometry error from wheel slip to a module's drive position samples. */
+  private static final class SlippingModuleIO implements ModuleIO {
+    private final ModuleIO io;
+
+    private double lastDrivePositionRad = Double.NaN;
+    private double driveSlipRad = 0.0;
+
+    SlippingModuleIO(ModuleIO io) {
+      this.io = io;
+    }
+
+    @Override
+    public void updateInputs(ModuleIOInputs inputs) {
+      io.updateInputs(inputs);
+
+      for (int i = 0; i < inputs.odometryDrivePositionsRad.length; i++) {
+        double positionRad = inputs.odometryDrivePositionsRad[i];
+        if (!Double.isNaN(lastDrivePositionRad) && wheelSlipStdDev != 0.0) {
+          double wheelTravelRad = positionRad - lastDrivePositionRad;
+          driveSlipRad += wheelTravelRad * random.nextGaussian() * wheelSlipStdDev;
+        }
+        lastDrivePositionRad = positionRad;
+        inputs.odometryDrivePositionsRad[i] = positionRad + driveSlipRad;
+      }
+    }
+
+    @Override
+    public void setDriveOpenLoop(double output) {
+      io.setDriveOpenLoop(output);
+    }
+
+    @Override
+    public void setTurnOpenLoop(double output) {
+      io.setTurnOpenLoop(output);
+    }
+
+    @Override
+    public void setDriveVelocity(double velocityRadPerSec) {
+      io.setDriveVelocity(velocityRadPerSec);
+    }
+
+    @Override
+    public void setTurnPosition(Rotation2d rotation) {
+      io.setTurnPosition(rotation);
+    }
+
+    @Override
+    public void setBrakeMode(boolean brake) {
+      io.setBrakeMode(brake);
+    }
+  }
+
+  /** Models the CANrange taking a moment to report a coral once it reaches the detection point. */
+  private static final class DelayedCoralClawIO implements ClawIO {
+    private final ClawIO io;
+
+    private boolean coralAtDetectionPoint = false;
+    private double coralReachedDetectionPointTime = 0.0;
+    private double coralDetectionDelaySeconds = 0.0;
+    private boolean coralDetected = false;
+
+    DelayedCoralClawIO(ClawIO io) {
+      this.io = io;
+    }
+
+    @Override
+    public void updateInputs(ClawInputs inputs) {
+      io.updateInputs(inputs);
+
+      boolean atDetectionPoint = inputs.coralDetected;
+      if (atDetectionPoint && !coralAtDetectionPoint) {
+        coralReachedDetectionPointTime = Timer.getFPGATimestamp();
+        coralDetectionDelaySeconds = random.nextDouble() * maxCoralDetectionDelaySeconds;
+      }
+      coralAtDetectionPoint = atDetectionPoint;
+
+      coralDetected =
+          atDetectionPoint
+              && Timer.getFPGATimestamp() - coralReachedDetectionPointTime
+                  >= coralDetectionDelaySeconds;
+      inputs.coralDetected = coralDetected;
+    }
+
+    @Override
+    public void applyOutputs(ClawOutputs outputs) {
+      io.applyOutputs(outputs);
+    }
+
+    @Override
+    public void setVoltage(Voltage volts) {
+      io.setVoltage(volts);
+    }
+
+    @Override
+    public Angle getClawMotorPos() {
+      return io.getClawMotorPos();
+    }
+
+    @Override
+    public boolean isCoralDetected() {
+      return coralDetected;
+    }
+
+    @Override
+    public boolean isAlgaeDetected() {
+      return io.isAlgaeDetected();
+    }
+  }
+}